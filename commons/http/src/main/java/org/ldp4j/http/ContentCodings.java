@@ -0,0 +1,156 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.commons:ldp4j-commons-http:0.2.2
+ *   Bundle      : ldp4j-commons-http-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.http;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Maps;
+
+/**
+ * Utility methods for negotiating the content coding of a representation
+ * using the {@code Accept-Encoding} header, as defined in <a
+ * href="https://tools.ietf.org/html/rfc7231#section-5.3.4">RFC 7231, Section
+ * 5.3.4</a>.
+ */
+public final class ContentCodings {
+
+	/**
+	 * The content coding used for signaling that no transformation is
+	 * applied to the representation.
+	 */
+	public static final String IDENTITY = "identity";
+
+	public static final String GZIP = "gzip";
+
+	public static final String DEFLATE = "deflate";
+
+	static final String WILDCARD = "*";
+
+	private static final Splitter SPLITTER=Splitter.on(',').trimResults().omitEmptyStrings();
+
+	private ContentCodings() {
+	}
+
+	/**
+	 * Normalize the name of a content coding. Content coding names are case
+	 * insensitive, and the {@code x-gzip} coding is equivalent to
+	 * {@code gzip}.
+	 *
+	 * @param coding
+	 *            the content coding name to normalize
+	 * @return the normalized content coding name
+	 * @throws IllegalArgumentException
+	 *             if the content coding name is not a valid token
+	 */
+	public static String fromString(final String coding) {
+		requireNonNull(coding,"Content coding cannot be null");
+		final String name=HttpUtils.trimWhitespace(coding);
+		HttpUtils.checkToken(name,"Invalid content coding");
+		final String result=name.toLowerCase(Locale.ENGLISH);
+		return "x-gzip".equals(result)?GZIP:result;
+	}
+
+	/**
+	 * Select the content coding to use for a representation.
+	 * <p>
+	 * The quality of each content coding is the one specified for it in the
+	 * {@code Accept-Encoding} headers, or the one specified for the wildcard
+	 * if none is specified. The {@value #IDENTITY} coding is acceptable
+	 * unless explicitly excluded. When several codings share the highest
+	 * quality, the first supported one is preferred, and any supported one is
+	 * preferred over {@value #IDENTITY}. Invalid header elements are ignored.
+	 *
+	 * @param headers
+	 *            the values of the {@code Accept-Encoding} headers of the
+	 *            request. If {@code null} or empty, no content coding is
+	 *            requested.
+	 * @param supported
+	 *            the content codings supported by the server, in order of
+	 *            preference
+	 * @return the selected content coding, {@value #IDENTITY} if no coding
+	 *         is to be applied, or {@code null} if none of the codings
+	 *         (including {@value #IDENTITY}) is acceptable
+	 */
+	public static String negotiate(final List<String> headers, final List<String> supported) {
+		requireNonNull(supported,"Supported content codings cannot be null");
+		if(headers==null || headers.isEmpty()) {
+			return IDENTITY;
+		}
+		final Map<String,Double> qualities=parse(headers);
+		String result=null;
+		double best=0.0D;
+		for(final String coding:supported) {
+			final double quality=quality(qualities,fromString(coding));
+			if(quality>best) {
+				result=coding;
+				best=quality;
+			}
+		}
+		if(quality(qualities,IDENTITY)>best) {
+			result=IDENTITY;
+		}
+		return result;
+	}
+
+	private static Map<String,Double> parse(final List<String> headers) {
+		final Map<String,Double> qualities=Maps.newHashMap();
+		for(final String header:headers) {
+			if(header==null) {
+				continue;
+			}
+			for(final String element:SPLITTER.split(header)) {
+				try {
+					final Weighted<String> coding=ContentNegotiationUtils.acceptEncoding(element);
+					final Double previous=qualities.get(coding.entity());
+					if(previous==null || previous<coding.weight()) {
+						qualities.put(coding.entity(),coding.weight());
+					}
+				} catch (final IllegalArgumentException e) {
+					// Ignore invalid content codings
+				}
+			}
+		}
+		return qualities;
+	}
+
+	private static double quality(final Map<String,Double> qualities, final String coding) {
+		Double quality=qualities.get(coding);
+		if(quality==null) {
+			quality=qualities.get(WILDCARD);
+		}
+		if(quality==null) {
+			quality=IDENTITY.equals(coding)?Double.MIN_VALUE:0.0D;
+		}
+		return quality;
+	}
+
+}
@@ -90,6 +90,16 @@ final class ContentNegotiationUtils {
 
 	}
 
+	private static final class ContentCodingParser implements Parser<String> {
+
+		@Override
+		public String parse(final String before, final String after) {
+			checkArgument(Strings.isNullOrEmpty(after),"Content after quality definition is not allowed (%s)",after);
+			return ContentCodings.fromString(before);
+		}
+
+	}
+
 	private ContentNegotiationUtils() {
 	}
 
@@ -101,6 +111,10 @@ final class ContentNegotiationUtils {
 		return Weighted.fromString(header, new CharsetParser());
 	}
 
+	static Weighted<String> acceptEncoding(final String header) {
+		return Weighted.fromString(header,new ContentCodingParser());
+	}
+
 	static Weighted<Language> acceptLanguage(final String header) {
 		return Weighted.fromString(header,new LanguageParser());
 	}
@@ -0,0 +1,108 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.commons:ldp4j-commons-http:0.2.2
+ *   Bundle      : ldp4j-commons-http-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.ldp4j.commons.testing.Utils;
+
+public class ContentCodingsTest {
+
+	private static final List<String> SUPPORTED=Arrays.asList(ContentCodings.GZIP,ContentCodings.DEFLATE);
+
+	private static String negotiate(String... headers) {
+		return ContentCodings.negotiate(Arrays.asList(headers),SUPPORTED);
+	}
+
+	@Test
+	public void isUtilityClass() throws Exception {
+		assertThat(Utils.isUtilityClass(ContentCodings.class),equalTo(true));
+	}
+
+	@Test
+	public void normalizesContentCodings() throws Exception {
+		assertThat(ContentCodings.fromString(" GZip "),equalTo(ContentCodings.GZIP));
+		assertThat(ContentCodings.fromString("x-gzip"),equalTo(ContentCodings.GZIP));
+	}
+
+	@Test(expected=InvalidTokenException.class)
+	public void cannotParseInvalidContentCodings() throws Exception {
+		ContentCodings.fromString("g/zip");
+	}
+
+	@Test
+	public void selectsIdentityWhenNoCodingIsRequested() throws Exception {
+		assertThat(ContentCodings.negotiate(null,SUPPORTED),equalTo(ContentCodings.IDENTITY));
+		assertThat(ContentCodings.negotiate(Collections.<String>emptyList(),SUPPORTED),equalTo(ContentCodings.IDENTITY));
+		assertThat(negotiate(""),equalTo(ContentCodings.IDENTITY));
+	}
+
+	@Test
+	public void selectsIdentityWhenNoSupportedCodingIsAcceptable() throws Exception {
+		assertThat(negotiate("br, compress"),equalTo(ContentCodings.IDENTITY));
+		assertThat(negotiate("gzip;q=0.0, deflate;q=0.0"),equalTo(ContentCodings.IDENTITY));
+	}
+
+	@Test
+	public void prefersSupportedCodingsOnTies() throws Exception {
+		assertThat(negotiate("deflate, gzip"),equalTo(ContentCodings.GZIP));
+		assertThat(negotiate("gzip, identity"),equalTo(ContentCodings.GZIP));
+		assertThat(negotiate("*"),equalTo(ContentCodings.GZIP));
+	}
+
+	@Test
+	public void honoursQualityValues() throws Exception {
+		assertThat(negotiate("gzip;q=0.5, deflate;q=0.8"),equalTo(ContentCodings.DEFLATE));
+		assertThat(negotiate("gzip;q=0.5","identity"),equalTo(ContentCodings.IDENTITY));
+		assertThat(negotiate("*;q=0.3, gzip;q=0.0"),equalTo(ContentCodings.DEFLATE));
+	}
+
+	@Test
+	public void acceptsEquivalentCodings() throws Exception {
+		assertThat(negotiate("X-GZIP"),equalTo(ContentCodings.GZIP));
+	}
+
+	@Test
+	public void ignoresInvalidElements() throws Exception {
+		assertThat(negotiate("g/zip, deflate;q=2, deflate;q=0.5"),equalTo(ContentCodings.DEFLATE));
+	}
+
+	@Test
+	public void failsWhenIdentityIsExcluded() throws Exception {
+		assertThat(negotiate("identity;q=0.0"),nullValue());
+		assertThat(negotiate("*;q=0.0"),nullValue());
+		assertThat(negotiate("br, *;q=0.0"),nullValue());
+	}
+
+}
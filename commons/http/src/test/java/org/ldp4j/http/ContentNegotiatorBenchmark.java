@@ -0,0 +1,94 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.commons:ldp4j-commons-http:0.2.2
+ *   Bundle      : ldp4j-commons-http-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of {@link ContentNegotiator#negotiate()} for a
+ * typical set of server capabilities and request headers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ContentNegotiatorBenchmark {
+
+	private static final List<String> ACCEPT = Arrays.asList("text/turtle;q=0.9","application/ld+json;q=0.8","*/*;q=0.1");
+	private static final List<String> ACCEPT_CHARSET = Arrays.asList("utf-8","iso-8859-1;q=0.5");
+	private static final List<String> ACCEPT_LANGUAGE = Arrays.asList("en-US","en;q=0.9");
+
+	private static ContentNegotiator negotiator() {
+		ContentNegotiator negotiator=ContentNegotiator.newInstance();
+		for(String mediaType:Arrays.asList("text/turtle","application/ld+json","application/rdf+xml","application/n-triples")) {
+			negotiator.support(MediaTypes.fromString(mediaType));
+		}
+		negotiator.
+			support(CharacterEncodings.of(StandardCharsets.UTF_8)).
+			support(CharacterEncodings.of(StandardCharsets.ISO_8859_1)).
+			support(Languages.of(Locale.ENGLISH));
+		for(String element:ACCEPT) {
+			negotiator.accept(element);
+		}
+		for(String element:ACCEPT_CHARSET) {
+			negotiator.acceptCharset(element);
+		}
+		for(String element:ACCEPT_LANGUAGE) {
+			negotiator.acceptLanguage(element);
+		}
+		return negotiator;
+	}
+
+	@Benchmark
+	public NegotiationResult negotiate() {
+		return negotiator().negotiate();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt=
+			new OptionsBuilder().
+				include(ContentNegotiatorBenchmark.class.getSimpleName()).
+				forks(1).
+				build();
+		new Runner(opt).run();
+	}
+
+}
@@ -66,6 +66,7 @@ import org.junit.runners.Suite.SuiteClasses;
 	ImmutableNegotiationResultTest.class,
 	ContentNegotiatorTest.class,
 	ContentNegotiationTest.class,
+	ContentCodingsTest.class,
 })
 public class HttpUnitTestSuite {
 }
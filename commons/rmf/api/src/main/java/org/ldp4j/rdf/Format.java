@@ -51,6 +51,7 @@ public final class Format implements Comparable<Format> {
 	public static final Format TURTLE;
 	public static final Format RDF_XML;
 	public static final Format JSON_LD;
+	public static final Format N_TRIPLES;
 
 	private static final Format[] EMPTY_FORMAT_ARRAY = new Format[]{};
 
@@ -60,6 +61,7 @@ public final class Format implements Comparable<Format> {
 		TURTLE=registerFormat("text","turtle","Turtle");
 		RDF_XML=registerFormat("application","rdf+xml","RDF/XML");
 		JSON_LD=registerFormat("application","ld+json","JSON-LD");
+		N_TRIPLES=registerFormat("application","n-triples","N-Triples");
 	}
 
 	private final String subtype;
@@ -405,6 +405,12 @@ public final class RDFModelDSL {
 		return FACTORY.newLiteral(value, Datatype.fromURI(type));
 	}
 
+	public static <T> Literal<T> typedLiteral(T value, Datatype type) {
+		Objects.requireNonNull(value, VALUE_PARAM);
+		Objects.requireNonNull(type, TYPE_PARAM);
+		return FACTORY.newLiteral(value, type);
+	}
+
 	public static <T> Literal<T> typedLiteral(T value, URL type) {
 		Objects.requireNonNull(value, VALUE_PARAM);
 		Objects.requireNonNull(type, TYPE_PARAM);
@@ -0,0 +1,183 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.commons.rmf:rmf-api:0.2.2
+ *   Bundle      : rmf-api-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.rdf.util;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.ldp4j.rdf.BlankNode;
+import org.ldp4j.rdf.Node;
+import org.ldp4j.rdf.URIRef;
+
+/**
+ * A bounded dictionary of canonical RDF terms. Repeated terms (i.e.,
+ * predicates, types, namespaces) are only created once per dictionary, and
+ * the resolution of URIs against a base is memoized. Least recently used
+ * entries are evicted once the capacity is exceeded. <br>
+ * Instances are meant to be scoped to a single parsing or formatting
+ * operation, and are not thread-safe.
+ */
+public final class TermDictionary {
+
+	/**
+	 * Default maximum number of entries of each of the dictionary tables.
+	 */
+	public static final int DEFAULT_CAPACITY=4096;
+
+	private static final String IDENTITY_PARAM = "Identity cannot be null";
+
+	private static final class BoundedMap<K,V> extends LinkedHashMap<K,V> {
+
+		private static final long serialVersionUID = 4203402226454738155L;
+
+		private final int capacity;
+
+		private BoundedMap(int capacity) {
+			super(16,0.75f,true);
+			this.capacity=capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K,V> eldest) {
+			return size()>this.capacity;
+		}
+
+	}
+
+	private static final class Resolution {
+
+		private final URI base;
+		private final URI target;
+
+		private Resolution(URI base, URI target) {
+			this.base=base;
+			this.target=target;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31*this.base.hashCode()+this.target.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this==obj) {
+				return true;
+			}
+			if(!(obj instanceof Resolution)) {
+				return false;
+			}
+			Resolution that=(Resolution)obj;
+			return this.base.equals(that.base) && this.target.equals(that.target);
+		}
+
+	}
+
+	private final Map<String,URIRef> uriRefs;
+	private final Map<String,BlankNode> blankNodes;
+	private final Map<Node,Node> nodes;
+	private final Map<Resolution,URI> resolutions;
+
+	public TermDictionary(int capacity) {
+		if(capacity<1) {
+			throw new IllegalArgumentException("Capacity must be greater than zero");
+		}
+		this.uriRefs=new BoundedMap<String,URIRef>(capacity);
+		this.blankNodes=new BoundedMap<String,BlankNode>(capacity);
+		this.nodes=new BoundedMap<Node,Node>(capacity);
+		this.resolutions=new BoundedMap<Resolution,URI>(capacity);
+	}
+
+	public TermDictionary() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public URIRef uriRef(String identity) {
+		Objects.requireNonNull(identity, IDENTITY_PARAM);
+		URIRef result=this.uriRefs.get(identity);
+		if(result==null) {
+			result=RDFModelDSL.uriRef(identity);
+			this.uriRefs.put(identity,result);
+		}
+		return result;
+	}
+
+	public BlankNode blankNode(String identity) {
+		Objects.requireNonNull(identity, IDENTITY_PARAM);
+		BlankNode result=this.blankNodes.get(identity);
+		if(result==null) {
+			result=RDFModelDSL.blankNode(identity);
+			this.blankNodes.put(identity,result);
+		}
+		return result;
+	}
+
+	/**
+	 * Get the canonical instance of a node, registering the specified one if
+	 * no equal node has been seen before.
+	 */
+	public <T extends Node> T intern(T node) {
+		Objects.requireNonNull(node, "Node cannot be null");
+		Node canonical=this.nodes.get(node);
+		if(canonical==null) {
+			this.nodes.put(node,node);
+			return node;
+		}
+		if(canonical.getClass()!=node.getClass()) {
+			return node;
+		}
+		@SuppressWarnings("unchecked")
+		T result=(T)canonical;
+		return result;
+	}
+
+	/**
+	 * Resolve a URI against a base, reusing the result of previous
+	 * resolutions of the same URI against the same base.
+	 */
+	public URI resolve(URI base, URI target) {
+		Objects.requireNonNull(base, "Base cannot be null");
+		Objects.requireNonNull(target, "Target cannot be null");
+		Resolution key=new Resolution(base,target);
+		URI result=this.resolutions.get(key);
+		if(result==null) {
+			result=base.resolve(target);
+			this.resolutions.put(key,result);
+		}
+		return result;
+	}
+
+	public void clear() {
+		this.uriRefs.clear();
+		this.blankNodes.clear();
+		this.nodes.clear();
+		this.resolutions.clear();
+	}
+
+}
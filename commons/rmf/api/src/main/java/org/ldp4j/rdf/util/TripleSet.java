@@ -26,12 +26,15 @@
  */
 package org.ldp4j.rdf.util;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -40,6 +43,12 @@ import org.ldp4j.rdf.Resource;
 import org.ldp4j.rdf.Triple;
 import org.ldp4j.rdf.URIRef;
 
+/**
+ * A set of triples indexed by subject-predicate-object,
+ * predicate-object-subject and object-subject-predicate. Pattern lookups are
+ * served from the index that covers the most bound positions of the pattern,
+ * so that only the candidate triples have to be checked against it.
+ */
 public final class TripleSet implements ITripleSet {
 
 	private static final String TRIPLE_MATCHER_PARAM = "Triple matcher cannot be null";
@@ -69,9 +78,243 @@ public final class TripleSet implements ITripleSet {
 
 	}
 
+	/**
+	 * Iterates over the triples of a sequence of buckets that are accepted by
+	 * a given matcher.
+	 */
+	private static final class MatchingIterator implements Iterator<Triple> {
+
+		private final Iterator<? extends Iterable<Triple>> buckets;
+		private final ITripleMatcher matcher;
+		private Iterator<Triple> current;
+		private Triple next;
+
+		private MatchingIterator(Iterator<? extends Iterable<Triple>> buckets, ITripleMatcher matcher) {
+			this.buckets=buckets;
+			this.matcher=matcher;
+			this.current=Collections.<Triple>emptyIterator();
+		}
+
+		private Triple advance() {
+			while(true) {
+				while(this.current.hasNext()) {
+					Triple candidate=this.current.next();
+					if(this.matcher.accept(candidate)) {
+						return candidate;
+					}
+				}
+				if(!this.buckets.hasNext()) {
+					return null;
+				}
+				this.current=this.buckets.next().iterator();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if(this.next==null) {
+				this.next=advance();
+			}
+			return this.next!=null;
+		}
+
+		@Override
+		public Triple next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Triple result=this.next;
+			this.next=null;
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Removal not supported");
+		}
+
+	}
+
+	/**
+	 * A two-level hash index whose buckets keep the triples sorted.
+	 */
+	private abstract static class Index {
+
+		private final Map<Node,Map<Node,SortedSet<Triple>>> entries=new HashMap<Node,Map<Node,SortedSet<Triple>>>();
+
+		protected abstract Node first(Triple triple);
+
+		protected abstract Node second(Triple triple);
+
+		void add(Triple triple) {
+			Node first=first(triple);
+			Map<Node,SortedSet<Triple>> level=this.entries.get(first);
+			if(level==null) {
+				level=new HashMap<Node,SortedSet<Triple>>();
+				this.entries.put(first,level);
+			}
+			Node second=second(triple);
+			SortedSet<Triple> bucket=level.get(second);
+			if(bucket==null) {
+				bucket=new TreeSet<Triple>();
+				level.put(second,bucket);
+			}
+			bucket.add(triple);
+		}
+
+		void remove(Triple triple) {
+			Node first=first(triple);
+			Map<Node,SortedSet<Triple>> level=this.entries.get(first);
+			if(level==null) {
+				return;
+			}
+			Node second=second(triple);
+			SortedSet<Triple> bucket=level.get(second);
+			if(bucket==null) {
+				return;
+			}
+			bucket.remove(triple);
+			if(bucket.isEmpty()) {
+				level.remove(second);
+				if(level.isEmpty()) {
+					this.entries.remove(first);
+				}
+			}
+		}
+
+		Iterator<SortedSet<Triple>> buckets(Node first) {
+			Map<Node,SortedSet<Triple>> level=this.entries.get(first);
+			if(level==null) {
+				return Collections.<SortedSet<Triple>>emptyIterator();
+			}
+			return level.values().iterator();
+		}
+
+		Iterator<SortedSet<Triple>> buckets(Node first, Node second) {
+			Map<Node,SortedSet<Triple>> level=this.entries.get(first);
+			SortedSet<Triple> bucket=null;
+			if(level!=null) {
+				bucket=level.get(second);
+			}
+			if(bucket==null) {
+				return Collections.<SortedSet<Triple>>emptyIterator();
+			}
+			return Collections.singleton(bucket).iterator();
+		}
+
+		void clear() {
+			this.entries.clear();
+		}
+
+	}
+
+	private static final class SubjectPredicateObjectIndex extends Index {
+
+		@Override
+		protected Node first(Triple triple) {
+			return triple.getSubject();
+		}
+
+		@Override
+		protected Node second(Triple triple) {
+			return triple.getPredicate();
+		}
+
+	}
+
+	private static final class PredicateObjectSubjectIndex extends Index {
+
+		@Override
+		protected Node first(Triple triple) {
+			return triple.getPredicate();
+		}
+
+		@Override
+		protected Node second(Triple triple) {
+			return triple.getObject();
+		}
+
+	}
+
+	private static final class ObjectSubjectPredicateIndex extends Index {
+
+		@Override
+		protected Node first(Triple triple) {
+			return triple.getObject();
+		}
+
+		@Override
+		protected Node second(Triple triple) {
+			return triple.getSubject();
+		}
+
+	}
+
 	private static final Triple[] EMPTY_TRIPLE_ARRAY = new Triple[0];
 
-	private final SortedSet<Triple> triples=new TreeSet<Triple>();
+	private final NavigableSet<Triple> triples=new TreeSet<Triple>();
+
+	private final Index spo=new SubjectPredicateObjectIndex();
+	private final Index pos=new PredicateObjectSubjectIndex();
+	private final Index osp=new ObjectSubjectPredicateIndex();
+
+	private Iterator<? extends Iterable<Triple>> candidates(Resource<?> subject, URIRef predicate, Node object) {
+		Iterator<? extends Iterable<Triple>> result=null;
+		if(subject!=null && predicate!=null) {
+			result=this.spo.buckets(subject,predicate);
+		} else if(predicate!=null && object!=null) {
+			result=this.pos.buckets(predicate,object);
+		} else if(object!=null && subject!=null) {
+			result=this.osp.buckets(object,subject);
+		} else if(subject!=null) {
+			result=this.spo.buckets(subject);
+		} else if(predicate!=null) {
+			result=this.pos.buckets(predicate);
+		} else if(object!=null) {
+			result=this.osp.buckets(object);
+		} else {
+			result=Collections.singleton(this.triples).iterator();
+		}
+		return result;
+	}
+
+	private Iterable<Triple> view(final Resource<?> subject, final URIRef predicate, final Node object, final ITripleMatcher matcher) {
+		return new Iterable<Triple>() {
+			@Override
+			public Iterator<Triple> iterator() {
+				return new MatchingIterator(candidates(subject,predicate,object),matcher);
+			}
+		};
+	}
+
+	private void addTriple(Triple triple) {
+		if(this.triples.add(triple)) {
+			this.spo.add(triple);
+			this.pos.add(triple);
+			this.osp.add(triple);
+		}
+	}
+
+	private void removeTriple(Triple triple) {
+		Triple stored=this.triples.ceiling(triple);
+		if(stored!=null && stored.compareTo(triple)==0) {
+			this.triples.remove(stored);
+			this.spo.remove(stored);
+			this.pos.remove(stored);
+			this.osp.remove(stored);
+		}
+	}
+
+	/**
+	 * Get a live, unmodifiable view of the triples that match a given pattern.
+	 * A {@code null} position matches any value. The triples are only
+	 * guaranteed to be sorted when none or at least two of the positions are
+	 * bound. The view reflects later changes to the set, but it must not be
+	 * iterated while the set is being modified.
+	 */
+	public Iterable<Triple> match(Resource<?> subject, URIRef predicate, Node object) {
+		return view(subject,predicate,object,new TriplePatternMatcher(subject,predicate,object));
+	}
 
 	@Override
 	public TripleSet get(Resource<?> subject, URIRef predicate, Node object) {
@@ -81,11 +324,16 @@ public final class TripleSet implements ITripleSet {
 	@Override
 	public TripleSet get(ITripleMatcher tripleMatcher) {
 		Objects.requireNonNull(tripleMatcher, TRIPLE_MATCHER_PARAM);
+		Iterable<Triple> candidates=null;
+		if(tripleMatcher instanceof TriplePatternMatcher) {
+			TriplePatternMatcher pattern=(TriplePatternMatcher)tripleMatcher;
+			candidates=view(pattern.subject(),pattern.predicate(),pattern.object(),pattern);
+		} else {
+			candidates=view(null,null,null,tripleMatcher);
+		}
 		TripleSet result=new TripleSet();
-		for(Triple t:triples) {
-			if(tripleMatcher.accept(t)) {
-				result.add(t);
-			}
+		for(Triple t:candidates) {
+			result.addTriple(t);
 		}
 		return result;
 	}
@@ -126,19 +374,17 @@ public final class TripleSet implements ITripleSet {
 	}
 
 	public void add(Triple... triples) {
-		if(triples!=null && triples.length>0) {
-			this.triples.addAll(Arrays.asList(triples));
+		if(triples!=null) {
+			for(Triple t:triples) {
+				addTriple(t);
+			}
 		}
 	}
 
 	public <T extends Iterable<Triple>> void add(T triples) {
 		if(triples!=null) {
-			if(triples instanceof TripleSet) {
-				this.triples.addAll(((TripleSet)triples).triples);
-			} else {
-				for(Triple t:triples) {
-					this.triples.add(t);
-				}
+			for(Triple t:triples) {
+				addTriple(t);
 			}
 		}
 	}
@@ -151,19 +397,21 @@ public final class TripleSet implements ITripleSet {
 	}
 
 	public void remove(Triple... triples) {
-		if(triples!=null && triples.length>0) {
-			this.triples.removeAll(Arrays.asList(triples));
+		if(triples!=null) {
+			for(Triple t:triples) {
+				removeTriple(t);
+			}
 		}
 	}
 
 	public <T extends Iterable<Triple>> void remove(T triples) {
 		if(triples!=null) {
-			if(triples instanceof TripleSet) {
-				this.triples.removeAll(((TripleSet)triples).triples);
-			} else {
-				for(Triple t:triples) {
-					this.triples.remove(t);
-				}
+			List<Triple> removed=new ArrayList<Triple>();
+			for(Triple t:triples) {
+				removed.add(t);
+			}
+			for(Triple t:removed) {
+				removeTriple(t);
 			}
 		}
 	}
@@ -174,17 +422,22 @@ public final class TripleSet implements ITripleSet {
 
 	public void remove(ITripleMatcher tripleMatcher) {
 		Objects.requireNonNull(tripleMatcher, TRIPLE_MATCHER_PARAM);
-		Set<Triple> result=new HashSet<Triple>();
+		List<Triple> result=new ArrayList<Triple>();
 		for(Triple t:triples) {
 			if(!tripleMatcher.accept(t)) {
 				result.add(t);
 			}
 		}
-		triples.removeAll(result);
+		for(Triple t:result) {
+			removeTriple(t);
+		}
 	}
 
 	public void clear() {
 		this.triples.clear();
+		this.spo.clear();
+		this.pos.clear();
+		this.osp.clear();
 	}
 
 	@Override
@@ -192,4 +445,4 @@ public final class TripleSet implements ITripleSet {
 		return RDFOperations.toString(Collections.unmodifiableSortedSet(triples));
 	}
 
-}
\ No newline at end of file
+}
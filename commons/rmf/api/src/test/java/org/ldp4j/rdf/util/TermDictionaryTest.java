@@ -0,0 +1,72 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.commons.rmf:rmf-api:0.2.2
+ *   Bundle      : rmf-api-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.rdf.util;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.net.URI;
+
+import org.junit.Test;
+import org.ldp4j.rdf.Literal;
+import org.ldp4j.rdf.URIRef;
+
+public class TermDictionaryTest {
+
+	@Test
+	public void testRepeatedTermsAreCanonicalized() {
+		TermDictionary sut=new TermDictionary();
+		URIRef predicate=sut.uriRef("http://www.example.org/name");
+		assertThat(sut.uriRef("http://www.example.org/name"),sameInstance(predicate));
+		assertThat(sut.blankNode("b1"),sameInstance(sut.blankNode("b1")));
+		Literal<String> literal=RDFModelDSL.literal("value","en");
+		assertThat(sut.intern(RDFModelDSL.literal("value","en")),sameInstance(sut.intern(literal)));
+		assertThat(sut.intern(RDFModelDSL.literal("value","es")),not(sameInstance(literal)));
+	}
+
+	@Test
+	public void testResolutionsAreMemoized() {
+		TermDictionary sut=new TermDictionary();
+		URI base=URI.create("http://www.example.org/base/");
+		URI resolved=sut.resolve(base,URI.create("resource"));
+		assertThat(resolved,equalTo(URI.create("http://www.example.org/base/resource")));
+		assertThat(sut.resolve(base,URI.create("resource")),sameInstance(resolved));
+		assertThat(sut.resolve(URI.create("http://www.example.org/other/"),URI.create("resource")),equalTo(URI.create("http://www.example.org/other/resource")));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedTermsAreEvicted() {
+		TermDictionary sut=new TermDictionary(1);
+		URIRef first=sut.uriRef("http://www.example.org/first");
+		sut.uriRef("http://www.example.org/second");
+		assertThat(sut.uriRef("http://www.example.org/first"),not(sameInstance(first)));
+		assertThat(sut.uriRef("http://www.example.org/first"),equalTo(first));
+	}
+
+}
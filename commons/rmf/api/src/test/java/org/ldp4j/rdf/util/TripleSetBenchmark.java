@@ -0,0 +1,118 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.commons.rmf:rmf-api:0.2.2
+ *   Bundle      : rmf-api-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.rdf.util;
+
+import static org.ldp4j.rdf.util.RDFModelDSL.literal;
+import static org.ldp4j.rdf.util.RDFModelDSL.triple;
+import static org.ldp4j.rdf.util.RDFModelDSL.uriRef;
+
+import java.util.concurrent.TimeUnit;
+
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.rdf.URIRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the indexed pattern lookups of {@link TripleSet} with the linear
+ * scan that is carried out for arbitrary {@link ITripleMatcher}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TripleSetBenchmark {
+
+	private static final String NAMESPACE="http://www.example.org/";
+
+	@Param({"1000","100000"})
+	private int triples;
+
+	private TripleSet set;
+	private URIRef subject;
+	private URIRef predicate;
+	private ITripleMatcher scanningMatcher;
+
+	@Setup
+	public void setUp() {
+		this.set=new TripleSet();
+		int subjects=this.triples/10;
+		for(int i=0;i<this.triples;i++) {
+			this.set.add(
+				triple(
+					uriRef(NAMESPACE+"resource/"+(i%subjects)),
+					uriRef(NAMESPACE+"property/"+(i%10)),
+					literal("value "+i)));
+		}
+		this.subject=uriRef(NAMESPACE+"resource/"+(subjects/2));
+		this.predicate=uriRef(NAMESPACE+"property/5");
+		final TriplePatternMatcher pattern=new TriplePatternMatcher(this.subject,this.predicate,null);
+		this.scanningMatcher=new ITripleMatcher() {
+			@Override
+			public boolean accept(Triple t) {
+				return pattern.accept(t);
+			}
+		};
+	}
+
+	@Benchmark
+	public TripleSet indexedGet() {
+		return this.set.get(this.subject,this.predicate,null);
+	}
+
+	@Benchmark
+	public void indexedMatch(Blackhole bh) {
+		for(Triple t:this.set.match(this.subject,this.predicate,null)) {
+			bh.consume(t);
+		}
+	}
+
+	@Benchmark
+	public TripleSet scanningGet() {
+		return this.set.get(this.scanningMatcher);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt=
+			new OptionsBuilder().
+				include(TripleSetBenchmark.class.getSimpleName()).
+				forks(1).
+				build();
+		new Runner(opt).run();
+	}
+
+}
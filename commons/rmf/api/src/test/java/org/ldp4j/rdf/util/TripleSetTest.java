@@ -0,0 +1,102 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.commons.rmf:rmf-api:0.2.2
+ *   Bundle      : rmf-api-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.rdf.util;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.ldp4j.rdf.util.RDFModelDSL.literal;
+import static org.ldp4j.rdf.util.RDFModelDSL.triple;
+import static org.ldp4j.rdf.util.RDFModelDSL.uriRef;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.rdf.URIRef;
+
+public class TripleSetTest {
+
+	private static final URIRef ALICE = uriRef("http://www.example.org/alice");
+	private static final URIRef BOB   = uriRef("http://www.example.org/bob");
+	private static final URIRef KNOWS = uriRef("http://www.example.org/knows");
+	private static final URIRef NAME  = uriRef("http://www.example.org/name");
+
+	private Triple aliceKnowsBob;
+	private Triple aliceName;
+	private Triple bobKnowsAlice;
+	private Triple bobName;
+	private TripleSet sut;
+
+	@Before
+	public void setUp() {
+		aliceKnowsBob=triple(ALICE,KNOWS,BOB);
+		aliceName=triple(ALICE,NAME,literal("Alice"));
+		bobKnowsAlice=triple(BOB,KNOWS,ALICE);
+		bobName=triple(BOB,NAME,literal("Bob"));
+		sut=new TripleSet();
+		sut.add(bobName,aliceName,bobKnowsAlice,aliceKnowsBob);
+	}
+
+	@Test
+	public void testLookupsUseEveryBindingCombination() {
+		assertThat(sut.match(ALICE,null,null),containsInAnyOrder(aliceKnowsBob,aliceName));
+		assertThat(sut.match(null,KNOWS,null),containsInAnyOrder(aliceKnowsBob,bobKnowsAlice));
+		assertThat(sut.match(null,null,ALICE),contains(bobKnowsAlice));
+		assertThat(sut.match(ALICE,KNOWS,null),contains(aliceKnowsBob));
+		assertThat(sut.match(null,NAME,literal("Bob")),contains(bobName));
+		assertThat(sut.match(BOB,null,ALICE),contains(bobKnowsAlice));
+		assertThat(sut.match(BOB,NAME,literal("Alice")),emptyIterable());
+		assertThat(sut.match(null,null,null),contains(sut.toArray()));
+		assertThat(sut.get(null,KNOWS,null).size(),equalTo(2));
+	}
+
+	@Test
+	public void testViewsReflectLaterChanges() {
+		Iterable<Triple> view=sut.match(null,NAME,null);
+		sut.remove(triple(ALICE,NAME,literal("Alice")));
+		assertThat(view,contains(bobName));
+		sut.clear();
+		assertThat(view,emptyIterable());
+		sut.add(aliceName);
+		assertThat(view,contains(aliceName));
+	}
+
+	@Test
+	public void testCustomMatchersAreStillSupported() {
+		TripleSet result=sut.get(
+			new ITripleMatcher() {
+				@Override
+				public boolean accept(Triple t) {
+					return t.getObject() instanceof URIRef;
+				}
+			});
+		assertThat(result,contains(aliceKnowsBob,bobKnowsAlice));
+	}
+
+}
@@ -29,14 +29,13 @@ package org.ldp4j.rdf.impl;
 import java.io.IOException;
 import java.io.InputStream;
 
-import org.apache.commons.io.IOUtils;
 import org.ldp4j.rdf.Triple;
 
 final class InputStreamUnmarshaller extends AbstractUnmarshaller<InputStream> {
 
 	@Override
 	public Iterable<Triple> unmarshall(InputStream source) throws IOException {
-		return getParser().parse(IOUtils.toString(source));
+		return getParser().parse(source);
 	}
 	
 }
\ No newline at end of file
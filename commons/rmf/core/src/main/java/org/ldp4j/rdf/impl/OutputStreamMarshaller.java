@@ -28,13 +28,14 @@ package org.ldp4j.rdf.impl;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 
 import org.ldp4j.rdf.Triple;
 import org.ldp4j.rdf.spi.Marshaller;
 import org.ldp4j.rdf.spi.Configuration;
 
-import org.apache.commons.io.IOUtils;
-
 final class OutputStreamMarshaller implements Marshaller<OutputStream> {
 
 	private Configuration options;
@@ -51,8 +52,9 @@ final class OutputStreamMarshaller implements Marshaller<OutputStream> {
 
 	@Override
 	public void marshall(Iterable<Triple> triples, OutputStream target) throws IOException {
-		String output = new RDFModelFormater(getConfiguration().getBase(),getConfiguration().getNamespaces(),getConfiguration().getFormat()).format(triples);
-		IOUtils.write(output, target);
+		Writer writer=new OutputStreamWriter(target,Charset.defaultCharset());
+		new RDFModelFormater(getConfiguration().getBase(),getConfiguration().getNamespaces(),getConfiguration().getFormat()).format(triples,writer);
+		writer.flush();
 	}
 
 }
\ No newline at end of file
@@ -31,6 +31,8 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URI;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.ldp4j.rdf.BlankNode;
 import org.ldp4j.rdf.Format;
@@ -42,6 +44,7 @@ import org.ldp4j.rdf.Triple;
 import org.ldp4j.rdf.TypedLiteral;
 import org.ldp4j.rdf.URIRef;
 import org.ldp4j.rdf.rdf4j.TurtlePrettyPrinter;
+import org.ldp4j.rdf.util.TermDictionary;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
@@ -102,7 +105,7 @@ final class RDFModelFormater {
 		private final class ObjectFormater extends NodeVisitor<org.eclipse.rdf4j.model.Value> {
 			@Override
 			public org.eclipse.rdf4j.model.Value visitURIRef(URIRef node, org.eclipse.rdf4j.model.Value defaultResult) {
-				return valueFactory.createURI(baseURI.resolve(node.getIdentity()).toString());
+				return formatURIRef(node);
 			}
 
 			@Override
@@ -154,7 +157,7 @@ final class RDFModelFormater {
 			public org.eclipse.rdf4j.model.Resource visitURIRef(
 					URIRef node,
 					org.eclipse.rdf4j.model.Resource defaultResult) {
-				return valueFactory.createURI(baseURI.resolve(node.getIdentity()).toString());
+				return formatURIRef(node);
 			}
 
 			@Override
@@ -169,9 +172,13 @@ final class RDFModelFormater {
 		private final SubjectFormater subjectFormater;
 		private final ObjectFormater objectFormater;
 		private final URI baseURI;
+		private final TermDictionary dictionary;
+		private final Map<URIRef,org.eclipse.rdf4j.model.IRI> iris;
 
 		public TripleFormater(URI baseURI) {
 			this.baseURI = baseURI;
+			this.dictionary = new TermDictionary();
+			this.iris = new HashMap<URIRef,org.eclipse.rdf4j.model.IRI>();
 			this.valueFactory = new MemValueFactory();
 			this.subjectFormater = new SubjectFormater();
 			this.objectFormater = new ObjectFormater();
@@ -186,8 +193,21 @@ final class RDFModelFormater {
 						t.getObject().accept(objectFormater));
 		}
 
-		private org.eclipse.rdf4j.model.URI formatPredicate(URIRef predicate) {
-			return valueFactory.createURI(baseURI.resolve(predicate.getIdentity()).toString());
+		private org.eclipse.rdf4j.model.IRI formatPredicate(URIRef predicate) {
+			return formatURIRef(predicate);
+		}
+
+		/**
+		 * Each distinct URI is only resolved and translated once per
+		 * formatting operation.
+		 */
+		private org.eclipse.rdf4j.model.IRI formatURIRef(URIRef node) {
+			org.eclipse.rdf4j.model.IRI result=this.iris.get(node);
+			if(result==null) {
+				result=valueFactory.createIRI(this.dictionary.resolve(baseURI,node.getIdentity()).toString());
+				this.iris.put(node,result);
+			}
+			return result;
 		}
 
 	}
@@ -204,9 +224,17 @@ final class RDFModelFormater {
 
 	public String format(Iterable<Triple> triples) throws IOException {
 		StringWriter writer=new StringWriter();
+		format(triples,writer);
+		return writer.toString();
+	}
+
+	/**
+	 * Format the triples writing them directly to the specified writer. The
+	 * writer is not closed.
+	 */
+	public void format(Iterable<Triple> triples, Writer writer) throws IOException {
 		try {
 			exportTriples(triples, createWriter(writer));
-			return writer.toString();
 		} catch (RDFHandlerException e) {
 			throw new IOException(e);
 		}
@@ -239,7 +267,7 @@ final class RDFModelFormater {
 		}
 	}
 
-	private RDFWriter createWriter(StringWriter writer) {
+	private RDFWriter createWriter(Writer writer) {
 		RDFWriter result=null;
 		if(format.equals(Format.TURTLE)) {
 			result=new TurtlePrettyPrinter(new MemValueFactory().createURI(baseURI.toString()),writer);
@@ -27,6 +27,8 @@
 package org.ldp4j.rdf.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.StringReader;
 import java.net.URI;
 import java.util.ArrayList;
@@ -50,9 +52,9 @@ import org.eclipse.rdf4j.repository.sail.SailRepository;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.RDFHandler;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
-import org.eclipse.rdf4j.rio.RDFParseException;
 import org.eclipse.rdf4j.rio.RDFParser;
 import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,6 +75,58 @@ final class RDFModelParser {
 
 	}
 
+	/**
+	 * The content to be parsed. Sources are consumed as they are parsed, so
+	 * the raw content does not need to be materialized in memory.
+	 */
+	private interface ContentSource {
+
+		void parse(RDFParser parser, String base) throws IOException, OpenRDFException;
+
+		void load(RepositoryConnection connection, String base, RDFFormat format) throws IOException, OpenRDFException;
+
+	}
+
+	private static final class ReaderContentSource implements ContentSource {
+
+		private final Reader reader;
+
+		private ReaderContentSource(Reader reader) {
+			this.reader = reader;
+		}
+
+		@Override
+		public void parse(RDFParser parser, String base) throws IOException, OpenRDFException {
+			parser.parse(this.reader, base);
+		}
+
+		@Override
+		public void load(RepositoryConnection connection, String base, RDFFormat format) throws IOException, OpenRDFException {
+			connection.add(this.reader, base, format);
+		}
+
+	}
+
+	private static final class InputStreamContentSource implements ContentSource {
+
+		private final InputStream stream;
+
+		private InputStreamContentSource(InputStream stream) {
+			this.stream = stream;
+		}
+
+		@Override
+		public void parse(RDFParser parser, String base) throws IOException, OpenRDFException {
+			parser.parse(this.stream, base);
+		}
+
+		@Override
+		public void load(RepositoryConnection connection, String base, RDFFormat format) throws IOException, OpenRDFException {
+			connection.add(this.stream, base, format);
+		}
+
+	}
+
 	private final class UnorderedTripleSink implements TripleSink {
 		private List<Triple> triples=new ArrayList<Triple>();
 
@@ -102,11 +156,11 @@ final class RDFModelParser {
 	}
 
 	private static final class RepositoryBasedTripleProducer implements TripleProducer {
-		private final String content;
+		private final ContentSource content;
 		private final RDFFormat format;
 		private final String base;
 
-		private RepositoryBasedTripleProducer(String content, RDFFormat format, String base) {
+		private RepositoryBasedTripleProducer(ContentSource content, RDFFormat format, String base) {
 			this.content = content;
 			this.format = format;
 			this.base = base;
@@ -161,8 +215,8 @@ final class RDFModelParser {
 			}
 		}
 
-		private void populateRepository(String content, RepositoryConnection connection) throws IOException, RDFParseException, RepositoryException {
-			connection.add(new StringReader(content), this.base, this.format);
+		private void populateRepository(ContentSource content, RepositoryConnection connection) throws IOException, OpenRDFException {
+			content.load(connection, this.base, this.format);
 		}
 
 		private Namespaces getNamespaces(RepositoryConnection connection) throws RepositoryException {
@@ -199,16 +253,23 @@ final class RDFModelParser {
 		}
 	}
 
+	/**
+	 * Produces the triples as the content is parsed: each statement is
+	 * converted and handed to the sink as soon as the parser reports it, so
+	 * neither the statements nor an intermediate repository are kept.
+	 */
 	private static final class ParserBasedTripleProducer implements TripleProducer {
 
-		private static final class Collector implements RDFHandler {
+		private static final class Converter implements RDFHandler {
 
-			private final List<Statement> statements;
+			private final TripleSink sink;
 			private final Namespaces namespaces;
+			private final RDF4JModelParser tripleParser;
 
-			private Collector() {
-				this.namespaces = new Namespaces();
-				this.statements=new ArrayList<Statement>();
+			private Converter(TripleSink sink) {
+				this.sink=sink;
+				this.namespaces=new Namespaces();
+				this.tripleParser=new RDF4JModelParser(this.namespaces);
 			}
 
 			@Override
@@ -221,14 +282,18 @@ final class RDFModelParser {
 				// Nothing to do
 			}
 
+			/**
+			 * Prefixes are declared before they are used, so the namespaces
+			 * known when a statement is reported are enough to convert it.
+			 */
 			@Override
 			public void handleNamespace(String prefix, String uri) throws RDFHandlerException {
-				this.getNamespaces().addPrefix(prefix,uri);
+				this.namespaces.addPrefix(prefix,uri);
 			}
 
 			@Override
 			public void handleStatement(Statement st) throws RDFHandlerException {
-				this.getStatements().add(st);
+				this.sink.addTriple(this.tripleParser.parseStatement(st));
 			}
 
 			@Override
@@ -236,20 +301,13 @@ final class RDFModelParser {
 				// Nothing to do
 			}
 
-			Namespaces getNamespaces() {
-				return this.namespaces;
-			}
-
-			List<Statement> getStatements() {
-				return this.statements;
-			}
 		}
 
-		private final String content;
+		private final ContentSource content;
 		private final RDFFormat format;
 		private final String base;
 
-		private ParserBasedTripleProducer(String content, RDFFormat format, String base) {
+		private ParserBasedTripleProducer(ContentSource content, RDFFormat format, String base) {
 			this.content = content;
 			this.format = format;
 			this.base = base;
@@ -258,14 +316,14 @@ final class RDFModelParser {
 		@Override
 		public void injectTriples(TripleSink sink) throws IOException {
 			try {
-				Collector collector = new Collector();
-				RDFParser parser =Rio.createParser(this.format);
-				parser.setRDFHandler(collector);
-				parser.parse(new StringReader(this.content), this.base);
-				RDF4JModelParser tripleParser=new RDF4JModelParser(collector.getNamespaces());
-				for(Statement st:collector.getStatements()) {
-					sink.addTriple(tripleParser.parseStatement(st));
+				RDFParser parser=Rio.createParser(this.format);
+				if(RDFFormat.NTRIPLES.equals(this.format)) {
+					// N-Triples documents may be parsed in independent chunks,
+					// so their blank node labels must be kept as they are
+					parser.getParserConfig().set(BasicParserSettings.PRESERVE_BNODE_IDS,true);
 				}
+				parser.setRDFHandler(new Converter(sink));
+				this.content.parse(parser, this.base);
 			} catch (OpenRDFException e) {
 				throw new IOException(e);
 			}
@@ -288,7 +346,7 @@ final class RDFModelParser {
 		this.ordering = ordering;
 	}
 
-	private TripleProducer getProducer(String content) {
+	private TripleProducer getProducer(ContentSource content) {
 		RDFFormat rdf4jFormat =
 			getParserFormatForMIMEType(
 					this.format.getMime(),
@@ -322,13 +380,25 @@ final class RDFModelParser {
 		return sink;
 	}
 
-	public Iterable<Triple> parse(final String content) throws IOException {
+	private Iterable<Triple> parse(ContentSource content) throws IOException {
 		TripleSink sink = getTripleSink();
 		TripleProducer producer = getProducer(content);
 		producer.injectTriples(sink);
 		return sink.triples();
 	}
 
+	public Iterable<Triple> parse(final String content) throws IOException {
+		return parse(new StringReader(content));
+	}
+
+	public Iterable<Triple> parse(final Reader content) throws IOException {
+		return parse(new ReaderContentSource(content));
+	}
+
+	public Iterable<Triple> parse(final InputStream content) throws IOException {
+		return parse(new InputStreamContentSource(content));
+	}
+
 	public static RDFFormat getParserFormatForMIMEType(String mimeType, RDFFormat fallback) {
 		RDFFormat fileFormat = Rio.getParserFormatForMIMEType(mimeType);
 		if (fileFormat == null) {
@@ -51,7 +51,7 @@ public final class UnmarshallOptions {
 	}
 
 	static UnmarshallStyle style(Configuration configuration) {
-		return configuration.getOption(UNMARSHALL_STYLE, UnmarshallStyle.class, UnmarshallStyle.REPOSITORY_BASED);
+		return configuration.getOption(UNMARSHALL_STYLE, UnmarshallStyle.class, UnmarshallStyle.PARSER_BASED);
 	}
 
 }
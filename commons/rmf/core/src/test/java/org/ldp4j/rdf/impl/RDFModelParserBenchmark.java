@@ -0,0 +1,146 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.commons.rmf:rmf-core:0.2.2
+ *   Bundle      : rmf-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.rdf.impl;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.ldp4j.rdf.Format;
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.rdf.impl.UnmarshallOptions.Ordering;
+import org.ldp4j.rdf.impl.UnmarshallOptions.UnmarshallStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the parse throughput of {@link RDFModelParser} for the supported
+ * formats using the streaming parser-based style and the former repository
+ * based one. Run it with {@code java -cp <test-classpath> <this class>}; the
+ * throughput is reported in parsed documents per second, so the triple
+ * throughput is obtained multiplying it by the size of the document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations=3,time=5)
+@Measurement(iterations=5,time=5)
+@Fork(value=1,jvmArgs={"-Xmx4g"})
+public class RDFModelParserBenchmark {
+
+	private static final URI BASE=URI.create("http://www.example.org/");
+
+	private static final int PROPERTIES=10;
+
+	@Param({"1000","100000","1000000"})
+	private int triples;
+
+	@Param({"turtle","rdfxml","jsonld"})
+	private String format;
+
+	@Param({"PARSER_BASED","REPOSITORY_BASED"})
+	private UnmarshallStyle style;
+
+	private String content;
+
+	private RDFModelParser parser;
+
+	private static String turtle(int triples) {
+		StringBuilder builder=new StringBuilder();
+		builder.append("@prefix ex: <http://www.example.org/vocab#> .\n");
+		for(int i=0;i<triples;i++) {
+			builder.
+				append("<resource/").append(i/PROPERTIES).append("> ").
+				append("ex:property").append(i%PROPERTIES).append(' ').
+				append("\"value ").append(i).append("\" .\n");
+		}
+		return builder.toString();
+	}
+
+	private static String convert(String turtle, RDFFormat target) throws IOException {
+		Model model=Rio.parse(new StringReader(turtle),BASE.toString(),RDFFormat.TURTLE);
+		StringWriter writer=new StringWriter();
+		Rio.write(model,writer,target);
+		return writer.toString();
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		String turtle=turtle(this.triples);
+		Format target=null;
+		if("rdfxml".equals(this.format)) {
+			target=Format.RDF_XML;
+			this.content=convert(turtle,RDFFormat.RDFXML);
+		} else if("jsonld".equals(this.format)) {
+			target=Format.JSON_LD;
+			this.content=convert(turtle,RDFFormat.JSONLD);
+		} else {
+			target=Format.TURTLE;
+			this.content=turtle;
+		}
+		this.parser=new RDFModelParser(BASE,target,this.style,Ordering.KEEP_TRIPLE_ORDER);
+	}
+
+	@Benchmark
+	public int parse() throws IOException {
+		int count=0;
+		for(Triple triple:this.parser.parse(new StringReader(this.content))) {
+			if(triple!=null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	public static void main(String... args) throws RunnerException {
+		Options options=
+			new OptionsBuilder().
+				include(RDFModelParserBenchmark.class.getSimpleName()).
+				build();
+		new Runner(options).run();
+	}
+
+}
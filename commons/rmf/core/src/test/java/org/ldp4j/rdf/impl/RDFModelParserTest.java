@@ -0,0 +1,91 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.commons.rmf:rmf-core:0.2.2
+ *   Bundle      : rmf-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.rdf.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.ldp4j.rdf.Format;
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.rdf.impl.UnmarshallOptions.Ordering;
+import org.ldp4j.rdf.impl.UnmarshallOptions.UnmarshallStyle;
+import org.ldp4j.rdf.spi.Configuration;
+
+public class RDFModelParserTest {
+
+	private static final URI BASE=URI.create("http://www.example.org/");
+
+	private static final String CONTENT=
+		"@prefix ex: <http://www.example.org/vocab#> .\n"+
+		"<resource> ex:title \"Title\" ;\n"+
+		"  ex:size 3 ;\n"+
+		"  ex:related <other>, _:bnode .\n"+
+		"_:bnode ex:title \"Blank\"@en .\n";
+
+	private Iterable<Triple> parse(UnmarshallStyle style, Ordering ordering) throws Exception {
+		return
+			new RDFModelParser(BASE,Format.TURTLE,style,ordering).
+				parse(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private List<Triple> asList(Iterable<Triple> triples) {
+		List<Triple> result=new ArrayList<Triple>();
+		for(Triple triple:triples) {
+			result.add(triple);
+		}
+		return result;
+	}
+
+	@Test
+	public void testStreamingParserMatchesRepositoryBasedParsing() throws Exception {
+		List<Triple> streamed=asList(parse(UnmarshallStyle.PARSER_BASED,Ordering.SORT_TRIPLES));
+		List<Triple> loaded=asList(parse(UnmarshallStyle.REPOSITORY_BASED,Ordering.SORT_TRIPLES));
+		assertThat(streamed.size(),equalTo(5));
+		assertThat(streamed.size(),equalTo(loaded.size()));
+	}
+
+	@Test
+	public void testStreamingParserKeepsDocumentOrder() throws Exception {
+		List<Triple> triples=asList(parse(UnmarshallStyle.PARSER_BASED,Ordering.KEEP_TRIPLE_ORDER));
+		assertThat(triples.size(),equalTo(5));
+		assertThat(triples.get(0).getPredicate().getIdentity(),equalTo(URI.create("http://www.example.org/vocab#title")));
+		assertThat(triples.get(4).getObject().toString().contains("Blank"),equalTo(true));
+	}
+
+	@Test
+	public void testParserBasedStyleIsTheDefault() throws Exception {
+		assertThat(UnmarshallOptions.style(new Configuration(null,Format.TURTLE,BASE)),equalTo(UnmarshallStyle.PARSER_BASED));
+	}
+
+}
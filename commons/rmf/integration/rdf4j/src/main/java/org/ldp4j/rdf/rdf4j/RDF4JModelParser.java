@@ -29,6 +29,8 @@ package org.ldp4j.rdf.rdf4j;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.xml.datatype.Duration;
@@ -48,6 +50,7 @@ import org.ldp4j.rdf.Triple;
 import org.ldp4j.rdf.URIRef;
 import org.ldp4j.rdf.Datatype.ValueSink;
 import org.ldp4j.rdf.util.RDFModelDSL;
+import org.ldp4j.rdf.util.TermDictionary;
 
 public final class RDF4JModelParser {
 
@@ -145,13 +148,25 @@ public final class RDF4JModelParser {
 	}
 
 	private final Namespaces namespaces;
+	private final TermDictionary dictionary;
+	private final Map<String,Datatype> datatypes;
 
-	public RDF4JModelParser(Namespaces namespaces) {
+	public RDF4JModelParser(Namespaces namespaces, TermDictionary dictionary) {
 		if(namespaces==null) {
 			this.namespaces = new Namespaces();
 		} else {
 			this.namespaces = namespaces;
 		}
+		if(dictionary==null) {
+			this.dictionary = new TermDictionary();
+		} else {
+			this.dictionary = dictionary;
+		}
+		this.datatypes = new HashMap<String,Datatype>();
+	}
+
+	public RDF4JModelParser(Namespaces namespaces) {
+		this(namespaces,null);
 	}
 
 	public RDF4JModelParser() {
@@ -165,44 +180,67 @@ public final class RDF4JModelParser {
 	}
 
 	public URIRef parseURI(org.eclipse.rdf4j.model.URI uri) {
-		return RDFModelDSL.uriRef(uri.stringValue());
+		return this.dictionary.uriRef(uri.stringValue());
 	}
 
 	public BlankNode parseBlankNode(BNode bNode) {
-		return RDFModelDSL.blankNode(bNode.stringValue());
+		return this.dictionary.blankNode(bNode.stringValue());
 	}
 
 	public Resource<?> parseResource(org.eclipse.rdf4j.model.Resource subject) {
 		Resource<?> result;
 		if(subject instanceof org.eclipse.rdf4j.model.URI) {
-			result=RDFModelDSL.uriRef(subject.stringValue());
+			result=this.dictionary.uriRef(subject.stringValue());
 		} else {
-			result=RDFModelDSL.blankNode(subject.stringValue());
+			result=this.dictionary.blankNode(subject.stringValue());
+		}
+		return result;
+	}
+
+	/**
+	 * Datatype lookups are memoized, as only a handful of datatypes are used
+	 * in a given document.
+	 */
+	private Datatype datatype(String dataType) {
+		Datatype result=this.datatypes.get(dataType);
+		if(result==null && !this.datatypes.containsKey(dataType)) {
+			result=Datatype.fromString(dataType);
+			this.datatypes.put(dataType,result);
 		}
 		return result;
 	}
 
 	public Literal<?> parseLiteral(org.eclipse.rdf4j.model.Literal literal) {
 		org.eclipse.rdf4j.model.URI datatype = literal.getDatatype();
+		return
+			parseLiteral(
+				literal.getLabel(),
+				datatype==null?null:datatype.stringValue(),
+				literal.getLanguage());
+	}
+
+	/**
+	 * Parse a literal from its lexical form. Literals with a known datatype
+	 * are boxed into the matching Java type. The language is only taken into
+	 * account if no datatype is specified.
+	 */
+	public Literal<?> parseLiteral(String label, String dataType, String language) {
 		Literal<?> result;
-		String label = literal.getLabel();
-		if(datatype==null) {
-			String language = literal.getLanguage();
+		if(dataType==null) {
 			if(language!=null) {
 				result=RDFModelDSL.literal(label,language);
 			} else {
 				result=RDFModelDSL.literal(label);
 			}
 		} else {
-			String dataType = datatype.stringValue();
-			Datatype type=Datatype.fromString(dataType);
+			Datatype type=datatype(dataType);
 			if(type!=null) {
-				result=RDFModelDSL.typedLiteral(boxTypedLiteral(type, label), dataType);
+				result=RDFModelDSL.typedLiteral(boxTypedLiteral(type, label), type);
 			} else {
 				result=RDFModelDSL.typedLiteral(label,URI.create(dataType));
 			}
 		}
-		return result;
+		return this.dictionary.intern(result);
 	}
 
 	public Node parseValue(Value object) {
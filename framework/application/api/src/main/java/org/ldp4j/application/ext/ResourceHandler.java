@@ -34,7 +34,7 @@ import org.ldp4j.application.data.DataSet;
  * <br/>
  *
  * Handler implementations can be further extended by implementing the
- * {@link Deletable} and/or {@link Modifiable} interfaces.
+ * {@link Deletable}, {@link Modifiable} and/or {@link Patchable} interfaces.
  */
 public interface ResourceHandler {
 
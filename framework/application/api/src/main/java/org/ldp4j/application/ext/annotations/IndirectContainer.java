@@ -57,6 +57,12 @@ public @interface IndirectContainer {
 	/** The attachments of the template. */
 	Attachment[] attachments() default {};
 
+	/**
+	 * The strategy used for generating the entity tags of the resources of
+	 * the template. By default, random entity tags are used.
+	 */
+	EntityTagStrategy entityTags() default EntityTagStrategy.RANDOM;
+
 	/**
 	 * The {@code ResourceHandler} class that will handle the member resources
 	 * of the container.
@@ -66,6 +72,12 @@ public @interface IndirectContainer {
 	/** If defined, the path prefix to be used when publishing member resources. */
 	String memberPath() default "";
 
+	/**
+	 * If positive, the maximum number of members to be included in each page
+	 * when retrieving the container. By default containers are not paged.
+	 */
+	int pageSize() default 0;
+
 	/**
 	 * The membership predicate to use for relating the member resources with
 	 * the container.
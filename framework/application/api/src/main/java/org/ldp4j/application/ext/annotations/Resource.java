@@ -55,4 +55,10 @@ public @interface Resource {
 	/** The attachments of the template. */
 	Attachment[] attachments() default {};
 
+	/**
+	 * The strategy used for generating the entity tags of the resources of
+	 * the template. By default, random entity tags are used.
+	 */
+	EntityTagStrategy entityTags() default EntityTagStrategy.RANDOM;
+
 }
@@ -26,6 +26,9 @@
  */
 package org.ldp4j.application.engine.context;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.ldp4j.application.data.ManagedIndividualId;
 
 public interface ApplicationContextOperation {
@@ -38,6 +41,16 @@ public interface ApplicationContextOperation {
 
 	PublicResource resolveResource(ManagedIndividualId id);
 
+	/**
+	 * Resolve the resources published at a batch of paths at once.
+	 *
+	 * @param paths
+	 *            the paths to resolve
+	 * @return the resources found, indexed by path. Paths that do not
+	 *         identify a resource are not included.
+	 */
+	Map<String,PublicResource> resolveResources(Collection<String> paths);
+
 	void dispose();
 
 }
@@ -0,0 +1,103 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-engine-api:0.2.2
+ *   Bundle      : ldp4j-application-engine-api-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.engine.context;
+
+import org.ldp4j.application.data.DataSet;
+
+import com.google.common.base.Optional;
+
+/**
+ * A page of the members of a container, as defined by LDP Paging. Pages are
+ * identified by a cursor, which is the number of the first member that can be
+ * included in the page, and the maximum number of members that can be
+ * included in the page. As members are always sorted by number, cursors remain
+ * stable even when members are added or removed from the container.
+ */
+public interface ContainerPage {
+
+	/**
+	 * The cursor of the first page of a container.
+	 */
+	long FIRST_PAGE = 0;
+
+	/**
+	 * Get the container whose members are paged.
+	 *
+	 * @return the paged container
+	 */
+	PublicContainer container();
+
+	/**
+	 * Get the cursor of the page.
+	 *
+	 * @return the number of the first member that can be included in the page
+	 */
+	long cursor();
+
+	/**
+	 * Get the maximum number of members included in the page.
+	 *
+	 * @return the size of the page
+	 */
+	int size();
+
+	/**
+	 * Get the cursor of the next page.
+	 *
+	 * @return the cursor of the next page, or absent if this is the last page
+	 */
+	Optional<Long> next();
+
+	/**
+	 * Get the cursor of the previous page.
+	 *
+	 * @return the cursor of the previous page, or absent if this is the first
+	 *         page
+	 */
+	Optional<Long> previous();
+
+	/**
+	 * Get the cursor of the last page.
+	 *
+	 * @return the cursor of the last page
+	 */
+	long last();
+
+	/**
+	 * Get the representation of the container restricted to the members of
+	 * the page.
+	 *
+	 * @param contentPreferences
+	 *            the preferences to use for creating the representation
+	 * @return the representation of the page
+	 * @throws ApplicationExecutionException
+	 *             if the application fails to retrieve the state of the
+	 *             container
+	 */
+	DataSet entity(ContentPreferences contentPreferences) throws ApplicationExecutionException;
+
+}
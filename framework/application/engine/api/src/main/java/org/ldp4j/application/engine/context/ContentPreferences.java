@@ -26,6 +26,8 @@
  */
 package org.ldp4j.application.engine.context;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.net.URI;
 import java.util.Collections;
 import java.util.Set;
@@ -34,6 +36,7 @@ import org.ldp4j.application.vocabulary.LDP;
 import org.ldp4j.application.vocabulary.Term;
 
 import com.google.common.base.Objects;
+import com.google.common.base.Optional;
 import com.google.common.collect.Sets;
 
 public final class ContentPreferences {
@@ -67,6 +70,7 @@ public final class ContentPreferences {
 	
 	private final Set<Preference> include;
 	private final Set<Preference> omit;
+	private Integer maxMemberCount;
 	
 	private ContentPreferences() {
 		this.include=Sets.newTreeSet();
@@ -81,6 +85,16 @@ public final class ContentPreferences {
 		return Collections.unmodifiableSet(this.omit);
 	}
 	
+	/**
+	 * Get the maximum number of members the client is willing to receive in
+	 * a single representation of a container.
+	 *
+	 * @return the maximum member count, or absent if not specified
+	 */
+	public Optional<Integer> maxMemberCount() {
+		return Optional.fromNullable(this.maxMemberCount);
+	}
+
 	public int size() {
 		return this.include.size()+this.omit.size();
 	}
@@ -103,6 +117,11 @@ public final class ContentPreferences {
 		}
 	}
 	
+	public void limitMemberCount(int maxMemberCount) {
+		checkArgument(maxMemberCount>0,"Maximum member count must be positive (%s)",maxMemberCount);
+		this.maxMemberCount=maxMemberCount;
+	}
+
 	public boolean isMinimalInclusionRequired() {
 		return this.include.contains(Preference.MINIMAL_CONTAINER);
 	}
@@ -118,7 +137,7 @@ public final class ContentPreferences {
 
 	@Override
 	public int hashCode() {
-		return Objects.hashCode(this.include,this.omit);
+		return Objects.hashCode(this.include,this.omit,this.maxMemberCount);
 	}
 
 	@Override
@@ -128,7 +147,8 @@ public final class ContentPreferences {
 			ContentPreferences that=(ContentPreferences)obj;
 			result=
 				Objects.equal(this.include,that.include) &&
-				Objects.equal(this.omit,that.omit);
+				Objects.equal(this.omit,that.omit) &&
+				Objects.equal(this.maxMemberCount,that.maxMemberCount);
 		}
 		return result;
 	}
@@ -139,6 +159,9 @@ public final class ContentPreferences {
 		builder.append("ContentPreferences [");
 		builder.append("include=").append(this.include).append(", ");
 		builder.append("omit=").append(this.omit);
+		if(this.maxMemberCount!=null) {
+			builder.append(", maxMemberCount=").append(this.maxMemberCount);
+		}
 		builder.append("]");
 		return builder.toString();
 	}
@@ -180,6 +203,11 @@ public final class ContentPreferences {
 			return this;
 		}
 		
+		public ContentPreferencesBuilder withMaxMemberCount(int maxMemberCount) {
+			this.contentPreferences.limitMemberCount(maxMemberCount);
+			return this;
+		}
+
 		public ContentPreferences build() {
 			return this.contentPreferences;
 		}
@@ -27,13 +27,38 @@
 package org.ldp4j.application.engine.context;
 
 import java.util.Collection;
+import java.util.Iterator;
 
 import org.ldp4j.application.data.DataSet;
 
+import com.google.common.base.Optional;
+
 public interface PublicContainer extends PublicRDFSource {
 
 	Collection<PublicResource> members();
 
+	/**
+	 * Get the maximum number of members to be included in each page of the
+	 * container, if the container has to be paged.
+	 *
+	 * @return the page size configured for the container
+	 */
+	Optional<Integer> pageSize();
+
+	/**
+	 * Get a page of the members of the container.
+	 *
+	 * @param cursor
+	 *            the number of the first member that can be included in the
+	 *            page
+	 * @param size
+	 *            the maximum number of members to include in the page
+	 * @return the requested page
+	 * @throws IllegalArgumentException
+	 *             if the cursor is negative or the size is not positive
+	 */
+	ContainerPage page(long cursor, int size);
+
 	/**
 	 * Create a resource using the specified data set and preferences.
 	 *
@@ -53,4 +78,28 @@ public interface PublicContainer extends PublicRDFSource {
 	PublicResource createResource(DataSet dataSet, CreationPreferences preferences)
 			throws 	ApplicationExecutionException;
 
+	/**
+	 * Create many resources at once, one for each of the specified data sets.
+	 * The data sets are consumed lazily, and the resources are created in
+	 * batches: each batch is processed using a single write session and
+	 * committed in its own transaction. The resources are always published at
+	 * the default paths, and if the creation fails, the resources created by
+	 * the batches completed so far are kept.
+	 *
+	 * @param dataSets
+	 *            the data for each of the new resources
+	 * @param batchSize
+	 *            the maximum number of resources to create in each batch
+	 * @return the number of resources created
+	 * @throws ApplicationExecutionException
+	 *             if the application fails to create any of the resources
+	 * @throws InvalidIndirectIdentifierException
+	 *             if not valid indirect identifier is specified when trying to
+	 *             create a member in an indirect container
+	 * @throws IllegalArgumentException
+	 *             if the batch size is not positive
+	 */
+	int createResources(Iterator<DataSet> dataSets, int batchSize)
+			throws ApplicationExecutionException;
+
 }
\ No newline at end of file
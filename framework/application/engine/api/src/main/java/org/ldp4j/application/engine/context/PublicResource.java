@@ -44,6 +44,19 @@ public interface PublicResource extends PublicEndpoint {
 
 	void modify(DataSet dataSet) throws ApplicationExecutionException;
 
+	/**
+	 * Apply a set of changes to the state of the resource. The deletions are
+	 * applied before the insertions.
+	 *
+	 * @param deletions
+	 *            the values to remove from the state of the resource
+	 * @param insertions
+	 *            the values to add to the state of the resource
+	 * @throws ApplicationExecutionException
+	 *             if the changes could not be applied
+	 */
+	void patch(DataSet deletions, DataSet insertions) throws ApplicationExecutionException;
+
 	void delete() throws ApplicationExecutionException;
 
 	DataSet getConstraintReport(String constraintsId) throws ApplicationExecutionException;
@@ -26,14 +26,38 @@
  */
 package org.ldp4j.application.kernel.endpoint;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.ldp4j.application.kernel.resource.ResourceId;
 
 public interface EndpointRepository {
 
 	Endpoint endpointOfPath(String path);
 
+	/**
+	 * Find the endpoints of a batch of paths at once. Implementations may
+	 * resolve all the paths with a single lookup.
+	 *
+	 * @param paths
+	 *            the paths of the endpoints to find
+	 * @return the endpoints found, indexed by their path. Paths without
+	 *         endpoint are not included.
+	 */
+	Map<String,Endpoint> endpointsOfPaths(Collection<String> paths);
+
 	Endpoint endpointOfResource(ResourceId id);
 
 	void add(Endpoint endpoint);
 
+	/**
+	 * Add a batch of endpoints at once. Implementations may defer or group
+	 * the underlying writes, so a failure may only be detected when the
+	 * enclosing transaction is committed.
+	 *
+	 * @param endpoints
+	 *            the endpoints to add
+	 */
+	void addAll(Collection<? extends Endpoint> endpoints);
+
 }
\ No newline at end of file
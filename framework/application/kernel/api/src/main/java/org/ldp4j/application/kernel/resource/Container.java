@@ -32,8 +32,27 @@ public interface Container extends Resource {
 
 	Set<Slug> slugs();
 
+	/**
+	 * Returns a snapshot of the members of the container. For large
+	 * containers prefer {@link #memberView()}, which does not copy the
+	 * membership.
+	 */
 	Set<Member> members();
 
+	/**
+	 * Returns a live view of the members of the container, ordered by their
+	 * number.
+	 */
+	MemberView memberView();
+
+	/**
+	 * Returns the version of the membership of the container, which changes
+	 * whenever a member is added to or removed from the container. Unlike
+	 * the member view, getting the version does not require traversing the
+	 * membership.
+	 */
+	long membershipVersion();
+
 	boolean hasMember(ResourceId resourceId);
 
 	Member findMember(ResourceId resourceId);
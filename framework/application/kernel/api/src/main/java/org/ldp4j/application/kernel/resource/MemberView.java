@@ -0,0 +1,63 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-api:0.2.2
+ *   Bundle      : ldp4j-application-kernel-api-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.resource;
+
+/**
+ * A live, read-only view over the members of a container. Members are iterated
+ * lazily and in ascending order of their {@link Member#number() number}, so
+ * that the view can be used for traversing very large containers without
+ * having to materialize the whole membership.
+ */
+public interface MemberView extends Iterable<Member> {
+
+	/**
+	 * Returns {@code true} if the view contains no members.
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Returns the number of members in the view. Depending on the
+	 * implementation this operation may require traversing the view.
+	 */
+	int size();
+
+	/**
+	 * Returns a view of the members whose number ranges from
+	 * {@code fromNumber}, inclusive, to {@code toNumber}, exclusive. The
+	 * returned view is also live.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if {@code fromNumber} is greater than {@code toNumber}
+	 */
+	MemberView range(long fromNumber, long toNumber);
+
+	/**
+	 * Returns the members of the view in descending order of their number.
+	 */
+	Iterable<Member> descending();
+
+}
@@ -0,0 +1,225 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-api:0.2.2
+ *   Bundle      : ldp4j-application-kernel-api-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.resource;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NavigableMap;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.UnmodifiableIterator;
+
+/**
+ * Utility methods for creating {@link MemberView} instances.
+ */
+public final class MemberViews {
+
+	private abstract static class BoundedMemberView implements MemberView {
+
+		protected final long fromNumber;
+		protected final long toNumber;
+
+		private BoundedMemberView(long fromNumber, long toNumber) {
+			this.fromNumber=fromNumber;
+			this.toNumber=toNumber;
+		}
+
+		protected abstract MemberView subView(long fromNumber, long toNumber);
+
+		@Override
+		public final MemberView range(long fromNumber, long toNumber) {
+			checkArgument(fromNumber<=toNumber,"From number (%s) cannot be greater than to number (%s)",fromNumber,toNumber);
+			long from=Math.max(this.fromNumber,fromNumber);
+			long to=Math.min(this.toNumber,toNumber);
+			if(from>=to) {
+				return EMPTY;
+			}
+			return subView(from,to);
+		}
+
+	}
+
+	private static final class NavigableMemberView extends BoundedMemberView {
+
+		private final NavigableMap<Long,? extends Member> members;
+
+		private NavigableMemberView(NavigableMap<Long,? extends Member> members, long fromNumber, long toNumber) {
+			super(fromNumber,toNumber);
+			this.members=members;
+		}
+
+		private NavigableMap<Long,? extends Member> rangedMembers() {
+			return this.members.subMap(this.fromNumber,true,this.toNumber,false);
+		}
+
+		@Override
+		public Iterator<Member> iterator() {
+			return unmodifiable(rangedMembers().values().iterator());
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return rangedMembers().isEmpty();
+		}
+
+		@Override
+		public int size() {
+			return rangedMembers().size();
+		}
+
+		@Override
+		public Iterable<Member> descending() {
+			final NavigableMap<Long,? extends Member> descending=rangedMembers().descendingMap();
+			return new Iterable<Member>() {
+				@Override
+				public Iterator<Member> iterator() {
+					return unmodifiable(descending.values().iterator());
+				}
+			};
+		}
+
+		@Override
+		protected MemberView subView(long fromNumber, long toNumber) {
+			return new NavigableMemberView(this.members,fromNumber,toNumber);
+		}
+
+	}
+
+	private static final class OrderedMemberView extends BoundedMemberView {
+
+		private final Collection<? extends Member> members;
+
+		private OrderedMemberView(Collection<? extends Member> members, long fromNumber, long toNumber) {
+			super(fromNumber,toNumber);
+			this.members=members;
+		}
+
+		private boolean isUnbounded() {
+			return this.fromNumber==Long.MIN_VALUE && this.toNumber==Long.MAX_VALUE;
+		}
+
+		@Override
+		public Iterator<Member> iterator() {
+			final Iterator<? extends Member> delegate=this.members.iterator();
+			if(isUnbounded()) {
+				return unmodifiable(delegate);
+			}
+			return new AbstractIterator<Member>() {
+				@Override
+				protected Member computeNext() {
+					while(delegate.hasNext()) {
+						Member next=delegate.next();
+						if(next.number()>=toNumber) {
+							break;
+						}
+						if(next.number()>=fromNumber) {
+							return next;
+						}
+					}
+					return endOfData();
+				}
+			};
+		}
+
+		@Override
+		public boolean isEmpty() {
+			if(isUnbounded()) {
+				return this.members.isEmpty();
+			}
+			return !iterator().hasNext();
+		}
+
+		@Override
+		public int size() {
+			if(isUnbounded()) {
+				return this.members.size();
+			}
+			return Iterators.size(iterator());
+		}
+
+		@Override
+		public Iterable<Member> descending() {
+			return ImmutableList.copyOf(this).reverse();
+		}
+
+		@Override
+		protected MemberView subView(long fromNumber, long toNumber) {
+			return new OrderedMemberView(this.members,fromNumber,toNumber);
+		}
+
+	}
+
+	private static final MemberView EMPTY=new OrderedMemberView(ImmutableList.<Member>of(),Long.MIN_VALUE,Long.MAX_VALUE);
+
+	private MemberViews() {
+	}
+
+	private static Iterator<Member> unmodifiable(final Iterator<? extends Member> delegate) {
+		return new UnmodifiableIterator<Member>() {
+			@Override
+			public boolean hasNext() {
+				return delegate.hasNext();
+			}
+			@Override
+			public Member next() {
+				return delegate.next();
+			}
+		};
+	}
+
+	/**
+	 * Returns an empty view.
+	 */
+	public static MemberView empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Returns a view backed by a navigable map of members indexed by their
+	 * number. Changes in the map are reflected in the view.
+	 */
+	public static MemberView navigable(NavigableMap<Long,? extends Member> members) {
+		checkNotNull(members,"Members cannot be null");
+		return new NavigableMemberView(members,Long.MIN_VALUE,Long.MAX_VALUE);
+	}
+
+	/**
+	 * Returns a view backed by a collection whose iteration order is the
+	 * ascending order of the number of the members. Changes in the collection
+	 * are reflected in the view.
+	 */
+	public static MemberView ordered(Collection<? extends Member> members) {
+		checkNotNull(members,"Members cannot be null");
+		return new OrderedMemberView(members,Long.MIN_VALUE,Long.MAX_VALUE);
+	}
+
+}
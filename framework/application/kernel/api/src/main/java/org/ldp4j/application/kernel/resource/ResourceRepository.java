@@ -26,6 +26,7 @@
  */
 package org.ldp4j.application.kernel.resource;
 
+import java.util.Collection;
 
 public interface ResourceRepository {
 
@@ -37,6 +38,16 @@ public interface ResourceRepository {
 
 	void add(Resource resource);
 
+	/**
+	 * Add a batch of resources at once. Implementations may defer or group
+	 * the underlying writes, so a failure may only be detected when the
+	 * enclosing transaction is committed.
+	 *
+	 * @param resources
+	 *            the resources to add
+	 */
+	void addAll(Collection<? extends Resource> resources);
+
 	void remove(Resource resource);
 
 }
\ No newline at end of file
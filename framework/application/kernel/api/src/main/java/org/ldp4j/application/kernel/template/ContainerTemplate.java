@@ -39,4 +39,12 @@ public interface ContainerTemplate extends ResourceTemplate {
 
 	Optional<String> memberPath();
 
+	/**
+	 * Get the maximum number of members to include in each page of the
+	 * container.
+	 *
+	 * @return the page size, if the container has to be paged
+	 */
+	Optional<Integer> pageSize();
+
 }
\ No newline at end of file
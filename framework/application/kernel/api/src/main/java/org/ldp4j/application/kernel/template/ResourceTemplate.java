@@ -29,6 +29,7 @@ package org.ldp4j.application.kernel.template;
 import java.util.Set;
 
 import org.ldp4j.application.ext.ResourceHandler;
+import org.ldp4j.application.ext.annotations.EntityTagStrategy;
 
 import com.google.common.base.Optional;
 
@@ -42,6 +43,8 @@ public interface ResourceTemplate extends Iterable<AttachedTemplate> {
 
 	Optional<String> description();
 
+	EntityTagStrategy entityTagStrategy();
+
 	void accept(TemplateVisitor visitor);
 
 	Set<String> attachmentIds();
@@ -0,0 +1,127 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-api:0.2.2
+ *   Bundle      : ldp4j-application-kernel-api-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.resource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.junit.Test;
+import org.ldp4j.commons.testing.Utils;
+
+public class MemberViewsTest {
+
+	private static final class TestMember implements Member {
+
+		private final long number;
+
+		private TestMember(long number) {
+			this.number=number;
+		}
+
+		@Override
+		public long number() {
+			return this.number;
+		}
+
+		@Override
+		public ResourceId containerId() {
+			return null;
+		}
+
+		@Override
+		public ResourceId memberId() {
+			return null;
+		}
+
+	}
+
+	private static List<Member> members(long... numbers) {
+		List<Member> result=new ArrayList<Member>();
+		for(long number:numbers) {
+			result.add(new TestMember(number));
+		}
+		return result;
+	}
+
+	private static List<Long> numbers(Iterable<Member> members) {
+		List<Long> result=new ArrayList<Long>();
+		for(Member member:members) {
+			result.add(member.number());
+		}
+		return result;
+	}
+
+	private static NavigableMap<Long,Member> index(List<Member> members) {
+		NavigableMap<Long,Member> result=new TreeMap<Long,Member>();
+		for(Member member:members) {
+			result.put(member.number(),member);
+		}
+		return result;
+	}
+
+	@Test
+	public void verifyIsUtilityClass() {
+		assertThat(Utils.isUtilityClass(MemberViews.class),equalTo(true));
+	}
+
+	@Test
+	public void testOrderedView() {
+		MemberView view=MemberViews.ordered(members(1,2,4,7,9));
+		assertThat(view.size(),equalTo(5));
+		assertThat(numbers(view),contains(1L,2L,4L,7L,9L));
+		assertThat(numbers(view.range(2,8)),contains(2L,4L,7L));
+		assertThat(numbers(view.range(2,8).range(3,20)),contains(4L,7L));
+		assertThat(numbers(view.range(2,8).descending()),contains(7L,4L,2L));
+		assertThat(view.range(10,20).isEmpty(),equalTo(true));
+	}
+
+	@Test
+	public void testNavigableView() {
+		NavigableMap<Long,Member> index=index(members(1,2,4,7,9));
+		MemberView view=MemberViews.navigable(index);
+		MemberView range=view.range(2,8);
+		assertThat(range.size(),equalTo(3));
+		assertThat(numbers(range.descending()),contains(7L,4L,2L));
+		index.put(5L,new TestMember(5));
+		index.remove(2L);
+		assertThat(numbers(range),contains(4L,5L,7L));
+		assertThat(numbers(range.range(8,10)),emptyIterable());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testInvalidRange() {
+		MemberViews.empty().range(2,1);
+	}
+
+}
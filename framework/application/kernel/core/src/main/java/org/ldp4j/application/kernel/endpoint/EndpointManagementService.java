@@ -26,9 +26,14 @@
  */
 package org.ldp4j.application.kernel.endpoint;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 import org.ldp4j.application.engine.context.EntityTag;
 import org.ldp4j.application.engine.util.ListenerManager;
@@ -254,6 +259,11 @@ public final class EndpointManagementService implements Service {
 		return this.endpointRepository.endpointOfPath(path);
 	}
 
+	public Map<String,Endpoint> resolveEndpoints(Collection<String> paths) {
+		checkNotNull(paths,"Endpoint paths cannot be null");
+		return this.endpointRepository.endpointsOfPaths(paths);
+	}
+
 	public Endpoint createEndpointForResource(Resource resource, String relativePath, EntityTag entityTag, Date lastModified) throws EndpointCreationException {
 		checkNotNull(resource,RESOURCE_CANNOT_BE_NULL);
 		checkNotNull(entityTag,ENTITY_TAG_CANNOT_BE_NULL);
@@ -263,6 +273,57 @@ public final class EndpointManagementService implements Service {
 		return newEndpoint;
 	}
 
+	/**
+	 * Create the endpoints for a batch of new members of a container. The
+	 * endpoint of the container and its template are only resolved once, and
+	 * the endpoints are added to the repository all at once. Unlike
+	 * {@link #createEndpointForResource(Resource, String, EntityTag, Date)},
+	 * no custom paths are supported, and the creation is not retried if a path
+	 * clash is found.
+	 */
+	public List<Endpoint> createEndpointsForMembers(Container container, List<? extends Resource> members, List<EntityTag> entityTags, Date lastModified) throws EndpointCreationException {
+		checkNotNull(container,"Container cannot be null");
+		checkNotNull(members,"Members cannot be null");
+		checkNotNull(entityTags,"Entity tags cannot be null");
+		checkArgument(members.size()==entityTags.size(),"An entity tag is required for each member");
+		checkNotNull(lastModified,LAST_MODIFIED_CANNOT_BE_NULL);
+		Endpoint endpoint;
+		try {
+			endpoint=getResourceEndpoint(container.id());
+		} catch (EndpointNotFoundException e) {
+			throw new EndpointCreationException("Could not calculate paths for the members of container '"+container.id()+"'",e);
+		}
+		ContainerTemplate template=this.templateManagementService.templateOfId(container.id().templateId(),ContainerTemplate.class);
+		if(template==null) {
+			throw new IllegalStateException("Could not find template resource '"+container+"'");
+		}
+		List<Endpoint> newEndpoints=new ArrayList<Endpoint>(members.size());
+		for(int i=0;i<members.size();i++) {
+			Resource resource=members.get(i);
+			Member member=container.findMember(resource.id());
+			if(member==null) {
+				throw new EndpointCreationException("Resource '"+resource.id()+"' is not a member of container '"+container.id()+"'");
+			}
+			String resourcePath=
+				PathBuilder.
+					create().
+						addSegment(endpoint.path()).
+						addSegment(template.memberPath().or("")).
+						addSegment(member.number()).
+						build();
+			newEndpoints.add(this.modelFactory.createEndpoint(resourcePath,resource,lastModified,entityTags.get(i)));
+		}
+		try {
+			this.endpointRepository.addAll(newEndpoints);
+		} catch (IllegalArgumentException e) {
+			throw new EndpointCreationException("Could not create the endpoints for the members of container '"+container.id()+"'",e);
+		}
+		for(Endpoint newEndpoint:newEndpoints) {
+			this.listenerManager.notify(new EndpointCreationNotification(newEndpoint));
+		}
+		return newEndpoints;
+	}
+
 	public Endpoint modifyResourceEndpoint(Resource resource, EntityTag entityTag, Date lastModified) throws EndpointNotFoundException {
 		checkNotNull(resource,RESOURCE_CANNOT_BE_NULL);
 		checkNotNull(entityTag,ENTITY_TAG_CANNOT_BE_NULL);
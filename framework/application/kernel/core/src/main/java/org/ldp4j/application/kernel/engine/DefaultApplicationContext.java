@@ -28,7 +28,13 @@ package org.ldp4j.application.kernel.engine;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.ldp4j.application.data.DataSet;
 import org.ldp4j.application.data.ManagedIndividualId;
@@ -49,6 +55,7 @@ import org.ldp4j.application.ext.Deletable;
 import org.ldp4j.application.ext.InvalidContentException;
 import org.ldp4j.application.ext.Modifiable;
 import org.ldp4j.application.ext.Namespaces;
+import org.ldp4j.application.ext.Patchable;
 import org.ldp4j.application.ext.Query;
 import org.ldp4j.application.ext.Queryable;
 import org.ldp4j.application.ext.ResourceHandler;
@@ -58,6 +65,7 @@ import org.ldp4j.application.kernel.constraints.ConstraintReportRepository;
 import org.ldp4j.application.kernel.constraints.ConstraintReportTransformer;
 import org.ldp4j.application.kernel.endpoint.Endpoint;
 import org.ldp4j.application.kernel.endpoint.EndpointRepository;
+import org.ldp4j.application.kernel.resource.BulkIngestion;
 import org.ldp4j.application.kernel.resource.Container;
 import org.ldp4j.application.kernel.resource.FeatureExecutionException;
 import org.ldp4j.application.kernel.resource.FeaturePostconditionException;
@@ -73,6 +81,8 @@ import org.ldp4j.application.kernel.transaction.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Maps;
+
 public final class DefaultApplicationContext implements ApplicationContext {
 
 	private final class DefaultApplicationOperation implements ApplicationContextOperation {
@@ -109,6 +119,11 @@ public final class DefaultApplicationContext implements ApplicationContext {
 			return DefaultApplicationContext.this.resolveResource(id);
 		}
 
+		@Override
+		public Map<String,PublicResource> resolveResources(Collection<String> paths) {
+			return DefaultApplicationContext.this.resolveResources(paths);
+		}
+
 		@Override
 		public void dispose() {
 			try {
@@ -138,6 +153,21 @@ public final class DefaultApplicationContext implements ApplicationContext {
 			return transaction;
 		}
 
+		/**
+		 * Make sure that there is a transaction in-flight, as the operation
+		 * may have already committed the transaction it started with.
+		 */
+		public void continueTransaction() {
+			Transaction transaction = this.transactionManager.currentTransaction();
+			if(!transaction.isActive()) {
+				transaction.begin();
+				LOGGER.
+					info("Continued with transaction {}.{},",
+						Thread.currentThread().getName(),
+						transaction);
+			}
+		}
+
 		public void endTransaction(Transaction transaction) {
 			if(transaction.isActive()) {
 				transaction.rollback();
@@ -157,8 +187,10 @@ public final class DefaultApplicationContext implements ApplicationContext {
 	private static final String RESOURCE_RETRIEVAL_FAILED                     = "Resource '%s' retrieval failed ";
 	private static final String RESOURCE_QUERY_FAILED                         = "Resource '%s' query failed ";
 	private static final String RESOURCE_CREATION_FAILED                      = "Resource creation failed at '%s'";
+	private static final String BULK_RESOURCE_CREATION_FAILED                 = "Bulk resource creation failed at '%s' after creating %d resources";
 	private static final String RESOURCE_DELETION_FAILED                      = "Resource deletion failed at '%s'";
 	private static final String RESOURCE_MODIFICATION_FAILED                  = "Resource modification failed at '%s'";
+	private static final String RESOURCE_PATCH_FAILED                         = "Resource patch failed at '%s'";
 
 	private static final Logger LOGGER=LoggerFactory.getLogger(DefaultApplicationContext.class);
 
@@ -227,6 +259,19 @@ public final class DefaultApplicationContext implements ApplicationContext {
 		return this.factory.createResource(endpoint);
 	}
 
+	private Map<String,PublicResource> resolveResources(Collection<String> paths) {
+		checkNotNull(paths,"Endpoint paths cannot be null");
+		Map<String,Endpoint> endpoints=
+			engine().
+				endpointManagementService().
+					resolveEndpoints(paths);
+		Map<String,PublicResource> resources=Maps.newLinkedHashMap();
+		for(Entry<String,Endpoint> entry:endpoints.entrySet()) {
+			resources.put(entry.getKey(),this.factory.createResource(entry.getValue()));
+		}
+		return resources;
+	}
+
 	private PublicResource resolveResource(ManagedIndividualId id) {
 		checkNotNull(id,"Individual identifier cannot be null");
 		return this.factory.createResource(resolveResource(ResourceId.createId(id.name(), id.managerId())));
@@ -357,6 +402,70 @@ public final class DefaultApplicationContext implements ApplicationContext {
 		}
 	}
 
+	/**
+	 * Create the members of a container in batches. Each batch is created
+	 * using a single write session and committed in its own transaction, so
+	 * if a failure happens only the members of the failed batch are lost. The
+	 * data sets of a batch are retrieved before starting its creation, so that
+	 * any failure of the source of data sets is propagated as is.
+	 */
+	int createResources(Endpoint endpoint, Iterator<DataSet> dataSets, int batchSize) throws ApplicationExecutionException {
+		ResourceId resourceId=endpoint.resourceId();
+		DefaultApplicationContextHelper helper=
+			DefaultApplicationContextHelper.
+				create(this.engine().templateManagementService());
+		Date lastModified=lastModified();
+		int created=0;
+		while(dataSets.hasNext()) {
+			List<DataSet> batch=new ArrayList<DataSet>(batchSize);
+			while(batch.size()<batchSize && dataSets.hasNext()) {
+				batch.add(dataSets.next());
+			}
+			this.operationController.continueTransaction();
+			Container resource = this.resourceRepository.containerOfId(resourceId);
+			if(resource==null) {
+				String errorMessage = applicationFailureMessage(COULD_NOT_FIND_CONTAINER_FOR_ENDPOINT,endpoint);
+				LOGGER.error(errorMessage);
+				throw new ApplicationExecutionException(errorMessage);
+			}
+			createBatch(endpoint,resource,batch,helper,lastModified,created);
+			created+=batch.size();
+		}
+		return created;
+	}
+
+	private void createBatch(Endpoint endpoint, Container resource, List<DataSet> batch, DefaultApplicationContextHelper helper, Date lastModified, int created) throws ApplicationExecutionException {
+		BulkIngestion ingestion=null;
+		try {
+			ingestion=
+				this.engine().
+					resourceControllerService().
+						ingestResources(
+							resource,
+							helper.createConfiguration(resource,lastModified));
+			for(DataSet dataSet:batch) {
+				ingestion.create(dataSet,helper.getIndirectId(resource,dataSet));
+			}
+			ingestion.complete();
+		} catch (FeatureExecutionException e) {
+			ingestion.close();
+			ingestion=null;
+			processConstraintValidationFailure(resource, e);
+			String errorMessage = applicationFailureMessage(BULK_RESOURCE_CREATION_FAILED,endpoint,created);
+			throw createException(errorMessage,e);
+		} catch (InvalidIndirectIdentifierException e) {
+			// Just rethrow
+			throw e;
+		} catch (Exception e) {
+			String errorMessage = applicationFailureMessage(BULK_RESOURCE_CREATION_FAILED,endpoint,created);
+			throw createException(errorMessage,e);
+		} finally {
+			if(ingestion!=null) {
+				ingestion.close();
+			}
+		}
+	}
+
 	void deleteResource(Endpoint endpoint) throws ApplicationExecutionException {
 		ResourceId resourceId=endpoint.resourceId();
 		Resource resource = loadResource(resourceId);
@@ -401,6 +510,30 @@ public final class DefaultApplicationContext implements ApplicationContext {
 		}
 	}
 
+	void patchResource(Endpoint endpoint, DataSet deletions, DataSet insertions) throws ApplicationExecutionException {
+		ResourceId resourceId=endpoint.resourceId();
+		Resource resource = loadResource(resourceId);
+		if(resource==null) {
+			String errorMessage = applicationFailureMessage(COULD_NOT_FIND_RESOURCE_FOR_ENDPOINT,endpoint);
+			LOGGER.error(errorMessage);
+			throw new ApplicationExecutionException(errorMessage);
+		}
+		try {
+			WriteSessionConfiguration config=
+				DefaultApplicationContextHelper.
+					create(this.engine().templateManagementService()).
+						createConfiguration(resource,lastModified());
+			this.engine().resourceControllerService().patchResource(resource,deletions,insertions,config);
+		} catch (FeatureExecutionException e) {
+			processConstraintValidationFailure(resource, e);
+			String errorMessage = applicationFailureMessage(RESOURCE_PATCH_FAILED,endpoint);
+			throw createException(errorMessage,e);
+		} catch (Exception e) {
+			String errorMessage = applicationFailureMessage(RESOURCE_PATCH_FAILED,endpoint);
+			throw createException(errorMessage,e);
+		}
+	}
+
 	DataSet getConstraintReport(Endpoint endpoint, String constraintsId) throws ApplicationExecutionException {
 		ResourceId resourceId=endpoint.resourceId();
 		// TODO: Check if it is really necessary
@@ -434,9 +567,8 @@ public final class DefaultApplicationContext implements ApplicationContext {
 		Class<? extends ResourceHandler> handlerClass = template.handlerClass();
 		result.setQueryable(Queryable.class.isAssignableFrom(handlerClass));
 		result.setModifiable(Modifiable.class.isAssignableFrom(handlerClass));
+		result.setPatchable(Patchable.class.isAssignableFrom(handlerClass) || Modifiable.class.isAssignableFrom(handlerClass));
 		result.setDeletable(Deletable.class.isAssignableFrom(handlerClass) && !resource.isRoot());
-		// TODO: Analyze how to provide patch support
-		result.setPatchable(false);
 		TemplateIntrospector introspector = TemplateIntrospector.newInstance(template);
 		result.setFactory(introspector.isContainer());
 		return result;
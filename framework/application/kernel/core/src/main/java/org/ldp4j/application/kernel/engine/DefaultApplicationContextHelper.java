@@ -198,7 +198,7 @@ final class DefaultApplicationContextHelper {
 					build();
 	}
 
-	private URI getIndirectId(Container container, DataSet dataSet) {
+	URI getIndirectId(Container container, DataSet dataSet) {
 		TemplateIntrospector introspector=
 			TemplateIntrospector.
 				newInstance(
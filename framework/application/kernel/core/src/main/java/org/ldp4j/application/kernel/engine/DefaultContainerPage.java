@@ -0,0 +1,205 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-core:0.2.2
+ *   Bundle      : ldp4j-application-kernel-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.engine;
+
+import java.util.Iterator;
+
+import org.ldp4j.application.data.DataSet;
+import org.ldp4j.application.engine.context.ApplicationExecutionException;
+import org.ldp4j.application.engine.context.ContainerPage;
+import org.ldp4j.application.engine.context.ContentPreferences;
+import org.ldp4j.application.engine.context.PublicContainer;
+import org.ldp4j.application.kernel.resource.Member;
+import org.ldp4j.application.kernel.resource.MemberView;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+
+/**
+ * Page of a container whose boundaries are computed from the live member view
+ * of the container. The next and previous cursors are found by walking at
+ * most {@code size} members on each side of the cursor. The last cursor
+ * requires counting the members of the view, so it is only computed when
+ * requested, and at most once per page.
+ */
+final class DefaultContainerPage implements ContainerPage {
+
+	private final DefaultPublicContainer<?> container;
+	private final long cursor;
+	private final int size;
+	private final MemberView view;
+	private final MemberView members;
+	private final Optional<Long> next;
+	private final Optional<Long> previous;
+	private Long last;
+
+	DefaultContainerPage(DefaultPublicContainer<?> container, MemberView view, long cursor, int size) {
+		this.container=container;
+		this.cursor=cursor;
+		this.size=size;
+		this.view=view;
+		this.next=advance(view.range(cursor,Long.MAX_VALUE),size);
+		this.members=view.range(cursor,this.next.or(Long.MAX_VALUE));
+		this.previous=retreat(view.range(FIRST_PAGE,cursor),size);
+	}
+
+	/**
+	 * Find the number of the first member that follows the first {@code size}
+	 * members of the view, if any.
+	 */
+	private static Optional<Long> advance(MemberView view, int size) {
+		Iterator<Member> iterator=view.iterator();
+		for(int i=0;i<size && iterator.hasNext();i++) {
+			iterator.next();
+		}
+		Optional<Long> result=Optional.absent();
+		if(iterator.hasNext()) {
+			result=Optional.of(iterator.next().number());
+		}
+		return result;
+	}
+
+	/**
+	 * Find the cursor of the page that holds the last {@code size} members of
+	 * the view, if any. As pages are delimited every {@code size} members from
+	 * the beginning of the view, if there are no more members the page is the
+	 * first one.
+	 */
+	private static Optional<Long> retreat(MemberView view, int size) {
+		Iterator<Member> iterator=view.descending().iterator();
+		if(!iterator.hasNext()) {
+			return Optional.absent();
+		}
+		long result=FIRST_PAGE;
+		for(int i=0;i<size && iterator.hasNext();i++) {
+			result=iterator.next().number();
+		}
+		if(!iterator.hasNext()) {
+			result=FIRST_PAGE;
+		}
+		return Optional.of(result);
+	}
+
+	/**
+	 * Find the cursor of the last page of the view. Pages are delimited every
+	 * {@code size} members from the beginning of the view, as done when
+	 * {@link #advance(MemberView, int) advancing}, so the last page includes
+	 * the remainder of the members. If the view fits in a single page, the
+	 * first page is used instead.
+	 */
+	private static long rewind(MemberView view, int size) {
+		int count=view.size();
+		int remainder=(count-1)%size+1;
+		if(remainder>=count) {
+			return FIRST_PAGE;
+		}
+		Iterator<Member> iterator=view.descending().iterator();
+		long result=FIRST_PAGE;
+		for(int i=0;i<remainder;i++) {
+			result=iterator.next().number();
+		}
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PublicContainer container() {
+		return this.container;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long cursor() {
+		return this.cursor;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Optional<Long> next() {
+		return this.next;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Optional<Long> previous() {
+		return this.previous;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long last() {
+		if(this.last==null) {
+			this.last=rewind(this.view,this.size);
+		}
+		return this.last;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public DataSet entity(ContentPreferences contentPreferences) throws ApplicationExecutionException {
+		return this.container.entity(contentPreferences,this.members);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return
+			MoreObjects.
+				toStringHelper(getClass()).
+					omitNullValues().
+					add("container",this.container.id()).
+					add("cursor",this.cursor).
+					add("size",this.size).
+					add("next",this.next.orNull()).
+					add("previous",this.previous.orNull()).
+					add("last",this.last).
+					toString();
+	}
+
+}
@@ -35,8 +35,10 @@ import java.util.Map.Entry;
 import org.ldp4j.application.data.DataSet;
 import org.ldp4j.application.data.DataSets;
 import org.ldp4j.application.data.Individual;
+import org.ldp4j.application.data.Literal;
 import org.ldp4j.application.data.ManagedIndividualId;
 import org.ldp4j.application.data.Property;
+import org.ldp4j.application.data.Value;
 import org.ldp4j.application.data.constraints.Constraints;
 import org.ldp4j.application.data.validation.ValidationConstraintFactory;
 import org.ldp4j.application.data.validation.ValidationReport;
@@ -55,6 +57,7 @@ import org.ldp4j.application.ext.InvalidContentException;
 import org.ldp4j.application.ext.Query;
 import org.ldp4j.application.kernel.endpoint.Endpoint;
 import org.ldp4j.application.kernel.resource.Attachment;
+import org.ldp4j.application.kernel.resource.MemberView;
 import org.ldp4j.application.kernel.resource.Resource;
 import org.ldp4j.application.kernel.resource.ResourceId;
 import org.ldp4j.application.kernel.template.AttachedTemplate;
@@ -172,13 +175,22 @@ abstract class DefaultExistingPublicResource extends DefaultPublicResource {
 
 	@Override
 	public final DataSet entity(ContentPreferences contentPreferences) throws ApplicationExecutionException {
+		return entity(contentPreferences,null);
+	}
+
+	/**
+	 * Create the representation of the resource. If the resource is a
+	 * container and a page is specified, only the members of the page will
+	 * be described.
+	 */
+	final DataSet entity(ContentPreferences contentPreferences, MemberView page) throws ApplicationExecutionException {
 		DataSet dataSet=resourceData(contentPreferences);
 		DataSet representation = DataSets.createDataSet(id().name());
 		DataSets.
 			merge(
 				dataSet,
 				representation);
-		Context ctx = new Context(representation);
+		Context ctx = new Context(representation,id(),page);
 		fillInMetadata(
 			contentPreferences,
 			ctx.newIndividual(individualId()),
@@ -216,6 +228,31 @@ abstract class DefaultExistingPublicResource extends DefaultPublicResource {
 		}
 	}
 
+	@Override
+	public final void patch(DataSet deletions, DataSet insertions) throws ApplicationExecutionException {
+		DataSet metadata = metadata();
+		try {
+			// First check that no framework/protocol metadata is deleted
+			checkNotDeleted(deletions, metadata);
+
+			// Second check that the insertions do not mess around the
+			// framework/protocol metadata either, using the same validation as
+			// for modifications on the patched metadata
+			validate(patchedMetadata(metadata, insertions), metadata);
+
+			// Third, remove the framework/protocol metadata that might be
+			// reasserted from the insertions that will be handed to the
+			// application
+			DataSets.remove(metadata, insertions);
+
+			// Fourth, request the patch using the cleansed and validated changes
+			applicationContext().patchResource(endpoint(),deletions,insertions);
+		} catch (InvalidContentException error) {
+			applicationContext().registerContentFailure(endpoint(),error);
+			throw new ApplicationExecutionException("Protocol/framework managed metadata validation failure",error);
+		}
+	}
+
 	@Override
 	public DataSet getConstraintReport(String constraintsId) throws ApplicationExecutionException {
 		return applicationContext().getConstraintReport(endpoint(),constraintsId);
@@ -304,6 +341,46 @@ abstract class DefaultExistingPublicResource extends DefaultPublicResource {
 		resource.accept(new AdditionalValidationConstraintConfigurator(metadata,individual,builder));
 	}
 
+	private void checkNotDeleted(DataSet deletions, DataSet metadata) throws InvalidContentException {
+		for(Individual<?,?> individual:metadata) {
+			Individual<?,?> deleted=deletions.individualOfId(individual.id());
+			if(deleted==null) {
+				continue;
+			}
+			for(Property property:individual.properties()) {
+				Property deletedProperty=deleted.property(property.predicate());
+				if(deletedProperty!=null && hasAnyValue(deletedProperty,property)) {
+					throw new InconsistentContentException("Protocol/framework managed metadata cannot be deleted: "+property.predicate(),Constraints.constraints());
+				}
+			}
+		}
+	}
+
+	private boolean hasAnyValue(Property target, Property values) {
+		for(Value value:values) {
+			boolean found=
+				value instanceof Literal<?>?
+					target.hasLiteralValue((Literal<?>)value):
+					target.hasIdentifiedIndividual(((Individual<?,?>)value).id());
+			if(found) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the metadata that would result from applying the insertions. As the
+	 * deletion of metadata is rejected beforehand, the deletions of the patch
+	 * cannot affect it.
+	 */
+	private DataSet patchedMetadata(DataSet metadata, DataSet insertions) {
+		DataSet result=DataSets.createDataSet(id().name());
+		DataSets.merge(metadata,result);
+		DataSets.merge(insertions,result);
+		return result;
+	}
+
 	private void validate(DataSet dataSet, DataSet metadata) throws InvalidContentException {
 		ManagedIndividualId id = individualId();
 		Individual<?,?> individual=metadata.individualOfId(id);
@@ -26,10 +26,14 @@
  */
 package org.ldp4j.application.kernel.engine;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.net.URI;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -48,6 +52,7 @@ import org.ldp4j.application.data.validation.ValidationConstraint;
 import org.ldp4j.application.data.validation.ValidationConstraintFactory;
 import org.ldp4j.application.data.validation.Validator.ValidatorBuilder;
 import org.ldp4j.application.engine.context.ApplicationExecutionException;
+import org.ldp4j.application.engine.context.ContainerPage;
 import org.ldp4j.application.engine.context.ContentPreferences;
 import org.ldp4j.application.engine.context.CreationPreferences;
 import org.ldp4j.application.engine.context.PublicContainer;
@@ -58,6 +63,7 @@ import org.ldp4j.application.engine.context.CreationPreferences.InteractionModel
 import org.ldp4j.application.kernel.endpoint.Endpoint;
 import org.ldp4j.application.kernel.resource.Container;
 import org.ldp4j.application.kernel.resource.Member;
+import org.ldp4j.application.kernel.resource.MemberView;
 import org.ldp4j.application.kernel.resource.Resource;
 import org.ldp4j.application.kernel.resource.ResourceId;
 import org.ldp4j.application.kernel.template.BasicContainerTemplate;
@@ -70,7 +76,9 @@ import org.ldp4j.application.kernel.template.TemplateVisitor;
 import org.ldp4j.application.vocabulary.LDP;
 import org.ldp4j.application.vocabulary.RDF;
 
-import com.google.common.collect.Lists;
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Sets;
 
 abstract class DefaultPublicContainer<T extends ContainerTemplate> extends DefaultPublicRDFSource implements PublicContainer {
@@ -151,6 +159,44 @@ abstract class DefaultPublicContainer<T extends ContainerTemplate> extends Defau
 		}
 	}
 
+	/**
+	 * Lazy view over the members of the container, which are only resolved
+	 * as the collection is iterated.
+	 */
+	private final class MemberCollection extends AbstractCollection<PublicResource> {
+
+		private final MemberView view;
+
+		private MemberCollection(MemberView view) {
+			this.view=view;
+		}
+
+		@Override
+		public Iterator<PublicResource> iterator() {
+			return
+				Iterators.transform(
+					this.view.iterator(),
+					new Function<Member,PublicResource>() {
+						@Override
+						public PublicResource apply(Member member) {
+							return createResource(member.memberId());
+						}
+					}
+				);
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return this.view.isEmpty();
+		}
+
+		@Override
+		public int size() {
+			return this.view.size();
+		}
+
+	}
+
 	private final Class<? extends T> templateClass;
 
 	protected DefaultPublicContainer(DefaultApplicationContext applicationContext, Endpoint endpoint, Class<? extends T> templateClass) {
@@ -189,7 +235,7 @@ abstract class DefaultPublicContainer<T extends ContainerTemplate> extends Defau
 				ctx.property(RDF.TYPE),
 				ctx.reference(LDP.CONTAINER));
 		if(contentPreferences.mayInclude(Preference.CONTAINMENT_TRIPLES)) {
-			for(PublicResource member:members()) {
+			for(PublicResource member:members(ctx)) {
 				individual.addValue(
 					ctx.property(LDP.CONTAINS),
 					ctx.newIndividual(member));
@@ -216,11 +262,25 @@ abstract class DefaultPublicContainer<T extends ContainerTemplate> extends Defau
 	 */
 	@Override
 	public final Collection<PublicResource> members() {
-		List<PublicResource> members=Lists.newArrayList();
-		for(Member member:resolveAs(Container.class).members()) {
-			members.add(createResource(member.memberId()));
-		}
-		return Collections.unmodifiableList(members);
+		return new MemberCollection(resolveAs(Container.class).memberView());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final Optional<Integer> pageSize() {
+		return containerTemplate().pageSize();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final ContainerPage page(long cursor, int size) {
+		checkArgument(cursor>=ContainerPage.FIRST_PAGE,"Page cursor cannot be negative (%s)",cursor);
+		checkArgument(size>0,"Page size must be positive (%s)",size);
+		return new DefaultContainerPage(this,resolveAs(Container.class).memberView(),cursor,size);
 	}
 
 	/**
@@ -233,6 +293,24 @@ abstract class DefaultPublicContainer<T extends ContainerTemplate> extends Defau
 		return createResource(resource.id());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int createResources(Iterator<DataSet> dataSets, int batchSize) throws ApplicationExecutionException {
+		checkNotNull(dataSets,"Data sets cannot be null");
+		checkArgument(batchSize>0,"Batch size must be positive (%s)",batchSize);
+		return applicationContext().createResources(endpoint(),dataSets,batchSize);
+	}
+
+	/**
+	 * Get the members of the container that have to be described in the
+	 * representation being built.
+	 */
+	final Collection<PublicResource> members(Context ctx) {
+		return new MemberCollection(ctx.members(id(),resolveAs(Container.class).memberView()));
+	}
+
 	private void cleanIndividual(Individual<?,?> individual) {
 		for(Property property:individual) {
 			URI propertyId = property.predicate();
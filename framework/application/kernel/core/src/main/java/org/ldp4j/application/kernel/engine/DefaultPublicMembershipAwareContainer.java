@@ -72,7 +72,7 @@ abstract class DefaultPublicMembershipAwareContainer<T extends MembershipAwareCo
 	}
 
 	private void populateIsMemberOf(Individual<?, ?> individual, Context ctx, URI predicate) {
-		for(PublicResource member:members()) {
+		for(PublicResource member:members(ctx)) {
 			ManagedIndividual tmp=createMemberIndividual(ctx, member);
 			tmp.addValue(
 				predicate,
@@ -83,7 +83,7 @@ abstract class DefaultPublicMembershipAwareContainer<T extends MembershipAwareCo
 	protected abstract ManagedIndividual createMemberIndividual(Context ctx, PublicResource member);
 
 	private void populateHasMember(Individual<?, ?> individual, Context ctx, URI predicate) {
-		for(PublicResource member:members()) {
+		for(PublicResource member:members(ctx)) {
 			individual.addValue(
 				predicate,
 				createMemberIndividual(ctx, member));
@@ -42,6 +42,7 @@ import org.ldp4j.application.engine.context.ApplicationExecutionException;
 import org.ldp4j.application.engine.context.ContentPreferences;
 import org.ldp4j.application.engine.context.PublicResource;
 import org.ldp4j.application.kernel.endpoint.Endpoint;
+import org.ldp4j.application.kernel.resource.MemberView;
 import org.ldp4j.application.kernel.resource.ResourceId;
 import org.ldp4j.application.vocabulary.Term;
 
@@ -50,9 +51,31 @@ abstract class DefaultPublicResource extends DefaultPublicEndpoint implements Pu
 	protected static final class Context {
 
 		private final DataSet dataSet;
+		private final ResourceId pagedContainer;
+		private final MemberView page;
 
 		protected Context(DataSet dataSet) {
+			this(dataSet,null,null);
+		}
+
+		protected Context(DataSet dataSet, ResourceId pagedContainer, MemberView page) {
 			this.dataSet = dataSet;
+			this.pagedContainer = pagedContainer;
+			this.page = page;
+		}
+
+		/**
+		 * Get the members of a container that have to be described. Only the
+		 * members of the page being rendered are described for the paged
+		 * container, whereas all the members are described for any other
+		 * container.
+		 */
+		public MemberView members(ResourceId containerId, MemberView members) {
+			MemberView result=members;
+			if(this.page!=null && containerId.equals(this.pagedContainer)) {
+				result=this.page;
+			}
+			return result;
 		}
 
 		public URI property(Term term) {
@@ -41,6 +41,8 @@ interface Adapter {
 
 	void update(DataSet content) throws FeatureException;
 
+	void patch(DataSet deletions, DataSet insertions) throws FeatureException;
+
 	void delete() throws FeatureException;
 
 	Resource create(DataSet content) throws FeatureException;
@@ -26,12 +26,16 @@
  */
 package org.ldp4j.application.kernel.resource;
 
+import java.net.URI;
+
 import org.ldp4j.application.ApplicationApiRuntimeException;
 import org.ldp4j.application.data.DataSet;
+import org.ldp4j.application.data.DataSets;
 import org.ldp4j.application.ext.ApplicationException;
 import org.ldp4j.application.ext.ContainerHandler;
 import org.ldp4j.application.ext.Deletable;
 import org.ldp4j.application.ext.Modifiable;
+import org.ldp4j.application.ext.Patchable;
 import org.ldp4j.application.ext.Query;
 import org.ldp4j.application.ext.Queryable;
 import org.ldp4j.application.ext.ResourceHandler;
@@ -42,6 +46,7 @@ import org.ldp4j.application.session.ResourceSnapshot;
 import org.ldp4j.application.session.SessionTerminationException;
 import org.ldp4j.application.session.SnapshotVisitor;
 import org.ldp4j.application.session.WriteSession;
+import org.ldp4j.application.session.WriteSessionException;
 
 final class AdapterFactory {
 
@@ -140,6 +145,36 @@ final class AdapterFactory {
 			}
 		}
 
+		/**
+		 * {@inheritDoc} <br>
+		 * If the handler is not {@link Patchable} the changes are applied to
+		 * a copy of its current state, which is then used to update the
+		 * resource.
+		 */
+		@Override
+		public final void patch(DataSet deletions, DataSet insertions) throws FeatureException {
+			Class<?> feature=Patchable.class;
+			try {
+				if(this.delegate instanceof Patchable) {
+					((Patchable)this.delegate).patch(resource(),deletions,insertions,writeSession());
+				} else {
+					feature=Modifiable.class;
+					Modifiable modifiable=as(Modifiable.class);
+					DataSet current=this.delegate.get(resource());
+					checkResponseNotNull(current,ResourceHandler.class,"No data set returned");
+					DataSet content=DataSets.createDataSet(current.name());
+					DataSets.merge(current,content);
+					DataSets.remove(deletions,content);
+					DataSets.merge(insertions,content);
+					modifiable.update(resource(),content,writeSession());
+				}
+			} catch (ApplicationException | ApplicationApiRuntimeException e) {
+				throw featureException(e,feature);
+			} finally {
+				finalizeSession();
+			}
+		}
+
 		@Override
 		public final void delete() throws FeatureException {
 			try {
@@ -180,6 +215,61 @@ final class AdapterFactory {
 
 	}
 
+	private static final class BulkContainerAdapter implements BulkIngestion {
+
+		private final ContainerSnapshot container;
+		private final ResourceId resourceId;
+		private final ContainerHandler delegate;
+		private final WriteSession session;
+		private final WriteSessionService service;
+
+		private BulkContainerAdapter(ContainerSnapshot container, ResourceId resourceId, ContainerHandler delegate, WriteSession session, WriteSessionService service) {
+			this.container = container;
+			this.resourceId = resourceId;
+			this.delegate = delegate;
+			this.session = session;
+			this.service = service;
+		}
+
+		@Override
+		public ResourceId resourceId() {
+			return this.resourceId;
+		}
+
+		@Override
+		public Resource create(DataSet content, URI indirectId) throws FeatureException {
+			this.service.prepareMember(this.session,indirectId);
+			try {
+				ResourceSnapshot create = this.delegate.create(this.container,content,this.session);
+				if(create==null) {
+					throw new FeaturePostconditionException(this.container,ContainerHandler.class,"No resource created");
+				}
+				return this.service.detach(this.session,create);
+			} catch (ApplicationException | ApplicationApiRuntimeException e) {
+				throw new FeatureExecutionException(this.container,ContainerHandler.class,e);
+			}
+		}
+
+		@Override
+		public void complete() throws FeatureException {
+			try {
+				this.service.completeBulkSession(this.session);
+			} catch (WriteSessionException e) {
+				throw new FeatureExecutionException(this.container,ContainerHandler.class,e);
+			}
+		}
+
+		@Override
+		public void close() {
+			try {
+				this.session.close();
+			} catch (SessionTerminationException e) {
+				throw new CouldNotTerminateSessionException(e);
+			}
+		}
+
+	}
+
 	private static final class FactoryVistor implements SnapshotVisitor {
 
 		private final ResourceHandler delegate;
@@ -222,4 +312,18 @@ final class AdapterFactory {
 		return factory.getAdapter();
 	}
 
+	static BulkIngestion newBulkIngestion(Container container, ResourceHandler resourceHandler, WriteSessionService writeSessionService, WriteSessionConfiguration configuration) throws FeatureException {
+		WriteSession session = writeSessionService.createBulkSession(configuration);
+		ResourceSnapshot snapshot = writeSessionService.attach(session,container,resourceHandler.getClass());
+		if(!(snapshot instanceof ContainerSnapshot) || !(resourceHandler instanceof ContainerHandler)) {
+			try {
+				session.close();
+			} catch (SessionTerminationException e) {
+				throw new CouldNotTerminateSessionException(e);
+			}
+			throw new UnsupportedFeatureException(snapshot,ContainerHandler.class);
+		}
+		return new BulkContainerAdapter((ContainerSnapshot)snapshot,container.id(),(ContainerHandler)resourceHandler,session,writeSessionService);
+	}
+
 }
\ No newline at end of file
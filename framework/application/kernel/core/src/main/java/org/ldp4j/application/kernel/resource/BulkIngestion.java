@@ -0,0 +1,69 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-core:0.2.2
+ *   Bundle      : ldp4j-application-kernel-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.resource;
+
+import java.net.URI;
+
+import org.ldp4j.application.data.DataSet;
+
+/**
+ * Creates a batch of members of a container using a single write session. The
+ * handler of the container is used for creating each of the members, but the
+ * changes are only committed when the ingestion is completed.
+ */
+public interface BulkIngestion {
+
+	ResourceId resourceId();
+
+	/**
+	 * Create a new member of the container.
+	 *
+	 * @param content
+	 *            the content of the new member
+	 * @param indirectId
+	 *            the indirect identifier of the new member, if any
+	 * @return the new member
+	 * @throws FeatureException
+	 *             if the handler of the container fails to create the member
+	 */
+	Resource create(DataSet content, URI indirectId) throws FeatureException;
+
+	/**
+	 * Commit the members created so far.
+	 *
+	 * @throws FeatureException
+	 *             if the changes cannot be committed
+	 */
+	void complete() throws FeatureException;
+
+	/**
+	 * Release the write session used by the ingestion. If the ingestion was not
+	 * completed, the changes are discarded.
+	 */
+	void close();
+
+}
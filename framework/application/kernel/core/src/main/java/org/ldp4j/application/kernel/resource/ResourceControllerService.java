@@ -83,6 +83,10 @@ public class ResourceControllerService implements Service {
 		adapter(resource, configuration).update(dataSet);
 	}
 
+	public void patchResource(Resource resource, DataSet deletions, DataSet insertions, WriteSessionConfiguration configuration) throws FeatureException {
+		adapter(resource, configuration).patch(deletions,insertions);
+	}
+
 	public void deleteResource(Resource resource, WriteSessionConfiguration configuration) throws FeatureException {
 		adapter(resource, configuration).delete();
 	}
@@ -91,6 +95,12 @@ public class ResourceControllerService implements Service {
 		return adapter(container,configuration).create(dataSet);
 	}
 
+	public BulkIngestion ingestResources(Container container, WriteSessionConfiguration configuration) throws FeatureException {
+		ResourceTemplate template=this.templateManagementService.templateOfId(container.id().templateId());
+		ResourceHandler delegate=this.templateManagementService.getHandler(template.handlerClass());
+		return AdapterFactory.newBulkIngestion(container,delegate,this.writeSessionService,configuration);
+	}
+
 	public static ServiceBuilder<ResourceControllerService> serviceBuilder() {
 		return new ResourceControllerServiceBuilder();
 	}
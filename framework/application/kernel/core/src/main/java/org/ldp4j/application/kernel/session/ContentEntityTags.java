@@ -0,0 +1,165 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-core:0.2.2
+ *   Bundle      : ldp4j-application-kernel-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.session;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.ldp4j.application.data.DataSet;
+import org.ldp4j.application.data.Individual;
+import org.ldp4j.application.data.LanguageLiteral;
+import org.ldp4j.application.data.Literal;
+import org.ldp4j.application.data.LiteralVisitor;
+import org.ldp4j.application.data.Property;
+import org.ldp4j.application.data.TypedLiteral;
+import org.ldp4j.application.data.Value;
+import org.ldp4j.application.data.ValueVisitor;
+import org.ldp4j.application.engine.context.EntityTag;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Utility class for deriving entity tags from the state of a resource. The
+ * state is first rendered in a canonical form, similar to sorted N-Triples,
+ * so that equal states get the same entity tag regardless of the order in
+ * which the individuals, properties and values were added to the data set,
+ * and then hashed using a 128-bit non-cryptographic hash function. The
+ * membership of containers is not part of the state returned by their
+ * handlers, so their membership version is hashed too, which changes
+ * whenever members are added or removed, without having to traverse the
+ * membership.
+ */
+final class ContentEntityTags {
+
+	private static final class LiteralRenderer implements LiteralVisitor {
+
+		private String result;
+
+		@Override
+		public void visitLiteral(Literal<?> literal) {
+			this.result=lexicalForm(literal.get());
+		}
+
+		@Override
+		public void visitTypedLiteral(TypedLiteral<?> literal) {
+			this.result=lexicalForm(literal.get())+"^^<"+literal.type()+">";
+		}
+
+		@Override
+		public void visitLanguageLiteral(LanguageLiteral literal) {
+			this.result=lexicalForm(literal.get())+"@"+literal.language();
+		}
+
+	}
+
+	private static final class ValueRenderer implements ValueVisitor {
+
+		private String result;
+
+		@Override
+		public void visitIndividual(Individual<?,?> value) {
+			this.result=identity(value);
+		}
+
+		@Override
+		public void visitLiteral(Literal<?> value) {
+			LiteralRenderer renderer=new LiteralRenderer();
+			value.accept(renderer);
+			this.result=renderer.result;
+		}
+
+		String render(Value value) {
+			this.result=null;
+			value.accept(this);
+			return this.result;
+		}
+
+	}
+
+	private static final HashFunction HASH_FUNCTION=Hashing.murmur3_128();
+
+	private ContentEntityTags() {
+	}
+
+	private static String identity(Individual<?,?> individual) {
+		Object id=individual.id();
+		return "<"+id.getClass().getName()+":"+id+">";
+	}
+
+	/**
+	 * The string representation of temporal values depends on the default
+	 * time zone, so the instant is used instead.
+	 */
+	private static String lexicalForm(Object value) {
+		Object canonical=value;
+		if(value instanceof Date) {
+			canonical=((Date)value).getTime();
+		} else if(value instanceof Calendar) {
+			canonical=((Calendar)value).getTimeInMillis();
+		}
+		return "\""+canonical.getClass().getName()+":"+canonical+"\"";
+	}
+
+	private static Hasher hashDataSet(DataSet dataSet) {
+		ValueRenderer renderer=new ValueRenderer();
+		List<String> statements=new ArrayList<String>();
+		for(Individual<?,?> individual:dataSet) {
+			String subject=identity(individual);
+			for(Property property:individual) {
+				String predicate="<"+property.predicate()+">";
+				for(Value value:property) {
+					statements.add(subject+" "+predicate+" "+renderer.render(value)+" .");
+				}
+			}
+		}
+		Collections.sort(statements);
+		Hasher hasher=HASH_FUNCTION.newHasher();
+		for(String statement:statements) {
+			hasher.putString(statement,StandardCharsets.UTF_8).putChar('\n');
+		}
+		return hasher;
+	}
+
+	static EntityTag fromDataSet(DataSet dataSet) {
+		return EntityTag.createStrong(hashDataSet(dataSet).hash().toString());
+	}
+
+	static EntityTag fromContainerState(DataSet dataSet, long membershipVersion) {
+		Hasher hasher=
+			hashDataSet(dataSet).
+				putString("membership "+membershipVersion,StandardCharsets.UTF_8).
+				putChar('\n');
+		return EntityTag.createStrong(hasher.hash().toString());
+	}
+
+}
@@ -31,9 +31,12 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -125,16 +128,38 @@ final class DelegatedWriteSession implements WriteSession {
 
 	private final SnapshotFactory snapshotFactory;
 
+	/**
+	 * Whether or not the session is used for creating many members of the
+	 * target container. In this mode saving the changes does not complete the
+	 * session, and the changes are only committed when the session is
+	 * completed.
+	 */
+	private final boolean bulk;
+	private final List<DelegatedResourceSnapshot> persistentResources;
+	private final List<DelegatedResourceSnapshot> transientResources;
+	private final Map<ResourceId,URI> bulkMembers;
+	private int savedTransientResources;
+	private int registeredMembers;
+	private URI memberIndirectId;
+
 	private volatile Status status;
 
 	protected DelegatedWriteSession(WriteSessionConfiguration configuration, WriteSessionService writeSessionService) {
+		this(configuration,writeSessionService,false);
+	}
+
+	protected DelegatedWriteSession(WriteSessionConfiguration configuration, WriteSessionService writeSessionService, boolean bulk) {
 		this.configuration = configuration;
 		this.writeSessionService = writeSessionService;
+		this.bulk = bulk;
 		UnitOfWork.
 			getCurrent().
 				setEventHandler(new MembershipAwareContainerTargetCollector());
 		this.status=Status.ACTIVE;
 		this.resourceCache=new LinkedHashMap<ResourceId,DelegatedResourceSnapshot>();
+		this.persistentResources=new ArrayList<DelegatedResourceSnapshot>();
+		this.transientResources=new ArrayList<DelegatedResourceSnapshot>();
+		this.bulkMembers=new HashMap<ResourceId,URI>();
 		this.snapshotFactory=SnapshotFactory.newInstance(this);
 	}
 
@@ -146,6 +171,7 @@ final class DelegatedWriteSession implements WriteSession {
 				resource=snapshotFactory.newPersistent(delegate,template);
 				resource.setSession(this);
 				this.resourceCache.put(resourceId, resource);
+				this.persistentResources.add(resource);
 			}
 		}
 		return resource;
@@ -210,7 +236,56 @@ final class DelegatedWriteSession implements WriteSession {
 		return resolveResource(resourceId,loadTemplate(resourceId.templateId()));
 	}
 
+	/**
+	 * Save the changes of the member being created in a bulk session. Only the
+	 * persistent resources and the transient resources created since the last
+	 * save are processed, and the new members of the target container are
+	 * associated to the indirect identifier specified for the member.
+	 */
+	private void saveMemberChanges() {
+		for(DelegatedResourceSnapshot resource:this.persistentResources) {
+			resource.saveChanges();
+		}
+		for(ListIterator<DelegatedResourceSnapshot> it=this.transientResources.listIterator(this.savedTransientResources);it.hasNext();) {
+			it.next().saveChanges();
+		}
+		this.savedTransientResources=this.transientResources.size();
+		ResourceSnapshot targetSnapshot=getTargetSnapshot();
+		if(targetSnapshot instanceof DelegatedContainerSnapshot) {
+			List<DelegatedResourceSnapshot> newMembers=((DelegatedContainerSnapshot)targetSnapshot).newMembers();
+			for(ListIterator<DelegatedResourceSnapshot> it=newMembers.listIterator(this.registeredMembers);it.hasNext();) {
+				this.bulkMembers.put(it.next().resourceId(),this.memberIndirectId);
+			}
+			this.registeredMembers=newMembers.size();
+		}
+		this.memberIndirectId=null;
+	}
+
+	boolean isBulk() {
+		return this.bulk;
+	}
+
+	boolean isBulkMember(DelegatedResourceSnapshot snapshot) {
+		return this.bulkMembers.containsKey(snapshot.resourceId());
+	}
+
+	void prepareMember(URI indirectId) {
+		checkState(this.bulk,"Write session is not a bulk session");
+		checkState(this.status.equals(Status.ACTIVE),WRITE_SESSION_NOT_ACTIVE,this.status);
+		this.memberIndirectId=indirectId;
+	}
+
+	void completeBulk() throws WriteSessionException {
+		checkState(this.bulk,"Write session is not a bulk session");
+		checkState(this.status.equals(Status.ACTIVE),WRITE_SESSION_NOT_ACTIVE,this.status);
+		this.status=Status.COMPLETED;
+		this.writeSessionService.commitSession(this);
+	}
+
 	String getDesiredPath(DelegatedResourceSnapshot snapshot) {
+		if(this.bulk) {
+			return null;
+		}
 		String desiredPath=null;
 		if(isMainResource(snapshot)) {
 			desiredPath=this.configuration.getPath();
@@ -228,6 +303,9 @@ final class DelegatedWriteSession implements WriteSession {
 	}
 
 	URI getIndirectId(DelegatedResourceSnapshot snapshot) {
+		if(this.bulk) {
+			return this.bulkMembers.get(snapshot.resourceId());
+		}
 		URI indirectId=null;
 		if(isMainResource(snapshot)) {
 			indirectId=this.configuration.getIndirectId();
@@ -248,6 +326,14 @@ final class DelegatedWriteSession implements WriteSession {
 		return this.configuration.getLastModified();
 	}
 
+	Resource getTarget() {
+		ResourceSnapshot targetSnapshot=getTargetSnapshot();
+		if(targetSnapshot==null) {
+			return null;
+		}
+		return ((DelegatedResourceSnapshot)targetSnapshot).delegate();
+	}
+
 	Status status() {
 		return this.status;
 	}
@@ -256,6 +342,7 @@ final class DelegatedWriteSession implements WriteSession {
 		DelegatedResourceSnapshot newSnapshot = this.snapshotFactory.newTransient(resourceId, parent);
 		checkState(clazz.isInstance(newSnapshot),"Incompatible types (%s cannot be assigned from %s)",clazz.getCanonicalName(),newSnapshot.getClass().getCanonicalName());
 		checkState(this.resourceCache.put(resourceId, newSnapshot)==null,"Transient resource should be new");
+		this.transientResources.add(newSnapshot);
 		newSnapshot.setSession(this);
 		return clazz.cast(newSnapshot);
 	}
@@ -329,6 +416,10 @@ final class DelegatedWriteSession implements WriteSession {
 	@Override
 	public void saveChanges() throws WriteSessionException {
 		checkState(this.status.equals(Status.ACTIVE),WRITE_SESSION_NOT_ACTIVE,this.status);
+		if(this.bulk) {
+			saveMemberChanges();
+			return;
+		}
 		this.status=Status.COMPLETED;
 		for(Entry<ResourceId, DelegatedResourceSnapshot> entry:this.resourceCache.entrySet()) {
 			DelegatedResourceSnapshot resource = entry.getValue();
@@ -115,7 +115,7 @@ final class MemberCollection {
 				}
 				@Override
 				public void visitContainer(Container resource) {
-					for(Member member:resource.members()) {
+					for(Member member:resource.memberView()) {
 						DelegatedResourceSnapshot memberResourceSnapshot = session.resolveResource(member.memberId());
 						checkState(memberResourceSnapshot!=null,"Could not resolve member %s of container %s",member,resource);
 						memberRepository.registerMember(memberResourceSnapshot);
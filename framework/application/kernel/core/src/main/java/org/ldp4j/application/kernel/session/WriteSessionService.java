@@ -29,21 +29,28 @@ package org.ldp4j.application.kernel.session;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
+import org.ldp4j.application.data.DataSet;
 import org.ldp4j.application.engine.context.EntityTag;
 import org.ldp4j.application.ext.ResourceHandler;
+import org.ldp4j.application.ext.UnknownResourceException;
+import org.ldp4j.application.ext.annotations.EntityTagStrategy;
 import org.ldp4j.application.kernel.endpoint.Endpoint;
 import org.ldp4j.application.kernel.endpoint.EndpointCreationException;
 import org.ldp4j.application.kernel.endpoint.EndpointManagementService;
 import org.ldp4j.application.kernel.endpoint.EndpointNotFoundException;
+import org.ldp4j.application.kernel.resource.Container;
 import org.ldp4j.application.kernel.resource.Resource;
 import org.ldp4j.application.kernel.resource.ResourceId;
 import org.ldp4j.application.kernel.resource.ResourceRepository;
 import org.ldp4j.application.kernel.service.Service;
 import org.ldp4j.application.kernel.service.ServiceBuilder;
 import org.ldp4j.application.kernel.spi.RuntimeDelegate;
+import org.ldp4j.application.kernel.template.ResourceTemplate;
 import org.ldp4j.application.kernel.template.TemplateManagementService;
 import org.ldp4j.application.kernel.transaction.TransactionManager;
 import org.ldp4j.application.session.ResourceSnapshot;
@@ -82,12 +89,15 @@ public final class WriteSessionService implements Service {
 
 		@Override
 		public void visitNew(DelegatedResourceSnapshot obj) {
-			createResource(obj.delegate(),this.lastModified,this.session.getDesiredPath(obj),this.session.getIndirectId(obj));
+			if(this.session.isBulkMember(obj)) {
+				return;
+			}
+			createResource(obj,this.lastModified,this.session.getDesiredPath(obj),this.session.getIndirectId(obj));
 		}
 
 		@Override
 		public void visitDirty(DelegatedResourceSnapshot obj) {
-			modifyResource(obj.delegate(),this.lastModified);
+			modifyResource(obj,this.lastModified);
 		}
 
 		@Override
@@ -96,6 +106,46 @@ public final class WriteSessionService implements Service {
 		}
 	}
 
+	/**
+	 * Collects the members created in a bulk session, so that they can be
+	 * added to the repositories all at once before any other change is
+	 * processed.
+	 */
+	private static final class BulkMemberCollector implements UnitOfWork.Visitor {
+
+		private final DelegatedWriteSession session;
+		private final List<Resource> members;
+
+		private BulkMemberCollector(DelegatedWriteSession session) {
+			this.session = session;
+			this.members=new ArrayList<Resource>();
+		}
+
+		@Override
+		public void visitNew(DelegatedResourceSnapshot obj) {
+			if(this.session.isBulkMember(obj)) {
+				Resource resource=obj.delegate();
+				resource.setIndirectId(this.session.getIndirectId(obj));
+				this.members.add(resource);
+			}
+		}
+
+		@Override
+		public void visitDirty(DelegatedResourceSnapshot obj) {
+			// Nothing to do
+		}
+
+		@Override
+		public void visitDeleted(DelegatedResourceSnapshot obj) {
+			// Nothing to do
+		}
+
+		List<Resource> members() {
+			return this.members;
+		}
+
+	}
+
 	private static final Logger LOGGER=LoggerFactory.getLogger(WriteSessionService.class);
 
 	private final EndpointManagementService endpointManagementService;
@@ -119,6 +169,34 @@ public final class WriteSessionService implements Service {
 		return new DelegatedWriteSession(configuration,this);
 	}
 
+	/**
+	 * Create a session for creating many members of the container targeted by
+	 * the configuration. Saving the changes in the session does not commit
+	 * them: the members are accumulated until the session is completed using
+	 * {@link #completeBulkSession(WriteSession)}, and then they are added to
+	 * the repositories in batches.
+	 */
+	public WriteSession createBulkSession(WriteSessionConfiguration configuration) {
+		checkArgument(configuration.getTarget() instanceof Container,"Bulk sessions must target a container");
+		UnitOfWork.newCurrent();
+		logLifecycleMessage("Created bulk write session: %s",configuration);
+		return new DelegatedWriteSession(configuration,this,true);
+	}
+
+	/**
+	 * Set the indirect identifier of the member that is going to be created
+	 * next in a bulk session.
+	 */
+	public void prepareMember(WriteSession writeSession, URI indirectId) {
+		checkArgument(writeSession instanceof DelegatedWriteSession,"Invalid session");
+		((DelegatedWriteSession)writeSession).prepareMember(indirectId);
+	}
+
+	public void completeBulkSession(WriteSession writeSession) throws WriteSessionException {
+		checkArgument(writeSession instanceof DelegatedWriteSession,"Invalid session");
+		((DelegatedWriteSession)writeSession).completeBulk();
+	}
+
 	void terminateSession(DelegatedWriteSession session) {
 		try {
 			switch(session.status()) {
@@ -157,6 +235,9 @@ public final class WriteSessionService implements Service {
 
 	void commitSession(DelegatedWriteSession session) {
 		logLifecycleMessage("Commiting session...");
+		if(session.isBulk()) {
+			createMembers(session);
+		}
 		UnitOfWork.getCurrent().accept(new ResourceProcessor(session));
 		this.transactionManager.currentTransaction().commit();
 	}
@@ -181,15 +262,41 @@ public final class WriteSessionService implements Service {
 		}
 	}
 
+	private boolean hasContentBasedEntityTags(ResourceTemplate template) {
+		return template!=null && template.entityTagStrategy()==EntityTagStrategy.CONTENT;
+	}
+
 	/**
-	 * TODO: Devise a mechanism for generating the entity tags using meaningful
-	 * information from the client
+	 * Generate the entity tag for the current state of a resource. Random
+	 * entity tags are used unless the template of the resource requests
+	 * deriving them from the state of the resource, as returned by its
+	 * handler and, for containers, their membership version.
+	 *
+	 * @throws IllegalStateException
+	 *             if the entity tag has to be derived from the state of the
+	 *             resource, but the state cannot be retrieved
 	 */
-	private EntityTag generateEntityTag(Resource resource) { // NOSONAR
-		return EntityTag.createStrong(UUID.randomUUID().toString());
+	private EntityTag generateEntityTag(DelegatedResourceSnapshot snapshot) {
+		Resource resource=snapshot.delegate();
+		ResourceTemplate template=this.templateManagementService.templateOfId(resource.id().templateId());
+		if(!hasContentBasedEntityTags(template)) {
+			return EntityTag.createStrong(UUID.randomUUID().toString());
+		}
+		DataSet state=null;
+		try {
+			ResourceHandler handler=this.templateManagementService.getHandler(template.handlerClass());
+			state=handler.get(snapshot);
+		} catch (UnknownResourceException | RuntimeException e) {
+			throw new IllegalStateException("Could not derive the entity tag of resource "+resource.id()+" from its state",e);
+		}
+		if(resource instanceof Container) {
+			return ContentEntityTags.fromContainerState(state,((Container)resource).membershipVersion());
+		}
+		return ContentEntityTags.fromDataSet(state);
 	}
 
-	private void createResource(Resource resource, Date lastModified, String relativePath, URI indirectId) {
+	private void createResource(DelegatedResourceSnapshot snapshot, Date lastModified, String relativePath, URI indirectId) {
+		Resource resource=snapshot.delegate();
 		try {
 			resource.setIndirectId(indirectId);
 			this.resourceRepository.add(resource);
@@ -198,7 +305,7 @@ public final class WriteSessionService implements Service {
 					createEndpointForResource(
 						resource,
 						relativePath,
-						generateEntityTag(resource),
+						generateEntityTag(snapshot),
 						lastModified);
 			if(LOGGER.isTraceEnabled()) {
 				LOGGER.trace("Created "+resource);
@@ -209,13 +316,61 @@ public final class WriteSessionService implements Service {
 		}
 	}
 
-	private void modifyResource(Resource resource, Date lastModified) {
+	/**
+	 * Add the members created in a bulk session to the repositories. A single
+	 * random value is generated per batch, and the entity tags of the members
+	 * are derived from it.
+	 */
+	private void createMembers(DelegatedWriteSession session) {
+		BulkMemberCollector collector=new BulkMemberCollector(session);
+		UnitOfWork.getCurrent().accept(collector);
+		List<Resource> members=collector.members();
+		if(members.isEmpty()) {
+			return;
+		}
+		String batchId=UUID.randomUUID().toString();
+		List<EntityTag> entityTags=new ArrayList<EntityTag>(members.size());
+		for(int i=0;i<members.size();i++) {
+			entityTags.add(EntityTag.createStrong(batchId+"-"+i));
+		}
 		try {
+			this.resourceRepository.addAll(members);
+			this.endpointManagementService.
+				createEndpointsForMembers(
+					(Container)session.getTarget(),
+					members,
+					entityTags,
+					session.getLastModified());
+			if(LOGGER.isTraceEnabled()) {
+				LOGGER.trace("Created {} members of {}",members.size(),session.getTarget().id());
+			}
+		} catch (EndpointCreationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Modify the endpoint of a resource. When the entity tags are derived from
+	 * the state of the resource, the endpoint is not modified if the state
+	 * did not change, so that clients can keep using their cached
+	 * representations.
+	 */
+	private void modifyResource(DelegatedResourceSnapshot snapshot, Date lastModified) {
+		Resource resource=snapshot.delegate();
+		try {
+			EntityTag entityTag=generateEntityTag(snapshot);
+			if(hasContentBasedEntityTags(this.templateManagementService.templateOfId(resource.id().templateId()))) {
+				Endpoint current=this.endpointManagementService.getResourceEndpoint(resource.id());
+				if(entityTag.equals(current.entityTag())) {
+					LOGGER.trace("State of resource {} did not change: endpoint not modified",resource.id());
+					return;
+				}
+			}
 			Endpoint endpoint =
 				this.endpointManagementService.
 					modifyResourceEndpoint(
 						resource,
-						generateEntityTag(resource),
+						entityTag,
 						lastModified);
 			if(LOGGER.isTraceEnabled()) {
 				LOGGER.trace("Modified "+resource);
@@ -38,6 +38,7 @@ import java.util.Objects;
 import java.util.Set;
 
 import org.ldp4j.application.ext.ResourceHandler;
+import org.ldp4j.application.ext.annotations.EntityTagStrategy;
 import org.ldp4j.application.kernel.template.AttachedTemplate;
 import org.ldp4j.application.kernel.template.ResourceTemplate;
 
@@ -53,12 +54,14 @@ public abstract class AbstractMutableTemplate<T extends ResourceHandler> impleme
 
 	private String name;
 	private String description;
+	private EntityTagStrategy entityTagStrategy;
 
 	protected AbstractMutableTemplate(String id, Class<? extends T> handlerClass) {
 		checkNotNull(id,"Template id cannot be null");
 		checkArgument(!id.trim().isEmpty(),"Template id cannot be empty");
 		this.id=id.trim();
 		this.handlerClass = handlerClass;
+		this.entityTagStrategy = EntityTagStrategy.RANDOM;
 	}
 
 	void setName(String name) {
@@ -69,6 +72,10 @@ public abstract class AbstractMutableTemplate<T extends ResourceHandler> impleme
 		this.description=description;
 	}
 
+	void setEntityTagStrategy(EntityTagStrategy entityTagStrategy) {
+		this.entityTagStrategy=checkNotNull(entityTagStrategy,"Entity tag strategy cannot be null");
+	}
+
 	MutableAttachedTemplate attachTemplate(String attachmentId, ResourceTemplate template, String path) {
 		checkNotNull(attachmentId, "AttachmentSnapshot identifier cannot be null");
 		checkNotNull(template, "Attached template cannot be null");
@@ -117,6 +124,14 @@ public abstract class AbstractMutableTemplate<T extends ResourceHandler> impleme
 		return Optional.fromNullable(description);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public EntityTagStrategy entityTagStrategy() {
+		return entityTagStrategy;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -194,6 +209,7 @@ public abstract class AbstractMutableTemplate<T extends ResourceHandler> impleme
 					add("handlerClass",this.handlerClass.getCanonicalName()).
 					add("name",this.name).
 					add("description",this.description).
+					add("entityTagStrategy",this.entityTagStrategy).
 					add("attachments", this.attachments);
 	}
 
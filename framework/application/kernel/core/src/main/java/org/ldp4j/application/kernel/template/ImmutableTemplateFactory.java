@@ -32,6 +32,7 @@ import java.util.Set;
 
 import org.ldp4j.application.ext.ContainerHandler;
 import org.ldp4j.application.ext.ResourceHandler;
+import org.ldp4j.application.ext.annotations.EntityTagStrategy;
 import org.ldp4j.application.ext.annotations.MembershipRelation;
 import org.ldp4j.application.kernel.template.AttachedTemplate;
 import org.ldp4j.application.kernel.template.BasicContainerTemplate;
@@ -83,6 +84,11 @@ final class ImmutableTemplateFactory {
 			return this.template.description();
 		}
 
+		@Override
+		public EntityTagStrategy entityTagStrategy() {
+			return this.template.entityTagStrategy();
+		}
+
 		@Override
 		public Set<String> attachmentIds() {
 			return this.template.attachmentIds();
@@ -126,6 +132,11 @@ final class ImmutableTemplateFactory {
 			return template().memberPath();
 		}
 
+		@Override
+		public Optional<Integer> pageSize() {
+			return template().pageSize();
+		}
+
 		@Override
 		public void accept(TemplateVisitor visitor) {
 			visitor.visitContainerTemplate(this);
@@ -40,6 +40,7 @@ public class MutableContainerTemplate extends AbstractMutableTemplate<ContainerH
 
 	private ResourceTemplate memberTemplate;
 	private String memberPath;
+	private Integer pageSize;
 
 	public MutableContainerTemplate(String id, Class<? extends ContainerHandler> handlerClass) {
 		super(id, handlerClass);
@@ -53,6 +54,10 @@ public class MutableContainerTemplate extends AbstractMutableTemplate<ContainerH
 		this.memberPath = memberPath;
 	}
 
+	void setPageSize(Integer pageSize) {
+		this.pageSize = pageSize;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -77,6 +82,14 @@ public class MutableContainerTemplate extends AbstractMutableTemplate<ContainerH
 		return Optional.fromNullable(this.memberPath);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Optional<Integer> pageSize() {
+		return Optional.fromNullable(this.pageSize);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -84,7 +97,7 @@ public class MutableContainerTemplate extends AbstractMutableTemplate<ContainerH
 	public int hashCode() {
 		return
 			Objects.
-				hash(super.hashCode(),this.memberTemplate,this.memberPath);
+				hash(super.hashCode(),this.memberTemplate,this.memberPath,this.pageSize);
 	}
 
 	/**
@@ -97,7 +110,8 @@ public class MutableContainerTemplate extends AbstractMutableTemplate<ContainerH
 			MutableContainerTemplate that = (MutableContainerTemplate) obj;
 			result=
 				Objects.equals(this.memberTemplate, that.memberTemplate) &&
-				Objects.equals(this.memberPath, that.memberPath);
+				Objects.equals(this.memberPath, that.memberPath) &&
+				Objects.equals(this.pageSize, that.pageSize);
 		}
 		return result;
 	}
@@ -111,6 +125,7 @@ public class MutableContainerTemplate extends AbstractMutableTemplate<ContainerH
 			stringHelper().
 				add("memberTemplate.id()",this.memberTemplate.id()).
 				add("memberPath",this.memberPath).
+				add("pageSize",this.pageSize).
 				toString();
 	}
 
@@ -123,7 +138,8 @@ public class MutableContainerTemplate extends AbstractMutableTemplate<ContainerH
 			super.
 				stringHelper().
 					add("memberTemplate",this.memberTemplate.id()).
-					add("memberPath",this.memberPath);
+					add("memberPath",this.memberPath).
+					add("pageSize",this.pageSize);
 	}
 
 }
\ No newline at end of file
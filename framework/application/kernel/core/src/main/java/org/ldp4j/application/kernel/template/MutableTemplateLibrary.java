@@ -43,6 +43,7 @@ import org.ldp4j.application.ext.ResourceHandler;
 import org.ldp4j.application.ext.annotations.Attachment;
 import org.ldp4j.application.ext.annotations.BasicContainer;
 import org.ldp4j.application.ext.annotations.DirectContainer;
+import org.ldp4j.application.ext.annotations.EntityTagStrategy;
 import org.ldp4j.application.ext.annotations.IndirectContainer;
 import org.ldp4j.application.ext.annotations.MembershipRelation;
 import org.ldp4j.application.ext.annotations.Resource;
@@ -88,6 +89,7 @@ final class MutableTemplateLibrary implements TemplateLibrary {
 			M template = createTemplate(annotation,handler);
 			template.setName(nullable(name(annotation)));
 			template.setDescription(nullable(description(annotation)));
+			template.setEntityTagStrategy(entityTagStrategy(annotation));
 			return template;
 		}
 
@@ -125,6 +127,8 @@ final class MutableTemplateLibrary implements TemplateLibrary {
 
 		protected abstract Attachment[] attachments(A annotation);
 
+		protected abstract EntityTagStrategy entityTagStrategy(A annotation);
+
 		protected final String nullable(String value) {
 			String result=value.trim();
 			if(result.isEmpty()) {
@@ -173,6 +177,7 @@ final class MutableTemplateLibrary implements TemplateLibrary {
 		protected T doProcess(A annotation, Class<? extends ContainerHandler> handler) {
 			T template = super.doProcess(annotation, handler);
 			template.setMemberPath(nullable(memberPath(annotation)));
+			template.setPageSize(pageSize(template.id(),pageSize(annotation)));
 			return template;
 		}
 
@@ -187,8 +192,17 @@ final class MutableTemplateLibrary implements TemplateLibrary {
 			template.setMemberTemplate(memberTemplate);
 		}
 
+		private Integer pageSize(String id, int pageSize) {
+			if(pageSize<0) {
+				throw new TemplateCreationException(id,String.format("Page size cannot be negative (%d)",pageSize));
+			}
+			return pageSize==0?null:pageSize;
+		}
+
 		protected abstract String memberPath(A annotation);
 
+		protected abstract int pageSize(A annotation);
+
 		protected abstract Class<? extends ResourceHandler> memberHandler(A annotation);
 
 	}
@@ -243,6 +257,11 @@ final class MutableTemplateLibrary implements TemplateLibrary {
 			return annotation.attachments();
 		}
 
+		@Override
+		protected EntityTagStrategy entityTagStrategy(Resource annotation) {
+			return annotation.entityTags();
+		}
+
 	}
 
 	private static class BasicContainerProcessor extends ContainerProcessor<BasicContainer,MutableBasicContainerTemplate> {
@@ -271,11 +290,21 @@ final class MutableTemplateLibrary implements TemplateLibrary {
 			return annotation.attachments();
 		}
 
+		@Override
+		protected EntityTagStrategy entityTagStrategy(BasicContainer annotation) {
+			return annotation.entityTags();
+		}
+
 		@Override
 		protected String memberPath(BasicContainer annotation) {
 			return annotation.memberPath();
 		}
 
+		@Override
+		protected int pageSize(BasicContainer annotation) {
+			return annotation.pageSize();
+		}
+
 		@Override
 		protected Class<? extends ResourceHandler> memberHandler(BasicContainer annotation) {
 			return annotation.memberHandler();
@@ -309,11 +338,21 @@ final class MutableTemplateLibrary implements TemplateLibrary {
 			return annotation.attachments();
 		}
 
+		@Override
+		protected EntityTagStrategy entityTagStrategy(DirectContainer annotation) {
+			return annotation.entityTags();
+		}
+
 		@Override
 		protected String memberPath(DirectContainer annotation) {
 			return annotation.memberPath();
 		}
 
+		@Override
+		protected int pageSize(DirectContainer annotation) {
+			return annotation.pageSize();
+		}
+
 		@Override
 		protected Class<? extends ResourceHandler> memberHandler(DirectContainer annotation) {
 			return annotation.memberHandler();
@@ -359,11 +398,21 @@ final class MutableTemplateLibrary implements TemplateLibrary {
 			return annotation.attachments();
 		}
 
+		@Override
+		protected EntityTagStrategy entityTagStrategy(IndirectContainer annotation) {
+			return annotation.entityTags();
+		}
+
 		@Override
 		protected String memberPath(IndirectContainer annotation) {
 			return annotation.memberPath();
 		}
 
+		@Override
+		protected int pageSize(IndirectContainer annotation) {
+			return annotation.pageSize();
+		}
+
 		@Override
 		protected Class<? extends ResourceHandler> memberHandler(IndirectContainer annotation) {
 			return annotation.memberHandler();
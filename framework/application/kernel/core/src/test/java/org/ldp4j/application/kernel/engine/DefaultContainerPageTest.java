@@ -0,0 +1,195 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-core:0.2.2
+ *   Bundle      : ldp4j-application-kernel-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.engine;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.junit.Test;
+import org.ldp4j.application.engine.context.ContainerPage;
+import org.ldp4j.application.kernel.resource.Member;
+import org.ldp4j.application.kernel.resource.MemberView;
+import org.ldp4j.application.kernel.resource.MemberViews;
+import org.ldp4j.application.kernel.resource.ResourceId;
+
+import com.google.common.base.Optional;
+
+public class DefaultContainerPageTest {
+
+	private static final class TestMember implements Member {
+
+		private final long number;
+
+		private TestMember(long number) {
+			this.number=number;
+		}
+
+		@Override
+		public long number() {
+			return this.number;
+		}
+
+		@Override
+		public ResourceId containerId() {
+			return null;
+		}
+
+		@Override
+		public ResourceId memberId() {
+			return null;
+		}
+
+	}
+
+	private static final class CountingMemberView implements MemberView {
+
+		private final MemberView delegate;
+		private final int[] counts;
+
+		private CountingMemberView(MemberView delegate, int[] counts) {
+			this.delegate=delegate;
+			this.counts=counts;
+		}
+
+		@Override
+		public Iterator<Member> iterator() {
+			return this.delegate.iterator();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return this.delegate.isEmpty();
+		}
+
+		@Override
+		public int size() {
+			this.counts[0]++;
+			return this.delegate.size();
+		}
+
+		@Override
+		public MemberView range(long fromNumber, long toNumber) {
+			return new CountingMemberView(this.delegate.range(fromNumber,toNumber),this.counts);
+		}
+
+		@Override
+		public Iterable<Member> descending() {
+			return this.delegate.descending();
+		}
+
+	}
+
+	private static MemberView members(long first, long last) {
+		NavigableMap<Long,Member> members=new TreeMap<Long,Member>();
+		for(long number=first;number<=last;number++) {
+			members.put(number,new TestMember(number));
+		}
+		return MemberViews.navigable(members);
+	}
+
+	private static ContainerPage page(MemberView members, long cursor, int size) {
+		return new DefaultContainerPage(null,members,cursor,size);
+	}
+
+	@Test
+	public void testFirstPage() throws Exception {
+		ContainerPage page=page(members(1,10),ContainerPage.FIRST_PAGE,3);
+		assertThat(page.previous(),equalTo(Optional.<Long>absent()));
+		assertThat(page.next(),equalTo(Optional.of(4L)));
+		assertThat(page.last(),equalTo(10L));
+	}
+
+	@Test
+	public void testIntermediatePage() throws Exception {
+		ContainerPage page=page(members(1,10),4,3);
+		assertThat(page.previous(),equalTo(Optional.of(ContainerPage.FIRST_PAGE)));
+		assertThat(page.next(),equalTo(Optional.of(7L)));
+		assertThat(page.last(),equalTo(10L));
+	}
+
+	@Test
+	public void testLastPage() throws Exception {
+		ContainerPage page=page(members(1,10),10,3);
+		assertThat(page.previous(),equalTo(Optional.of(7L)));
+		assertThat(page.next(),equalTo(Optional.<Long>absent()));
+		assertThat(page.last(),equalTo(10L));
+	}
+
+	@Test
+	public void testCursorsFollowTheNextChain() throws Exception {
+		MemberView members=members(1,11);
+		long cursor=ContainerPage.FIRST_PAGE;
+		Optional<Long> previous=Optional.absent();
+		ContainerPage page=page(members,cursor,3);
+		while(page.next().isPresent()) {
+			assertThat(page.previous(),equalTo(previous));
+			previous=Optional.of(cursor);
+			cursor=page.next().get();
+			page=page(members,cursor,3);
+		}
+		assertThat(page.previous(),equalTo(previous));
+		assertThat(page.last(),equalTo(cursor));
+		assertThat(page(members,ContainerPage.FIRST_PAGE,3).last(),equalTo(cursor));
+	}
+
+	@Test
+	public void testCursorsAreStableWhenMembersAreRemoved() throws Exception {
+		NavigableMap<Long,Member> members=new TreeMap<Long,Member>();
+		for(long number=1;number<=10;number++) {
+			members.put(number,new TestMember(number));
+		}
+		members.remove(5L);
+		members.remove(6L);
+		ContainerPage page=page(MemberViews.navigable(members),4,3);
+		assertThat(page.next(),equalTo(Optional.of(9L)));
+	}
+
+	@Test
+	public void testOnlyTheLastCursorCountsTheMembers() throws Exception {
+		int[] counts=new int[1];
+		ContainerPage page=page(new CountingMemberView(members(1,10),counts),7,3);
+		assertThat(page.previous(),equalTo(Optional.of(4L)));
+		assertThat(page.next(),equalTo(Optional.of(10L)));
+		assertThat(counts[0],equalTo(0));
+		assertThat(page.last(),equalTo(10L));
+		assertThat(page.last(),equalTo(10L));
+		assertThat(counts[0],equalTo(1));
+	}
+
+	@Test
+	public void testSinglePage() throws Exception {
+		ContainerPage page=page(members(1,2),ContainerPage.FIRST_PAGE,3);
+		assertThat(page.previous(),equalTo(Optional.<Long>absent()));
+		assertThat(page.next(),equalTo(Optional.<Long>absent()));
+		assertThat(page.last(),equalTo(ContainerPage.FIRST_PAGE));
+	}
+
+}
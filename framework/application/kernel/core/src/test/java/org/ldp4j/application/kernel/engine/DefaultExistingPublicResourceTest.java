@@ -0,0 +1,146 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-core:0.2.2
+ *   Bundle      : ldp4j-application-kernel-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.engine;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.fail;
+
+import java.net.URI;
+
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.Verifications;
+import mockit.integration.junit4.JMockit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ldp4j.application.data.DataSet;
+import org.ldp4j.application.data.DataSets;
+import org.ldp4j.application.data.ExternalIndividual;
+import org.ldp4j.application.data.Literals;
+import org.ldp4j.application.data.ManagedIndividual;
+import org.ldp4j.application.data.ManagedIndividualId;
+import org.ldp4j.application.data.NamingScheme;
+import org.ldp4j.application.engine.context.ApplicationExecutionException;
+import org.ldp4j.application.ext.InconsistentContentException;
+import org.ldp4j.application.ext.InvalidContentException;
+import org.ldp4j.application.kernel.endpoint.Endpoint;
+import org.ldp4j.application.kernel.resource.Resource;
+import org.ldp4j.application.kernel.resource.ResourceId;
+import org.ldp4j.application.kernel.template.AttachedTemplate;
+import org.ldp4j.application.kernel.template.ResourceTemplate;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+
+@RunWith(JMockit.class)
+public class DefaultExistingPublicResourceTest {
+
+	private static final URI HAS_ATTACHMENT = URI.create("http://www.ldp4j.org/ns/application#hasAttachment");
+
+	private static final URI NAME = URI.create("http://www.example.org/vocab#name");
+
+	private static final ResourceId RESOURCE_ID = ResourceId.createId(NamingScheme.getDefault().name("resource"),"template");
+
+	@Mocked DefaultApplicationContext context;
+	@Mocked Endpoint endpoint;
+	@Mocked Resource resource;
+	@Mocked ResourceTemplate template;
+	@Mocked AttachedTemplate attachedTemplate;
+
+	private DefaultPublicRDFSource sut;
+
+	@Before
+	public void setUp() {
+		new Expectations() {{
+			endpoint.resourceId();result=RESOURCE_ID;minTimes=0;
+			context.resolveResource(endpoint);result=resource;minTimes=0;
+			context.resourceTemplate(resource);result=template;minTimes=0;
+			template.attachedTemplates();result=ImmutableSet.of(attachedTemplate);minTimes=0;
+			attachedTemplate.predicate();result=Optional.absent();minTimes=0;
+		}};
+		this.sut=new DefaultPublicRDFSource(this.context,this.endpoint);
+	}
+
+	private DataSet insertions(URI predicate, Object value) {
+		DataSet dataSet=DataSets.createDataSet(RESOURCE_ID.name());
+		ManagedIndividual individual=
+			dataSet.
+				individual(
+					ManagedIndividualId.createId(RESOURCE_ID.name(),RESOURCE_ID.templateId()),
+					ManagedIndividual.class);
+		if(value instanceof URI) {
+			individual.addValue(predicate,dataSet.individual((URI)value,ExternalIndividual.class));
+		} else {
+			individual.addValue(predicate,Literals.of(value.toString()));
+		}
+		return dataSet;
+	}
+
+	private void verifyRejected(ApplicationExecutionException e) throws Exception {
+		assertThat(e.getCause(),instanceOf(InconsistentContentException.class));
+		new Verifications() {{
+			context.registerContentFailure(endpoint,(InvalidContentException)any);times=1;
+			context.modifyResource((Endpoint)any,(DataSet)any);times=0;
+			context.patchResource((Endpoint)any,(DataSet)any,(DataSet)any);times=0;
+		}};
+	}
+
+	@Test
+	public void testPatch$readOnlyPropertiesCannotBeInserted() throws Exception {
+		DataSet deletions=DataSets.createDataSet(RESOURCE_ID.name());
+		try {
+			this.sut.patch(deletions,insertions(HAS_ATTACHMENT,URI.create("http://www.example.org/other")));
+			fail("Should not allow inserting values of read-only properties");
+		} catch (ApplicationExecutionException e) {
+			verifyRejected(e);
+		}
+	}
+
+	@Test
+	public void testModify$readOnlyPropertiesCannotBeModified() throws Exception {
+		try {
+			this.sut.modify(insertions(HAS_ATTACHMENT,URI.create("http://www.example.org/other")));
+			fail("Should not allow modifying the values of read-only properties");
+		} catch (ApplicationExecutionException e) {
+			verifyRejected(e);
+		}
+	}
+
+	@Test
+	public void testPatch$applicationPropertiesCanBeInserted() throws Exception {
+		final DataSet deletions=DataSets.createDataSet(RESOURCE_ID.name());
+		final DataSet insertions=insertions(NAME,"value");
+		this.sut.patch(deletions,insertions);
+		new Verifications() {{
+			context.patchResource(endpoint,deletions,insertions);times=1;
+		}};
+	}
+
+}
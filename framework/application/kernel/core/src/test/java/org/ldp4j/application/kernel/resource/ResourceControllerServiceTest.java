@@ -30,12 +30,17 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.fail;
 import static org.ldp4j.application.data.IndividualReferenceBuilder.newReference;
 
+import java.net.URI;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
 import org.junit.AfterClass;
@@ -45,8 +50,11 @@ import org.junit.Test;
 import org.ldp4j.application.data.DataDSL;
 import org.ldp4j.application.data.DataSet;
 import org.ldp4j.application.data.IndividualReference;
+import org.ldp4j.application.data.Literals;
+import org.ldp4j.application.data.ManagedIndividualId;
 import org.ldp4j.application.data.Name;
 import org.ldp4j.application.data.NamingScheme;
+import org.ldp4j.application.data.Property;
 import org.ldp4j.application.engine.context.EntityTag;
 import org.ldp4j.application.ext.Query;
 import org.ldp4j.application.ext.ResourceHandler;
@@ -305,6 +313,109 @@ public class ResourceControllerServiceTest {
 		);
 	}
 
+	private BookContainerHandler prepareBookContainer(Name<String> containerName, List<Name<String>> memberNames) {
+		NameProvider nameProvider = NameProvider.create(containerName);
+		for(Name<String> memberName:memberNames) {
+			nameProvider.addMemberName(memberName);
+		}
+		BookContainerHandler containerHandler = getHandler(BookContainerHandler.class);
+		containerHandler.add(containerName, null);
+		containerHandler.setBookHandler(getHandler(BookHandler.class));
+		containerHandler.addNameProvider(containerName, nameProvider);
+		return containerHandler;
+	}
+
+	private List<Name<String>> memberNames(String prefix, int count) {
+		List<Name<String>> result=Lists.newArrayList();
+		for(int i=0;i<count;i++) {
+			result.add(name(prefix+i));
+		}
+		return result;
+	}
+
+	@Test
+	public void testIngestResources() throws Exception {
+		String resourcePath = "bulk";
+		final Name<String> resourceName = name(resourcePath);
+		final DataSet initialData = getInitialData(newReference().toLocalIndividual().named("Miguel"), new Date());
+		final List<Name<String>> memberNames=memberNames("bulkBook",5);
+
+		// BEGIN initialization
+		final Container resource = publishResource(Container.class,BookContainerHandler.ID,resourceName,resourcePath);
+		prepareBookContainer(resourceName,memberNames);
+		// END Initialization
+
+		transactional(
+			new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					BulkIngestion ingestion=sut.ingestResources(resource,getSessionConfiguration(resource));
+					try {
+						for(Name<String> memberName:memberNames) {
+							Resource result=ingestion.create(initialData,null);
+							assertThat((Object)result.id().name(),equalTo((Object)memberName));
+						}
+						ingestion.complete();
+					} finally {
+						ingestion.close();
+					}
+					return null;
+				}
+			}
+		);
+
+		Set<String> paths=new HashSet<String>();
+		Set<EntityTag> entityTags=new HashSet<EntityTag>();
+		for(Name<String> memberName:memberNames) {
+			ResourceId memberId=ResourceId.createId(memberName,BookHandler.ID);
+			assertThat(RuntimeDelegate.getInstance().getResourceRepository().resourceOfId(memberId),notNullValue());
+			Endpoint endpoint=RuntimeDelegate.getInstance().getEndpointRepository().endpointOfResource(memberId);
+			assertThat(endpoint,notNullValue());
+			paths.add(endpoint.path());
+			entityTags.add(endpoint.entityTag());
+		}
+		assertThat(paths.size(),equalTo(memberNames.size()));
+		assertThat(entityTags.size(),equalTo(memberNames.size()));
+		assertThat(RuntimeDelegate.getInstance().getResourceRepository().containerOfId(resource.id()).memberView().size(),equalTo(memberNames.size()));
+	}
+
+	@Test
+	public void testIngestResources$notCompleted() throws Exception {
+		String resourcePath = "bulkDiscarded";
+		final Name<String> resourceName = name(resourcePath);
+		final DataSet initialData = getInitialData(newReference().toLocalIndividual().named("Miguel"), new Date());
+		final List<Name<String>> memberNames=memberNames("discardedBook",3);
+
+		// BEGIN initialization
+		final Container resource = publishResource(Container.class,BookContainerHandler.ID,resourceName,resourcePath);
+		prepareBookContainer(resourceName,memberNames);
+		// END Initialization
+
+		transactional(
+			new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					BulkIngestion ingestion=sut.ingestResources(resource,getSessionConfiguration(resource));
+					try {
+						for(int i=0;i<memberNames.size();i++) {
+							ingestion.create(initialData,null);
+						}
+					} finally {
+						ingestion.close();
+					}
+					return null;
+				}
+			}
+		);
+
+		for(Name<String> memberName:memberNames) {
+			ResourceId memberId=ResourceId.createId(memberName,BookHandler.ID);
+			assertThat(RuntimeDelegate.getInstance().getResourceRepository().resourceOfId(memberId),nullValue());
+			assertThat(RuntimeDelegate.getInstance().getEndpointRepository().endpointOfResource(memberId),nullValue());
+		}
+		assertThat(RuntimeDelegate.getInstance().getResourceRepository().containerOfId(resource.id()).memberView().isEmpty(),equalTo(true));
+	}
+
 	@Test
 	public void testUpdateResource() throws Exception {
 		String resourcePath = "update";
@@ -356,6 +467,54 @@ public class ResourceControllerServiceTest {
 		);
 	}
 
+	@Test
+	public void testPatchResource() throws Exception {
+		String resourcePath = "patch";
+		Name<?> resourceName = name(resourcePath);
+		final ManagedIndividualId id = ManagedIndividualId.createId(resourceName,PersonHandler.ID);
+		Date date = new Date();
+		IndividualReference<?,?> reference = newReference().toManagedIndividual(PersonHandler.ID).named(resourcePath);
+		final DataSet initial = getInitialData(reference, date);
+		final DataSet deletions = DataDSL.dataSet().individual(reference).hasProperty("age").withValue(34).build();
+		final DataSet insertions = DataDSL.dataSet().individual(reference).hasProperty("age").withValue(35).build();
+
+		// BEGIN initialization
+		final Resource resource = publishResource(Resource.class,PersonHandler.ID, resourceName, resourcePath);
+		PersonHandler handler = getHandler(PersonHandler.class);
+		handler.add(resourceName, initial);
+		// END Initialization
+
+		transactional(
+			new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					try {
+						sut.patchResource(resource,deletions,insertions,getSessionConfiguration(resource));
+					} catch (FeatureException e) {
+						e.printStackTrace();
+						fail("Should not fail patch");
+					}
+					return null;
+				}
+			}
+		);
+		transactional(
+			new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					DataSet data = sut.getResource(resource,getSessionConfiguration(resource));
+					Property age = data.individualOfId(id).property(URI.create("age"));
+					assertThat(age.hasLiteralValue(Literals.newLiteral(35)),equalTo(true));
+					assertThat(age.hasLiteralValue(Literals.newLiteral(34)),equalTo(false));
+					// The patch is applied to a copy of the current state
+					Property initialAge = initial.individualOfId(id).property(URI.create("age"));
+					assertThat(initialAge.hasLiteralValue(Literals.newLiteral(34)),equalTo(true));
+					return null;
+				}
+			}
+		);
+	}
+
 	@Test
 	public void testDeleteResource() throws Exception {
 		String resourcePath = "delete";
@@ -0,0 +1,96 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-core:0.2.2
+ *   Bundle      : ldp4j-application-kernel-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.session;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.net.URI;
+
+import org.junit.Test;
+import org.ldp4j.application.data.DataSet;
+import org.ldp4j.application.data.DataSets;
+import org.ldp4j.application.data.ExternalIndividual;
+import org.ldp4j.application.data.Individual;
+import org.ldp4j.application.data.Literals;
+import org.ldp4j.application.data.NamingScheme;
+
+public class ContentEntityTagsTest {
+
+	private static final URI TITLE=URI.create("http://www.example.org/vocab#title");
+	private static final URI RELATED=URI.create("http://www.example.org/vocab#related");
+
+	private static final URI FIRST=URI.create("http://www.example.org/first");
+	private static final URI SECOND=URI.create("http://www.example.org/second");
+
+	private DataSet dataSet() {
+		return DataSets.createDataSet(NamingScheme.getDefault().name("resource"));
+	}
+
+	private Individual<?,?> individual(DataSet dataSet, URI id) {
+		return dataSet.individual(id,ExternalIndividual.class);
+	}
+
+	@Test
+	public void testEqualStatesGetTheSameEntityTag() throws Exception {
+		DataSet one=dataSet();
+		individual(one,FIRST).addValue(TITLE,Literals.of("First"));
+		individual(one,FIRST).addValue(RELATED,individual(one,SECOND));
+		individual(one,SECOND).addValue(TITLE,Literals.of("Second"));
+
+		DataSet other=dataSet();
+		individual(other,SECOND).addValue(TITLE,Literals.of("Second"));
+		individual(other,FIRST).addValue(RELATED,individual(other,SECOND));
+		individual(other,FIRST).addValue(TITLE,Literals.of("First"));
+
+		assertThat(ContentEntityTags.fromDataSet(one),equalTo(ContentEntityTags.fromDataSet(other)));
+	}
+
+	@Test
+	public void testDifferentStatesGetDifferentEntityTags() throws Exception {
+		DataSet one=dataSet();
+		individual(one,FIRST).addValue(TITLE,Literals.of("First"));
+
+		DataSet other=dataSet();
+		individual(other,FIRST).addValue(TITLE,Literals.of("Other"));
+
+		assertThat(ContentEntityTags.fromDataSet(one),not(equalTo(ContentEntityTags.fromDataSet(other))));
+	}
+
+	@Test
+	public void testLiteralsAreDistinguishedByLanguage() throws Exception {
+		DataSet one=dataSet();
+		individual(one,FIRST).addValue(TITLE,Literals.newLanguageLiteral("Title","en"));
+
+		DataSet other=dataSet();
+		individual(other,FIRST).addValue(TITLE,Literals.newLanguageLiteral("Title","es"));
+
+		assertThat(ContentEntityTags.fromDataSet(one),not(equalTo(ContentEntityTags.fromDataSet(other))));
+	}
+
+}
@@ -29,6 +29,7 @@ package org.ldp4j.application.kernel.session;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
@@ -38,11 +39,15 @@ import java.util.Date;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.ldp4j.application.data.DataSet;
+import org.ldp4j.application.data.DataSets;
 import org.ldp4j.application.data.Name;
 import org.ldp4j.application.data.NamingScheme;
 import org.ldp4j.application.engine.context.EntityTag;
 import org.ldp4j.application.ext.ContainerHandler;
 import org.ldp4j.application.ext.ResourceHandler;
+import org.ldp4j.application.ext.annotations.BasicContainer;
+import org.ldp4j.application.ext.annotations.EntityTagStrategy;
 import org.ldp4j.application.kernel.endpoint.Endpoint;
 import org.ldp4j.application.kernel.impl.InMemoryRuntimeDelegate;
 import org.ldp4j.application.kernel.resource.Resource;
@@ -58,6 +63,7 @@ import org.ldp4j.application.session.WriteSession;
 import org.ldp4j.example.AddressHandler;
 import org.ldp4j.example.BookContainerHandler;
 import org.ldp4j.example.BookHandler;
+import org.ldp4j.example.InMemoryContainerHandler;
 import org.ldp4j.example.PersonHandler;
 import org.ldp4j.example.RelativeContainerHandler;
 import org.slf4j.Logger;
@@ -88,6 +94,26 @@ public class WriteSessionTest {
 		}
 	}
 
+	@BasicContainer(
+		id=ContentContainerHandler.ID,
+		memberHandler=PersonHandler.class,
+		entityTags=EntityTagStrategy.CONTENT
+	)
+	public static final class ContentContainerHandler extends InMemoryContainerHandler {
+
+		static final String ID="contentContainerTemplate";
+
+		public ContentContainerHandler() {
+			super("ContentContainer");
+		}
+
+		@Override
+		public ResourceSnapshot create(ContainerSnapshot container, DataSet representation, WriteSession session) {
+			throw new UnsupportedOperationException("Members are added by the test");
+		}
+
+	}
+
 	private enum Stage {
 		PREPARATION("Preparing sut"),
 		TERMINATION("Terminating sut"),
@@ -119,10 +145,13 @@ public class WriteSessionTest {
 
 	private TemplateManagementService templateManagementService;
 
+	private ContentContainerHandler contentHandler;
+
 	@Before
 	public void setUp() throws Exception {
 		ServiceRegistry.setInstance(null);
 		RuntimeDelegate.setInstance(new InMemoryRuntimeDelegate());
+		this.contentHandler=new ContentContainerHandler();
 		this.templateManagementService =
 			ServiceRegistry.
 				getInstance().
@@ -130,7 +159,7 @@ public class WriteSessionTest {
 		this.templateManagementService.
 			configure(
 				Lists.<Class<?>>newArrayList(),
-				Arrays.<ResourceHandler>asList(new PersonHandler()));
+				Arrays.<ResourceHandler>asList(new PersonHandler(),this.contentHandler));
 		this.modelFactory=
 			RuntimeDelegate.
 				getInstance().
@@ -231,7 +260,70 @@ public class WriteSessionTest {
 		assertUnavailable(myWife, ResourceSnapshot.class,PersonHandler.class);
 	}
 
+	@Test
+	public void testContentEntityTagsChangeWhenMembersAreAdded() throws Exception {
+		this.contentHandler.add(name("container"),DataSets.createDataSet(name("container")));
+		Resource container=initialize(ContentContainerHandler.ID,"container");
+
+		prepareSession(Action.POST,container);
+		ContainerSnapshot snapshot=this.sut.find(ContainerSnapshot.class,container.id().name(),ContentContainerHandler.class);
+		addMember(snapshot,"first");
+		terminateSession(Action.POST,snapshot);
+		EntityTag withOneMember=entityTagOf(container);
+
+		prepareSession(Action.POST,container);
+		snapshot=this.sut.find(ContainerSnapshot.class,container.id().name(),ContentContainerHandler.class);
+		addMember(snapshot,"second");
+		terminateSession(Action.POST,snapshot);
+		EntityTag withTwoMembers=entityTagOf(container);
+
+		assertThat(withOneMember,not(equalTo(EntityTag.createStrong("root"))));
+		assertThat(withTwoMembers,not(equalTo(withOneMember)));
+	}
+
+	@Test
+	public void testContentEntityTagsChangeWhenMembersAreRemoved() throws Exception {
+		this.contentHandler.add(name("container"),DataSets.createDataSet(name("container")));
+		Resource container=initialize(ContentContainerHandler.ID,"container");
+
+		prepareSession(Action.POST,container);
+		ContainerSnapshot snapshot=this.sut.find(ContainerSnapshot.class,container.id().name(),ContentContainerHandler.class);
+		ResourceSnapshot member=addMember(snapshot,"first");
+		terminateSession(Action.POST,snapshot);
+		EntityTag withOneMember=entityTagOf(container);
+
+		prepareSession(Action.DELETE,container);
+		snapshot=this.sut.find(ContainerSnapshot.class,container.id().name(),ContentContainerHandler.class);
+		snapshot.removeMember(this.sut.find(ResourceSnapshot.class,member.name(),PersonHandler.class));
+		terminateSession(Action.DELETE,snapshot);
+		EntityTag withoutMembers=entityTagOf(container);
+
+		assertThat(withoutMembers,not(equalTo(withOneMember)));
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testContentEntityTagsRequireTheStateOfTheResource() throws Exception {
+		Resource container=initialize(ContentContainerHandler.ID,"container");
+		prepareSession(Action.POST,container);
+		ContainerSnapshot snapshot=this.sut.find(ContainerSnapshot.class,container.id().name(),ContentContainerHandler.class);
+		addMember(snapshot,"first");
+		this.sut.saveChanges();
+	}
+
+	private EntityTag entityTagOf(Resource resource) {
+		return
+			RuntimeDelegate.
+				getInstance().
+					getEndpointRepository().
+						endpointOfResource(resource.id()).
+							entityTag();
+	}
+
 	private Resource initialize() {
+		return initialize("personTemplate","me");
+	}
+
+	private Resource initialize(String templateId, String id) {
 		Transaction transaction=
 			RuntimeDelegate.
 				getInstance().
@@ -242,8 +334,8 @@ public class WriteSessionTest {
 			this.uow = UnitOfWork.newCurrent();
 			Resource rootResource=
 				this.modelFactory.createResource(
-					this.templateManagementService.templateOfId("personTemplate"),
-					name("me"));
+					this.templateManagementService.templateOfId(templateId),
+					name(id));
 			Endpoint rootEndpoint=this.modelFactory.createEndpoint("root",rootResource,new Date(),EntityTag.createStrong("root"));
 			RuntimeDelegate.getInstance().getResourceRepository().add(rootResource);
 			RuntimeDelegate.getInstance().getEndpointRepository().add(rootEndpoint);
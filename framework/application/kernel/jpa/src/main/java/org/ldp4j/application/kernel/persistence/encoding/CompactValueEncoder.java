@@ -0,0 +1,197 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.encoding;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.UUID;
+
+import javax.xml.namespace.QName;
+
+import org.ldp4j.application.data.Name;
+import org.ldp4j.application.data.NamingScheme;
+
+import com.google.common.io.BaseEncoding;
+
+/**
+ * Identifier value encoder that uses a type-tagged textual representation
+ * for the most common identifier types, and falls back to Java serialization
+ * for any other kind of identifier. The encoded values have the form
+ * {@code <tag>:<value>}, where the tag is a single character that identifies
+ * the type of the identifier.
+ * <br>
+ * As the Base64 alphabet does not include the colon character, values
+ * produced by the legacy {@link ValueEncoder} can be told apart and are still
+ * decoded.
+ *
+ * @author Miguel Esteban Guti&eacute;rrez
+ */
+final class CompactValueEncoder extends Encoder {
+
+	private static final char SEPARATOR = ':';
+
+	private static final char STRING     = 's';
+	private static final char LONG       = 'l';
+	private static final char INTEGER    = 'i';
+	private static final char URI_REF    = 'u';
+	private static final char QNAME      = 'q';
+	private static final char UUID_REF   = 'x';
+	private static final char SERIALIZED = 'j';
+
+	private static final char NAMESPACE_START = '{';
+	private static final char NAMESPACE_END   = '}';
+
+	private final Encoder legacy;
+
+	CompactValueEncoder(Encoder legacy) {
+		this.legacy=legacy;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String encode(Name<?> name) {
+		if(name==null) {
+			return null;
+		}
+		Serializable id=name.id();
+		String result=null;
+		if(id instanceof String) {
+			result=tag(STRING,(String)id);
+		} else if(id instanceof Long) {
+			result=tag(LONG,id.toString());
+		} else if(id instanceof Integer) {
+			result=tag(INTEGER,id.toString());
+		} else if(id instanceof URI) {
+			result=tag(URI_REF,id.toString());
+		} else if(id instanceof UUID) {
+			result=tag(UUID_REF,id.toString());
+		} else if(id.getClass()==QName.class) {
+			result=tag(QNAME,encodeQName((QName)id));
+		} else {
+			result=tag(SERIALIZED,serialize(id));
+		}
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends Serializable> Name<T> decode(String data) {
+		if(data==null) {
+			return null;
+		}
+		if(!isCompact(data)) {
+			return this.legacy.decode(data);
+		}
+		String value=data.substring(2);
+		Name<?> result=null;
+		switch(data.charAt(0)) {
+			case STRING:
+				result=NamingScheme.getDefault().name(value);
+				break;
+			case LONG:
+				result=NamingScheme.getDefault().name(Long.valueOf(value));
+				break;
+			case INTEGER:
+				result=NamingScheme.getDefault().name(Integer.valueOf(value));
+				break;
+			case URI_REF:
+				result=NamingScheme.getDefault().name(URI.create(value));
+				break;
+			case UUID_REF:
+				result=NamingScheme.getDefault().name(UUID.fromString(value));
+				break;
+			case QNAME:
+				result=NamingScheme.getDefault().name(decodeQName(value));
+				break;
+			case SERIALIZED:
+				result=NamingScheme.getDefault().name(deserialize(value));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown identifier type tag '"+data.charAt(0)+"' in '"+data+"'");
+		}
+		return (Name<T>)result;
+	}
+
+	static boolean isCompact(String data) {
+		return data.length()>1 && data.charAt(1)==SEPARATOR;
+	}
+
+	private static String tag(char tag, String value) {
+		return new StringBuilder(value.length()+2).append(tag).append(SEPARATOR).append(value).toString();
+	}
+
+	/**
+	 * QName prefixes and local parts are NCNames, so they cannot include
+	 * curly braces and the namespace can be delimited without escaping.
+	 */
+	private static String encodeQName(QName id) {
+		return
+			new StringBuilder().
+				append(id.getPrefix()).
+				append(NAMESPACE_START).
+				append(id.getNamespaceURI()).
+				append(NAMESPACE_END).
+				append(id.getLocalPart()).
+				toString();
+	}
+
+	private static QName decodeQName(String value) {
+		int start=value.indexOf(NAMESPACE_START);
+		int end=value.lastIndexOf(NAMESPACE_END);
+		if(start<0 || end<start) {
+			throw new IllegalArgumentException("Invalid qualified name encoding '"+value+"'");
+		}
+		return
+			new QName(
+				value.substring(start+1,end),
+				value.substring(end+1),
+				value.substring(0,start));
+	}
+
+	private static String serialize(Serializable id) {
+		try {
+			return BaseEncoding.base64().encode(SerializationUtils.serialize(id));
+		} catch (IOException e) {
+			throw new AssertionError("Serialization should not fail",e);
+		}
+	}
+
+	private static Serializable deserialize(String value) {
+		try {
+			return SerializationUtils.deserialize(BaseEncoding.base64().decode(value),Serializable.class);
+		} catch (IOException e) {
+			throw new AssertionError("Deserialization should not fail",e);
+		}
+	}
+
+}
@@ -32,8 +32,21 @@ import org.ldp4j.application.data.Name;
 
 public abstract class Encoder {
 
+	/**
+	 * System property for selecting the strategy used for encoding identifier
+	 * values. Supported values are {@value #COMPACT_ENCODING} (default) and
+	 * {@value #SERIALIZATION_ENCODING}.
+	 */
+	public static final String VALUE_ENCODING_PROPERTY="org.ldp4j.application.kernel.persistence.encoding.valueEncoding";
+
+	public static final String COMPACT_ENCODING="compact";
+
+	public static final String SERIALIZATION_ENCODING="serialization";
+
 	private static final NameEncoder NAME_ENCODER = new NameEncoder();
-	private static final ValueEncoder VALUE_ENCODER = new ValueEncoder();
+	private static final ValueEncoder SERIALIZATION_VALUE_ENCODER = new ValueEncoder();
+	private static final CompactValueEncoder COMPACT_VALUE_ENCODER = new CompactValueEncoder(SERIALIZATION_VALUE_ENCODER);
+	private static final Encoder VALUE_ENCODER = selectValueEncoder(System.getProperty(VALUE_ENCODING_PROPERTY));
 
 	public abstract String encode(Name<?> name);
 
@@ -43,8 +56,39 @@ public abstract class Encoder {
 		return Encoder.NAME_ENCODER;
 	}
 
+	/**
+	 * Get the configured identifier value encoder.
+	 */
 	public static Encoder valueEncoder() {
 		return Encoder.VALUE_ENCODER;
 	}
 
+	/**
+	 * Get the identifier value encoder that uses type-tagged values for the
+	 * common identifier types. This encoder is also able to decode values
+	 * created by the {@link #serializationValueEncoder() serialization value
+	 * encoder}.
+	 */
+	public static Encoder compactValueEncoder() {
+		return Encoder.COMPACT_VALUE_ENCODER;
+	}
+
+	/**
+	 * Get the identifier value encoder that uses Base64-encoded Java
+	 * serialization, as used by previous versions of the JPA kernel.
+	 */
+	public static Encoder serializationValueEncoder() {
+		return Encoder.SERIALIZATION_VALUE_ENCODER;
+	}
+
+	static Encoder selectValueEncoder(String encoding) {
+		Encoder result=COMPACT_VALUE_ENCODER;
+		if(SERIALIZATION_ENCODING.equalsIgnoreCase(encoding)) {
+			result=SERIALIZATION_VALUE_ENCODER;
+		} else if(encoding!=null && !COMPACT_ENCODING.equalsIgnoreCase(encoding)) {
+			throw new IllegalArgumentException("Unsupported value encoding '"+encoding+"'");
+		}
+		return result;
+	}
+
 }
\ No newline at end of file
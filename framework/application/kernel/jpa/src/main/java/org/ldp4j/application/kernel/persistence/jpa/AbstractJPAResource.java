@@ -38,6 +38,7 @@ import static com.google.common.base.Preconditions.*;
 abstract class AbstractJPAResource {
 
 	private TemplateLibrary templateLibrary;
+	private JPAMemberRepository memberRepository;
 
 	final void setTemplateLibrary(TemplateLibrary templateLibrary) {
 		this.templateLibrary = templateLibrary;
@@ -46,6 +47,15 @@ abstract class AbstractJPAResource {
 
 	protected abstract void init();
 
+	final void setMemberRepository(JPAMemberRepository memberRepository) {
+		this.memberRepository = memberRepository;
+	}
+
+	final JPAMemberRepository getMemberRepository() {
+		checkState(this.memberRepository!=null,"Member repository has not been initialized yet");
+		return this.memberRepository;
+	}
+
 	final TemplateLibrary getTemplateLibrary() {
 		checkState(this.templateLibrary!=null,"Template library has not been initialized yet");
 		return this.templateLibrary;
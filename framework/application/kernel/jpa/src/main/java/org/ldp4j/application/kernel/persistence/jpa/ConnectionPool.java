@@ -0,0 +1,304 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A bounded pool of JDBC connections. At most {@code maxSize} connections
+ * are handed out at the same time, and callers wait up to the configured
+ * acquisition timeout for a connection to be returned to the pool.
+ * Connections are created lazily and reused in LIFO order, so that the most
+ * recently used connections are kept warm. Idle connections are validated
+ * before being reused.
+ */
+final class ConnectionPool {
+
+	interface ConnectionFactory {
+
+		Connection create() throws SQLException;
+
+	}
+
+	private static final class IdleConnection {
+
+		private final Connection connection;
+		private final long since;
+
+		private IdleConnection(Connection connection) {
+			this.connection=connection;
+			this.since=System.nanoTime();
+		}
+
+	}
+
+	private final class PooledConnection implements InvocationHandler {
+
+		private final Connection delegate;
+		private final AtomicBoolean returned;
+
+		private PooledConnection(Connection delegate) {
+			this.delegate=delegate;
+			this.returned=new AtomicBoolean(false);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name=method.getName();
+			if("close".equals(name)) {
+				if(this.returned.compareAndSet(false,true)) {
+					release(this.delegate);
+				}
+				return null;
+			} else if("isClosed".equals(name)) {
+				return this.returned.get() || this.delegate.isClosed();
+			} else if("equals".equals(name)) {
+				return proxy==args[0];
+			} else if("hashCode".equals(name)) {
+				return System.identityHashCode(proxy);
+			} else if("toString".equals(name)) {
+				return "Pooled["+this.delegate+"]";
+			}
+			if(this.returned.get()) {
+				throw new SQLException("Connection has already been returned to the pool");
+			}
+			try {
+				return method.invoke(this.delegate,args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+	}
+
+	private static final Logger LOGGER=LoggerFactory.getLogger(ConnectionPool.class);
+
+	/**
+	 * Connections that have been idle for less than this time are reused
+	 * without validation.
+	 */
+	private static final long VALIDATION_WINDOW=TimeUnit.MILLISECONDS.toNanos(500);
+
+	private static final int VALIDATION_TIMEOUT_SECONDS=5;
+
+	private final ConnectionFactory factory;
+	private final int maxSize;
+	private final long acquireTimeout;
+
+	private final Semaphore permits;
+	private final BlockingDeque<IdleConnection> idle;
+
+	private final AtomicInteger total;
+	private final AtomicInteger active;
+	private final AtomicInteger waiting;
+	private final AtomicLong acquisitions;
+	private final AtomicLong timeouts;
+	private final AtomicLong created;
+	private final AtomicLong waitTime;
+
+	private volatile boolean closed;
+
+	ConnectionPool(ConnectionFactory factory, int maxSize, long acquireTimeout) {
+		checkNotNull(factory,"Connection factory cannot be null");
+		checkArgument(maxSize>0,"Maximum pool size must be greater than zero (%s)",maxSize);
+		checkArgument(acquireTimeout>=0,"Acquisition timeout cannot be negative (%s)",acquireTimeout);
+		this.factory=factory;
+		this.maxSize=maxSize;
+		this.acquireTimeout=acquireTimeout;
+		this.permits=new Semaphore(maxSize,true);
+		this.idle=new LinkedBlockingDeque<IdleConnection>();
+		this.total=new AtomicInteger();
+		this.active=new AtomicInteger();
+		this.waiting=new AtomicInteger();
+		this.acquisitions=new AtomicLong();
+		this.timeouts=new AtomicLong();
+		this.created=new AtomicLong();
+		this.waitTime=new AtomicLong();
+	}
+
+	int maxSize() {
+		return this.maxSize;
+	}
+
+	long acquireTimeout() {
+		return this.acquireTimeout;
+	}
+
+	Connection acquire() throws SQLException {
+		checkOpen();
+		awaitPermit();
+		try {
+			Connection connection=nextConnection();
+			this.active.incrementAndGet();
+			this.acquisitions.incrementAndGet();
+			return
+				(Connection)Proxy.newProxyInstance(
+					Connection.class.getClassLoader(),
+					new Class<?>[]{Connection.class},
+					new PooledConnection(connection));
+		} catch (SQLException | RuntimeException e) {
+			this.permits.release();
+			throw e;
+		}
+	}
+
+	ConnectionPoolMetrics metrics() {
+		return
+			new ConnectionPoolMetrics(
+				this.maxSize,
+				this.total.get(),
+				this.active.get(),
+				this.idle.size(),
+				this.waiting.get(),
+				this.acquisitions.get(),
+				this.timeouts.get(),
+				this.created.get(),
+				TimeUnit.NANOSECONDS.toMillis(this.waitTime.get()));
+	}
+
+	void close() {
+		this.closed=true;
+		IdleConnection connection=null;
+		while((connection=this.idle.pollFirst())!=null) {
+			discard(connection.connection);
+		}
+	}
+
+	private void checkOpen() throws SQLException {
+		if(this.closed) {
+			throw new SQLException("Connection pool has been closed");
+		}
+	}
+
+	private void awaitPermit() throws SQLException {
+		this.waiting.incrementAndGet();
+		long start=System.nanoTime();
+		boolean acquired=false;
+		try {
+			acquired=this.permits.tryAcquire(this.acquireTimeout,TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a connection",e);
+		} finally {
+			this.waiting.decrementAndGet();
+			this.waitTime.addAndGet(System.nanoTime()-start);
+		}
+		if(!acquired) {
+			this.timeouts.incrementAndGet();
+			throw new SQLTransientConnectionException("Could not acquire a connection within "+this.acquireTimeout+" ms ("+metrics()+")");
+		}
+	}
+
+	private Connection nextConnection() throws SQLException {
+		IdleConnection candidate=null;
+		while((candidate=this.idle.pollFirst())!=null) {
+			if(isUsable(candidate)) {
+				return candidate.connection;
+			}
+			discard(candidate.connection);
+		}
+		Connection connection=this.factory.create();
+		this.total.incrementAndGet();
+		this.created.incrementAndGet();
+		return connection;
+	}
+
+	private boolean isUsable(IdleConnection candidate) {
+		if(System.nanoTime()-candidate.since<VALIDATION_WINDOW) {
+			return true;
+		}
+		try {
+			return candidate.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+		} catch (SQLException e) {
+			LOGGER.debug("Could not validate idle connection {}",candidate.connection,e);
+			return false;
+		}
+	}
+
+	private void release(Connection connection) {
+		this.active.decrementAndGet();
+		try {
+			if(this.closed || connection.isClosed()) {
+				discard(connection);
+			} else {
+				this.idle.offerFirst(new IdleConnection(connection));
+			}
+		} catch (SQLException e) {
+			LOGGER.debug("Could not check connection {} status",connection,e);
+			discard(connection);
+		} finally {
+			this.permits.release();
+		}
+	}
+
+	private void discard(Connection connection) {
+		this.total.decrementAndGet();
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			LOGGER.debug("Could not close connection {}",connection,e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return
+			MoreObjects.
+				toStringHelper(getClass()).
+					omitNullValues().
+					add("maxSize",this.maxSize).
+					add("acquireTimeout",this.acquireTimeout).
+					add("closed",this.closed).
+					add("metrics",metrics()).
+					toString();
+	}
+
+}
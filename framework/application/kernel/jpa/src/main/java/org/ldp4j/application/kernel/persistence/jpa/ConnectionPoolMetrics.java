@@ -0,0 +1,142 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A snapshot of the usage statistics of the connection pool used by the JPA
+ * kernel.
+ */
+public final class ConnectionPoolMetrics {
+
+	private final int maxSize;
+	private final int totalConnections;
+	private final int activeConnections;
+	private final int idleConnections;
+	private final int pendingRequests;
+	private final long acquisitions;
+	private final long timeouts;
+	private final long createdConnections;
+	private final long totalWaitTime;
+
+	ConnectionPoolMetrics(int maxSize, int totalConnections, int activeConnections, int idleConnections, int pendingRequests, long acquisitions, long timeouts, long createdConnections, long totalWaitTime) { // NOSONAR
+		this.maxSize=maxSize;
+		this.totalConnections=totalConnections;
+		this.activeConnections=activeConnections;
+		this.idleConnections=idleConnections;
+		this.pendingRequests=pendingRequests;
+		this.acquisitions=acquisitions;
+		this.timeouts=timeouts;
+		this.createdConnections=createdConnections;
+		this.totalWaitTime=totalWaitTime;
+	}
+
+	/**
+	 * Maximum number of connections that the pool may hold.
+	 */
+	public int maxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Number of open connections, either in use or idle.
+	 */
+	public int totalConnections() {
+		return this.totalConnections;
+	}
+
+	/**
+	 * Number of connections in use.
+	 */
+	public int activeConnections() {
+		return this.activeConnections;
+	}
+
+	/**
+	 * Number of connections available for reuse.
+	 */
+	public int idleConnections() {
+		return this.idleConnections;
+	}
+
+	/**
+	 * Number of threads waiting for a connection.
+	 */
+	public int pendingRequests() {
+		return this.pendingRequests;
+	}
+
+	/**
+	 * Number of connections handed out since the pool was created.
+	 */
+	public long acquisitions() {
+		return this.acquisitions;
+	}
+
+	/**
+	 * Number of requests that could not get a connection in time.
+	 */
+	public long timeouts() {
+		return this.timeouts;
+	}
+
+	/**
+	 * Number of physical connections opened since the pool was created.
+	 */
+	public long createdConnections() {
+		return this.createdConnections;
+	}
+
+	/**
+	 * Accumulated time, in milliseconds, spent waiting for connections.
+	 */
+	public long totalWaitTime() {
+		return this.totalWaitTime;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return
+			MoreObjects.
+				toStringHelper(getClass()).
+					add("maxSize",this.maxSize).
+					add("totalConnections",this.totalConnections).
+					add("activeConnections",this.activeConnections).
+					add("idleConnections",this.idleConnections).
+					add("pendingRequests",this.pendingRequests).
+					add("acquisitions",this.acquisitions).
+					add("timeouts",this.timeouts).
+					add("createdConnections",this.createdConnections).
+					add("totalWaitTime",this.totalWaitTime).
+					toString();
+	}
+
+}
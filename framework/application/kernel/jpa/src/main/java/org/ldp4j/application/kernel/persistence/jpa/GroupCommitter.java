@@ -0,0 +1,501 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.ldp4j.application.kernel.transaction.TransactionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Commits the transactions of concurrent write sessions together, so that
+ * the cost of making a commit durable is shared among them.
+ * <br>
+ * Transactions start reading over a connection of their own, and only join
+ * the currently open group when they issue their first write statement,
+ * which usually happens when their changes are flushed. Thus, read-only
+ * transactions never join a group, and run concurrently. Once joined,
+ * transactions run one at a time over the group's connection. Each of them is
+ * delimited by a savepoint, so that it can be rolled back without affecting
+ * the rest of the group. When a transaction commits, it waits on a completion
+ * future, which is only completed once the group is committed. The group is
+ * committed when it reaches the maximum size, or once the commit window
+ * elapses since the first transaction of the group was committed.
+ * <br>
+ * The committer works at the JDBC level: the {@link PooledConnectionProvider}
+ * hands the connection of the group to the threads that have joined it.
+ */
+final class GroupCommitter {
+
+	interface ConnectionSource {
+
+		Connection connection() throws SQLException;
+
+	}
+
+	private static final class Group {
+
+		private final Connection connection;
+		private final List<SettableFuture<Void>> completions;
+		private long firstArrival;
+
+		private Group(Connection connection) {
+			this.connection=connection;
+			this.completions=new ArrayList<SettableFuture<Void>>();
+		}
+
+		private void add(SettableFuture<Void> completion) {
+			if(this.completions.isEmpty()) {
+				this.firstArrival=System.nanoTime();
+			}
+			this.completions.add(completion);
+		}
+
+	}
+
+	private final class Member implements InvocationHandler {
+
+		private final Connection proxy;
+		private Connection local;
+		private Group group;
+		private Savepoint savepoint;
+		private boolean completed;
+
+		private Member() {
+			this.proxy=
+				(Connection)Proxy.newProxyInstance(
+					Connection.class.getClassLoader(),
+					new Class<?>[]{Connection.class},
+					this);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name=method.getName();
+			if("close".equals(name)) {
+				return null;
+			} else if("equals".equals(name)) {
+				return proxy==args[0];
+			} else if("hashCode".equals(name)) {
+				return System.identityHashCode(proxy);
+			} else if("toString".equals(name)) {
+				return this.group==null?"Local["+this.local+"]":"Grouped["+this.group.connection+"]";
+			} else if(this.completed) {
+				if("isClosed".equals(name)) {
+					return true;
+				}
+				throw new SQLException("Transaction has already been completed");
+			} else if("commit".equals(name)) {
+				if(this.group!=null) {
+					arrive(this);
+				} else {
+					finish(this,true);
+				}
+				return null;
+			} else if("rollback".equals(name) && args==null) {
+				if(this.group!=null) {
+					abandon(this);
+				} else {
+					finish(this,false);
+				}
+				return null;
+			} else if("setAutoCommit".equals(name)) {
+				return null;
+			} else if("getAutoCommit".equals(name)) {
+				return false;
+			}
+			if(this.group==null && isWrite(method,args)) {
+				enroll(this);
+			}
+			try {
+				return method.invoke(target(),args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		private Connection target() throws SQLException {
+			if(this.group!=null) {
+				return this.group.connection;
+			}
+			if(this.local==null) {
+				Connection connection=source.connection();
+				try {
+					connection.setAutoCommit(false);
+				} catch (SQLException e) {
+					connection.close();
+					throw e;
+				}
+				this.local=connection;
+			}
+			return this.local;
+		}
+
+	}
+
+	private static final Logger LOGGER=LoggerFactory.getLogger(GroupCommitter.class);
+
+	private static final ThreadLocal<Member> CURRENT=new ThreadLocal<Member>();
+
+	private final ConnectionSource source;
+	private final long window;
+	private final int maxSize;
+	private final ReentrantLock writer;
+
+	private final AtomicLong groups;
+	private final AtomicLong transactions;
+
+	private Group group;
+
+	GroupCommitter(ConnectionSource source, long window, TimeUnit unit, int maxSize) {
+		checkNotNull(source,"Connection source cannot be null");
+		checkArgument(window>=0,"Commit window cannot be negative (%s)",window);
+		checkNotNull(unit,"Time unit cannot be null");
+		checkArgument(maxSize>0,"Maximum group size must be greater than zero (%s)",maxSize);
+		this.source=source;
+		this.window=unit.toNanos(window);
+		this.maxSize=maxSize;
+		this.writer=new ReentrantLock(true);
+		this.groups=new AtomicLong();
+		this.transactions=new AtomicLong();
+	}
+
+	/**
+	 * Get the connection to be used by the current thread, if it has joined
+	 * a group.
+	 */
+	static Connection currentConnection() {
+		Member member=CURRENT.get();
+		return member==null?null:member.proxy;
+	}
+
+	private Group openGroup() throws SQLException {
+		Connection connection=this.source.connection();
+		try {
+			connection.setAutoCommit(false);
+		} catch (SQLException e) {
+			connection.close();
+			throw e;
+		}
+		return new Group(connection);
+	}
+
+	private boolean isDue(Group group) {
+		return
+			group.completions.size()>=this.maxSize ||
+			System.nanoTime()-group.firstArrival>=this.window;
+	}
+
+	/**
+	 * Close the group if it is still open. Must be called holding the writer
+	 * lock.
+	 */
+	private Group detach(Group group) {
+		if(this.group!=group) {
+			return null;
+		}
+		this.group=null;
+		return group;
+	}
+
+	/**
+	 * Check whether the invocation of a connection method may modify the
+	 * database, and thus requires joining a group. Only plain queries can be
+	 * run without joining a group.
+	 */
+	private static boolean isWrite(Method method, Object[] args) {
+		String name=method.getName();
+		if("prepareStatement".equals(name) || "prepareCall".equals(name)) {
+			return !isQuery((String)args[0]);
+		}
+		return
+			"createStatement".equals(name) ||
+			"setSavepoint".equals(name) ||
+			"releaseSavepoint".equals(name) ||
+			"rollback".equals(name);
+	}
+
+	private static boolean isQuery(String sql) {
+		String statement=sql.trim().toLowerCase(Locale.ENGLISH);
+		return statement.startsWith("select") && !statement.contains(" for update");
+	}
+
+	private void release(Connection connection) {
+		try {
+			connection.setAutoCommit(true);
+		} catch (SQLException e) {
+			LOGGER.warn("Could not restore auto-commit mode of {}",connection,e);
+		}
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			LOGGER.warn("Could not release {}",connection,e);
+		}
+	}
+
+	private void release(Group group) {
+		release(group.connection);
+	}
+
+	/**
+	 * Discard the local connection of the member, if any, completing the work
+	 * done on it.
+	 */
+	private void discard(Member member, boolean commit) throws SQLException {
+		Connection local=member.local;
+		if(local==null) {
+			return;
+		}
+		member.local=null;
+		try {
+			if(commit) {
+				local.commit();
+			} else {
+				local.rollback();
+			}
+		} finally {
+			release(local);
+		}
+	}
+
+	private void commit(Group group) {
+		try {
+			group.connection.commit();
+			this.groups.incrementAndGet();
+			this.transactions.addAndGet(group.completions.size());
+			LOGGER.trace("Committed group of {} transactions",group.completions.size());
+			for(SettableFuture<Void> completion:group.completions) {
+				completion.set(null);
+			}
+		} catch (SQLException e) {
+			LOGGER.error("Could not commit group of {} transactions",group.completions.size(),e);
+			try {
+				group.connection.rollback();
+			} catch (SQLException re) {
+				LOGGER.warn("Could not rollback failed group",re);
+			}
+			for(SettableFuture<Void> completion:group.completions) {
+				completion.setException(e);
+			}
+		} finally {
+			release(group);
+		}
+	}
+
+	private void await(Group group, SettableFuture<Void> completion) throws SQLException {
+		try {
+			long remaining=this.window-(System.nanoTime()-group.firstArrival);
+			if(remaining>0) {
+				try {
+					completion.get(remaining,TimeUnit.NANOSECONDS);
+					return;
+				} catch (TimeoutException e) {
+					// Commit the group ourselves
+				}
+			}
+			if(!completion.isDone()) {
+				Group due=null;
+				this.writer.lock();
+				try {
+					due=detach(group);
+				} finally {
+					this.writer.unlock();
+				}
+				if(due!=null) {
+					commit(due);
+				}
+			}
+			completion.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for the group commit",e);
+		} catch (ExecutionException e) {
+			Throwable cause=e.getCause();
+			if(cause instanceof SQLException) {
+				throw (SQLException)cause;
+			}
+			throw new SQLException("Group commit failed",cause);
+		}
+	}
+
+	/**
+	 * Join the member to the open group, opening a new one if necessary. The
+	 * member holds the writer lock until its transaction is either committed
+	 * or rolled back.
+	 */
+	private void enroll(Member member) throws SQLException {
+		checkState(CURRENT.get()==member,"Transaction cannot join a group from another thread");
+		// The local connection only has been used for reading, so there is
+		// nothing to lose by releasing it before waiting for the lock.
+		discard(member,false);
+		this.writer.lock();
+		try {
+			if(this.group==null) {
+				this.group=openGroup();
+			}
+			member.savepoint=this.group.connection.setSavepoint();
+			member.group=this.group;
+		} catch (SQLException e) {
+			this.writer.unlock();
+			throw e;
+		}
+	}
+
+	/**
+	 * Complete a transaction that has not joined any group.
+	 */
+	private void finish(Member member, boolean commit) throws SQLException {
+		checkState(CURRENT.get()==member,"Transaction cannot be completed from another thread");
+		CURRENT.remove();
+		member.completed=true;
+		discard(member,commit);
+	}
+
+	private void arrive(Member member) throws SQLException {
+		checkState(CURRENT.get()==member,"Transaction cannot be committed from another thread");
+		CURRENT.remove();
+		member.completed=true;
+		SettableFuture<Void> completion=SettableFuture.create();
+		Group due=null;
+		try {
+			try {
+				member.group.connection.releaseSavepoint(member.savepoint);
+			} catch (SQLException e) {
+				LOGGER.trace("Could not release savepoint",e);
+			}
+			member.group.add(completion);
+			if(isDue(member.group)) {
+				due=detach(member.group);
+			}
+		} finally {
+			this.writer.unlock();
+		}
+		if(due!=null) {
+			commit(due);
+		}
+		await(member.group,completion);
+	}
+
+	private void abandon(Member member) throws SQLException {
+		checkState(CURRENT.get()==member,"Transaction cannot be rolled back from another thread");
+		CURRENT.remove();
+		member.completed=true;
+		Group empty=null;
+		try {
+			if(member.group.completions.isEmpty()) {
+				empty=detach(member.group);
+			}
+			if(empty!=null) {
+				empty.connection.rollback();
+			} else {
+				member.group.connection.rollback(member.savepoint);
+			}
+		} finally {
+			this.writer.unlock();
+			if(empty!=null) {
+				release(empty);
+			}
+		}
+	}
+
+	/**
+	 * Enlist the transaction of the current thread. The transaction will join
+	 * the open group (opening a new one if necessary) as soon as it tries to
+	 * write, and from then on it will use the group's connection until it is
+	 * either committed or rolled back. Transactions that do not write never
+	 * join a group.
+	 */
+	void join() {
+		checkState(CURRENT.get()==null,"Current thread has already joined a group");
+		CURRENT.set(new Member());
+	}
+
+	/**
+	 * Make sure the current thread leaves the group it joined, rolling back
+	 * any changes that have not been committed.
+	 */
+	void leave() {
+		Member member=CURRENT.get();
+		if(member!=null) {
+			try {
+				if(member.group!=null) {
+					abandon(member);
+				} else {
+					finish(member,false);
+				}
+			} catch (SQLException e) {
+				throw new TransactionException("Could not leave commit group",e);
+			}
+		}
+	}
+
+	long groups() {
+		return this.groups.get();
+	}
+
+	long transactions() {
+		return this.transactions.get();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return
+			MoreObjects.
+				toStringHelper(getClass()).
+					add("window",this.window).
+					add("maxSize",this.maxSize).
+					add("groups",this.groups).
+					add("transactions",this.transactions).
+					toString();
+	}
+
+}
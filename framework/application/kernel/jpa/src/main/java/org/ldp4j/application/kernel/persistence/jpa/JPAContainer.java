@@ -34,6 +34,7 @@ import java.util.Set;
 
 import org.ldp4j.application.kernel.resource.Container;
 import org.ldp4j.application.kernel.resource.Member;
+import org.ldp4j.application.kernel.resource.MemberView;
 import org.ldp4j.application.kernel.resource.Resource;
 import org.ldp4j.application.kernel.resource.ResourceId;
 import org.ldp4j.application.kernel.resource.ResourceVisitor;
@@ -46,14 +47,23 @@ import com.google.common.collect.Maps;
 final class JPAContainer extends JPAResource implements Container {
 
 	/**
-	 * Not final to enable its usage in JPA
+	 * Not final to enable its usage in JPA. Used for numbering the members
+	 * of the container.
 	 */
-	private Map<Key,JPAMember> members;
+	private long memberCounter;
 
 	/**
-	 * Not final to enable its usage in JPA
+	 * Not final to enable its usage in JPA. Number of members of the
+	 * container, kept up to date so that the size of the container can be
+	 * known without counting its members.
 	 */
-	private long memberCounter;
+	private long memberCount;
+
+	/**
+	 * Not final to enable its usage in JPA. Incremented whenever a member is
+	 * added or removed.
+	 */
+	private long membershipVersion;
 
 	/**
 	 * Not final to enable its usage in JPA
@@ -68,9 +78,10 @@ final class JPAContainer extends JPAResource implements Container {
 
 	JPAContainer(ResourceId id, ResourceId parentId) {
 		super(id,parentId);
-		this.members=Maps.newLinkedHashMap();
 		this.slugs=Maps.newLinkedHashMap();
 		this.memberCounter=0;
+		this.memberCount=0;
+		this.membershipVersion=0;
 	}
 
 	JPAContainer(ResourceId id) {
@@ -81,10 +92,16 @@ final class JPAContainer extends JPAResource implements Container {
 		return Key.newInstance(id());
 	}
 
+	private JPAMember memberOfId(ResourceId resourceId) {
+		return getMemberRepository().memberOfId(key(),Key.newInstance(resourceId));
+	}
+
 	private void createMember(Key memberId) {
 		long memberIndex=this.memberCounter++;
 		JPAMember member = new JPAMember(key(), memberId, memberIndex);
-		this.members.put(memberId, member);
+		getMemberRepository().add(member);
+		this.memberCount++;
+		this.membershipVersion++;
 	}
 
 	private ContainerTemplate template() {
@@ -99,32 +116,48 @@ final class JPAContainer extends JPAResource implements Container {
 	@Override
 	public Resource addMember(ResourceId resourceId) {
 		checkNotNull(resourceId,"Member resource identifier cannot be null");
-		Key memberId = Key.newInstance(resourceId);
-		checkState(!this.members.containsKey(memberId),"A resource with id '%s' is already a member of the container",resourceId);
+		checkState(memberOfId(resourceId)==null,"A resource with id '%s' is already a member of the container",resourceId);
 		JPAResource newResource=createChild(resourceId,template().memberTemplate());
-		createMember(memberId);
+		createMember(Key.newInstance(resourceId));
 		return newResource;
 	}
 
 	@Override
 	public boolean hasMember(ResourceId resource) {
-		return this.members.containsKey(Key.newInstance(resource));
+		return memberOfId(resource)!=null;
 	}
 
 	@Override
 	public Set<Member> members() {
-		return ImmutableSet.<Member>copyOf(this.members.values());
+		return ImmutableSet.<Member>copyOf(memberView());
+	}
+
+	@Override
+	public MemberView memberView() {
+		return JPAMemberView.create(getMemberRepository(),key(),this.memberCount);
+	}
+
+	@Override
+	public long membershipVersion() {
+		return this.membershipVersion;
 	}
 
 	@Override
 	public Member findMember(ResourceId resourceId) {
-		return this.members.get(Key.newInstance(resourceId));
+		return memberOfId(resourceId);
 	}
 
 	@Override
 	public boolean removeMember(Member member) {
 		checkNotNull(member,"Member cannot be null");
-		return this.members.remove(Key.newInstance(member.memberId()))!=null;
+		JPAMember found=memberOfId(member.memberId());
+		if(found==null) {
+			return false;
+		}
+		getMemberRepository().remove(found);
+		this.memberCount--;
+		this.membershipVersion++;
+		return true;
 	}
 
 	@Override
@@ -166,7 +199,8 @@ final class JPAContainer extends JPAResource implements Container {
 		return
 			stringHelper().
 				add("memberCounter",this.memberCounter).
-				add("members",this.members).
+				add("memberCount",this.memberCount).
+				add("membershipVersion",this.membershipVersion).
 				add("slugs",this.slugs).
 				toString();
 	}
@@ -26,12 +26,13 @@
  */
 package org.ldp4j.application.kernel.persistence.jpa;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Root;
 
 import org.ldp4j.application.kernel.endpoint.Endpoint;
 import org.ldp4j.application.kernel.endpoint.EndpointRepository;
@@ -39,6 +40,12 @@ import org.ldp4j.application.kernel.resource.ResourceId;
 
 final class JPAEndpointRepository implements EndpointRepository {
 
+	/**
+	 * Maximum number of paths bound to a single query, so that the size of
+	 * the IN clause stays within the limits of the database.
+	 */
+	private static final int MAX_PATHS_PER_QUERY=500;
+
 	 private final EntityManagerProvider provider;
 
 	JPAEndpointRepository(EntityManagerProvider provider) {
@@ -54,20 +61,47 @@ final class JPAEndpointRepository implements EndpointRepository {
 		return entityManager().find(JPAEndpoint.class, path);
 	}
 
+	/**
+	 * {@inheritDoc} <br>
+	 * The paths are looked up with one query per {@value #MAX_PATHS_PER_QUERY}
+	 * paths.
+	 */
 	@Override
-	public Endpoint endpointOfResource(ResourceId id) {
-		CriteriaBuilder cb =
-				entityManager().getCriteriaBuilder();
+	public Map<String,Endpoint> endpointsOfPaths(Collection<String> paths) {
+		Map<String,Endpoint> endpoints=new LinkedHashMap<String,Endpoint>();
+		List<String> batch=new ArrayList<String>(Math.min(paths.size(),MAX_PATHS_PER_QUERY));
+		for(String path:paths) {
+			batch.add(path);
+			if(batch.size()==MAX_PATHS_PER_QUERY) {
+				findEndpoints(batch,endpoints);
+				batch.clear();
+			}
+		}
+		if(!batch.isEmpty()) {
+			findEndpoints(batch,endpoints);
+		}
+		return endpoints;
+	}
 
-		CriteriaQuery<JPAEndpoint> query =
-				cb.createQuery(JPAEndpoint.class);
+	private void findEndpoints(List<String> paths, Map<String,Endpoint> endpoints) {
+		List<JPAEndpoint> results=
+			entityManager().
+				createNamedQuery("JPAEndpoint.endpointsOfPaths",JPAEndpoint.class).
+				setParameter("paths",paths).
+				getResultList();
+		for(JPAEndpoint endpoint:results) {
+			endpoints.put(endpoint.path(),endpoint);
+		}
+	}
 
-		Root<JPAEndpoint> descriptor = query.from(JPAEndpoint.class);
-		query.
-			select(descriptor).
-			where(cb.equal(descriptor.get("resourceId"),Key.newInstance(id))).
-			distinct(true);
-		List<JPAEndpoint> results = entityManager().createQuery(query).getResultList();
+	@Override
+	public Endpoint endpointOfResource(ResourceId id) {
+		List<JPAEndpoint> results=
+			entityManager().
+				createNamedQuery("JPAEndpoint.endpointOfResource",JPAEndpoint.class).
+				setParameter("resourceId",Key.newInstance(id)).
+				setMaxResults(1).
+				getResultList();
 		if(results.isEmpty()) {
 			return null;
 		}
@@ -79,4 +113,18 @@ final class JPAEndpointRepository implements EndpointRepository {
 		entityManager().persist(endpoint);
 	}
 
+	/**
+	 * {@inheritDoc} <br>
+	 * The endpoints are flushed together, so that the provider can group the
+	 * inserts in JDBC batches.
+	 */
+	@Override
+	public void addAll(Collection<? extends Endpoint> endpoints) {
+		EntityManager entityManager=entityManager();
+		for(Endpoint endpoint:endpoints) {
+			entityManager.persist(endpoint);
+		}
+		entityManager.flush();
+	}
+
 }
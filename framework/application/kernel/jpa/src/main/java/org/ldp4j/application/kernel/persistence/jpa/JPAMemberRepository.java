@@ -0,0 +1,116 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+/**
+ * Database-backed membership lookups. Memberships are always resolved using
+ * the {@code (containerId, memberId)} and {@code (containerId, number)}
+ * indexes declared in the ORM mapping, so that the cost of checking, adding or
+ * removing a single membership does not depend on the size of the container.
+ */
+final class JPAMemberRepository {
+
+	private static final String CONTAINER_ID = "containerId";
+	private static final String MEMBER_ID    = "memberId";
+	private static final String FROM_NUMBER  = "fromNumber";
+	private static final String TO_NUMBER    = "toNumber";
+
+	private final EntityManagerProvider provider;
+
+	JPAMemberRepository(EntityManagerProvider provider) {
+		this.provider = provider;
+	}
+
+	private EntityManager entityManager() {
+		return this.provider.entityManager();
+	}
+
+	JPAMember memberOfId(Key containerId, Key memberId) {
+		List<JPAMember> results=
+			entityManager().
+				createNamedQuery("JPAMember.memberOfId",JPAMember.class).
+					setParameter(CONTAINER_ID,containerId).
+					setParameter(MEMBER_ID,memberId).
+					getResultList();
+		if(results.isEmpty()) {
+			return null;
+		}
+		return results.get(0);
+	}
+
+	/**
+	 * Retrieve up to {@code maxResults} members of a container whose number
+	 * ranges from {@code fromNumber}, inclusive, to {@code toNumber},
+	 * exclusive, sorted by number.
+	 */
+	List<JPAMember> membersOfContainer(Key containerId, long fromNumber, long toNumber, boolean ascending, int maxResults) {
+		TypedQuery<JPAMember> query=
+			entityManager().
+				createNamedQuery(
+					ascending?
+						"JPAMember.membersOfContainer":
+						"JPAMember.membersOfContainerDescending",
+					JPAMember.class).
+					setParameter(CONTAINER_ID,containerId).
+					setParameter(FROM_NUMBER,fromNumber).
+					setParameter(TO_NUMBER,toNumber).
+					setMaxResults(maxResults);
+		return query.getResultList();
+	}
+
+	long countMembers(Key containerId, long fromNumber, long toNumber) {
+		return
+			entityManager().
+				createNamedQuery("JPAMember.countMembers",Long.class).
+					setParameter(CONTAINER_ID,containerId).
+					setParameter(FROM_NUMBER,fromNumber).
+					setParameter(TO_NUMBER,toNumber).
+					getSingleResult();
+	}
+
+	void add(JPAMember member) {
+		entityManager().persist(member);
+	}
+
+	void remove(JPAMember member) {
+		entityManager().remove(member);
+	}
+
+	int removeMembers(Key containerId) {
+		return
+			entityManager().
+				createNamedQuery("JPAMember.removeMembers").
+					setParameter(CONTAINER_ID,containerId).
+					executeUpdate();
+	}
+
+}
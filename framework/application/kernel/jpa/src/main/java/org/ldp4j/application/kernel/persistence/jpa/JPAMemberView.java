@@ -0,0 +1,175 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.ldp4j.application.kernel.resource.Member;
+import org.ldp4j.application.kernel.resource.MemberView;
+import org.ldp4j.application.kernel.resource.MemberViews;
+
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * Member view backed by the database. Members are fetched in batches using
+ * keyset pagination over the {@code (containerId, number)} index, so that
+ * only the members actually traversed are loaded.
+ */
+final class JPAMemberView implements MemberView {
+
+	private static final int BATCH_SIZE = 256;
+
+	private final class MemberIterator extends AbstractIterator<Member> {
+
+		private final boolean ascending;
+		private long fromNumber;
+		private long toNumber;
+		private Iterator<JPAMember> batch;
+		private boolean exhausted;
+
+		private MemberIterator(boolean ascending) {
+			this.ascending=ascending;
+			this.fromNumber=JPAMemberView.this.fromNumber;
+			this.toNumber=JPAMemberView.this.toNumber;
+			this.exhausted=false;
+		}
+
+		private void nextBatch() {
+			List<JPAMember> members=
+				JPAMemberView.this.repository.
+					membersOfContainer(
+						JPAMemberView.this.containerId,
+						this.fromNumber,
+						this.toNumber,
+						this.ascending,
+						BATCH_SIZE);
+			this.exhausted=members.size()<BATCH_SIZE;
+			this.batch=members.iterator();
+		}
+
+		@Override
+		protected Member computeNext() {
+			if((this.batch==null || !this.batch.hasNext()) && !this.exhausted) {
+				nextBatch();
+			}
+			if(!this.batch.hasNext()) {
+				return endOfData();
+			}
+			JPAMember next=this.batch.next();
+			if(this.ascending) {
+				this.fromNumber=next.number()+1;
+			} else {
+				this.toNumber=next.number();
+			}
+			return next;
+		}
+
+	}
+
+	private final JPAMemberRepository repository;
+	private final Key containerId;
+	private final long fromNumber;
+	private final long toNumber;
+	private final Long knownSize;
+
+	private JPAMemberView(JPAMemberRepository repository, Key containerId, long fromNumber, long toNumber, Long knownSize) {
+		this.repository=repository;
+		this.containerId=containerId;
+		this.fromNumber=fromNumber;
+		this.toNumber=toNumber;
+		this.knownSize=knownSize;
+	}
+
+	/**
+	 * Create a view over all the members of a container, whose size is
+	 * already known.
+	 */
+	static JPAMemberView create(JPAMemberRepository repository, Key containerId, long size) {
+		return new JPAMemberView(repository,containerId,Long.MIN_VALUE,Long.MAX_VALUE,size);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<Member> iterator() {
+		return new MemberIterator(true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		if(this.knownSize!=null) {
+			return this.knownSize==0;
+		}
+		return !iterator().hasNext();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		long size=this.knownSize!=null?
+			this.knownSize:
+			this.repository.countMembers(this.containerId,this.fromNumber,this.toNumber);
+		return (int)Math.min(size,Integer.MAX_VALUE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MemberView range(long fromNumber, long toNumber) {
+		checkArgument(fromNumber<=toNumber,"From number (%s) cannot be greater than to number (%s)",fromNumber,toNumber);
+		long from=Math.max(this.fromNumber,fromNumber);
+		long to=Math.min(this.toNumber,toNumber);
+		if(from>=to) {
+			return MemberViews.empty();
+		}
+		return new JPAMemberView(this.repository,this.containerId,from,to,null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterable<Member> descending() {
+		return new Iterable<Member>() {
+			@Override
+			public Iterator<Member> iterator() {
+				return new MemberIterator(false);
+			}
+		};
+	}
+
+}
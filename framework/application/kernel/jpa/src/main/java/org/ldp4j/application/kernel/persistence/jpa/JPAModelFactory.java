@@ -59,6 +59,7 @@ final class JPAModelFactory implements ModelFactory {
 
 		private void createResource(JPAResource resource) {
 			this.resource=resource;
+			this.resource.setMemberRepository(JPAModelFactory.this.resourceRepository.memberRepository());
 			this.resource.setTemplateLibrary(JPAModelFactory.this.templateLibrary);
 		}
 
@@ -121,6 +121,7 @@ class JPAResource extends AbstractJPAResource implements Resource {
 		} else {
 			newResource=new JPAContainer(resourceId,this.id);
 		}
+		newResource.setMemberRepository(getMemberRepository());
 		newResource.setTemplateLibrary(getTemplateLibrary());
 		return newResource;
 	}
@@ -26,12 +26,10 @@
  */
 package org.ldp4j.application.kernel.persistence.jpa;
 
+import java.util.Collection;
 import java.util.List;
 
 import javax.persistence.EntityManager;
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Root;
 
 import org.ldp4j.application.kernel.resource.Container;
 import org.ldp4j.application.kernel.resource.Resource;
@@ -42,10 +40,16 @@ import org.ldp4j.application.kernel.template.TemplateLibrary;
 final class JPAResourceRepository implements ResourceRepository {
 
 	private final EntityManagerProvider provider;
+	private final JPAMemberRepository memberRepository;
 	private TemplateLibrary templateLibrary;
 
 	JPAResourceRepository(EntityManagerProvider provider) {
 		this.provider = provider;
+		this.memberRepository = new JPAMemberRepository(provider);
+	}
+
+	JPAMemberRepository memberRepository() {
+		return this.memberRepository;
 	}
 
 	void setTemplateLibrary(TemplateLibrary templateLibrary) {
@@ -58,24 +62,17 @@ final class JPAResourceRepository implements ResourceRepository {
 
 	@Override
 	public <T extends Resource> T resourceById(ResourceId id, Class<? extends T> expectedResourceClass) {
-		EntityManager em = entityManager();
-
-		CriteriaBuilder cb=em.getCriteriaBuilder();
-
-		CriteriaQuery<JPAResource> query =
-				cb.createQuery(JPAResource.class);
-
-		Root<JPAResource> descriptor = query.from(JPAResource.class);
-		query.
-			select(descriptor).
-			where(cb.equal(descriptor.get("id"),id)).
-			distinct(true);
-		List<JPAResource> results = em.createQuery(query).getResultList();
+		List<JPAResource> results=
+			entityManager().
+				createNamedQuery("JPAResource.resourceOfId",JPAResource.class).
+				setParameter("id",id).
+				getResultList();
 		if(results.isEmpty()) {
 			return null;
 		}
 		JPAResource found = results.get(0);
 		if(expectedResourceClass.isInstance(found)) {
+			found.setMemberRepository(this.memberRepository);
 			found.setTemplateLibrary(this.templateLibrary);
 			return expectedResourceClass.cast(found);
 		}
@@ -101,8 +98,25 @@ final class JPAResourceRepository implements ResourceRepository {
 		entityManager().persist(resource);
 	}
 
+	/**
+	 * {@inheritDoc} <br>
+	 * The resources are flushed together, so that the provider can group the
+	 * inserts in JDBC batches.
+	 */
+	@Override
+	public void addAll(Collection<? extends Resource> resources) {
+		EntityManager entityManager=entityManager();
+		for(Resource resource:resources) {
+			entityManager.persist(resource);
+		}
+		entityManager.flush();
+	}
+
 	@Override
 	public void remove(Resource resource) {
+		if(resource instanceof JPAContainer) {
+			this.memberRepository.removeMembers(Key.newInstance(resource.id()));
+		}
 		entityManager().remove(resource);
 	}
 
@@ -26,26 +26,144 @@
  */
 package org.ldp4j.application.kernel.persistence.jpa;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import javax.sql.DataSource;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 
 import org.ldp4j.application.kernel.constraints.ConstraintReportRepository;
 import org.ldp4j.application.kernel.endpoint.EndpointRepository;
 import org.ldp4j.application.kernel.lifecycle.LifecycleException;
+import org.ldp4j.application.kernel.persistence.encoding.Encoder;
 import org.ldp4j.application.kernel.resource.ResourceRepository;
 import org.ldp4j.application.kernel.spi.ModelFactory;
 import org.ldp4j.application.kernel.spi.RuntimeDelegate;
 import org.ldp4j.application.kernel.transaction.TransactionManager;
 
+import com.google.common.base.Optional;
+
 public final class JPARuntimeDelegate extends RuntimeDelegate {
 
+	/**
+	 * System property for selecting the persistence unit to be used. If not
+	 * specified, the {@value #DEFAULT_PERSISTENCE_UNIT} persistence unit is
+	 * used.
+	 */
+	public static final String PERSISTENCE_UNIT_PROPERTY="org.ldp4j.application.kernel.persistence.jpa.persistenceUnit";
+
+	public static final String DEFAULT_PERSISTENCE_UNIT="kernel";
+
+	/**
+	 * Prefixes of the system properties that are forwarded to the persistence
+	 * unit, i.e., the connection pool and group commit configuration
+	 * properties.
+	 */
+	private static final String[] FORWARDED_PROPERTY_PREFIXES={
+		"org.ldp4j.application.kernel.persistence.jpa.pool.",
+		"org.ldp4j.application.kernel.persistence.jpa.groupCommit.",
+	};
+
+	/**
+	 * System property for enabling the group commit mode, in which the
+	 * commits of concurrent transactions are batched into a single database
+	 * transaction. The mode is enabled if the property is set to
+	 * {@code enable}. Transactions are grouped within a window of
+	 * {@value #GROUP_COMMIT_WINDOW} milliseconds (defaults to
+	 * {@value #DEFAULT_GROUP_COMMIT_WINDOW}), and up to
+	 * {@value #GROUP_COMMIT_MAX_SIZE} transactions (defaults to
+	 * {@value #DEFAULT_GROUP_COMMIT_MAX_SIZE}). Requires the connections to be
+	 * provided by the {@link PooledConnectionProvider}.
+	 */
+	public static final String GROUP_COMMIT_PROPERTY="org.ldp4j.application.kernel.persistence.jpa.groupCommit";
+
+	public static final String GROUP_COMMIT_WINDOW="org.ldp4j.application.kernel.persistence.jpa.groupCommit.window";
+
+	public static final String GROUP_COMMIT_MAX_SIZE="org.ldp4j.application.kernel.persistence.jpa.groupCommit.maxSize";
+
+	static final long DEFAULT_GROUP_COMMIT_WINDOW=2;
+
+	static final int DEFAULT_GROUP_COMMIT_MAX_SIZE=256;
+
+	/**
+	 * JDBC batching settings used in group commit mode, unless overridden.
+	 */
+	private static final String[][] BATCHING_SETTINGS={
+		{"hibernate.jdbc.batch_size","50"},
+		{"hibernate.order_inserts","true"},
+		{"hibernate.order_updates","true"},
+	};
+
+	/**
+	 * System property for enabling the second-level and query caches of the
+	 * persistence unit. The caches are enabled if the property is set to
+	 * {@code enable}. A Hibernate region factory has to be configured using the
+	 * {@value #REGION_FACTORY} property.
+	 */
+	public static final String CACHE_PROPERTY="org.ldp4j.application.kernel.persistence.jpa.cache";
+
+	static final String REGION_FACTORY="hibernate.cache.region.factory_class";
+
+	private static final String NON_JTA_DATASOURCE="javax.persistence.nonJtaDataSource";
+
+	private static final String READ_WRITE="read-write";
+
+	/**
+	 * Root entities that are cached. Hibernate does not honour the
+	 * {@code cacheable} attribute of the ORM mapping file, so the regions are
+	 * configured through the persistence unit properties instead.
+	 */
+	private static final String[] CACHED_ENTITIES={
+		JPAEndpoint.class.getName(),
+		JPAResource.class.getName(),
+		JPAAttachment.class.getName(),
+	};
+
+	/**
+	 * Eagerly fetched collections that are cached together with the owning
+	 * entities.
+	 */
+	private static final String[] CACHED_COLLECTIONS={
+		JPAResource.class.getName()+".attachments",
+		JPAResource.class.getName()+".failures",
+	};
+
+	/**
+	 * System property for disabling the migration of the keys persisted using
+	 * the legacy value encoding at start up. The migration only takes place
+	 * when the compact value encoding is used.
+	 */
+	public static final String KEY_MIGRATION_PROPERTY="org.ldp4j.application.kernel.persistence.jpa.keyMigration";
+
 	private final JPAEntityManagerProvider provider;
 	private final JPAModelFactory modelFactory;
 	private final JPAResourceRepository resourceRepository;
 	private final JPATransactionManager transactionManager;
 	private final JPAEndpointRepository endpointRepository;
 	private final JPAConstraintReportRepository constraintReportRepository;
+	private final Map<String,Object> properties;
+
+	private String persistenceUnit;
+	private boolean cacheEnabled;
+	private boolean groupCommitEnabled;
+	private EntityManagerFactory entityManagerFactory;
 
 	public JPARuntimeDelegate() {
+		this.properties = new HashMap<String,Object>();
+		this.persistenceUnit = System.getProperty(PERSISTENCE_UNIT_PROPERTY,DEFAULT_PERSISTENCE_UNIT);
+		this.cacheEnabled = "enable".equalsIgnoreCase(System.getProperty(CACHE_PROPERTY));
+		this.groupCommitEnabled = "enable".equalsIgnoreCase(System.getProperty(GROUP_COMMIT_PROPERTY));
 		this.provider = new JPAEntityManagerProvider();
 		this.transactionManager = new JPATransactionManager(this.provider);
 		this.endpointRepository = new JPAEndpointRepository(this.provider);
@@ -56,7 +174,191 @@ public final class JPARuntimeDelegate extends RuntimeDelegate {
 
 	@Override
 	public void init() throws LifecycleException {
-		this.provider.setEntityManagerFactory(Persistence.createEntityManagerFactory("kernel"));
+		Map<String,Object> unitProperties=unitProperties();
+		this.entityManagerFactory=Persistence.createEntityManagerFactory(this.persistenceUnit,unitProperties);
+		this.provider.setEntityManagerFactory(this.entityManagerFactory);
+		GroupCommitter groupCommitter=null;
+		if(this.groupCommitEnabled) {
+			groupCommitter=createGroupCommitter(unitProperties);
+		}
+		this.transactionManager.setGroupCommitter(groupCommitter);
+		if(Encoder.valueEncoder()==Encoder.compactValueEncoder() &&
+				!"disable".equalsIgnoreCase(System.getProperty(KEY_MIGRATION_PROPERTY))) {
+			migrateKeys();
+		}
+	}
+
+	private Map<String,Object> unitProperties() throws LifecycleException {
+		Map<String,Object> result=new HashMap<String,Object>();
+		for(Entry<Object,Object> entry:System.getProperties().entrySet()) {
+			String key=entry.getKey().toString();
+			for(String prefix:FORWARDED_PROPERTY_PREFIXES) {
+				if(key.startsWith(prefix)) {
+					result.put(key,entry.getValue());
+				}
+			}
+		}
+		if(this.cacheEnabled) {
+			configureCache(result);
+		}
+		if(this.groupCommitEnabled) {
+			for(String[] setting:BATCHING_SETTINGS) {
+				result.put(setting[0],setting[1]);
+			}
+		}
+		result.putAll(this.properties);
+		return result;
+	}
+
+	private GroupCommitter createGroupCommitter(Map<String,Object> unitProperties) throws LifecycleException {
+		final PooledConnectionProvider connectionProvider=pooledConnectionProvider();
+		if(connectionProvider==null) {
+			this.provider.dispose();
+			throw new LifecycleException("Group commit requires using the "+PooledConnectionProvider.class.getName()+" connection provider");
+		}
+		try {
+			Object window=unitProperties.get(GROUP_COMMIT_WINDOW);
+			Object maxSize=unitProperties.get(GROUP_COMMIT_MAX_SIZE);
+			return
+				new GroupCommitter(
+					new GroupCommitter.ConnectionSource() {
+						@Override
+						public Connection connection() throws SQLException {
+							return connectionProvider.newConnection();
+						}
+					},
+					window==null?DEFAULT_GROUP_COMMIT_WINDOW:Long.parseLong(window.toString().trim()),
+					TimeUnit.MILLISECONDS,
+					maxSize==null?DEFAULT_GROUP_COMMIT_MAX_SIZE:Integer.parseInt(maxSize.toString().trim()));
+		} catch (IllegalArgumentException e) {
+			this.provider.dispose();
+			throw new LifecycleException("Invalid group commit configuration",e);
+		}
+	}
+
+	private PooledConnectionProvider pooledConnectionProvider() {
+		ConnectionProvider connectionProvider=
+			this.entityManagerFactory.
+				unwrap(SessionFactoryImplementor.class).
+					getServiceRegistry().
+						getService(ConnectionProvider.class);
+		if(connectionProvider instanceof PooledConnectionProvider) {
+			return (PooledConnectionProvider)connectionProvider;
+		}
+		return null;
+	}
+
+	private void configureCache(Map<String,Object> result) throws LifecycleException {
+		if(!this.properties.containsKey(REGION_FACTORY) && System.getProperty(REGION_FACTORY)==null) {
+			throw new LifecycleException("Caching requires configuring a region factory ("+REGION_FACTORY+")");
+		}
+		result.put("hibernate.cache.use_second_level_cache","true");
+		result.put("hibernate.cache.use_query_cache","true");
+		result.put("hibernate.cache.default_cache_concurrency_strategy",READ_WRITE);
+		for(String entity:CACHED_ENTITIES) {
+			result.put("hibernate.ejb.classcache."+entity,READ_WRITE);
+		}
+		for(String collection:CACHED_COLLECTIONS) {
+			result.put("hibernate.ejb.collectioncache."+collection,READ_WRITE);
+		}
+	}
+
+	private void checkNotInitialized() {
+		checkState(this.entityManagerFactory==null || !this.entityManagerFactory.isOpen(),"Runtime delegate has already been initialized");
+	}
+
+	/**
+	 * Set the name of the persistence unit to use. The change will take effect
+	 * the next time the delegate is initialized.
+	 */
+	public void setPersistenceUnit(String persistenceUnit) {
+		checkNotNull(persistenceUnit,"Persistence unit cannot be null");
+		checkNotInitialized();
+		this.persistenceUnit=persistenceUnit;
+	}
+
+	public String getPersistenceUnit() {
+		return this.persistenceUnit;
+	}
+
+	/**
+	 * Enable or disable the second-level cache for endpoints and resources
+	 * and the query cache for their lookups. The change will take effect the
+	 * next time the delegate is initialized.
+	 */
+	public void setCacheEnabled(boolean cacheEnabled) {
+		checkNotInitialized();
+		this.cacheEnabled=cacheEnabled;
+	}
+
+	public boolean isCacheEnabled() {
+		return this.cacheEnabled;
+	}
+
+	/**
+	 * Enable or disable the group commit mode. The change will take effect
+	 * the next time the delegate is initialized.
+	 *
+	 * @see #GROUP_COMMIT_PROPERTY
+	 */
+	public void setGroupCommitEnabled(boolean groupCommitEnabled) {
+		checkNotInitialized();
+		this.groupCommitEnabled=groupCommitEnabled;
+	}
+
+	public boolean isGroupCommitEnabled() {
+		return this.groupCommitEnabled;
+	}
+
+	/**
+	 * Set a property that overrides the configuration of the persistence
+	 * unit. The change will take effect the next time the delegate is
+	 * initialized.
+	 */
+	public void setProperty(String name, Object value) {
+		checkNotNull(name,"Property name cannot be null");
+		checkNotInitialized();
+		if(value==null) {
+			this.properties.remove(name);
+		} else {
+			this.properties.put(name,value);
+		}
+	}
+
+	/**
+	 * Set the data source that the persistence unit will use for retrieving
+	 * connections. Connections of the provided data source are not pooled by
+	 * the JPA kernel.
+	 */
+	public void setDataSource(DataSource dataSource) {
+		setProperty(NON_JTA_DATASOURCE,dataSource);
+	}
+
+	/**
+	 * Get the current metrics of the connection pool used by the persistence
+	 * unit, if the connections are being pooled by the JPA kernel.
+	 */
+	public Optional<ConnectionPoolMetrics> connectionPoolMetrics() {
+		ConnectionPoolMetrics result=null;
+		if(this.entityManagerFactory!=null && this.entityManagerFactory.isOpen()) {
+			PooledConnectionProvider connectionProvider=pooledConnectionProvider();
+			if(connectionProvider!=null) {
+				result=connectionProvider.metrics();
+			}
+		}
+		return Optional.fromNullable(result);
+	}
+
+	int migrateKeys() {
+		return new KeyMigration(this.provider).migrate();
+	}
+
+	EntityManagerProvider entityManagerProvider() {
+		return this.provider;
+	}
+
+	GroupCommitter groupCommitter() {
+		return this.transactionManager.groupCommitter();
 	}
 
 	@Override
@@ -45,15 +45,30 @@ final class JPATransactionManager implements TransactionManager {
 			return provider.isActive();
 		}
 
+		private void leaveGroup() {
+			if(groupCommitter!=null) {
+				groupCommitter.leave();
+			}
+		}
+
 		@Override
 		public void begin() {
+			if(groupCommitter!=null) {
+				groupCommitter.join();
+			}
 			try {
 				nativeTransaction().begin();
 			} catch (Exception e) {
+				leaveGroup();
 				throw new TransactionException("Begin failed",e);
 			}
 		}
 
+		/**
+		 * {@inheritDoc} <br>
+		 * When group commit is enabled, this method does not return until the
+		 * group the transaction belongs to has been committed.
+		 */
 		@Override
 		public void commit() {
 			try {
@@ -61,8 +76,12 @@ final class JPATransactionManager implements TransactionManager {
 			} catch (Exception e) {
 				throw new TransactionException("Commit failed",e);
 			} finally {
-				if(!provider.isActive()) {
-					provider.close();
+				try {
+					leaveGroup();
+				} finally {
+					if(!provider.isActive()) {
+						provider.close();
+					}
 				}
 			}
 		}
@@ -75,7 +94,11 @@ final class JPATransactionManager implements TransactionManager {
 				} catch (Exception e) {
 					throw new TransactionException("Rollback failed",e);
 				} finally {
-					provider.close();
+					try {
+						leaveGroup();
+					} finally {
+						provider.close();
+					}
 				}
 			}
 		}
@@ -84,10 +107,25 @@ final class JPATransactionManager implements TransactionManager {
 
 	private final EntityManagerProvider provider;
 
+	private volatile GroupCommitter groupCommitter;
+
 	JPATransactionManager(EntityManagerProvider provider) {
 		this.provider = provider;
 	}
 
+	/**
+	 * Set the committer to use for grouping the commits of concurrent
+	 * transactions, or {@code null} for committing each transaction on its
+	 * own.
+	 */
+	void setGroupCommitter(GroupCommitter groupCommitter) {
+		this.groupCommitter = groupCommitter;
+	}
+
+	GroupCommitter groupCommitter() {
+		return this.groupCommitter;
+	}
+
 	@Override
 	public Transaction currentTransaction() {
 		return new JPATransaction();
@@ -72,7 +72,7 @@ final class Key implements Serializable {
 		this.cachedId=
 			ResourceId.
 				createId(
-					Key.fromBase64(this.nameValue),
+					Key.decodeName(this.nameValue),
 					this.templateId);
 		// Self healing...
 		this.nameType=nameTypeOf(this.cachedId.name());
@@ -149,7 +149,7 @@ final class Key implements Serializable {
 		}
 		Name<?> name = id.name();
 		String nameType=nameTypeOf(name);
-		String nameValue=Key.toBase64(name);
+		String nameValue=Key.encodeName(name);
 		return new Key(id,id.templateId(),nameType,nameValue);
 	}
 
@@ -157,11 +157,11 @@ final class Key implements Serializable {
 		return name.id().getClass().getCanonicalName();
 	}
 
-	static String toBase64(Name<?> name) {
+	static String encodeName(Name<?> name) {
 		return Encoder.valueEncoder().encode(name);
 	}
 
-	static <T extends Serializable> Name<T> fromBase64(String data) {
+	static <T extends Serializable> Name<T> decodeName(String data) {
 		return Encoder.valueEncoder().decode(data);
 	}
 
@@ -0,0 +1,112 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+
+import org.ldp4j.application.kernel.persistence.encoding.Encoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rewrites the keys persisted using the legacy serialization-based value
+ * encoding so that they use the compact value encoding. The legacy values are
+ * identified by the absence of the compact type tag.
+ */
+final class KeyMigration {
+
+	private static final Logger LOGGER=LoggerFactory.getLogger(KeyMigration.class);
+
+	private static final String[][] KEYS={
+		{"JPAEndpoint","resourceId"},
+		{"JPAAttachment","resourceId"},
+		{"JPASlug","containerId"},
+		{"JPAMember","containerId"},
+		{"JPAMember","memberId"},
+	};
+
+	private static final String LEGACY_VALUES  = "SELECT DISTINCT e.%2$s.nameValue FROM %1$s e WHERE e.%2$s.nameValue NOT LIKE '_:%%'";
+	private static final String UPGRADE_VALUES = "UPDATE %1$s e SET e.%2$s.nameValue = :newValue WHERE e.%2$s.nameValue = :oldValue";
+
+	private final EntityManagerProvider provider;
+
+	KeyMigration(EntityManagerProvider provider) {
+		this.provider=provider;
+	}
+
+	/**
+	 * Migrate the legacy keys.
+	 *
+	 * @return the number of updated rows
+	 */
+	int migrate() {
+		EntityManager manager=this.provider.entityManager();
+		EntityTransaction transaction=manager.getTransaction();
+		transaction.begin();
+		try {
+			int updated=0;
+			for(String[] key:KEYS) {
+				updated+=migrate(manager,key[0],key[1]);
+			}
+			transaction.commit();
+			if(updated>0) {
+				LOGGER.info("Migrated {} legacy keys to the compact value encoding",updated);
+			}
+			return updated;
+		} finally {
+			if(transaction.isActive()) {
+				transaction.rollback();
+			}
+			this.provider.close();
+		}
+	}
+
+	private int migrate(EntityManager manager, String entity, String attribute) {
+		List<String> values=
+			manager.
+				createQuery(String.format(LEGACY_VALUES,entity,attribute),String.class).
+				getResultList();
+		int updated=0;
+		for(String oldValue:values) {
+			String newValue=
+				Encoder.compactValueEncoder().encode(
+					Encoder.compactValueEncoder().decode(oldValue));
+			updated+=
+				manager.
+					createQuery(String.format(UPGRADE_VALUES,entity,attribute)).
+					setParameter("newValue",newValue).
+					setParameter("oldValue",oldValue).
+					executeUpdate();
+		}
+		LOGGER.debug("Migrated {} legacy {} keys of {} entities",updated,attribute,entity);
+		return updated;
+	}
+
+}
@@ -0,0 +1,251 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hibernate connection provider used by the JPA kernel. If the persistence
+ * unit is configured with a {@code DataSource} instance, connections are
+ * retrieved from it, and pooling is left to that data source. Otherwise,
+ * connections are created using the JDBC settings of the unit and are
+ * managed by a bounded {@link ConnectionPool}.
+ * <br>
+ * The pool can be configured using the following properties:
+ * <ul>
+ * <li>{@value #MAX_SIZE}: the maximum number of connections (defaults to
+ * twice the number of available processors, and never less than
+ * {@value #MIN_DEFAULT_SIZE}),</li>
+ * <li>{@value #ACQUIRE_TIMEOUT}: the number of milliseconds to wait for a
+ * connection (defaults to {@value #DEFAULT_ACQUIRE_TIMEOUT}).</li>
+ * </ul>
+ * Threads whose transaction has joined a commit group (see
+ * {@link GroupCommitter}) are given the connection of the group instead.
+ */
+public final class PooledConnectionProvider implements ConnectionProvider, Configurable, Stoppable {
+
+	private static final long serialVersionUID = 7369325640214931575L;
+
+	public static final String MAX_SIZE        = "org.ldp4j.application.kernel.persistence.jpa.pool.maxSize";
+	public static final String ACQUIRE_TIMEOUT = "org.ldp4j.application.kernel.persistence.jpa.pool.acquireTimeout";
+
+	static final int  MIN_DEFAULT_SIZE        = 4;
+	static final long DEFAULT_ACQUIRE_TIMEOUT = 30000;
+
+	private static final String JPA_JDBC_DRIVER   = "javax.persistence.jdbc.driver";
+	private static final String JPA_JDBC_URL      = "javax.persistence.jdbc.url";
+	private static final String JPA_JDBC_USER     = "javax.persistence.jdbc.user";
+	private static final String JPA_JDBC_PASSWORD = "javax.persistence.jdbc.password";
+	private static final String JPA_DATASOURCE    = "javax.persistence.nonJtaDataSource";
+
+	private static final Logger LOGGER=LoggerFactory.getLogger(PooledConnectionProvider.class);
+
+	private transient DataSource dataSource;
+	private transient ConnectionPool pool;
+
+	static int defaultMaxSize() {
+		return Math.max(MIN_DEFAULT_SIZE,2*Runtime.getRuntime().availableProcessors());
+	}
+
+	private static String setting(Map<?,?> configuration, String hibernateKey, String jpaKey) {
+		Object value=configuration.get(hibernateKey);
+		if(value==null) {
+			value=configuration.get(jpaKey);
+		}
+		return value==null?null:value.toString();
+	}
+
+	private static int intSetting(Map<?,?> configuration, String key, int defaultValue) {
+		Object value=configuration.get(key);
+		return value==null?defaultValue:Integer.parseInt(value.toString().trim());
+	}
+
+	private static long longSetting(Map<?,?> configuration, String key, long defaultValue) {
+		Object value=configuration.get(key);
+		return value==null?defaultValue:Long.parseLong(value.toString().trim());
+	}
+
+	private static DataSource dataSource(Map<?,?> configuration) {
+		for(String key:new String[]{AvailableSettings.DATASOURCE,JPA_DATASOURCE}) {
+			Object value=configuration.get(key);
+			if(value instanceof DataSource) {
+				return (DataSource)value;
+			}
+		}
+		return null;
+	}
+
+	private static ConnectionPool.ConnectionFactory connectionFactory(Map<?,?> configuration) {
+		String driver=setting(configuration,AvailableSettings.DRIVER,JPA_JDBC_DRIVER);
+		final String url=setting(configuration,AvailableSettings.URL,JPA_JDBC_URL);
+		final Properties properties=new Properties();
+		String user=setting(configuration,AvailableSettings.USER,JPA_JDBC_USER);
+		if(user!=null) {
+			properties.setProperty("user",user);
+		}
+		String password=setting(configuration,AvailableSettings.PASS,JPA_JDBC_PASSWORD);
+		if(password!=null) {
+			properties.setProperty("password",password);
+		}
+		if(url==null) {
+			throw new HibernateException("No JDBC URL specified (use either "+AvailableSettings.URL+" or "+JPA_JDBC_URL+")");
+		}
+		if(driver!=null) {
+			try {
+				Class.forName(driver,true,Thread.currentThread().getContextClassLoader());
+			} catch (ClassNotFoundException e) {
+				throw new HibernateException("Could not load JDBC driver class "+driver,e);
+			}
+		}
+		return new ConnectionPool.ConnectionFactory() {
+			@Override
+			public Connection create() throws SQLException {
+				return DriverManager.getConnection(url,properties);
+			}
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void configure(@SuppressWarnings("rawtypes") Map configurationValues) {
+		this.dataSource=dataSource(configurationValues);
+		if(this.dataSource!=null) {
+			LOGGER.info("Using externally provided data source {}",this.dataSource);
+			return;
+		}
+		this.pool=
+			new ConnectionPool(
+				connectionFactory(configurationValues),
+				intSetting(configurationValues,MAX_SIZE,defaultMaxSize()),
+				longSetting(configurationValues,ACQUIRE_TIMEOUT,DEFAULT_ACQUIRE_TIMEOUT));
+		LOGGER.info("Using connection pool (max. size: {}, acquisition timeout: {} ms)",this.pool.maxSize(),this.pool.acquireTimeout());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		Connection grouped=GroupCommitter.currentConnection();
+		if(grouped!=null) {
+			return grouped;
+		}
+		return newConnection();
+	}
+
+	/**
+	 * Get a connection from the underlying data source or pool, regardless of
+	 * whether the current thread has joined a commit group.
+	 */
+	Connection newConnection() throws SQLException {
+		if(this.dataSource!=null) {
+			return this.dataSource.getConnection();
+		}
+		if(this.pool==null) {
+			throw new SQLException("Connection provider has not been configured");
+		}
+		return this.pool.acquire();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void closeConnection(Connection conn) throws SQLException {
+		conn.close();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supportsAggressiveRelease() {
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void stop() {
+		if(this.pool!=null) {
+			this.pool.close();
+		}
+	}
+
+	/**
+	 * Get the metrics of the connection pool, if the connections are pooled
+	 * by this provider.
+	 */
+	ConnectionPoolMetrics metrics() {
+		return this.pool==null?null:this.pool.metrics();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("rawtypes")
+	public boolean isUnwrappableAs(Class unwrapType) {
+		return
+			ConnectionProvider.class.equals(unwrapType) ||
+			PooledConnectionProvider.class.isAssignableFrom(unwrapType) ||
+			(this.dataSource!=null && DataSource.class.isAssignableFrom(unwrapType));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T unwrap(Class<T> unwrapType) {
+		if(ConnectionProvider.class.equals(unwrapType) || PooledConnectionProvider.class.isAssignableFrom(unwrapType)) {
+			return (T)this;
+		} else if(this.dataSource!=null && DataSource.class.isAssignableFrom(unwrapType)) {
+			return (T)this.dataSource;
+		}
+		throw new UnknownUnwrapTypeException(unwrapType);
+	}
+
+}
@@ -0,0 +1,132 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.encoding;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.UUID;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Test;
+import org.ldp4j.application.data.Name;
+import org.ldp4j.application.data.NamingScheme;
+
+public class CompactValueEncoderTest {
+
+	private final Encoder sut=Encoder.compactValueEncoder();
+
+	private void verifyRoundTrip(Name<?> name, String expectedEncoding) {
+		String encoded=this.sut.encode(name);
+		if(expectedEncoding!=null) {
+			assertThat(encoded,equalTo(expectedEncoding));
+		}
+		Name<?> decoded=this.sut.decode(encoded);
+		assertThat((Object)decoded,equalTo((Object)name));
+		assertThat((Object)decoded.id().getClass(),equalTo((Object)name.id().getClass()));
+	}
+
+	@Test
+	public void testEncode$null() throws Exception {
+		assertThat(this.sut.encode(null),nullValue());
+		assertThat(this.sut.decode(null),nullValue());
+	}
+
+	@Test
+	public void testRoundTrip$string() throws Exception {
+		verifyRoundTrip(NamingScheme.getDefault().name("resource"),"s:resource");
+		verifyRoundTrip(NamingScheme.getDefault().name(""),"s:");
+	}
+
+	@Test
+	public void testRoundTrip$numbers() throws Exception {
+		verifyRoundTrip(NamingScheme.getDefault().name(Long.MAX_VALUE),"l:"+Long.MAX_VALUE);
+		verifyRoundTrip(NamingScheme.getDefault().name(Integer.MIN_VALUE),"i:"+Integer.MIN_VALUE);
+	}
+
+	@Test
+	public void testRoundTrip$uri() throws Exception {
+		verifyRoundTrip(NamingScheme.getDefault().name(URI.create("http://www.ldp4j.org/resource/")),"u:http://www.ldp4j.org/resource/");
+	}
+
+	@Test
+	public void testRoundTrip$uuid() throws Exception {
+		UUID id=UUID.randomUUID();
+		verifyRoundTrip(NamingScheme.getDefault().name(id),"x:"+id);
+	}
+
+	@Test
+	public void testRoundTrip$qname() throws Exception {
+		verifyRoundTrip(NamingScheme.getDefault().name(new QName("http://www.ldp4j.org/{ns}/","resource","ldp4j")),"q:ldp4j{http://www.ldp4j.org/{ns}/}resource");
+		verifyRoundTrip(NamingScheme.getDefault().name(new QName("resource")),"q:{}resource");
+	}
+
+	@Test
+	public void testRoundTrip$serializable() throws Exception {
+		Name<Date> name = NamingScheme.getDefault().name(new Date());
+		verifyRoundTrip(name,null);
+		assertThat(this.sut.encode(name).startsWith("j:"),equalTo(true));
+	}
+
+	@Test
+	public void testDecode$legacyValues() throws Exception {
+		Name<?>[] names= {
+			NamingScheme.getDefault().name("resource"),
+			NamingScheme.getDefault().name(URI.create("http://www.ldp4j.org/resource/")),
+			NamingScheme.getDefault().name(Long.MAX_VALUE),
+		};
+		for(Name<?> name:names) {
+			String legacy=Encoder.serializationValueEncoder().encode(name);
+			assertThat((Object)this.sut.decode(legacy),equalTo((Object)name));
+			assertThat(this.sut.encode(name).length(),lessThan(legacy.length()));
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testDecode$unknownTag() throws Exception {
+		this.sut.decode("z:value");
+	}
+
+	@Test
+	public void testSelectValueEncoder() throws Exception {
+		assertThat(Encoder.selectValueEncoder(null),sameInstance(Encoder.compactValueEncoder()));
+		assertThat(Encoder.selectValueEncoder("COMPACT"),sameInstance(Encoder.compactValueEncoder()));
+		assertThat(Encoder.selectValueEncoder("serialization"),sameInstance(Encoder.serializationValueEncoder()));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testSelectValueEncoder$unsupported() throws Exception {
+		Encoder.selectValueEncoder("xml");
+	}
+
+}
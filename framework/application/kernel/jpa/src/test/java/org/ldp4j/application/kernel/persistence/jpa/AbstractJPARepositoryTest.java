@@ -146,6 +146,10 @@ public abstract class AbstractJPARepositoryTest<T> { // NOSONAR
 		return this.delegate.getModelFactory().createEndpoint(path, resource, new Date(),EntityTag.createStrong("tag"));
 	}
 
+	protected final JPARuntimeDelegate delegate() {
+		return this.delegate;
+	}
+
 	protected final Logger logger() {
 		return this.logger;
 	}
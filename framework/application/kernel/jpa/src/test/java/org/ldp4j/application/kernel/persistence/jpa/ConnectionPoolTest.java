@@ -0,0 +1,158 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ldp4j.application.kernel.persistence.jpa.ConnectionPool.ConnectionFactory;
+
+public class ConnectionPoolTest {
+
+	private ConnectionPool sut;
+
+	@Before
+	public void setUp() {
+		this.sut=
+			new ConnectionPool(
+				new ConnectionFactory() {
+					@Override
+					public Connection create() throws SQLException {
+						return DriverManager.getConnection("jdbc:hsqldb:mem:pool","sa","");
+					}
+				},
+				2,
+				100);
+	}
+
+	@After
+	public void tearDown() {
+		this.sut.close();
+	}
+
+	@Test
+	public void testAcquire$reusesReturnedConnections() throws Exception {
+		Connection c1=this.sut.acquire();
+		Connection physical=c1.unwrap(Connection.class);
+		c1.close();
+		assertThat(c1.isClosed(),equalTo(true));
+		Connection c2=this.sut.acquire();
+		assertThat(c2.unwrap(Connection.class),sameInstance(physical));
+		c2.close();
+		ConnectionPoolMetrics metrics=this.sut.metrics();
+		assertThat(metrics.createdConnections(),equalTo(1L));
+		assertThat(metrics.acquisitions(),equalTo(2L));
+		assertThat(metrics.activeConnections(),equalTo(0));
+		assertThat(metrics.idleConnections(),equalTo(1));
+		assertThat(metrics.totalConnections(),equalTo(1));
+	}
+
+	@Test
+	public void testAcquire$bounded() throws Exception {
+		Connection c1=this.sut.acquire();
+		Connection c2=this.sut.acquire();
+		assertThat(this.sut.metrics().activeConnections(),equalTo(2));
+		try {
+			this.sut.acquire();
+			fail("Should not hand out more connections than the maximum pool size");
+		} catch (SQLTransientConnectionException e) {
+			assertThat(this.sut.metrics().timeouts(),equalTo(1L));
+		}
+		c1.close();
+		c1.close();
+		Connection c3=this.sut.acquire();
+		c2.close();
+		c3.close();
+		assertThat(this.sut.metrics().totalConnections(),equalTo(2));
+		assertThat(this.sut.metrics().activeConnections(),equalTo(0));
+	}
+
+	@Test
+	public void testAcquire$waitsForReturnedConnections() throws Exception {
+		final Connection c1=this.sut.acquire();
+		final Connection c2=this.sut.acquire();
+		ExecutorService executor=Executors.newSingleThreadExecutor();
+		try {
+			Future<Boolean> result=
+				executor.submit(
+					new Callable<Boolean>() {
+						@Override
+						public Boolean call() throws Exception {
+							Connection c3=sut.acquire();
+							c3.close();
+							return true;
+						}
+					}
+				);
+			c1.close();
+			assertThat(result.get(1,TimeUnit.SECONDS),equalTo(true));
+		} finally {
+			c2.close();
+			executor.shutdownNow();
+		}
+		assertThat(this.sut.metrics().timeouts(),equalTo(0L));
+	}
+
+	@Test(expected=SQLException.class)
+	public void testUse$returnedConnection() throws Exception {
+		Connection c1=this.sut.acquire();
+		c1.close();
+		c1.createStatement();
+	}
+
+	@Test(expected=SQLException.class)
+	public void testAcquire$closedPool() throws Exception {
+		this.sut.close();
+		this.sut.acquire();
+	}
+
+	@Test
+	public void testClose$discardsConnections() throws Exception {
+		Connection c1=this.sut.acquire();
+		Connection physical=c1.unwrap(Connection.class);
+		this.sut.close();
+		c1.close();
+		assertThat(physical.isClosed(),equalTo(true));
+		assertThat(this.sut.metrics().totalConnections(),equalTo(0));
+	}
+
+}
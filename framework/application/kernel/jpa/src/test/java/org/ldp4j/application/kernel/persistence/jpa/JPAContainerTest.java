@@ -0,0 +1,152 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.ldp4j.application.data.Name;
+import org.ldp4j.application.data.NamingScheme;
+import org.ldp4j.application.kernel.resource.Container;
+import org.ldp4j.application.kernel.resource.Member;
+import org.ldp4j.application.kernel.resource.MemberView;
+import org.ldp4j.application.kernel.resource.ResourceId;
+import org.ldp4j.application.kernel.resource.ResourceRepository;
+import org.ldp4j.example.PersonContainerHandler;
+import org.ldp4j.example.PersonHandler;
+
+import com.google.common.collect.ImmutableList;
+
+public class JPAContainerTest extends AbstractJPARepositoryTest<ResourceRepository> {
+
+	/**
+	 * More members than fetched in a single batch by the member view
+	 */
+	private static final int MEMBERS = 300;
+
+	private static ResourceId memberId(int i) {
+		return ResourceId.createId(NamingScheme.getDefault().name("member"+i),PersonHandler.ID);
+	}
+
+	private static List<Long> numbers(Iterable<Member> members) {
+		List<Long> result=new ArrayList<Long>();
+		for(Member member:members) {
+			result.add(member.number());
+		}
+		return result;
+	}
+
+	@Test
+	public void testMembership() throws Exception {
+		final Name<String> containerName = NamingScheme.getDefault().name("membershipContainer");
+		final ResourceId containerId = ResourceId.createId(containerName,PersonContainerHandler.ID);
+		final Container container = rootContainer(containerName, PersonContainerHandler.ID);
+		withinTransaction(
+			new Task<ResourceRepository>("Creating container and members") {
+				@Override
+				public void execute(ResourceRepository sut) {
+					sut.add(container);
+					for(int i=0;i<MEMBERS;i++) {
+						sut.add(container.addMember(memberId(i)));
+					}
+				}
+			}
+		);
+		clear();
+		withinTransaction(
+			new Task<ResourceRepository>("Looking up and removing members") {
+				@Override
+				public void execute(ResourceRepository sut) {
+					Container result=sut.containerOfId(containerId);
+					assertThat(result.hasMember(memberId(10)),equalTo(true));
+					assertThat(result.hasMember(memberId(MEMBERS)),equalTo(false));
+					Member member=result.findMember(memberId(10));
+					assertThat(member,notNullValue());
+					assertThat(member.number(),equalTo(10L));
+					assertThat(member.containerId(),equalTo(containerId));
+					assertThat(result.removeMember(member),equalTo(true));
+					assertThat(result.removeMember(member),equalTo(false));
+					assertThat(result.findMember(memberId(10)),nullValue());
+				}
+			}
+		);
+		clear();
+		withinTransaction(
+			new Task<ResourceRepository>("Traversing members") {
+				@Override
+				public void execute(ResourceRepository sut) {
+					Container result=sut.containerOfId(containerId);
+					MemberView view=result.memberView();
+					assertThat(view.size(),equalTo(MEMBERS-1));
+					List<Long> ascending=numbers(view);
+					assertThat(ascending.size(),equalTo(MEMBERS-1));
+					assertThat(ascending.get(0),equalTo(0L));
+					assertThat(ascending.get(10),equalTo(11L));
+					assertThat(ascending.get(MEMBERS-2),equalTo((long)MEMBERS-1));
+					List<Long> descending=numbers(view.descending());
+					assertThat(descending.size(),equalTo(MEMBERS-1));
+					assertThat(descending.get(0),equalTo((long)MEMBERS-1));
+					assertThat(numbers(view.range(8,13)),equalTo((List<Long>)ImmutableList.of(8L,9L,11L,12L)));
+					assertThat(view.range(8,13).size(),equalTo(4));
+					assertThat(view.range(10,11).isEmpty(),equalTo(true));
+				}
+			}
+		);
+		clear();
+		withinTransaction(
+			new Task<ResourceRepository>("Removing container") {
+				@Override
+				public void execute(ResourceRepository sut) {
+					Container result=sut.containerOfId(containerId);
+					sut.remove(result);
+				}
+			}
+		);
+		clear();
+		withinTransaction(
+			new Task<ResourceRepository>("Checking members have been removed") {
+				@Override
+				public void execute(ResourceRepository sut) {
+					JPAMemberRepository members=((JPAResourceRepository)sut).memberRepository();
+					assertThat(members.countMembers(Key.newInstance(containerId),Long.MIN_VALUE,Long.MAX_VALUE),equalTo(0L));
+				}
+			}
+		);
+	}
+
+	@Override
+	protected ResourceRepository getSubjectUnderTest(JPARuntimeDelegate delegate) {
+		return delegate.getResourceRepository();
+	}
+
+}
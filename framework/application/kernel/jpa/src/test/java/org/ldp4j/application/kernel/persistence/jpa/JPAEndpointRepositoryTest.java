@@ -26,9 +26,15 @@
  */
 package org.ldp4j.application.kernel.persistence.jpa;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.Date;
+import java.util.Map;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -37,6 +43,7 @@ import org.ldp4j.application.data.Name;
 import org.ldp4j.application.data.NamingScheme;
 import org.ldp4j.application.kernel.endpoint.Endpoint;
 import org.ldp4j.application.kernel.endpoint.EndpointRepository;
+import org.ldp4j.application.kernel.persistence.encoding.Encoder;
 import org.ldp4j.application.kernel.persistence.jpa.JPARuntimeDelegate;
 import org.ldp4j.application.kernel.resource.Resource;
 import org.ldp4j.example.PersonHandler;
@@ -83,6 +90,37 @@ public class JPAEndpointRepositoryTest extends AbstractJPARepositoryTest<Endpoin
 			}
 		);
 		clear();
+		ConnectionPoolMetrics metrics=delegate().connectionPoolMetrics().get();
+		assertThat(metrics.maxSize(),equalTo(PooledConnectionProvider.defaultMaxSize()));
+		assertThat(metrics.activeConnections(),equalTo(0));
+	}
+
+	@Test
+	public void testEndpointsOfPaths() throws Exception {
+		Resource resource1 = rootResource(NamingScheme.getDefault().name(this.name.getMethodName()+"1"),PersonHandler.ID);
+		Resource resource2 = rootResource(NamingScheme.getDefault().name(this.name.getMethodName()+"2"),PersonHandler.ID);
+		final Endpoint ep1 = super.endpoint("batch/path1",resource1);
+		final Endpoint ep2 = super.endpoint("batch/path2",resource2);
+		withinTransaction(
+			new Task<EndpointRepository>("Creating endpoints") {
+				@Override
+				public void execute(EndpointRepository sut) {
+					sut.add(ep1);
+					sut.add(ep2);
+				}
+			}
+		);
+		clear();
+		withinTransaction(
+			new Task<EndpointRepository>("Finding endpoints by path") {
+				@Override
+				public void execute(EndpointRepository sut) {
+					Map<String,Endpoint> result = sut.endpointsOfPaths(Arrays.asList(ep1.path(),"batch/unknown",ep2.path()));
+					assertThat(result.keySet(),containsInAnyOrder(ep1.path(),ep2.path()));
+					assertThat(result.get(ep2.path()).resourceId(),equalTo(ep2.resourceId()));
+				}
+			}
+		);
 	}
 
 	@Test
@@ -174,6 +212,53 @@ public class JPAEndpointRepositoryTest extends AbstractJPARepositoryTest<Endpoin
 		);
 	}
 
+	@Test
+	public void testKeyMigration() throws Exception {
+		final Resource resource = rootResource(resourceName(),PersonHandler.ID);
+		final Endpoint ep1 = super.endpoint("path5",resource);
+		final String compactValue=Key.newInstance(resource.id()).nameValue();
+		final String legacyValue=Encoder.serializationValueEncoder().encode(resource.id().name());
+		withinTransaction(
+			new Task<EndpointRepository>("Creating endpoint") {
+				@Override
+				public void execute(EndpointRepository sut) {
+					sut.add(ep1);
+				}
+			}
+		);
+		clear();
+		withinTransaction(
+			new Task<EndpointRepository>("Downgrading key to the legacy encoding") {
+				@Override
+				public void execute(EndpointRepository sut) {
+					int updated=
+						delegate().
+							entityManagerProvider().
+								entityManager().
+									createQuery("UPDATE JPAEndpoint e SET e.resourceId.nameValue = :legacy WHERE e.resourceId.nameValue = :compact").
+									setParameter("legacy",legacyValue).
+									setParameter("compact",compactValue).
+									executeUpdate();
+					assertThat(updated,equalTo(1));
+				}
+			}
+		);
+		clear();
+		assertThat(delegate().migrateKeys(),equalTo(1));
+		assertThat(delegate().migrateKeys(),equalTo(0));
+		withinTransaction(
+			new Task<EndpointRepository>("Finding endpoint by resource id") {
+				@Override
+				public void execute(EndpointRepository sut) {
+					Endpoint result = sut.endpointOfResource(resource.id());
+					assertThat(result,notNullValue());
+					assertThat(result.path(),equalTo(ep1.path()));
+				}
+			}
+		);
+		clear();
+	}
+
 	@Override
 	protected EndpointRepository getSubjectUnderTest(JPARuntimeDelegate delegate) {
 		return delegate.getEndpointRepository();
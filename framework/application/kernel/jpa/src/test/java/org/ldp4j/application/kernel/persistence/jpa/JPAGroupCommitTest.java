@@ -0,0 +1,225 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ldp4j.application.data.NamingScheme;
+import org.ldp4j.application.kernel.endpoint.Endpoint;
+import org.ldp4j.application.kernel.endpoint.EndpointRepository;
+import org.ldp4j.application.kernel.lifecycle.LifecycleException;
+import org.ldp4j.example.PersonHandler;
+
+public class JPAGroupCommitTest extends AbstractJPARepositoryTest<EndpointRepository> {
+
+	private static final int TRANSACTIONS=8;
+
+	private final class Creation implements Callable<Endpoint> {
+
+		private final String path;
+		private final CountDownLatch start;
+
+		private Creation(String path, CountDownLatch start) {
+			this.path=path;
+			this.start=start;
+		}
+
+		@Override
+		public Endpoint call() throws Exception {
+			final Endpoint endpoint=endpoint(this.path,rootResource(NamingScheme.getDefault().name(this.path),PersonHandler.ID));
+			this.start.await();
+			withinTransaction(
+				new Task<EndpointRepository>("Creating endpoint "+this.path) {
+					@Override
+					public void execute(EndpointRepository sut) {
+						sut.add(endpoint);
+					}
+				}
+			);
+			clear();
+			return endpoint;
+		}
+
+	}
+
+	private final class Retrieval implements Callable<Endpoint> {
+
+		private final String path;
+		private final CyclicBarrier barrier;
+
+		private Retrieval(String path, CyclicBarrier barrier) {
+			this.path=path;
+			this.barrier=barrier;
+		}
+
+		@Override
+		public Endpoint call() throws Exception {
+			final Endpoint[] result={null};
+			withinTransaction(
+				new Task<EndpointRepository>("Finding endpoint "+this.path+" concurrently") {
+					@Override
+					public void execute(EndpointRepository sut) {
+						result[0]=sut.endpointOfPath(Retrieval.this.path);
+						try {
+							// Only succeeds if every reader is within its transaction
+							Retrieval.this.barrier.await(5,TimeUnit.SECONDS);
+						} catch (Exception e) {
+							throw new IllegalStateException("Readers were serialized",e);
+						}
+					}
+				}
+			);
+			clear();
+			return result[0];
+		}
+
+	}
+
+	@Before
+	public void enableGroupCommit() throws LifecycleException {
+		delegate().shutdown();
+		delegate().setGroupCommitEnabled(true);
+		delegate().setProperty(JPARuntimeDelegate.GROUP_COMMIT_WINDOW,"100");
+		delegate().init();
+	}
+
+	@Override
+	protected EndpointRepository getSubjectUnderTest(JPARuntimeDelegate delegate) {
+		return delegate.getEndpointRepository();
+	}
+
+	private Endpoint endpointOfPath(final String path) throws Exception {
+		final Endpoint[] result={null};
+		withinTransaction(
+			new Task<EndpointRepository>("Finding endpoint "+path) {
+				@Override
+				public void execute(EndpointRepository sut) {
+					result[0]=sut.endpointOfPath(path);
+				}
+			}
+		);
+		clear();
+		return result[0];
+	}
+
+	@Test
+	public void testConcurrentCommitsAreGrouped() throws Exception {
+		ExecutorService executor=Executors.newFixedThreadPool(TRANSACTIONS);
+		try {
+			CountDownLatch start=new CountDownLatch(1);
+			List<Future<Endpoint>> results=new ArrayList<Future<Endpoint>>();
+			for(int i=0;i<TRANSACTIONS;i++) {
+				results.add(executor.submit(new Creation("grouped"+i,start)));
+			}
+			start.countDown();
+			for(Future<Endpoint> result:results) {
+				assertThat(endpointOfPath(result.get().path()),notNullValue());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		GroupCommitter committer=delegate().groupCommitter();
+		assertThat(committer.transactions(),equalTo((long)TRANSACTIONS));
+		assertThat(committer.groups(),lessThan(committer.transactions()));
+		assertThat(delegate().connectionPoolMetrics().get().activeConnections(),equalTo(0));
+	}
+
+	@Test
+	public void testConcurrentReadsAreNotSerialized() throws Exception {
+		ExecutorService executor=Executors.newSingleThreadExecutor();
+		try {
+			executor.submit(new Creation("shared",new CountDownLatch(0))).get();
+		} finally {
+			executor.shutdownNow();
+		}
+		GroupCommitter committer=delegate().groupCommitter();
+		long transactions=committer.transactions();
+		int readers=4;
+		executor=Executors.newFixedThreadPool(readers);
+		try {
+			CyclicBarrier barrier=new CyclicBarrier(readers);
+			List<Future<Endpoint>> results=new ArrayList<Future<Endpoint>>();
+			for(int i=0;i<readers;i++) {
+				results.add(executor.submit(new Retrieval("shared",barrier)));
+			}
+			for(Future<Endpoint> result:results) {
+				assertThat(result.get(),notNullValue());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(committer.transactions(),equalTo(transactions));
+		assertThat(delegate().connectionPoolMetrics().get().activeConnections(),equalTo(0));
+	}
+
+	@Test
+	public void testRollbackDoesNotAffectGroup() throws Exception {
+		ExecutorService executor=Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch start=new CountDownLatch(1);
+			Future<Endpoint> committed=executor.submit(new Creation("committed",start));
+			start.countDown();
+			final Endpoint endpoint=endpoint("rolledback",rootResource(NamingScheme.getDefault().name("rolledback"),PersonHandler.ID));
+			try {
+				withinTransaction(
+					new Task<EndpointRepository>("Creating endpoint, and then failing") {
+						@Override
+						public void execute(EndpointRepository sut) {
+							sut.add(endpoint);
+							throw new IllegalStateException("Failure");
+						}
+					}
+				);
+			} catch (IllegalStateException e) {
+				assertThat(e.getMessage(),equalTo("Failure"));
+			}
+			clear();
+			assertThat(endpointOfPath(committed.get().path()),notNullValue());
+			assertThat(endpointOfPath("rolledback"),nullValue());
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(delegate().connectionPoolMetrics().get().activeConnections(),equalTo(0));
+	}
+
+}
@@ -0,0 +1,76 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.ldp4j.application.kernel.lifecycle.LifecycleException;
+
+public class JPARuntimeDelegateTest {
+
+	@Test
+	public void testDefaults() throws Exception {
+		JPARuntimeDelegate sut=new JPARuntimeDelegate();
+		assertThat(sut.getPersistenceUnit(),equalTo(JPARuntimeDelegate.DEFAULT_PERSISTENCE_UNIT));
+		assertThat(sut.isCacheEnabled(),equalTo(false));
+		assertThat(sut.isGroupCommitEnabled(),equalTo(false));
+		assertThat(sut.connectionPoolMetrics().isPresent(),equalTo(false));
+	}
+
+	@Test
+	public void testInit$poolConfiguration() throws Exception {
+		JPARuntimeDelegate sut=new JPARuntimeDelegate();
+		sut.setProperty(PooledConnectionProvider.MAX_SIZE,"3");
+		sut.init();
+		try {
+			assertThat(sut.connectionPoolMetrics().get().maxSize(),equalTo(3));
+			assertThat(sut.connectionPoolMetrics().get().createdConnections(),greaterThan(0L));
+			try {
+				sut.setPersistenceUnit("other");
+				fail("Should not allow changing the persistence unit once initialized");
+			} catch (IllegalStateException e) {
+				assertThat(sut.getPersistenceUnit(),equalTo(JPARuntimeDelegate.DEFAULT_PERSISTENCE_UNIT));
+			}
+		} finally {
+			sut.shutdown();
+		}
+		sut.setPersistenceUnit("other");
+		assertThat(sut.getPersistenceUnit(),equalTo("other"));
+	}
+
+	@Test(expected=LifecycleException.class)
+	public void testInit$cacheRequiresRegionFactory() throws Exception {
+		JPARuntimeDelegate sut=new JPARuntimeDelegate();
+		sut.setCacheEnabled(true);
+		sut.init();
+	}
+
+}
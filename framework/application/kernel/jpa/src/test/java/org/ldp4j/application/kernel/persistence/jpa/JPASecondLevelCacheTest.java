@@ -0,0 +1,118 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.Arrays;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.ldp4j.application.data.Name;
+import org.ldp4j.application.data.NamingScheme;
+import org.ldp4j.application.kernel.lifecycle.LifecycleException;
+import org.ldp4j.application.kernel.resource.Resource;
+import org.ldp4j.application.kernel.resource.ResourceId;
+import org.ldp4j.application.kernel.resource.ResourceRepository;
+import org.ldp4j.example.AddressHandler;
+import org.ldp4j.example.PersonHandler;
+
+public class JPASecondLevelCacheTest extends AbstractJPARepositoryTest<ResourceRepository> {
+
+	private static final String RESOURCES=JPAResource.class.getName();
+	private static final String ATTACHMENTS=RESOURCES+".attachments";
+
+	@Before
+	public void enableCache() throws LifecycleException {
+		delegate().shutdown();
+		delegate().setCacheEnabled(true);
+		delegate().setProperty(JPARuntimeDelegate.REGION_FACTORY,MapRegionFactory.class.getName());
+		delegate().setProperty("hibernate.generate_statistics","true");
+		delegate().init();
+	}
+
+	@Override
+	protected ResourceRepository getSubjectUnderTest(JPARuntimeDelegate delegate) {
+		return delegate.getResourceRepository();
+	}
+
+	private Statistics statistics() {
+		return
+			delegate().
+				entityManagerProvider().
+					entityManager().
+						getEntityManagerFactory().
+							unwrap(SessionFactory.class).
+								getStatistics();
+	}
+
+	private void retrieve(final ResourceId resourceId, final ResourceId attachmentId) throws Exception {
+		withinTransaction(
+			new Task<ResourceRepository>("Retrieving resource "+resourceId) {
+				@Override
+				public void execute(ResourceRepository sut) {
+					Resource resource=sut.resourceOfId(resourceId);
+					assertThat(resource,notNullValue());
+					assertThat(resource.findAttachment(attachmentId),notNullValue());
+				}
+			}
+		);
+		clear();
+	}
+
+	@Test
+	public void testResourcesAndAttachmentsAreServedFromTheCache() throws Exception {
+		final Name<String> resourceName=NamingScheme.getDefault().name("cachedResource");
+		final ResourceId resourceId=ResourceId.createId(resourceName,PersonHandler.ID);
+		final ResourceId attachmentId=ResourceId.createId(NamingScheme.getDefault().name("cachedAttachment"),AddressHandler.ID);
+		final Resource resource=rootResource(resourceName,PersonHandler.ID);
+		withinTransaction(
+			new Task<ResourceRepository>("Creating resource with attachment") {
+				@Override
+				public void execute(ResourceRepository sut) {
+					sut.add(resource);
+					sut.add(resource.attach(PersonHandler.ADDRESS_ID,attachmentId));
+				}
+			}
+		);
+		clear();
+		retrieve(resourceId,attachmentId);
+		Statistics statistics=statistics();
+		assertThat(Arrays.asList(statistics.getSecondLevelCacheRegionNames()),hasItems(RESOURCES,ATTACHMENTS));
+		long resourceHits=statistics.getSecondLevelCacheStatistics(RESOURCES).getHitCount();
+		long collectionHits=statistics.getSecondLevelCacheStatistics(ATTACHMENTS).getHitCount();
+		retrieve(resourceId,attachmentId);
+		assertThat(statistics.getSecondLevelCacheStatistics(RESOURCES).getHitCount(),greaterThan(resourceHits));
+		assertThat(statistics.getSecondLevelCacheStatistics(ATTACHMENTS).getHitCount(),greaterThan(collectionHits));
+	}
+
+}
@@ -34,7 +34,12 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
 	JPAEndpointRepositoryTest.class,
 	JPAConstraintReportRepositoryTest.class,
-	JPAResourceRepositoryTest.class
+	JPAResourceRepositoryTest.class,
+	JPAContainerTest.class,
+	ConnectionPoolTest.class,
+	JPARuntimeDelegateTest.class,
+	JPAGroupCommitTest.class,
+	JPASecondLevelCacheTest.class
 })
 public class JPATestSuite {
 
@@ -0,0 +1,229 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-jpa:0.2.2
+ *   Bundle      : ldp4j-application-kernel-jpa-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.persistence.jpa;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.Settings;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Minimal in-memory region factory used for verifying the second-level cache
+ * configuration without depending on a third-party cache provider. Regions
+ * and access strategies are backed by a plain concurrent map, and items are
+ * evicted whenever they are locked for modification.
+ */
+public final class MapRegionFactory implements RegionFactory {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int TIMEOUT = 60000;
+
+	private static final class RegionHandler implements InvocationHandler {
+
+		private final String name;
+		private final CacheDataDescription description;
+		private final ConcurrentMap<Object,Object> items;
+
+		private RegionHandler(String name, CacheDataDescription description) {
+			this.name=name;
+			this.description=description;
+			this.items=new ConcurrentHashMap<Object,Object>();
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch(method.getName()) {
+			case "getName":
+				return this.name;
+			case "getCacheDataDescription":
+				return this.description;
+			case "isTransactionAware":
+				return false;
+			case "contains":
+				return this.items.containsKey(args[0]);
+			case "get":
+				return this.items.get(args[0]);
+			case "put":
+				this.items.put(args[0],args[1]);
+				return null;
+			case "evict":
+				this.items.remove(args[0]);
+				return null;
+			case "evictAll":
+			case "destroy":
+				this.items.clear();
+				return null;
+			case "getSizeInMemory":
+				return -1L;
+			case "getElementCountInMemory":
+				return (long)this.items.size();
+			case "getElementCountOnDisk":
+				return 0L;
+			case "toMap":
+				return ImmutableMap.copyOf(this.items);
+			case "nextTimestamp":
+				return System.currentTimeMillis();
+			case "getTimeout":
+				return TIMEOUT;
+			case "buildAccessStrategy":
+				return create(method.getReturnType(),new AccessStrategyHandler(proxy,this.items));
+			default:
+				return objectMethod(proxy,method,args,this.name);
+			}
+		}
+
+	}
+
+	private static final class AccessStrategyHandler implements InvocationHandler {
+
+		private final Object region;
+		private final ConcurrentMap<Object,Object> items;
+
+		private AccessStrategyHandler(Object region, ConcurrentMap<Object,Object> items) {
+			this.region=region;
+			this.items=items;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch(method.getName()) {
+			case "getRegion":
+				return this.region;
+			case "get":
+				return this.items.get(args[0]);
+			case "putFromLoad":
+				return this.items.putIfAbsent(args[0],args[1])==null;
+			case "afterInsert":
+			case "afterUpdate":
+				this.items.put(args[0],args[1]);
+				return true;
+			case "insert":
+			case "update":
+				return false;
+			case "lockItem":
+			case "remove":
+			case "evict":
+				this.items.remove(args[0]);
+				return null;
+			case "lockRegion":
+			case "removeAll":
+			case "evictAll":
+				this.items.clear();
+				return null;
+			case "unlockItem":
+			case "unlockRegion":
+				return null;
+			default:
+				return objectMethod(proxy,method,args,"access strategy");
+			}
+		}
+
+	}
+
+	@Override
+	public void start(Settings settings, Properties properties) {
+		// Nothing to do
+	}
+
+	@Override
+	public void stop() {
+		// Nothing to do
+	}
+
+	@Override
+	public boolean isMinimalPutsEnabledByDefault() {
+		return false;
+	}
+
+	@Override
+	public AccessType getDefaultAccessType() {
+		return AccessType.READ_WRITE;
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return System.currentTimeMillis();
+	}
+
+	@Override
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata) {
+		return create(EntityRegion.class,new RegionHandler(regionName,metadata));
+	}
+
+	@Override
+	public NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata) {
+		return create(NaturalIdRegion.class,new RegionHandler(regionName,metadata));
+	}
+
+	@Override
+	public CollectionRegion buildCollectionRegion(String regionName, Properties properties, CacheDataDescription metadata) {
+		return create(CollectionRegion.class,new RegionHandler(regionName,metadata));
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) {
+		return create(QueryResultsRegion.class,new RegionHandler(regionName,null));
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) {
+		return create(TimestampsRegion.class,new RegionHandler(regionName,null));
+	}
+
+	private static <T> T create(Class<T> clazz, InvocationHandler handler) {
+		return clazz.cast(Proxy.newProxyInstance(MapRegionFactory.class.getClassLoader(),new Class<?>[]{clazz},handler));
+	}
+
+	private static Object objectMethod(Object proxy, Method method, Object[] args, String name) {
+		switch(method.getName()) {
+		case "equals":
+			return proxy==args[0];
+		case "hashCode":
+			return System.identityHashCode(proxy);
+		case "toString":
+			return name;
+		default:
+			throw new UnsupportedOperationException(method.toString());
+		}
+	}
+
+}
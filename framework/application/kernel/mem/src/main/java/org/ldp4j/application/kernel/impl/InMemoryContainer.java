@@ -31,15 +31,20 @@ import static com.google.common.base.Preconditions.checkState;
 
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.ldp4j.application.kernel.resource.Container;
 import org.ldp4j.application.kernel.resource.Member;
+import org.ldp4j.application.kernel.impl.TransactionContext.Change;
+import org.ldp4j.application.kernel.resource.MemberView;
 import org.ldp4j.application.kernel.resource.Resource;
 import org.ldp4j.application.kernel.resource.ResourceId;
 import org.ldp4j.application.kernel.resource.ResourceVisitor;
 import org.ldp4j.application.kernel.resource.Slug;
 import org.ldp4j.application.kernel.template.ContainerTemplate;
+import org.ldp4j.application.kernel.transaction.TransactionException;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableSet;
@@ -87,33 +92,127 @@ final class InMemoryContainer extends InMemoryResource implements Container {
 
 	}
 
-	private final ConcurrentMap<ResourceId,Member> members;
+	private static final class MembershipState implements VersionedState.State<MembershipState> {
+
+		private long version;
+
+		private MembershipState(long version) {
+			this.version=version;
+		}
+
+		@Override
+		public MembershipState copy() {
+			return new MembershipState(this.version);
+		}
+
+	}
+
+	private static final VersionedState.Update<MembershipState> NEXT_VERSION=
+		new VersionedState.Update<MembershipState>() {
+			@Override
+			public void apply(MembershipState state) {
+				state.version++;
+			}
+		};
+
+	/**
+	 * Keeps the index of members by number in sync with the versioned index
+	 * of members by identifier.
+	 */
+	private final class MembershipChange implements Change {
+
+		private final VersionedRecord<Member> record;
+		private final boolean addition;
+
+		private MembershipChange(VersionedRecord<Member> record, boolean addition) {
+			this.record=record;
+			this.addition=addition;
+		}
+
+		private void unindex() {
+			membersByNumber.remove(this.record.value().number(),this.record);
+		}
+
+		@Override
+		public void validate(TransactionContext context) {
+			// Nothing to validate
+		}
+
+		@Override
+		public void commit(long version) {
+			if(!this.addition) {
+				manager.schedulePurge(
+					version,
+					new Runnable() {
+						@Override
+						public void run() {
+							unindex();
+						}
+					}
+				);
+			}
+		}
+
+		@Override
+		public void rollback() {
+			if(this.addition) {
+				unindex();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "MembershipChange["+this.record.value()+"]";
+		}
+
+	}
+
+	private final VersionManager manager;
+	private final VersionedIndex<ResourceId,Member> members;
+	private final ConcurrentNavigableMap<Long,VersionedRecord<Member>> membersByNumber;
+	private final VersionedState<MembershipState> membership;
+
+	/**
+	 * The member counter and the slugs are not versioned: like sequences,
+	 * their changes are not undone if the transaction that made them is
+	 * rolled back.
+	 */
 	private final AtomicLong memberCounter;
 	private final ConcurrentMap<String,InMemorySlug> slugs;
 
-	InMemoryContainer(ResourceId id, ResourceId parentId) {
-		super(id,parentId);
-		this.members=Maps.newConcurrentMap();
+	InMemoryContainer(VersionManager manager, ResourceId id, ResourceId parentId) {
+		super(manager,id,parentId);
+		this.manager=manager;
+		this.members=new VersionedIndex<ResourceId,Member>(manager);
+		this.membersByNumber=new ConcurrentSkipListMap<Long,VersionedRecord<Member>>();
+		this.membership=new VersionedState<MembershipState>(manager,new MembershipState(0));
 		this.memberCounter=new AtomicLong();
 		this.slugs=Maps.newConcurrentMap();
 	}
 
-	InMemoryContainer(ResourceId id) {
-		this(id,null);
+	InMemoryContainer(VersionManager manager, ResourceId id) {
+		this(manager,id,null);
 	}
 
 	private Member createMember(InMemoryResource newResource) {
 		InMemoryMember member = new InMemoryMember(id(), newResource.id(), this.memberCounter.incrementAndGet());
-		Member result = this.members.putIfAbsent(member.memberId(), member);
-		if(result==null) {
-			result=member;
+		VersionedRecord<Member> record=this.members.add(member.memberId(), member);
+		if(record==null) {
+			Member result=this.members.get(member.memberId());
+			if(result==null) {
+				throw new TransactionException("Write conflict: resource '"+member.memberId()+"' is being added as a member of container '"+id()+"' by a concurrent transaction");
+			}
+			return result;
 		}
-		return result;
+		this.membersByNumber.put(member.number(),record);
+		this.manager.register(new MembershipChange(record,true));
+		this.membership.update(id(),NEXT_VERSION);
+		return member;
 	}
 
 	private InMemoryResource createMemberResource(ResourceId resourceId) {
 		checkNotNull(resourceId,"Member resource identifier cannot be null");
-		checkState(!this.members.containsKey(resourceId),"A resource with id '%s' is already a member of the container",resourceId);
+		checkState(!hasMember(resourceId),"A resource with id '%s' is already a member of the container",resourceId);
 		return createChild(resourceId,template().memberTemplate());
 	}
 
@@ -135,12 +234,22 @@ final class InMemoryContainer extends InMemoryResource implements Container {
 
 	@Override
 	public boolean hasMember(ResourceId resource) {
-		return this.members.containsKey(resource);
+		return this.members.get(resource)!=null;
 	}
 
 	@Override
 	public Set<Member> members() {
-		return ImmutableSet.copyOf(members.values());
+		return ImmutableSet.copyOf(memberView());
+	}
+
+	@Override
+	public MemberView memberView() {
+		return VersionedMemberView.create(this.manager,this.membersByNumber);
+	}
+
+	@Override
+	public long membershipVersion() {
+		return this.membership.read().version;
 	}
 
 	@Override
@@ -151,7 +260,15 @@ final class InMemoryContainer extends InMemoryResource implements Container {
 	@Override
 	public boolean removeMember(Member member) {
 		checkNotNull(member,"Member cannot be null");
-		return members.remove(member.memberId(), member);
+		if(!member.equals(this.members.get(member.memberId()))) {
+			return false;
+		}
+		VersionedRecord<Member> record=this.members.remove(member.memberId());
+		if(record!=null) {
+			this.manager.register(new MembershipChange(record,false));
+			this.membership.update(id(),NEXT_VERSION);
+		}
+		return record!=null;
 	}
 
 	@Override
@@ -192,7 +309,7 @@ final class InMemoryContainer extends InMemoryResource implements Container {
 		return
 			stringHelper().
 				add("memberCounter",this.memberCounter).
-				add("members",this.members).
+				add("members",members()).
 				add("slugs",this.slugs).
 				toString();
 	}
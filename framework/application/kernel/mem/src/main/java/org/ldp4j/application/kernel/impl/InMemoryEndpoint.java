@@ -39,20 +39,36 @@ import com.google.common.base.MoreObjects;
 
 final class InMemoryEndpoint implements Endpoint {
 
+	private static final class EndpointState implements VersionedState.State<EndpointState> {
+
+		private ResourceId resourceId;
+		private EntityTag entityTag;
+		private Date lastModified;
+		private Date deleted;
+
+		private EndpointState(ResourceId resourceId, EntityTag entityTag, Date lastModified, Date deleted) {
+			this.resourceId=resourceId;
+			this.entityTag=entityTag;
+			this.lastModified=lastModified;
+			this.deleted=deleted;
+		}
+
+		@Override
+		public EndpointState copy() {
+			return new EndpointState(this.resourceId,this.entityTag,this.lastModified,this.deleted);
+		}
+
+	}
+
 	private final String path;
 	private final Date created;
 
-	private ResourceId resourceId;
-	private EntityTag entityTag;
-	private Date lastModified;
-	private Date deleted;
+	private final VersionedState<EndpointState> state;
 
-	private InMemoryEndpoint(String path, ResourceId resourceId, Date created, EntityTag entityTag) {
+	private InMemoryEndpoint(VersionManager manager, String path, ResourceId resourceId, Date created, EntityTag entityTag) {
 		this.path = path;
-		this.resourceId = resourceId;
 		this.created = created;
-		this.entityTag = entityTag;
-		this.lastModified = created;
+		this.state = new VersionedState<EndpointState>(manager,new EndpointState(resourceId,entityTag,created,null));
 	}
 
 	/**
@@ -76,7 +92,7 @@ final class InMemoryEndpoint implements Endpoint {
 	 */
 	@Override
 	public Date deleted() {
-		return this.deleted;
+		return this.state.read().deleted;
 	}
 
 	/**
@@ -84,7 +100,7 @@ final class InMemoryEndpoint implements Endpoint {
 	 */
 	@Override
 	public EntityTag entityTag() {
-		return this.entityTag;
+		return this.state.read().entityTag;
 	}
 
 	/**
@@ -92,7 +108,7 @@ final class InMemoryEndpoint implements Endpoint {
 	 */
 	@Override
 	public Date lastModified() {
-		return this.lastModified;
+		return this.state.read().lastModified;
 	}
 
 	/**
@@ -100,27 +116,44 @@ final class InMemoryEndpoint implements Endpoint {
 	 */
 	@Override
 	public ResourceId resourceId() {
-		return this.resourceId;
+		return this.state.read().resourceId;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void modify(EntityTag newEntityTag, Date newLastModified) {
-		checkState(this.deleted==null,"Endpoint is already deleted");
-		this.entityTag=newEntityTag;
-		this.lastModified=new Date(newLastModified.getTime());
+	public void modify(final EntityTag newEntityTag, Date newLastModified) {
+		checkState(this.state.read().deleted==null,"Endpoint is already deleted");
+		final Date lastModified=new Date(newLastModified.getTime());
+		this.state.update(
+			this,
+			new VersionedState.Update<EndpointState>() {
+				@Override
+				public void apply(EndpointState current) {
+					current.entityTag=newEntityTag;
+					current.lastModified=lastModified;
+				}
+			}
+		);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void delete(Date deleted) {
-		checkState(this.deleted==null,"Endpoint is already deleted");
-		this.deleted=deleted;
-		this.resourceId=null;
+	public void delete(final Date deleted) {
+		checkState(this.state.read().deleted==null,"Endpoint is already deleted");
+		this.state.update(
+			this,
+			new VersionedState.Update<EndpointState>() {
+				@Override
+				public void apply(EndpointState current) {
+					current.deleted=deleted;
+					current.resourceId=null;
+				}
+			}
+		);
 	}
 
 	/**
@@ -128,25 +161,27 @@ final class InMemoryEndpoint implements Endpoint {
 	 */
 	@Override
 	public String toString() {
+		EndpointState current=this.state.read();
 		return
 			MoreObjects.
 				toStringHelper(getClass()).
 					omitNullValues().
 					add("path",this.path).
 					add("created",this.created).
-					add("deleted",this.deleted).
-					add("entityTag",this.entityTag).
-					add("lastModified",this.lastModified.getTime()).
-					add("resourceId",this.resourceId).
+					add("deleted",current.deleted).
+					add("entityTag",current.entityTag).
+					add("lastModified",current.lastModified.getTime()).
+					add("resourceId",current.resourceId).
 					toString();
 	}
 
-	static InMemoryEndpoint create(String path, ResourceId resourceId, Date created, EntityTag entityTag) {
+	static InMemoryEndpoint create(VersionManager manager, String path, ResourceId resourceId, Date created, EntityTag entityTag) {
+		checkNotNull(manager,"Version manager cannot be null");
 		checkNotNull(path,"Endpoint path cannot be null");
 		checkNotNull(resourceId,"Endpoint identifier cannot be null");
 		checkNotNull(created,"Endpoint creation date cannot be null");
 		checkNotNull(entityTag,"Endpoint entity tag cannot be null");
-		return new InMemoryEndpoint(path, resourceId, created, entityTag);
+		return new InMemoryEndpoint(manager, path, resourceId, created, entityTag);
 	}
 
-}
+}
\ No newline at end of file
@@ -26,10 +26,8 @@
  */
 package org.ldp4j.application.kernel.impl;
 
+import java.util.Collection;
 import java.util.Map;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.ldp4j.application.kernel.endpoint.Endpoint;
 import org.ldp4j.application.kernel.endpoint.EndpointRepository;
@@ -39,18 +37,20 @@ import org.ldp4j.application.kernel.resource.ResourceId;
 
 import com.google.common.collect.Maps;
 
+/**
+ * Endpoint repository backed by two versioned indexes, one by path and one by
+ * resource identifier. Lookups never block, and every transaction sees the
+ * endpoints that were published when its snapshot was taken, plus the ones
+ * it creates.
+ */
 final class InMemoryEndpointRepository implements Managed, EndpointRepository {
 
-	private final Map<String,Endpoint> endpointsByPath=Maps.newLinkedHashMap();
-	private final Map<ResourceId,Endpoint> endpointsByResourceName=Maps.newLinkedHashMap();
-
-	private final Lock readLock;
-	private final Lock writeLock;
+	private final VersionedIndex<String,Endpoint> endpointsByPath;
+	private final VersionedIndex<ResourceId,Endpoint> endpointsByResourceName;
 
-	InMemoryEndpointRepository() {
-		ReadWriteLock lock=new ReentrantReadWriteLock();
-		this.readLock = lock.readLock();
-		this.writeLock = lock.writeLock();
+	InMemoryEndpointRepository(VersionManager manager) {
+		this.endpointsByPath=new VersionedIndex<String,Endpoint>(manager);
+		this.endpointsByResourceName=new VersionedIndex<ResourceId,Endpoint>(manager);
 	}
 
 	/**
@@ -58,12 +58,22 @@ final class InMemoryEndpointRepository implements Managed, EndpointRepository {
 	 */
 	@Override
 	public Endpoint endpointOfPath(String path) {
-		this.readLock.lock();
-		try {
-			return this.endpointsByPath.get(path);
-		} finally {
-			this.readLock.unlock();
+		return this.endpointsByPath.get(path);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String,Endpoint> endpointsOfPaths(Collection<String> paths) {
+		Map<String,Endpoint> endpoints=Maps.newLinkedHashMap();
+		for(String path:paths) {
+			Endpoint endpoint=endpointOfPath(path);
+			if(endpoint!=null) {
+				endpoints.put(path,endpoint);
+			}
 		}
+		return endpoints;
 	}
 
 	/**
@@ -71,16 +81,11 @@ final class InMemoryEndpointRepository implements Managed, EndpointRepository {
 	 */
 	@Override
 	public Endpoint endpointOfResource(ResourceId id) {
-		this.readLock.lock();
-		try {
-			Endpoint endpoint = this.endpointsByResourceName.get(id);
-			if(endpoint!=null && endpoint.deleted()!=null) {
-				endpoint=null;
-			}
-			return endpoint;
-		} finally {
-			this.readLock.unlock();
+		Endpoint endpoint = this.endpointsByResourceName.get(id);
+		if(endpoint!=null && endpoint.deleted()!=null) {
+			endpoint=null;
 		}
+		return endpoint;
 	}
 
 	/**
@@ -88,19 +93,31 @@ final class InMemoryEndpointRepository implements Managed, EndpointRepository {
 	 */
 	@Override
 	public void add(Endpoint endpoint) {
-		this.writeLock.lock();
-		try {
-			if(this.endpointsByPath.containsKey(endpoint.path())) {
-				throw new IllegalArgumentException("An endpoint with path '"+endpoint.path()+"' already exists");
-			}
-			Endpoint other=endpointOfResource(endpoint.resourceId());
-			if(other!=null) {
-				throw new IllegalArgumentException("An endpoint with resource name '"+endpoint.resourceId()+"' already exists ("+other+")");
-			}
-			this.endpointsByPath.put(endpoint.path(), endpoint);
-			this.endpointsByResourceName.put(endpoint.resourceId(),endpoint);
-		} finally {
-			this.writeLock.unlock();
+		Endpoint other=endpointOfResource(endpoint.resourceId());
+		if(other!=null) {
+			throw new IllegalArgumentException("An endpoint with resource name '"+endpoint.resourceId()+"' already exists ("+other+")");
+		}
+		VersionedRecord<Endpoint> byPath=this.endpointsByPath.add(endpoint.path(),endpoint);
+		if(byPath==null) {
+			throw new IllegalArgumentException("An endpoint with path '"+endpoint.path()+"' already exists");
+		}
+		if(this.endpointsByResourceName.get(endpoint.resourceId())!=null) {
+			// The endpoint of a deleted resource with the same identifier
+			this.endpointsByResourceName.remove(endpoint.resourceId());
+		}
+		if(this.endpointsByResourceName.add(endpoint.resourceId(),endpoint)==null) {
+			this.endpointsByPath.undo(endpoint.path(),byPath);
+			throw new IllegalArgumentException("An endpoint with resource name '"+endpoint.resourceId()+"' is being created");
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addAll(Collection<? extends Endpoint> endpoints) {
+		for(Endpoint endpoint:endpoints) {
+			add(endpoint);
 		}
 	}
 
@@ -117,13 +134,8 @@ final class InMemoryEndpointRepository implements Managed, EndpointRepository {
 	 */
 	@Override
 	public void shutdown() throws LifecycleException {
-		this.writeLock.lock();
-		try {
-			this.endpointsByPath.clear();
-			this.endpointsByResourceName.clear();
-		} finally {
-			this.writeLock.unlock();
-		}
+		this.endpointsByPath.clear();
+		this.endpointsByResourceName.clear();
 	}
 
 }
\ No newline at end of file
@@ -67,7 +67,7 @@ final class InMemoryModelFactory implements ModelFactory {
 		 */
 		@Override
 		public void visitResourceTemplate(ResourceTemplate template) {
-			createResource(new InMemoryResource(id,null));
+			createResource(new InMemoryResource(InMemoryModelFactory.this.manager,id,null));
 		}
 
 		/**
@@ -75,14 +75,17 @@ final class InMemoryModelFactory implements ModelFactory {
 		 */
 		@Override
 		public void visitContainerTemplate(ContainerTemplate template) {
-			createResource(new InMemoryContainer(id,null));
+			createResource(new InMemoryContainer(InMemoryModelFactory.this.manager,id,null));
 		}
 
 	}
 
+	private final VersionManager manager;
+
 	private TemplateLibrary templateLibrary;
 
-	InMemoryModelFactory() {
+	InMemoryModelFactory(VersionManager manager) {
+		this.manager=manager;
 	}
 
 	/**
@@ -110,7 +113,7 @@ final class InMemoryModelFactory implements ModelFactory {
 	@Override
 	public Endpoint createEndpoint(String path, Resource resource, Date created, EntityTag entityTag) {
 		checkNotNull(resource,"Resource cannot be null");
-		return InMemoryEndpoint.create(path, resource.id(), created, entityTag);
+		return InMemoryEndpoint.create(this.manager, path, resource.id(), created, entityTag);
 	}
 
 }
\ No newline at end of file
@@ -117,38 +117,65 @@ class InMemoryResource extends AbstractInMemoryResource implements Resource {
 
 	}
 
-	private final Map<AttachmentId, InMemoryAttachment> attachments;
-	private final Map<String, AttachmentId> attachmentsById;
-	private final Map<ResourceId, AttachmentId> attachmentsByResourceId;
-	private final VersionGenerator versionGenerator;
+	private static final class ResourceState implements VersionedState.State<ResourceState> {
+
+		private final Map<AttachmentId, InMemoryAttachment> attachments;
+		private final Map<String, AttachmentId> attachmentsById;
+		private final Map<ResourceId, AttachmentId> attachmentsByResourceId;
+
+		private URI indirectId;
+
+		private ResourceState() {
+			this.attachments=new LinkedHashMap<AttachmentId, InMemoryAttachment>();
+			this.attachmentsById=new LinkedHashMap<String,AttachmentId>();
+			this.attachmentsByResourceId=new LinkedHashMap<ResourceId,AttachmentId>();
+		}
 
+		@Override
+		public ResourceState copy() {
+			ResourceState copy=new ResourceState();
+			copy.attachments.putAll(this.attachments);
+			copy.attachmentsById.putAll(this.attachmentsById);
+			copy.attachmentsByResourceId.putAll(this.attachmentsByResourceId);
+			copy.indirectId=this.indirectId;
+			return copy;
+		}
+
+	}
+
+	private final VersionManager manager;
+	private final VersionedState<ResourceState> state;
+
+	/**
+	 * Attachment versions and constraint reports are not versioned: like
+	 * sequences, their changes are not undone if the transaction that made
+	 * them is rolled back.
+	 */
+	private final VersionGenerator versionGenerator;
 	private final Map<String,ConstraintReportId> reports;
 
 	private final ResourceId id;
 	private final ResourceId parentId;
 
-	private URI indirectId;
-
-	protected InMemoryResource(ResourceId id, ResourceId parentId) {
+	protected InMemoryResource(VersionManager manager, ResourceId id, ResourceId parentId) {
+		this.manager=manager;
 		this.id=id;
 		this.parentId = parentId;
-		this.attachments=new LinkedHashMap<AttachmentId, InMemoryAttachment>();
-		this.attachmentsById=new LinkedHashMap<String,AttachmentId>();
-		this.attachmentsByResourceId=new LinkedHashMap<ResourceId,AttachmentId>();
+		this.state=new VersionedState<ResourceState>(manager,new ResourceState());
 		this.versionGenerator = new VersionGenerator();
 		this.reports=Maps.newLinkedHashMap();
 	}
 
-	protected InMemoryResource(ResourceId id) {
-		this(id,null);
+	protected InMemoryResource(VersionManager manager, ResourceId id) {
+		this(manager,id,null);
 	}
 
 	protected final InMemoryResource createChild(ResourceId resourceId, ResourceTemplate template) {
 		InMemoryResource newResource=null;
 		if(!TemplateIntrospector.newInstance(template).isContainer()) {
-			newResource=new InMemoryResource(resourceId,this.id);
+			newResource=new InMemoryResource(this.manager,resourceId,this.id);
 		} else {
-			newResource=new InMemoryContainer(resourceId,this.id);
+			newResource=new InMemoryContainer(this.manager,resourceId,this.id);
 		}
 		newResource.setTemplateLibrary(getTemplateLibrary());
 		return newResource;
@@ -176,8 +203,16 @@ class InMemoryResource extends AbstractInMemoryResource implements Resource {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void setIndirectId(URI indirectId) {
-		this.indirectId=indirectId;
+	public void setIndirectId(final URI indirectId) {
+		this.state.update(
+			this.id,
+			new VersionedState.Update<ResourceState>() {
+				@Override
+				public void apply(ResourceState current) {
+					current.indirectId=indirectId;
+				}
+			}
+		);
 	}
 
 	/**
@@ -185,7 +220,7 @@ class InMemoryResource extends AbstractInMemoryResource implements Resource {
 	 */
 	@Override
 	public URI indirectId() {
-		return this.indirectId;
+		return this.state.read().indirectId;
 	}
 
 	/**
@@ -210,7 +245,8 @@ class InMemoryResource extends AbstractInMemoryResource implements Resource {
 	@Override
 	public Attachment findAttachment(ResourceId resourceId) {
 		checkNotNull(resourceId,"Attached resource identifier cannot be null");
-		return this.attachments.get(this.attachmentsByResourceId.get(resourceId));
+		ResourceState current=this.state.read();
+		return current.attachments.get(current.attachmentsByResourceId.get(resourceId));
 	}
 
 	/**
@@ -229,17 +265,26 @@ class InMemoryResource extends AbstractInMemoryResource implements Resource {
 		checkNotNull(attachmentId,"Attachment identifier cannot be null");
 		checkNotNull(resourceId,"Attached resource identifier cannot be null");
 		checkNotNull(clazz,"Attached resource class cannot be null");
-		AttachmentId aId = AttachmentId.createId(attachmentId,resourceId);
-		checkState(!attachments.containsKey(aId),"Resource '%s' is already attached as '%s'",resourceId,attachmentId);
-		checkState(!attachmentsById.containsKey(attachmentId),"A resource is already attached as '%s'",attachmentId);
-		checkState(!attachmentsByResourceId.containsKey(resourceId),"Resource '%s' is already attached",resourceId);
+		final AttachmentId aId = AttachmentId.createId(attachmentId,resourceId);
+		ResourceState current=this.state.read();
+		checkState(!current.attachments.containsKey(aId),"Resource '%s' is already attached as '%s'",resourceId,attachmentId);
+		checkState(!current.attachmentsById.containsKey(attachmentId),"A resource is already attached as '%s'",attachmentId);
+		checkState(!current.attachmentsByResourceId.containsKey(resourceId),"Resource '%s' is already attached",resourceId);
 		ResourceTemplate attachmentTemplate=super.getTemplate(resourceId);
 		checkState(Resources.areCompatible(clazz,attachmentTemplate),"Attachment '%s' is not of type '%s' (%s)",attachmentId,clazz.getCanonicalName(),attachmentTemplate.getClass().getCanonicalName());
 		InMemoryResource newResource=createChild(resourceId,attachmentTemplate);
-		InMemoryAttachment newAttachment = new InMemoryAttachment(aId,this.versionGenerator.nextVersion(attachmentId));
-		attachments.put(newAttachment.attachmentId(),newAttachment);
-		attachmentsById.put(aId.id(),aId);
-		attachmentsByResourceId.put(aId.resourceId(),aId);
+		final InMemoryAttachment newAttachment = new InMemoryAttachment(aId,this.versionGenerator.nextVersion(attachmentId));
+		this.state.update(
+			this.id,
+			new VersionedState.Update<ResourceState>() {
+				@Override
+				public void apply(ResourceState current) {
+					current.attachments.put(newAttachment.attachmentId(),newAttachment);
+					current.attachmentsById.put(aId.id(),aId);
+					current.attachmentsByResourceId.put(aId.resourceId(),aId);
+				}
+			}
+		);
 		return clazz.cast(newResource);
 	}
 
@@ -247,12 +292,20 @@ class InMemoryResource extends AbstractInMemoryResource implements Resource {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public boolean detach(Attachment attachment) {
-		boolean found=this.attachments.containsValue(attachment);
+	public boolean detach(final Attachment attachment) {
+		boolean found=this.state.read().attachments.containsValue(attachment);
 		if(found) {
-			AttachmentId remove = this.attachmentsById.remove(attachment.id());
-			this.attachmentsByResourceId.remove(attachment.resourceId());
-			this.attachments.remove(remove);
+			this.state.update(
+				this.id,
+				new VersionedState.Update<ResourceState>() {
+					@Override
+					public void apply(ResourceState current) {
+						AttachmentId remove = current.attachmentsById.remove(attachment.id());
+						current.attachmentsByResourceId.remove(attachment.resourceId());
+						current.attachments.remove(remove);
+					}
+				}
+			);
 		}
 		return found;
 	}
@@ -262,7 +315,7 @@ class InMemoryResource extends AbstractInMemoryResource implements Resource {
 	 */
 	@Override
 	public Set<InMemoryAttachment> attachments() {
-		return Collections.unmodifiableSet(new LinkedHashSet<InMemoryAttachment>(this.attachments.values()));
+		return Collections.unmodifiableSet(new LinkedHashSet<InMemoryAttachment>(this.state.read().attachments.values()));
 	}
 
 	/**
@@ -321,7 +374,7 @@ class InMemoryResource extends AbstractInMemoryResource implements Resource {
 			super.stringHelper().
 				add("id",this.id).
 				add("parentId",this.parentId).
-				add("attachments",this.attachments);
+				add("attachments",this.state.read().attachments);
 	}
 
 }
\ No newline at end of file
@@ -28,10 +28,7 @@ package org.ldp4j.application.kernel.impl;
 
 import static com.google.common.base.Preconditions.*;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Collection;
 
 import org.ldp4j.application.kernel.lifecycle.LifecycleException;
 import org.ldp4j.application.kernel.lifecycle.Managed;
@@ -41,26 +38,58 @@ import org.ldp4j.application.kernel.resource.ResourceId;
 import org.ldp4j.application.kernel.resource.ResourceRepository;
 import org.ldp4j.application.kernel.resource.ResourceVisitor;
 
+/**
+ * Resource repository backed by a single versioned index where resources and
+ * containers are stored together, tagged with their kind. Lookups never block,
+ * every transaction sees the resources that were published when its snapshot
+ * was taken, and additions rely on the atomic semantics of the index for
+ * detecting clashes.
+ */
 final class InMemoryResourceRepository implements Managed, ResourceRepository {
 
-	private final ReadWriteLock lock=new ReentrantReadWriteLock();
-	private final Map<ResourceId,Resource> resources=new LinkedHashMap<ResourceId,Resource>();
-	private final Map<ResourceId,Container> containers=new LinkedHashMap<ResourceId,Container>();
-
-	InMemoryResourceRepository() {
+	private enum Kind {
+		RESOURCE,
+		CONTAINER,
+		;
 	}
 
-	private Resource find(ResourceId id) {
-		lock.readLock().lock();
-		try {
-			Resource result=resources.get(id);
-			if(result==null) {
-				result=containers.get(id);
-			}
-			return result;
-		} finally {
-			lock.readLock().unlock();
+	private static final class Entry {
+
+		private final Kind kind;
+		private final Resource resource;
+
+		private Entry(Kind kind, Resource resource) {
+			this.kind=kind;
+			this.resource=resource;
+		}
+
+		private Resource resourceOfKind(Kind kind) {
+			return this.kind.equals(kind)?this.resource:null;
+		}
+
+		private static Entry create(Resource resource) {
+			final Entry[] result={null};
+			resource.accept(
+				new ResourceVisitor() {
+					@Override
+					public void visitResource(Resource resource) {
+						result[0]=new Entry(Kind.RESOURCE,resource);
+					}
+					@Override
+					public void visitContainer(Container resource) {
+						result[0]=new Entry(Kind.CONTAINER,resource);
+					}
+				}
+			);
+			return result[0];
 		}
+
+	}
+
+	private final VersionedIndex<ResourceId,Entry> index;
+
+	InMemoryResourceRepository(VersionManager manager) {
+		this.index=new VersionedIndex<ResourceId,Entry>(manager);
 	}
 
 	/**
@@ -69,9 +98,9 @@ final class InMemoryResourceRepository implements Managed, ResourceRepository {
 	@Override
 	public <T extends Resource> T resourceById(ResourceId id, Class<? extends T> expectedResourceClass) {
 		checkNotNull(expectedResourceClass,"Expected resource class cannot be null");
-		Resource found=find(id);
-		if(expectedResourceClass.isInstance(found)) {
-			return expectedResourceClass.cast(found);
+		Entry entry=this.index.get(id);
+		if(entry!=null && expectedResourceClass.isInstance(entry.resource)) {
+			return expectedResourceClass.cast(entry.resource);
 		}
 		return null;
 	}
@@ -81,12 +110,8 @@ final class InMemoryResourceRepository implements Managed, ResourceRepository {
 	 */
 	@Override
 	public Resource resourceOfId(ResourceId id) {
-		lock.readLock().lock();
-		try {
-			return resources.get(id);
-		} finally {
-			lock.readLock().unlock();
-		}
+		Entry entry=this.index.get(id);
+		return entry==null?null:entry.resourceOfKind(Kind.RESOURCE);
 	}
 
 	/**
@@ -94,12 +119,8 @@ final class InMemoryResourceRepository implements Managed, ResourceRepository {
 	 */
 	@Override
 	public Container containerOfId(ResourceId id) {
-		lock.readLock().lock();
-		try {
-			return containers.get(id);
-		} finally {
-			lock.readLock().unlock();
-		}
+		Entry entry=this.index.get(id);
+		return entry==null?null:(Container)entry.resourceOfKind(Kind.CONTAINER);
 	}
 
 	/**
@@ -108,23 +129,18 @@ final class InMemoryResourceRepository implements Managed, ResourceRepository {
 	@Override
 	public void add(Resource resource) {
 		checkNotNull(resource,"Resource cannot be null");
-		lock.writeLock().lock();
-		try {
-			checkState(find(resource.id())==null,"A resource with identifier '%s' already exists",resource.id());
-			resource.accept(
-				new ResourceVisitor() {
-					@Override
-					public void visitResource(Resource resource) {
-						InMemoryResourceRepository.this.resources.put(resource.id(),resource);
-					}
-					@Override
-					public void visitContainer(Container resource) {
-						InMemoryResourceRepository.this.containers.put(resource.id(),resource);
-					}
-				}
-			);
-		} finally {
-			lock.writeLock().unlock();
+		VersionedRecord<Entry> record=this.index.add(resource.id(),Entry.create(resource));
+		checkState(record!=null,"A resource with identifier '%s' already exists",resource.id());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addAll(Collection<? extends Resource> resources) {
+		checkNotNull(resources,"Resources cannot be null");
+		for(Resource resource:resources) {
+			add(resource);
 		}
 	}
 
@@ -134,13 +150,7 @@ final class InMemoryResourceRepository implements Managed, ResourceRepository {
 	@Override
 	public void remove(Resource resource) {
 		checkNotNull(resource,"Resource cannot be null");
-		lock.writeLock().lock();
-		try {
-			resources.remove(resource.id());
-			containers.remove(resource.id());
-		} finally {
-			lock.writeLock().unlock();
-		}
+		this.index.remove(resource.id());
 	}
 
 	/**
@@ -156,13 +166,7 @@ final class InMemoryResourceRepository implements Managed, ResourceRepository {
 	 */
 	@Override
 	public void shutdown() throws LifecycleException {
-		lock.writeLock().lock();
-		try {
-			resources.clear();
-			containers.clear();
-		} finally {
-			lock.writeLock().unlock();
-		}
+		this.index.clear();
 	}
 
-}
\ No newline at end of file
+}
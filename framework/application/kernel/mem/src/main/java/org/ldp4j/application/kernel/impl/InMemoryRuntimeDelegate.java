@@ -43,11 +43,12 @@ public final class InMemoryRuntimeDelegate extends RuntimeDelegate {
 	private final InMemoryTransactionManager transactionManager;
 
 	public InMemoryRuntimeDelegate() {
-		this.modelFactory= new InMemoryModelFactory();
-		this.resourceRepository=new InMemoryResourceRepository();
-		this.endpointRepository=new InMemoryEndpointRepository();
+		VersionManager versionManager=new VersionManager();
+		this.modelFactory= new InMemoryModelFactory(versionManager);
+		this.resourceRepository=new InMemoryResourceRepository(versionManager);
+		this.endpointRepository=new InMemoryEndpointRepository(versionManager);
 		this.constraintReportRepository=new InMemoryConstraintReportRepository();
-		this.transactionManager = new InMemoryTransactionManager();
+		this.transactionManager = new InMemoryTransactionManager(versionManager);
 	}
 
 	/**
@@ -27,6 +27,7 @@
 package org.ldp4j.application.kernel.impl;
 
 import org.ldp4j.application.kernel.transaction.Transaction;
+import org.ldp4j.application.kernel.transaction.TransactionException;
 
 import com.google.common.base.MoreObjects;
 
@@ -50,7 +51,7 @@ final class InMemoryTransaction implements Transaction {
 
 		@Override
 		public TransactionState begin() {
-			return new InFlightTransactionState();
+			return new InFlightTransactionState(transactionManager.versionManager().begin());
 		}
 
 		@Override
@@ -77,6 +78,12 @@ final class InMemoryTransaction implements Transaction {
 
 	private final class InFlightTransactionState implements TransactionState {
 
+		private final TransactionContext context;
+
+		private InFlightTransactionState(TransactionContext context) {
+			this.context=context;
+		}
+
 		@Override
 		public TransactionState begin() {
 			throw new IllegalStateException("Transaction already initiated");
@@ -84,19 +91,30 @@ final class InMemoryTransaction implements Transaction {
 
 		@Override
 		public TransactionState commit() {
-			transactionManager.disposeTransaction(InMemoryTransaction.this);
+			try {
+				transactionManager.versionManager().commit(this.context);
+			} catch (TransactionException e) {
+				state=new CompletedTransactionState("rolledback");
+				throw e;
+			} finally {
+				transactionManager.disposeTransaction(InMemoryTransaction.this);
+			}
 			return new CompletedTransactionState("commited");
 		}
 
 		@Override
 		public TransactionState rollback() {
-			transactionManager.disposeTransaction(InMemoryTransaction.this);
+			try {
+				transactionManager.versionManager().rollback(this.context);
+			} finally {
+				transactionManager.disposeTransaction(InMemoryTransaction.this);
+			}
 			return new CompletedTransactionState("rolledback");
 		}
 
 		@Override
 		public String toString() {
-			return "in-flight";
+			return "in-flight ("+this.context.snapshot()+")";
 		}
 
 		@Override
@@ -35,10 +35,12 @@ import org.ldp4j.application.kernel.transaction.TransactionManager;
 
 final class InMemoryTransactionManager implements TransactionManager {
 
+	private final VersionManager versionManager;
 	private final ThreadLocal<InMemoryTransaction> currentTransaction;
 	private final AtomicLong transactionCounter;
 
-	public InMemoryTransactionManager() {
+	InMemoryTransactionManager(VersionManager versionManager) {
+		this.versionManager=versionManager;
 		this.currentTransaction=new ThreadLocal<InMemoryTransaction>();
 		this.transactionCounter=new AtomicLong();
 	}
@@ -53,6 +55,10 @@ final class InMemoryTransactionManager implements TransactionManager {
 		return transaction;
 	}
 
+	VersionManager versionManager() {
+		return this.versionManager;
+	}
+
 	void disposeTransaction(InMemoryTransaction transaction) {
 		Transaction current=this.currentTransaction.get();
 		checkArgument(transaction==current,"Transactions can only be disposed by the their owner thread");
@@ -0,0 +1,124 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-mem:0.2.2
+ *   Bundle      : ldp4j-application-kernel-mem-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.impl;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * The state of an in-flight in-memory transaction: the snapshot it reads
+ * from, the private working copies of the versioned states it modifies and
+ * the changes to be published when it commits.
+ */
+final class TransactionContext {
+
+	/**
+	 * A change made by a transaction, which is published with the commit
+	 * version when the transaction commits, or undone if the transaction is
+	 * rolled back.
+	 */
+	interface Change {
+
+		/**
+		 * Check that the change does not conflict with the changes committed
+		 * since the snapshot of the transaction was taken.
+		 *
+		 * @throws org.ldp4j.application.kernel.transaction.TransactionException
+		 *             if a conflict is detected
+		 */
+		void validate(TransactionContext context);
+
+		void commit(long version);
+
+		void rollback();
+
+	}
+
+	private final long id;
+	private final long snapshot;
+	private final List<Change> changes;
+	private final Map<VersionedState<?>,Object> workingStates;
+
+	TransactionContext(long id, long snapshot) {
+		this.id=id;
+		this.snapshot=snapshot;
+		this.changes=new ArrayList<Change>();
+		this.workingStates=new IdentityHashMap<VersionedState<?>,Object>();
+	}
+
+	long id() {
+		return this.id;
+	}
+
+	/**
+	 * The version of the last transaction committed before this transaction
+	 * started.
+	 */
+	long snapshot() {
+		return this.snapshot;
+	}
+
+	void register(Change change) {
+		this.changes.add(change);
+	}
+
+	List<Change> changes() {
+		return this.changes;
+	}
+
+	@SuppressWarnings("unchecked")
+	<S extends VersionedState.State<S>> S workingState(VersionedState<S> state) {
+		return (S)this.workingStates.get(state);
+	}
+
+	<S extends VersionedState.State<S>> void setWorkingState(VersionedState<S> state, S workingState) {
+		this.workingStates.put(state,workingState);
+	}
+
+	boolean isReadOnly() {
+		return this.changes.isEmpty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return
+			MoreObjects.
+				toStringHelper(getClass()).
+					add("id",this.id).
+					add("snapshot",this.snapshot).
+					add("changes",this.changes.size()).
+					toString();
+	}
+
+}
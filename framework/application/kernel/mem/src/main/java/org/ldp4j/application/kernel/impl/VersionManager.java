@@ -0,0 +1,227 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-mem:0.2.2
+ *   Bundle      : ldp4j-application-kernel-mem-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.impl;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.ldp4j.application.kernel.impl.TransactionContext.Change;
+import org.ldp4j.application.kernel.transaction.TransactionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multi-version concurrency control for the in-memory kernel.
+ * <br>
+ * Every commit is assigned a version from the commit counter of the manager,
+ * and every transaction reads from the snapshot defined by the last version
+ * committed when it began. Records and states are versioned, so readers never block and
+ * never see the changes of transactions that have not committed yet, or that
+ * committed after their snapshot was taken. Write-write conflicts are
+ * detected eagerly when possible, and otherwise on commit (first committer
+ * wins).
+ * <br>
+ * Operations executed outside the scope of a transaction see the last
+ * committed state, and their changes are committed immediately.
+ * <br>
+ * Each in-memory runtime owns a manager, which is shared by the versioned
+ * structures of its repositories and entities and by its transaction manager,
+ * so that independent runtimes never see each other's versions.
+ */
+final class VersionManager {
+
+	private static final class Purge {
+
+		private final long version;
+		private final Runnable task;
+
+		private Purge(long version, Runnable task) {
+			this.version=version;
+			this.task=task;
+		}
+
+	}
+
+	private static final Logger LOGGER=LoggerFactory.getLogger(VersionManager.class);
+
+	private final AtomicLong committed;
+	private final AtomicLong transactions;
+	private final Lock commitLock;
+	private final ThreadLocal<TransactionContext> current;
+	private final ConcurrentMap<TransactionContext,Long> active;
+	private final Queue<Purge> purges;
+
+	VersionManager() {
+		this.committed=new AtomicLong();
+		this.transactions=new AtomicLong();
+		this.commitLock=new ReentrantLock();
+		this.current=new ThreadLocal<TransactionContext>();
+		this.active=new ConcurrentHashMap<TransactionContext,Long>();
+		this.purges=new ConcurrentLinkedQueue<Purge>();
+	}
+
+	/**
+	 * Get the context of the transaction in-flight in the current thread, if
+	 * any.
+	 */
+	TransactionContext current() {
+		return this.current.get();
+	}
+
+	/**
+	 * Get the version of the last committed transaction.
+	 */
+	long lastCommitted() {
+		return this.committed.get();
+	}
+
+	long oldestActiveSnapshot() {
+		long result=this.committed.get();
+		for(Long snapshot:this.active.values()) {
+			result=Math.min(result,snapshot);
+		}
+		return result;
+	}
+
+	TransactionContext begin() {
+		checkState(this.current.get()==null,"A transaction is already in-flight in the current thread");
+		TransactionContext context=null;
+		// Register the snapshot while holding the commit lock, so that no
+		// version that the transaction may need is purged in between.
+		this.commitLock.lock();
+		try {
+			context=new TransactionContext(this.transactions.incrementAndGet(),this.committed.get());
+			this.active.put(context,context.snapshot());
+		} finally {
+			this.commitLock.unlock();
+		}
+		this.current.set(context);
+		return context;
+	}
+
+	void commit(TransactionContext context) {
+		try {
+			if(!context.isReadOnly()) {
+				publish(context);
+			}
+		} finally {
+			end(context);
+		}
+	}
+
+	void rollback(TransactionContext context) {
+		try {
+			undo(context);
+		} finally {
+			end(context);
+		}
+	}
+
+	/**
+	 * Register a change in the transaction in-flight in the current thread,
+	 * or commit it straight away if there is none.
+	 */
+	void register(Change change) {
+		TransactionContext context=this.current.get();
+		if(context!=null) {
+			context.register(change);
+		} else {
+			this.commitLock.lock();
+			try {
+				long version=this.committed.get()+1;
+				change.commit(version);
+				this.committed.set(version);
+			} finally {
+				this.commitLock.unlock();
+			}
+			purge();
+		}
+	}
+
+	/**
+	 * Schedule a task to be executed once no transaction can see versions
+	 * older than the specified one.
+	 */
+	void schedulePurge(long version, Runnable task) {
+		this.purges.add(new Purge(version,task));
+	}
+
+	private void publish(TransactionContext context) {
+		this.commitLock.lock();
+		try {
+			for(Change change:context.changes()) {
+				change.validate(context);
+			}
+			long version=this.committed.get()+1;
+			for(Change change:context.changes()) {
+				change.commit(version);
+			}
+			this.committed.set(version);
+		} catch (TransactionException e) {
+			undo(context);
+			throw e;
+		} finally {
+			this.commitLock.unlock();
+		}
+	}
+
+	private void undo(TransactionContext context) {
+		for(int i=context.changes().size()-1;i>=0;i--) {
+			try {
+				context.changes().get(i).rollback();
+			} catch (RuntimeException e) {
+				LOGGER.error("Could not undo change {} of transaction {}",context.changes().get(i),context,e);
+			}
+		}
+	}
+
+	private void end(TransactionContext context) {
+		this.active.remove(context);
+		if(this.current.get()==context) {
+			this.current.remove();
+		}
+		purge();
+	}
+
+	private void purge() {
+		long oldest=oldestActiveSnapshot();
+		Purge next=null;
+		while((next=this.purges.peek())!=null && next.version<=oldest) {
+			if(this.purges.remove(next)) {
+				next.task.run();
+			}
+		}
+	}
+
+}
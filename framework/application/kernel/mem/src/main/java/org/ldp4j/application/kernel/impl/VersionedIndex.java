@@ -0,0 +1,262 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-mem:0.2.2
+ *   Bundle      : ldp4j-application-kernel-mem-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.ldp4j.application.kernel.impl.TransactionContext.Change;
+
+/**
+ * A concurrent index of {@link VersionedRecord versioned records}. For each
+ * key the index keeps the chain of records created for it, newest first, so
+ * that every transaction can find the record visible in its snapshot. Lookups
+ * never block.
+ *
+ * @param <K>
+ *            the type of the keys
+ * @param <V>
+ *            the type of the values
+ */
+final class VersionedIndex<K,V> {
+
+	private final class Creation implements Change {
+
+		private final K key;
+		private final VersionedRecord<V> record;
+
+		private Creation(K key, VersionedRecord<V> record) {
+			this.key=key;
+			this.record=record;
+		}
+
+		@Override
+		public void validate(TransactionContext context) {
+			// Conflicts are detected when the record is created
+		}
+
+		@Override
+		public void commit(long version) {
+			this.record.markCreated(version);
+			final VersionedRecord<V> superseded=this.record.previous();
+			if(superseded!=null) {
+				manager.schedulePurge(
+					version,
+					new Runnable() {
+						@Override
+						public void run() {
+							purge(key);
+						}
+					}
+				);
+			}
+		}
+
+		@Override
+		public void rollback() {
+			discard(this.key,this.record);
+		}
+
+		@Override
+		public String toString() {
+			return "Creation["+this.key+"]";
+		}
+
+	}
+
+	private final class Deletion implements Change {
+
+		private final K key;
+		private final VersionedRecord<V> record;
+
+		private Deletion(K key, VersionedRecord<V> record) {
+			this.key=key;
+			this.record=record;
+		}
+
+		@Override
+		public void validate(TransactionContext context) {
+			// Conflicts are detected when the record is deleted
+		}
+
+		@Override
+		public void commit(long version) {
+			this.record.markDeleted(version);
+			manager.schedulePurge(
+				version,
+				new Runnable() {
+					@Override
+					public void run() {
+						purge(key);
+					}
+				}
+			);
+		}
+
+		@Override
+		public void rollback() {
+			this.record.unmarkDeleting();
+		}
+
+		@Override
+		public String toString() {
+			return "Deletion["+this.key+"]";
+		}
+
+	}
+
+	private final VersionManager manager;
+	private final ConcurrentMap<K,VersionedRecord<V>> records;
+
+	VersionedIndex(VersionManager manager) {
+		this.manager=manager;
+		this.records=new ConcurrentHashMap<K,VersionedRecord<V>>();
+	}
+
+	private VersionedRecord<V> visibleRecord(K key, TransactionContext context) {
+		VersionedRecord<V> current=this.records.get(key);
+		while(current!=null) {
+			if(current.isVisibleTo(context)) {
+				return current;
+			}
+			current=current.previous();
+		}
+		return null;
+	}
+
+	private void discard(K key, VersionedRecord<V> record) {
+		record.markAborted();
+		VersionedRecord<V> previous=record.previous();
+		boolean unlinked=
+			previous==null?
+				this.records.remove(key,record):
+				this.records.replace(key,record,previous);
+		if(!unlinked) {
+			purge(key);
+		}
+	}
+
+	/**
+	 * Remove the records of the key that are no longer visible to any
+	 * transaction.
+	 */
+	void purge(K key) {
+		long oldest=this.manager.oldestActiveSnapshot();
+		VersionedRecord<V> head=this.records.get(key);
+		if(head==null) {
+			return;
+		}
+		VersionedRecord<V> current=head;
+		while(current.previous()!=null) {
+			VersionedRecord<V> previous=current.previous();
+			if(previous.isObsolete(oldest)) {
+				current.setPrevious(previous.previous());
+			} else {
+				current=previous;
+			}
+		}
+		if(head.isObsolete(oldest)) {
+			VersionedRecord<V> next=head.previous();
+			if(next==null) {
+				this.records.remove(key,head);
+			} else {
+				this.records.replace(key,head,next);
+			}
+		}
+	}
+
+	/**
+	 * Get the value for the key that is visible to the current thread.
+	 */
+	V get(K key) {
+		VersionedRecord<V> record=visibleRecord(key,this.manager.current());
+		return record==null?null:record.value();
+	}
+
+	/**
+	 * Add a value for a key, if there is no value for the key visible to the
+	 * current thread, and the key is not being used by a concurrent
+	 * transaction.
+	 *
+	 * @return the record created for the value, or {@code null} if the value
+	 *         was not added
+	 */
+	VersionedRecord<V> add(K key, V value) {
+		TransactionContext context=this.manager.current();
+		while(true) {
+			VersionedRecord<V> head=this.records.get(key);
+			if(head!=null && !head.isSupersedableBy(context)) {
+				return null;
+			}
+			VersionedRecord<V> record=new VersionedRecord<V>(this.manager,value,head,context);
+			boolean added=
+				head==null?
+					this.records.putIfAbsent(key,record)==null:
+					this.records.replace(key,head,record);
+			if(added) {
+				this.manager.register(new Creation(key,record));
+				return record;
+			}
+		}
+	}
+
+	/**
+	 * Remove the value for a key visible to the current thread.
+	 *
+	 * @return the record of the removed value, or {@code null} if there was
+	 *         no value for the key
+	 * @throws org.ldp4j.application.kernel.transaction.TransactionException
+	 *             if the value is being removed by a concurrent transaction
+	 */
+	VersionedRecord<V> remove(K key) {
+		TransactionContext context=this.manager.current();
+		VersionedRecord<V> record=visibleRecord(key,context);
+		if(record!=null) {
+			record.markDeleting(context,key);
+			this.manager.register(new Deletion(key,record));
+		}
+		return record;
+	}
+
+	/**
+	 * Undo the addition of a record made by the current thread. Outside a
+	 * transaction the addition has already been committed, so the record is
+	 * removed instead.
+	 */
+	void undo(K key, VersionedRecord<V> record) {
+		if(this.manager.current()==null) {
+			remove(key);
+		} else {
+			discard(key,record);
+		}
+	}
+
+	void clear() {
+		this.records.clear();
+	}
+
+}
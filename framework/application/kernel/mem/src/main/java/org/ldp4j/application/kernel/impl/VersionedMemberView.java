@@ -0,0 +1,131 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-mem:0.2.2
+ *   Bundle      : ldp4j-application-kernel-mem-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Iterator;
+import java.util.NavigableMap;
+
+import org.ldp4j.application.kernel.resource.Member;
+import org.ldp4j.application.kernel.resource.MemberView;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+
+/**
+ * A live view over the versioned members of a container, which only includes
+ * the members that are visible to the thread that traverses the view.
+ */
+final class VersionedMemberView implements MemberView {
+
+	private final VersionManager manager;
+	private final NavigableMap<Long,VersionedRecord<Member>> members;
+	private final long fromNumber;
+	private final long toNumber;
+
+	private VersionedMemberView(VersionManager manager, NavigableMap<Long,VersionedRecord<Member>> members, long fromNumber, long toNumber) {
+		this.manager=manager;
+		this.members=members;
+		this.fromNumber=fromNumber;
+		this.toNumber=toNumber;
+	}
+
+	private Iterator<Member> visible(final Iterator<VersionedRecord<Member>> delegate) {
+		final TransactionContext context=this.manager.current();
+		return new AbstractIterator<Member>() {
+			@Override
+			protected Member computeNext() {
+				while(delegate.hasNext()) {
+					VersionedRecord<Member> next=delegate.next();
+					if(next.isVisibleTo(context)) {
+						return next.value();
+					}
+				}
+				return endOfData();
+			}
+		};
+	}
+
+	private NavigableMap<Long,VersionedRecord<Member>> rangedMembers() {
+		return this.members.subMap(this.fromNumber,true,this.toNumber,false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<Member> iterator() {
+		return visible(rangedMembers().values().iterator());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return !iterator().hasNext();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return Iterators.size(iterator());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MemberView range(long fromNumber, long toNumber) {
+		checkArgument(fromNumber<=toNumber,"From number (%s) cannot be greater than to number (%s)",fromNumber,toNumber);
+		long from=Math.max(this.fromNumber,fromNumber);
+		long to=Math.max(from,Math.min(this.toNumber,toNumber));
+		return new VersionedMemberView(this.manager,this.members,from,to);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterable<Member> descending() {
+		final NavigableMap<Long,VersionedRecord<Member>> descending=rangedMembers().descendingMap();
+		return new Iterable<Member>() {
+			@Override
+			public Iterator<Member> iterator() {
+				return visible(descending.values().iterator());
+			}
+		};
+	}
+
+	static MemberView create(VersionManager manager, NavigableMap<Long,VersionedRecord<Member>> members) {
+		return new VersionedMemberView(manager,members,Long.MIN_VALUE,Long.MAX_VALUE);
+	}
+
+}
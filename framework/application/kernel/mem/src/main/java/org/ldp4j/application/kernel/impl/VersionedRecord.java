@@ -0,0 +1,196 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-mem:0.2.2
+ *   Bundle      : ldp4j-application-kernel-mem-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.impl;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.ldp4j.application.kernel.transaction.TransactionException;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A record that is visible to the transactions whose snapshot includes the
+ * version in which it was created, but not the version in which it was
+ * deleted. Records created or deleted by in-flight transactions are only
+ * visible, respectively invisible, to those transactions.
+ *
+ * @param <T>
+ *            the type of the value of the record
+ */
+final class VersionedRecord<T> {
+
+	private static final long PENDING=0;
+
+	private static final long ABORTED=-1;
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<VersionedRecord,TransactionContext> DELETER=
+		AtomicReferenceFieldUpdater.newUpdater(VersionedRecord.class,TransactionContext.class,"deleter");
+
+	private final VersionManager manager;
+
+	private final T value;
+
+	private volatile VersionedRecord<T> previous;
+
+	private volatile long created;
+	private volatile TransactionContext creator;
+
+	private volatile long deleted;
+	private volatile TransactionContext deleter;
+
+	VersionedRecord(VersionManager manager, T value, VersionedRecord<T> previous, TransactionContext creator) {
+		this.manager=manager;
+		this.value=value;
+		this.previous=previous;
+		this.created=PENDING;
+		this.creator=creator;
+		this.deleted=PENDING;
+	}
+
+	private long snapshot(TransactionContext context) {
+		return context==null?this.manager.lastCommitted():context.snapshot();
+	}
+
+	T value() {
+		return this.value;
+	}
+
+	VersionedRecord<T> previous() {
+		return this.previous;
+	}
+
+	void setPrevious(VersionedRecord<T> previous) {
+		this.previous=previous;
+	}
+
+	boolean isVisibleTo(TransactionContext context) {
+		TransactionContext owner=this.creator;
+		if(owner!=null) {
+			if(owner!=context) {
+				return false;
+			}
+		} else {
+			long version=this.created;
+			if(version==PENDING || version==ABORTED || version>snapshot(context)) {
+				return false;
+			}
+		}
+		if(context!=null && this.deleter==context) {
+			return false;
+		}
+		long version=this.deleted;
+		return version==PENDING || version>snapshot(context);
+	}
+
+	/**
+	 * Check whether the key of the record can be reused by a new record
+	 * created by the given transaction, that is, whether the record has been
+	 * aborted, or its deletion is visible to the transaction.
+	 */
+	boolean isSupersedableBy(TransactionContext context) {
+		if(this.created==ABORTED) {
+			return true;
+		}
+		if(context!=null && this.deleter==context) {
+			return true;
+		}
+		long version=this.deleted;
+		return version!=PENDING && version<=snapshot(context);
+	}
+
+	/**
+	 * Check whether no transaction can see the record anymore.
+	 */
+	boolean isObsolete(long oldestSnapshot) {
+		long version=this.deleted;
+		return this.created==ABORTED || (version!=PENDING && version<=oldestSnapshot);
+	}
+
+	void markCreated(long version) {
+		if(this.created==ABORTED) {
+			// Undone by the transaction that created it
+			return;
+		}
+		this.created=version;
+		this.creator=null;
+	}
+
+	void markAborted() {
+		this.created=ABORTED;
+		this.creator=null;
+	}
+
+	/**
+	 * Mark the record as deleted by the given transaction.
+	 *
+	 * @throws TransactionException
+	 *             if the record has been deleted by another transaction which
+	 *             is still in-flight or which committed after the snapshot of
+	 *             the given transaction was taken
+	 */
+	void markDeleting(TransactionContext context, Object owner) {
+		if(!DELETER.compareAndSet(this,null,context)) {
+			if(this.deleter!=context) {
+				throw new TransactionException("Write conflict: "+owner+" is being deleted by a concurrent transaction");
+			}
+			return;
+		}
+		long version=this.deleted;
+		if(version!=PENDING) {
+			this.deleter=null;
+			throw new TransactionException("Write conflict: "+owner+" has been deleted by a concurrent transaction");
+		}
+	}
+
+	void markDeleted(long version) {
+		this.deleted=version;
+		this.deleter=null;
+	}
+
+	void unmarkDeleting() {
+		this.deleter=null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return
+			MoreObjects.
+				toStringHelper(getClass()).
+					omitNullValues().
+					add("value",this.value).
+					add("created",this.created).
+					add("creator",this.creator).
+					add("deleted",this.deleted).
+					add("deleter",this.deleter).
+					toString();
+	}
+
+}
@@ -0,0 +1,240 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-mem:0.2.2
+ *   Bundle      : ldp4j-application-kernel-mem-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.impl;
+
+import org.ldp4j.application.kernel.impl.TransactionContext.Change;
+import org.ldp4j.application.kernel.transaction.TransactionException;
+
+/**
+ * The mutable state of an in-memory entity, kept as a chain of immutable
+ * versions. Transactions read the version that was current when their
+ * snapshot was taken, and modify a private copy of it that is published as a
+ * new version when they commit. Updates made outside a transaction are
+ * applied to a copy of the last committed state, which is published straight
+ * away as a new version, so the versions that transactions are reading are
+ * never modified.
+ *
+ * @param <S>
+ *            the type of the state
+ */
+final class VersionedState<S extends VersionedState.State<S>> {
+
+	/**
+	 * A copyable entity state.
+	 */
+	interface State<S> {
+
+		/**
+		 * Create a deep copy of the state, which can be modified without
+		 * affecting this state.
+		 */
+		S copy();
+
+	}
+
+	/**
+	 * A modification of an entity state.
+	 */
+	interface Update<S> {
+
+		/**
+		 * Apply the modification to a private copy of the state.
+		 */
+		void apply(S state);
+
+	}
+
+	private static final class Version<S> {
+
+		private final long number;
+		private final S state;
+		private volatile Version<S> previous;
+
+		private Version(long number, S state, Version<S> previous) {
+			this.number=number;
+			this.state=state;
+			this.previous=previous;
+		}
+
+	}
+
+	private final class StateChange implements Change {
+
+		private final S workingState;
+		private final Object owner;
+
+		private StateChange(S workingState, Object owner) {
+			this.workingState=workingState;
+			this.owner=owner;
+		}
+
+		@Override
+		public void validate(TransactionContext context) {
+			checkNoConflict(context,this.owner);
+		}
+
+		@Override
+		public void commit(long version) {
+			publish(version,this.workingState);
+		}
+
+		@Override
+		public void rollback() {
+			// Nothing to do, the working state is just discarded
+		}
+
+		@Override
+		public String toString() {
+			return "StateChange["+this.owner+"]";
+		}
+
+	}
+
+	/**
+	 * A change that applies an update made outside a transaction to a copy
+	 * of the last committed state. The copy is made when the change is
+	 * committed, that is, while holding the commit lock, so that concurrent
+	 * updates are never lost.
+	 */
+	private final class ImplicitStateChange implements Change {
+
+		private final Update<S> update;
+		private final Object owner;
+
+		private ImplicitStateChange(Update<S> update, Object owner) {
+			this.update=update;
+			this.owner=owner;
+		}
+
+		@Override
+		public void validate(TransactionContext context) {
+			// Nothing to validate, the change is never part of a transaction
+		}
+
+		@Override
+		public void commit(long version) {
+			S newState=head.state.copy();
+			this.update.apply(newState);
+			publish(version,newState);
+		}
+
+		@Override
+		public void rollback() {
+			// Nothing to do, the change is never part of a transaction
+		}
+
+		@Override
+		public String toString() {
+			return "ImplicitStateChange["+this.owner+"]";
+		}
+
+	}
+
+	private final VersionManager manager;
+
+	private volatile Version<S> head;
+
+	VersionedState(VersionManager manager, S initial) {
+		this.manager=manager;
+		this.head=new Version<S>(0,initial,null);
+	}
+
+	private void checkNoConflict(TransactionContext context, Object owner) {
+		if(this.head.number>context.snapshot()) {
+			throw new TransactionException("Write conflict: "+owner+" has been modified by a concurrent transaction");
+		}
+	}
+
+	private S stateAt(long snapshot) {
+		Version<S> current=this.head;
+		while(current.number>snapshot && current.previous!=null) {
+			current=current.previous;
+		}
+		return current.state;
+	}
+
+	private void publish(long version, S state) {
+		Version<S> newHead=new Version<S>(version,state,this.head);
+		this.head=newHead;
+		long oldest=this.manager.oldestActiveSnapshot();
+		Version<S> current=newHead;
+		while(current!=null && current.number>oldest) {
+			current=current.previous;
+		}
+		if(current!=null) {
+			current.previous=null;
+		}
+	}
+
+	/**
+	 * Get the state visible to the current thread.
+	 */
+	S read() {
+		TransactionContext context=this.manager.current();
+		if(context==null) {
+			return this.head.state;
+		}
+		S working=context.workingState(this);
+		if(working!=null) {
+			return working;
+		}
+		return stateAt(context.snapshot());
+	}
+
+	/**
+	 * Modify the state on behalf of the current thread. Within a transaction
+	 * the update is applied to a private copy of the state, which is
+	 * published when the transaction commits, whereas outside a transaction
+	 * the update is applied to a copy of the last committed state, which is
+	 * published straight away.
+	 *
+	 * @param owner
+	 *            a description of the entity that owns the state, used for
+	 *            reporting conflicts
+	 * @param update
+	 *            the modification to apply
+	 * @throws TransactionException
+	 *             if the state has been modified by a transaction committed
+	 *             after the snapshot of the current transaction was taken
+	 */
+	void update(Object owner, Update<S> update) {
+		TransactionContext context=this.manager.current();
+		if(context==null) {
+			this.manager.register(new ImplicitStateChange(update,owner));
+			return;
+		}
+		S working=context.workingState(this);
+		if(working==null) {
+			checkNoConflict(context,owner);
+			working=stateAt(context.snapshot()).copy();
+			context.setWorkingState(this,working);
+			context.register(new StateChange(working,owner));
+		}
+		update.apply(working);
+	}
+
+}
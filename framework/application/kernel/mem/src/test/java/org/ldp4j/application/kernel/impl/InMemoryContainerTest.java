@@ -49,7 +49,7 @@ public class InMemoryContainerTest {
 
 	@Before
 	public void setUp() {
-		this.container = new InMemoryContainer(CONTAINER_ID);
+		this.container = new InMemoryContainer(new VersionManager(),CONTAINER_ID);
 	}
 
 	@Test
@@ -0,0 +1,137 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-mem:0.2.2
+ *   Bundle      : ldp4j-application-kernel-mem-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.ldp4j.application.data.NamingScheme;
+import org.ldp4j.application.kernel.lifecycle.LifecycleException;
+import org.ldp4j.application.kernel.resource.Resource;
+import org.ldp4j.application.kernel.resource.ResourceId;
+import org.ldp4j.application.kernel.resource.ResourceRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the concurrent {@link InMemoryResourceRepository} against the
+ * original lock-based implementation using a mixed workload with 5% writes.
+ * Run it with {@code java -cp <test-classpath> <this class> [threads...]}; by
+ * default it is executed with 1, 8 and 32 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=5,time=1)
+@Measurement(iterations=10,time=1)
+@Fork(1)
+public class InMemoryResourceRepositoryBenchmark {
+
+	private static final int RESOURCES=10000;
+
+	private static final int WRITE_PERCENTAGE=5;
+
+	@Param({"concurrent","locking"})
+	private String implementation;
+
+	private ResourceRepository repository;
+
+	private Resource[] resources;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		VersionManager manager=new VersionManager();
+		if("locking".equals(this.implementation)) {
+			this.repository=new LockingResourceRepository();
+		} else {
+			this.repository=new InMemoryResourceRepository(manager);
+		}
+		this.resources=new Resource[RESOURCES];
+		for(int i=0;i<RESOURCES;i++) {
+			if(i%10==0) {
+				this.resources[i]=TestingModelFactory.createContainer(manager,NamingScheme.getDefault().name(i),"template");
+			} else {
+				this.resources[i]=TestingModelFactory.createResource(manager,NamingScheme.getDefault().name(i),"template");
+			}
+			this.repository.add(this.resources[i]);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws LifecycleException {
+		if(this.repository instanceof InMemoryResourceRepository) {
+			((InMemoryResourceRepository)this.repository).shutdown();
+		} else {
+			((LockingResourceRepository)this.repository).shutdown();
+		}
+	}
+
+	@Benchmark
+	public Object mixed() {
+		ThreadLocalRandom random=ThreadLocalRandom.current();
+		Resource resource=this.resources[random.nextInt(RESOURCES)];
+		ResourceId id=resource.id();
+		if(random.nextInt(100)<WRITE_PERCENTAGE) {
+			try {
+				this.repository.remove(resource);
+				this.repository.add(resource);
+			} catch (IllegalStateException e) {
+				// Another writer re-added the resource concurrently
+			}
+			return resource;
+		}
+		return this.repository.resourceById(id,Resource.class);
+	}
+
+	public static void main(String... args) throws RunnerException {
+		String[] threads=args.length>0?args:new String[]{"1","8","32"};
+		for(String thread:threads) {
+			Options options=
+				new OptionsBuilder().
+					include(InMemoryResourceRepositoryBenchmark.class.getSimpleName()).
+					threads(Integer.parseInt(thread)).
+					build();
+			new Runner(options).run();
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-mem:0.2.2
+ *   Bundle      : ldp4j-application-kernel-mem-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.impl;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ldp4j.application.data.NamingScheme;
+import org.ldp4j.application.kernel.resource.Container;
+import org.ldp4j.application.kernel.resource.Resource;
+
+public class InMemoryResourceRepositoryTest {
+
+	private VersionManager manager;
+	private InMemoryResourceRepository sut;
+	private Resource resource;
+	private Container container;
+
+	@Before
+	public void setUp() {
+		this.manager=new VersionManager();
+		this.sut=new InMemoryResourceRepository(this.manager);
+		this.resource=TestingModelFactory.createResource(this.manager,NamingScheme.getDefault().name(1),"template");
+		this.container=TestingModelFactory.createContainer(this.manager,NamingScheme.getDefault().name(2),"template");
+	}
+
+	@Test
+	public void testLookupByKind() throws Exception {
+		this.sut.add(this.resource);
+		this.sut.add(this.container);
+		assertThat(this.sut.resourceOfId(this.resource.id()),sameInstance(this.resource));
+		assertThat(this.sut.containerOfId(this.resource.id()),nullValue());
+		assertThat(this.sut.containerOfId(this.container.id()),sameInstance(this.container));
+		assertThat(this.sut.resourceOfId(this.container.id()),nullValue());
+	}
+
+	@Test
+	public void testResourceById() throws Exception {
+		this.sut.add(this.resource);
+		this.sut.add(this.container);
+		assertThat(this.sut.resourceById(this.container.id(),Resource.class),sameInstance((Resource)this.container));
+		assertThat(this.sut.resourceById(this.container.id(),Container.class),sameInstance(this.container));
+		assertThat(this.sut.resourceById(this.resource.id(),Container.class),nullValue());
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testAdd$clash() throws Exception {
+		this.sut.add(this.resource);
+		this.sut.add(TestingModelFactory.createContainer(this.manager,NamingScheme.getDefault().name(1),"template"));
+	}
+
+	@Test
+	public void testRemove() throws Exception {
+		this.sut.add(this.container);
+		this.sut.remove(this.container);
+		assertThat(this.sut.containerOfId(this.container.id()),nullValue());
+		this.sut.add(this.container);
+		assertThat(this.sut.containerOfId(this.container.id()),sameInstance(this.container));
+	}
+
+	@Test
+	public void testShutdown() throws Exception {
+		this.sut.add(this.resource);
+		this.sut.shutdown();
+		assertThat(this.sut.resourceOfId(this.resource.id()),nullValue());
+	}
+
+}
@@ -48,7 +48,7 @@ public class InMemorySlugTest {
 
 	@Before
 	public void setUp() {
-		this.container = new InMemoryContainer(CONTAINER_ID);
+		this.container = new InMemoryContainer(new VersionManager(),CONTAINER_ID);
 	}
 
 	@Test
@@ -0,0 +1,195 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-mem:0.2.2
+ *   Bundle      : ldp4j-application-kernel-mem-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.impl;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.ldp4j.application.data.NamingScheme;
+import org.ldp4j.application.engine.context.EntityTag;
+import org.ldp4j.application.kernel.endpoint.Endpoint;
+import org.ldp4j.application.kernel.resource.Resource;
+import org.ldp4j.application.kernel.transaction.Transaction;
+
+/**
+ * Runs readers and writers concurrently, and checks that the readers never
+ * observe partially applied or rolled back changes. Writers keep two
+ * invariants: all the endpoints share the same entity tag, and exactly one
+ * of two resources exists.
+ */
+public class InMemoryTransactionStressTest {
+
+	private static final int ENDPOINTS=4;
+	private static final int READERS=2;
+	private static final int WRITERS=2;
+	private static final long DURATION=TimeUnit.MILLISECONDS.toNanos(750);
+
+	private final VersionManager manager=new VersionManager();
+	private final InMemoryTransactionManager transactionManager=new InMemoryTransactionManager(this.manager);
+	private final InMemoryResourceRepository resources=new InMemoryResourceRepository(this.manager);
+	private final InMemoryEndpointRepository endpoints=new InMemoryEndpointRepository(this.manager);
+
+	private final List<Endpoint> tagged=new ArrayList<Endpoint>();
+	private final Resource left=TestingModelFactory.createResource(this.manager,NamingScheme.getDefault().name("left"),"template");
+	private final Resource right=TestingModelFactory.createResource(this.manager,NamingScheme.getDefault().name("right"),"template");
+
+	private final AtomicLong commits=new AtomicLong();
+	private final AtomicLong rollbacks=new AtomicLong();
+	private final AtomicLong reads=new AtomicLong();
+
+	private final class Writer implements Callable<Void> {
+
+		private final Random random;
+
+		private Writer(long seed) {
+			this.random=new Random(seed);
+		}
+
+		private void swap() {
+			if(resources.resourceOfId(left.id())!=null) {
+				resources.remove(left);
+				resources.add(right);
+			} else {
+				resources.remove(right);
+				resources.add(left);
+			}
+		}
+
+		private void retag(boolean partially) {
+			EntityTag tag=EntityTag.createStrong(Long.toString(this.random.nextLong()));
+			int limit=partially?1+this.random.nextInt(ENDPOINTS-1):ENDPOINTS;
+			for(int i=0;i<limit;i++) {
+				tagged.get(i).modify(tag,new Date());
+			}
+		}
+
+		@Override
+		public Void call() {
+			long deadline=System.nanoTime()+DURATION;
+			while(System.nanoTime()<deadline) {
+				Transaction transaction=transactionManager.currentTransaction();
+				transaction.begin();
+				try {
+					boolean abort=this.random.nextInt(4)==0;
+					swap();
+					retag(abort);
+					if(abort) {
+						transaction.rollback();
+						rollbacks.incrementAndGet();
+					} else {
+						transaction.commit();
+						commits.incrementAndGet();
+					}
+				} catch (RuntimeException e) {
+					// Conflicts with concurrent writers are expected
+					if(transaction.isActive()) {
+						transaction.rollback();
+					}
+					rollbacks.incrementAndGet();
+				}
+				Thread.yield();
+			}
+			return null;
+		}
+
+	}
+
+	private final class Reader implements Callable<Void> {
+
+		@Override
+		public Void call() {
+			long deadline=System.nanoTime()+DURATION;
+			while(System.nanoTime()<deadline) {
+				Transaction transaction=transactionManager.currentTransaction();
+				transaction.begin();
+				try {
+					EntityTag expected=tagged.get(0).entityTag();
+					Thread.yield();
+					for(Endpoint endpoint:tagged) {
+						assertThat(endpoint.entityTag(),equalTo(expected));
+					}
+					boolean hasLeft=resources.resourceOfId(left.id())!=null;
+					boolean hasRight=resources.resourceOfId(right.id())!=null;
+					assertThat(hasLeft^hasRight,equalTo(true));
+					reads.incrementAndGet();
+				} finally {
+					transaction.rollback();
+				}
+			}
+			return null;
+		}
+
+	}
+
+	@Test
+	public void testReadersNeverSeeUncommittedOrPartialChanges() throws Exception {
+		EntityTag initial=EntityTag.createStrong("initial");
+		for(int i=0;i<ENDPOINTS;i++) {
+			Resource resource=TestingModelFactory.createResource(this.manager,NamingScheme.getDefault().name(i),"template");
+			Endpoint endpoint=TestingModelFactory.createEndpoint(this.manager,"path"+i,resource,new Date(),initial);
+			this.endpoints.add(endpoint);
+			this.tagged.add(endpoint);
+		}
+		this.resources.add(this.left);
+		ExecutorService executor=Executors.newFixedThreadPool(READERS+WRITERS);
+		try {
+			List<Future<Void>> results=new ArrayList<Future<Void>>();
+			for(int i=0;i<WRITERS;i++) {
+				results.add(executor.submit(new Writer(i)));
+			}
+			for(int i=0;i<READERS;i++) {
+				results.add(executor.submit(new Reader()));
+			}
+			for(Future<Void> result:results) {
+				result.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(this.commits.get(),greaterThan(0L));
+		assertThat(this.rollbacks.get(),greaterThan(0L));
+		assertThat(this.reads.get(),greaterThan(0L));
+		EntityTag expected=this.tagged.get(0).entityTag();
+		for(Endpoint endpoint:this.tagged) {
+			assertThat(endpoint.entityTag(),equalTo(expected));
+		}
+		assertThat(this.resources.resourceOfId(this.left.id())!=null^this.resources.resourceOfId(this.right.id())!=null,equalTo(true));
+	}
+
+}
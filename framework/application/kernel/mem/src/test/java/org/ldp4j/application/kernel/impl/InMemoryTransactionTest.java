@@ -0,0 +1,367 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-application-kernel-mem:0.2.2
+ *   Bundle      : ldp4j-application-kernel-mem-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.application.kernel.impl;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ldp4j.application.data.NamingScheme;
+import org.ldp4j.application.engine.context.EntityTag;
+import org.ldp4j.application.kernel.endpoint.Endpoint;
+import org.ldp4j.application.kernel.resource.Resource;
+import org.ldp4j.application.kernel.transaction.Transaction;
+import org.ldp4j.application.kernel.transaction.TransactionException;
+
+public class InMemoryTransactionTest {
+
+	/**
+	 * Transactions are bound to threads, so each session runs its steps in
+	 * its own thread.
+	 */
+	private final class Session {
+
+		private final ExecutorService executor=Executors.newSingleThreadExecutor();
+
+		<T> T run(Callable<T> step) throws Exception {
+			try {
+				return this.executor.submit(step).get();
+			} catch (ExecutionException e) {
+				if(e.getCause() instanceof Exception) {
+					throw (Exception)e.getCause();
+				}
+				throw e;
+			}
+		}
+
+		void begin() throws Exception {
+			run(
+				new Callable<Void>() {
+					@Override
+					public Void call() {
+						transactionManager.currentTransaction().begin();
+						return null;
+					}
+				}
+			);
+		}
+
+		void commit() throws Exception {
+			run(
+				new Callable<Void>() {
+					@Override
+					public Void call() {
+						transactionManager.currentTransaction().commit();
+						return null;
+					}
+				}
+			);
+		}
+
+		void rollback() throws Exception {
+			run(
+				new Callable<Void>() {
+					@Override
+					public Void call() {
+						transactionManager.currentTransaction().rollback();
+						return null;
+					}
+				}
+			);
+		}
+
+		Resource resourceOfId(final Resource resource) throws Exception {
+			return run(
+				new Callable<Resource>() {
+					@Override
+					public Resource call() {
+						return resources.resourceOfId(resource.id());
+					}
+				}
+			);
+		}
+
+		void add(final Resource resource) throws Exception {
+			run(
+				new Callable<Void>() {
+					@Override
+					public Void call() {
+						resources.add(resource);
+						return null;
+					}
+				}
+			);
+		}
+
+		void remove(final Resource resource) throws Exception {
+			run(
+				new Callable<Void>() {
+					@Override
+					public Void call() {
+						resources.remove(resource);
+						return null;
+					}
+				}
+			);
+		}
+
+		EntityTag entityTag(final Endpoint endpoint) throws Exception {
+			return run(
+				new Callable<EntityTag>() {
+					@Override
+					public EntityTag call() {
+						return endpoint.entityTag();
+					}
+				}
+			);
+		}
+
+		void modify(final Endpoint endpoint, final EntityTag entityTag) throws Exception {
+			run(
+				new Callable<Void>() {
+					@Override
+					public Void call() {
+						endpoint.modify(entityTag,new Date());
+						return null;
+					}
+				}
+			);
+		}
+
+		void add(final Endpoint endpoint) throws Exception {
+			run(
+				new Callable<Void>() {
+					@Override
+					public Void call() {
+						endpoints.add(endpoint);
+						return null;
+					}
+				}
+			);
+		}
+
+		Endpoint endpointOfPath(final String path) throws Exception {
+			return run(
+				new Callable<Endpoint>() {
+					@Override
+					public Endpoint call() {
+						return endpoints.endpointOfPath(path);
+					}
+				}
+			);
+		}
+
+		void close() {
+			this.executor.shutdownNow();
+		}
+
+	}
+
+	private static final EntityTag INITIAL_TAG=EntityTag.createStrong("initial");
+	private static final EntityTag MODIFIED_TAG=EntityTag.createStrong("modified");
+
+	private VersionManager manager;
+	private InMemoryTransactionManager transactionManager;
+	private InMemoryResourceRepository resources;
+	private InMemoryEndpointRepository endpoints;
+
+	private Session first;
+	private Session second;
+
+	private Resource resource;
+	private Endpoint endpoint;
+
+	@Before
+	public void setUp() throws Exception {
+		this.manager=new VersionManager();
+		this.transactionManager=new InMemoryTransactionManager(this.manager);
+		this.resources=new InMemoryResourceRepository(this.manager);
+		this.endpoints=new InMemoryEndpointRepository(this.manager);
+		this.first=new Session();
+		this.second=new Session();
+		this.resource=TestingModelFactory.createResource(this.manager,NamingScheme.getDefault().name(1),"template");
+		this.endpoint=TestingModelFactory.createEndpoint(this.manager,"path",this.resource,new Date(),INITIAL_TAG);
+		this.endpoints.add(this.endpoint);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		this.first.close();
+		this.second.close();
+	}
+
+	@Test
+	public void testIsolation$uncommittedAdditionsAreInvisible() throws Exception {
+		this.first.begin();
+		this.first.add(this.resource);
+		assertThat(this.first.resourceOfId(this.resource),sameInstance(this.resource));
+		assertThat(this.second.resourceOfId(this.resource),nullValue());
+		this.first.commit();
+		assertThat(this.second.resourceOfId(this.resource),sameInstance(this.resource));
+	}
+
+	@Test
+	public void testIsolation$snapshotIgnoresLaterCommits() throws Exception {
+		this.first.begin();
+		assertThat(this.first.entityTag(this.endpoint),equalTo(INITIAL_TAG));
+		this.second.begin();
+		this.second.modify(this.endpoint,MODIFIED_TAG);
+		this.second.add(this.resource);
+		this.second.commit();
+		assertThat(this.first.entityTag(this.endpoint),equalTo(INITIAL_TAG));
+		assertThat(this.first.resourceOfId(this.resource),nullValue());
+		this.first.commit();
+		assertThat(this.first.entityTag(this.endpoint),equalTo(MODIFIED_TAG));
+		assertThat(this.first.resourceOfId(this.resource),sameInstance(this.resource));
+	}
+
+	@Test
+	public void testIsolation$writesOutsideTransactionsPublishNewVersions() throws Exception {
+		this.first.begin();
+		assertThat(this.first.entityTag(this.endpoint),equalTo(INITIAL_TAG));
+		this.second.modify(this.endpoint,MODIFIED_TAG);
+		assertThat(this.second.entityTag(this.endpoint),equalTo(MODIFIED_TAG));
+		assertThat(this.first.entityTag(this.endpoint),equalTo(INITIAL_TAG));
+		this.first.commit();
+		assertThat(this.first.entityTag(this.endpoint),equalTo(MODIFIED_TAG));
+	}
+
+	@Test
+	public void testIsolation$versionManagersAreIndependent() throws Exception {
+		long committed=this.manager.lastCommitted();
+		VersionManager other=new VersionManager();
+		Resource resource=TestingModelFactory.createResource(other,NamingScheme.getDefault().name(2),"template");
+		new InMemoryResourceRepository(other).add(resource);
+		TestingModelFactory.createEndpoint(other,"other",resource,new Date(),INITIAL_TAG).modify(MODIFIED_TAG,new Date());
+		assertThat(other.lastCommitted(),greaterThan(0L));
+		assertThat(this.manager.lastCommitted(),equalTo(committed));
+	}
+
+	@Test
+	public void testRollback() throws Exception {
+		Resource other=TestingModelFactory.createResource(this.manager,NamingScheme.getDefault().name(2),"template");
+		this.resources.add(other);
+		this.first.begin();
+		this.first.add(this.resource);
+		this.first.remove(other);
+		this.first.modify(this.endpoint,MODIFIED_TAG);
+		assertThat(this.first.resourceOfId(other),nullValue());
+		this.first.rollback();
+		assertThat(this.second.resourceOfId(this.resource),nullValue());
+		assertThat(this.second.resourceOfId(other),sameInstance(other));
+		assertThat(this.second.entityTag(this.endpoint),equalTo(INITIAL_TAG));
+		assertThat(this.first.entityTag(this.endpoint),equalTo(INITIAL_TAG));
+	}
+
+	@Test
+	public void testRollback$releasesKeys() throws Exception {
+		this.first.begin();
+		this.first.add(this.resource);
+		this.first.rollback();
+		this.second.add(this.resource);
+		assertThat(this.first.resourceOfId(this.resource),sameInstance(this.resource));
+	}
+
+	@Test(expected=TransactionException.class)
+	public void testConflict$modifiedAfterSnapshot() throws Exception {
+		this.first.begin();
+		this.second.begin();
+		this.second.modify(this.endpoint,MODIFIED_TAG);
+		this.second.commit();
+		this.first.modify(this.endpoint,EntityTag.createStrong("other"));
+	}
+
+	@Test
+	public void testConflict$firstCommitterWins() throws Exception {
+		this.first.begin();
+		this.second.begin();
+		this.first.modify(this.endpoint,MODIFIED_TAG);
+		this.second.modify(this.endpoint,EntityTag.createStrong("other"));
+		this.first.commit();
+		try {
+			this.second.commit();
+			throw new AssertionError("Second commit should have failed");
+		} catch (TransactionException e) {
+			assertThat(e.getMessage(),containsString("Write conflict"));
+		}
+		assertThat(this.second.entityTag(this.endpoint),equalTo(MODIFIED_TAG));
+		Transaction transaction=this.second.run(
+			new Callable<Transaction>() {
+				@Override
+				public Transaction call() {
+					return transactionManager.currentTransaction();
+				}
+			}
+		);
+		assertThat(transaction.isActive(),equalTo(false));
+	}
+
+	@Test
+	public void testConflict$concurrentRemoval() throws Exception {
+		this.resources.add(this.resource);
+		this.first.begin();
+		this.second.begin();
+		this.first.remove(this.resource);
+		try {
+			this.second.remove(this.resource);
+			throw new AssertionError("Concurrent removal should have failed");
+		} catch (TransactionException e) {
+			assertThat(e.getMessage(),containsString("Write conflict"));
+		}
+		this.second.rollback();
+		this.first.commit();
+		assertThat(this.second.resourceOfId(this.resource),nullValue());
+	}
+
+	@Test
+	public void testEndpoints$pendingPathCannotBeReused() throws Exception {
+		Resource other=TestingModelFactory.createResource(this.manager,NamingScheme.getDefault().name(2),"template");
+		Resource another=TestingModelFactory.createResource(this.manager,NamingScheme.getDefault().name(3),"template");
+		Endpoint created=TestingModelFactory.createEndpoint(this.manager,"other",other,new Date(),INITIAL_TAG);
+		this.first.begin();
+		this.first.add(created);
+		assertThat(this.second.endpointOfPath("other"),nullValue());
+		try {
+			this.second.add(TestingModelFactory.createEndpoint(this.manager,"other",another,new Date(),INITIAL_TAG));
+			throw new AssertionError("Path clash should have been detected");
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage(),containsString("other"));
+		}
+		this.first.commit();
+		assertThat(this.second.endpointOfPath("other"),sameInstance(created));
+		assertThat(this.endpoints.endpointOfResource(another.id()),nullValue());
+	}
+
+}
@@ -40,19 +40,37 @@ import org.ldp4j.application.kernel.resource.ResourceId;
 
 public final class TestingModelFactory {
 
+	/**
+	 * Version manager shared by the entities created for the tests of other
+	 * modules, which cannot create their own.
+	 */
+	private static final VersionManager DEFAULT_MANAGER=new VersionManager();
+
 	private TestingModelFactory() {
 	}
 
 	public static Endpoint createEndpoint(String path, Resource resource, Date created, EntityTag entityTag) {
-		return InMemoryEndpoint.create(path, resource.id(), created, entityTag);
+		return createEndpoint(DEFAULT_MANAGER, path, resource, created, entityTag);
 	}
 
 	public static Resource createResource(Name<?> name, String templateId) {
-		return new InMemoryResource(ResourceId.createId(name, templateId));
+		return createResource(DEFAULT_MANAGER, name, templateId);
 	}
 
 	public static Container createContainer(Name<?> name, String templateId) {
-		return new InMemoryContainer(ResourceId.createId(name, templateId));
+		return createContainer(DEFAULT_MANAGER, name, templateId);
+	}
+
+	static Endpoint createEndpoint(VersionManager manager, String path, Resource resource, Date created, EntityTag entityTag) {
+		return InMemoryEndpoint.create(manager, path, resource.id(), created, entityTag);
+	}
+
+	static Resource createResource(VersionManager manager, Name<?> name, String templateId) {
+		return new InMemoryResource(manager, ResourceId.createId(name, templateId));
+	}
+
+	static Container createContainer(VersionManager manager, Name<?> name, String templateId) {
+		return new InMemoryContainer(manager, ResourceId.createId(name, templateId));
 	}
 
 }
@@ -37,8 +37,36 @@ public final class Configuration {
 
 	public static final String OMMIT_CONTENT_TYPE_CHARSET = "org.ldp4j.server.response.contentType.ommitCharset";
 
+	public static final String MAX_ENTITY_SIZE = "org.ldp4j.server.request.maxEntitySize";
+
+	/**
+	 * Value used for signaling that the size of the request entities is not
+	 * limited.
+	 */
+	public static final long UNLIMITED_ENTITY_SIZE = -1;
+
+	public static final String REPRESENTATION_CACHE_SIZE = "org.ldp4j.server.response.representationCache.maxSize";
+
+	/**
+	 * Value used for signaling that the representation cache is disabled.
+	 */
+	public static final long DISABLED_REPRESENTATION_CACHE = 0;
+
+	public static final String COMPRESSION_THRESHOLD = "org.ldp4j.server.response.compression.threshold";
+
+	/**
+	 * Value used for signaling that response compression is disabled.
+	 */
+	public static final long DISABLED_COMPRESSION = -1;
+
 	private static final AtomicBoolean INCLUDE_CHARSET_LOGGED=new AtomicBoolean();
 
+	private static final AtomicBoolean MAX_ENTITY_SIZE_LOGGED=new AtomicBoolean();
+
+	private static final AtomicBoolean REPRESENTATION_CACHE_SIZE_LOGGED=new AtomicBoolean();
+
+	private static final AtomicBoolean COMPRESSION_THRESHOLD_LOGGED=new AtomicBoolean();
+
 	private Configuration() {
 	}
 
@@ -50,4 +78,102 @@ public final class Configuration {
 		return result;
 	}
 
+	/**
+	 * Get the maximum size (in bytes) allowed for request entities. The size
+	 * is configured using the {@value #MAX_ENTITY_SIZE} system property. If
+	 * the property is not defined, or its value is not a positive number,
+	 * the size of request entities is not limited.
+	 *
+	 * @return the maximum size allowed for request entities, or
+	 *         {@value #UNLIMITED_ENTITY_SIZE} if the size is not limited
+	 */
+	public static long maxEntitySize() {
+		long result=UNLIMITED_ENTITY_SIZE;
+		String rawValue=System.getProperty(MAX_ENTITY_SIZE);
+		if(rawValue!=null) {
+			try {
+				long value=Long.parseLong(rawValue.trim());
+				if(value>0) {
+					result=value;
+				}
+			} catch (NumberFormatException e) {
+				LOGGER.warn("Invalid maximum request entity size '{}'",rawValue);
+			}
+		}
+		if(MAX_ENTITY_SIZE_LOGGED.compareAndSet(false,true)) {
+			if(result==UNLIMITED_ENTITY_SIZE) {
+				LOGGER.info("Request entity size is not limited");
+			} else {
+				LOGGER.info("Request entity size is limited to {} bytes",result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the maximum size (in bytes) of the representations kept in the
+	 * server-side representation cache. The size is configured using the
+	 * {@value #REPRESENTATION_CACHE_SIZE} system property. If the property is
+	 * not defined, or its value is not a positive number, the cache is
+	 * disabled.
+	 *
+	 * @return the maximum size of the representation cache, or
+	 *         {@value #DISABLED_REPRESENTATION_CACHE} if the cache is disabled
+	 */
+	public static long representationCacheSize() {
+		long result=DISABLED_REPRESENTATION_CACHE;
+		String rawValue=System.getProperty(REPRESENTATION_CACHE_SIZE);
+		if(rawValue!=null) {
+			try {
+				long value=Long.parseLong(rawValue.trim());
+				if(value>0) {
+					result=value;
+				}
+			} catch (NumberFormatException e) {
+				LOGGER.warn("Invalid representation cache size '{}'",rawValue);
+			}
+		}
+		if(REPRESENTATION_CACHE_SIZE_LOGGED.compareAndSet(false,true)) {
+			if(result==DISABLED_REPRESENTATION_CACHE) {
+				LOGGER.info("Representation cache is disabled");
+			} else {
+				LOGGER.info("Representation cache is limited to {} bytes",result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the minimum size (in bytes) that a representation must have for it
+	 * to be compressed when the client accepts a supported content coding.
+	 * The size is configured using the {@value #COMPRESSION_THRESHOLD} system
+	 * property. If the property is not defined, or its value is not a
+	 * non-negative number, response compression is disabled.
+	 *
+	 * @return the minimum size of the representations to be compressed, or
+	 *         {@value #DISABLED_COMPRESSION} if compression is disabled
+	 */
+	public static long compressionThreshold() {
+		long result=DISABLED_COMPRESSION;
+		String rawValue=System.getProperty(COMPRESSION_THRESHOLD);
+		if(rawValue!=null) {
+			try {
+				long value=Long.parseLong(rawValue.trim());
+				if(value>=0) {
+					result=value;
+				}
+			} catch (NumberFormatException e) {
+				LOGGER.warn("Invalid response compression threshold '{}'",rawValue);
+			}
+		}
+		if(COMPRESSION_THRESHOLD_LOGGED.compareAndSet(false,true)) {
+			if(result==DISABLED_COMPRESSION) {
+				LOGGER.info("Response compression is disabled");
+			} else {
+				LOGGER.info("Responses of at least {} bytes are compressed",result);
+			}
+		}
+		return result;
+	}
+
 }
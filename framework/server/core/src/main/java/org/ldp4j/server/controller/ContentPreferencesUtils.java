@@ -44,7 +44,9 @@ final class ContentPreferencesUtils {
 	public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
 	public static final String PREFER_HEADER = "Prefer";
 
-	private static String PARAMETER="^\\s*(\\w*)\\s*=\\s*\"([^\"]+)\"\\s*$";
+	private static final String MAX_MEMBER_COUNT_HINT = "max-member-count";
+
+	private static String PARAMETER="^\\s*([\\w-]*)\\s*=\\s*\"([^\"]+)\"\\s*$";
 
 	private ContentPreferencesUtils() {
 	}
@@ -69,8 +71,13 @@ final class ContentPreferencesUtils {
 			if(!matcher.matches()) {
 				throw new InvalidPreferenceHeaderException("Invalid preference refinement '"+refinement+"'");
 			}
-			boolean include = processHint(configured, matcher.group(1));
-			processPreferences(builder,include,matcher.group(2).split("\\s"));
+			String hint=matcher.group(1);
+			if(MAX_MEMBER_COUNT_HINT.equals(hint)) {
+				processMaxMemberCount(builder,configured,matcher.group(2).trim());
+			} else {
+				boolean include = processHint(configured, hint);
+				processPreferences(builder,include,matcher.group(2).split("\\s"));
+			}
 		}
 	}
 
@@ -88,6 +95,22 @@ final class ContentPreferencesUtils {
 		}
 	}
 
+	private static void processMaxMemberCount(ContentPreferencesBuilder builder, Set<String> configured, String rawValue) {
+		if(!configured.add(MAX_MEMBER_COUNT_HINT)) {
+			throw new InvalidPreferenceHeaderException("Hint '"+MAX_MEMBER_COUNT_HINT+"' has already been configured");
+		}
+		int maxMemberCount=0;
+		try {
+			maxMemberCount=Integer.parseInt(rawValue);
+		} catch (NumberFormatException e) {
+			throw new InvalidPreferenceHeaderException("Invalid maximum member count '"+rawValue+"'",e);
+		}
+		if(maxMemberCount<=0) {
+			throw new InvalidPreferenceHeaderException("Maximum member count must be positive ("+maxMemberCount+")");
+		}
+		builder.withMaxMemberCount(maxMemberCount);
+	}
+
 	private static boolean processHint(Set<String> configured, String hint) {
 		boolean include=true;
 		if("omit".equals(hint)) {
@@ -149,6 +172,9 @@ final class ContentPreferencesUtils {
 		if(hasOmit) {
 			header.append("\"");
 		}
+		if(contentPreferences.maxMemberCount().isPresent()) {
+			header.append("; ").append(MAX_MEMBER_COUNT_HINT).append("=\"").append(contentPreferences.maxMemberCount().get()).append("\"");
+		}
 		return header.toString();
 	}
 
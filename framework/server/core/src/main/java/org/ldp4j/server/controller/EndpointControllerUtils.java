@@ -26,8 +26,15 @@
  */
 package org.ldp4j.server.controller;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
@@ -37,10 +44,15 @@ import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.zip.DeflaterOutputStream;
 
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Variant;
 
 import org.ldp4j.application.data.DataSet;
@@ -56,12 +68,15 @@ import org.ldp4j.application.ext.Query;
 import org.ldp4j.application.vocabulary.LDP;
 import org.ldp4j.application.vocabulary.Term;
 import org.ldp4j.server.config.Configuration;
+import org.ldp4j.server.data.ContentWriter;
+import org.ldp4j.server.data.RDFPatch;
 import org.ldp4j.server.utils.VariantUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
+import com.google.common.io.CountingOutputStream;
 
 public final class EndpointControllerUtils {
 
@@ -81,6 +96,14 @@ public final class EndpointControllerUtils {
 
 	private static final String NL=System.lineSeparator();
 
+	/**
+	 * Maximum number of triples of the representations that are buffered
+	 * before sending them.
+	 */
+	static final int MAX_BUFFERED_TRIPLES=1000;
+
+	private static final int STREAMING_BUFFER_SIZE=8192;
+
 	private EndpointControllerUtils() {
 	}
 
@@ -190,43 +213,218 @@ public final class EndpointControllerUtils {
 	}
 
 	static void populateRequiredHeaders(ResponseBuilder builder, OperationContext context) {
+		populateRequiredHeaders(builder,context,null);
+	}
+
+	/**
+	 * Populate the headers required for a response that serves the given
+	 * variant of the resource.
+	 */
+	static void populateRequiredHeaders(ResponseBuilder builder, OperationContext context, Variant variant) {
 		PublicResource resource = context.resource();
-		addProtocolEndorsedHeaders(builder,resource.lastModified(),resource.entityTag());
+		addProtocolEndorsedHeaders(builder,resource.lastModified(),ResponseCompression.entityTag(resource.entityTag(),variant));
 		addProtocolSpecificHeaders(builder,resource.getClass());
 
 	}
 
-	static void populateResponseBody(ResponseBuilder builder, String entity, Variant variant, boolean includeEntity) {
-		MediaType mediaType = variant.getMediaType();
-
+	private static String responseCharsetName(MediaType mediaType) {
 		String charsetName=mediaType.getParameters().get(MediaType.CHARSET_PARAMETER);
-		Charset charset=StandardCharsets.UTF_8;
-		if(charsetName!=null && !charsetName.isEmpty() && Charset.isSupported(charsetName)) {
-			charset=Charset.forName(charsetName);
-		} else {
+		if(charsetName==null || charsetName.isEmpty() || !Charset.isSupported(charsetName)) {
 			LOGGER.error("Missing of invalid charset information {}",mediaType);
-			charsetName=charset.name();
+			charsetName=StandardCharsets.UTF_8.name();
 		}
+		return charsetName;
+	}
+
+	private static Charset responseCharset(Variant variant) {
+		return Charset.forName(responseCharsetName(variant.getMediaType()));
+	}
+
+	private static Charset populateResponseType(ResponseBuilder builder, Variant variant) {
+		MediaType mediaType = variant.getMediaType();
+		String charsetName=responseCharsetName(mediaType);
 
 		MediaType target=
 			Configuration.includeCharsetInformation()?
 				mediaType.withCharset(charsetName):
 				new MediaType(mediaType.getType(),mediaType.getSubtype());
-
-		byte[] bytes = entity.getBytes(charset);
-		builder.
-			type(target).
-			header(MoreHttp.CONTENT_LENGTH_HEADER,bytes.length);
+		builder.type(target);
 
 		if(variant.getLanguage()!=null) {
 			builder.language(variant.getLanguage());
 		}
+		return Charset.forName(charsetName);
+	}
+
+	static void populateResponseBody(ResponseBuilder builder, String entity, Variant variant, boolean includeEntity) {
+		populateResponseBody(builder,entity,variant,includeEntity,null);
+	}
+
+	private static void populateResponseBody(ResponseBuilder builder, String entity, Variant variant, boolean includeEntity, RepresentationLengthCache.Recorder recorder) {
+		byte[] bytes = entity.getBytes(responseCharset(variant));
+		String coding=ResponseCompression.coding(variant,bytes.length);
+		if(coding!=null) {
+			bytes=ResponseCompression.compress(bytes,coding);
+		}
+		populateResponseBody(builder,bytes,coding,variant,includeEntity);
+		// Only record the length if it is the one of the variant to be served
+		if(recorder!=null && Objects.equals(coding,variant.getEncoding())) {
+			recorder.record(bytes.length);
+		}
+	}
+
+	/**
+	 * Populate the body of the response with an already encoded
+	 * representation, which is compressed if required by the variant.
+	 */
+	static void populateResponseBody(ResponseBuilder builder, byte[] entity, Variant variant, boolean includeEntity) {
+		String coding=ResponseCompression.coding(variant,entity.length);
+		byte[] body=entity;
+		if(coding!=null) {
+			body=ResponseCompression.compress(entity,coding);
+		}
+		populateResponseBody(builder,body,coding,variant,includeEntity);
+	}
 
+	/**
+	 * Populate the body of the response with an already encoded
+	 * representation, to which the specified content coding (if any) has
+	 * already been applied.
+	 */
+	static void populateResponseBody(ResponseBuilder builder, byte[] entity, String coding, Variant variant, boolean includeEntity) {
+		populateResponseType(builder,variant);
+		populateResponseCoding(builder,coding);
+		builder.header(MoreHttp.CONTENT_LENGTH_HEADER,entity.length);
 		if(includeEntity) {
-			builder.entity(new ByteArrayInputStream(bytes));
+			builder.entity(new ByteArrayInputStream(entity));
+		}
+	}
+
+	/**
+	 * RFC 7231 - 7.1.4: The representation served depends on the
+	 * {@code Accept} header and, once compression is enabled, on the
+	 * {@code Accept-Encoding} header, whether the representation is actually
+	 * compressed or not.
+	 */
+	private static void populateResponseCoding(ResponseBuilder builder, String coding) {
+		builder.header(HttpHeaders.VARY,HttpHeaders.ACCEPT);
+		if(ResponseCompression.isEnabled()) {
+			builder.header(HttpHeaders.VARY,HttpHeaders.ACCEPT_ENCODING);
+		}
+		if(coding!=null) {
+			builder.header(HttpHeaders.CONTENT_ENCODING,coding);
 		}
 	}
 
+	/**
+	 * Encode a representation using the charset of the variant to be served.
+	 */
+	static byte[] encode(ContentWriter entity, Variant variant) throws IOException {
+		ByteArrayOutputStream output=new ByteArrayOutputStream();
+		Writer writer=new BufferedWriter(new OutputStreamWriter(output,responseCharset(variant)),STREAMING_BUFFER_SIZE);
+		entity.writeTo(writer);
+		writer.flush();
+		return output.toByteArray();
+	}
+
+	/**
+	 * Create the key that identifies the representation of a resource
+	 * variant, as served for the given content preferences. The key starts
+	 * with the {@link #representationLocation(OperationContext) location} and
+	 * the {@link #representationVersion(OperationContext) version} of the
+	 * resource, so that it changes as soon as the resource is modified.
+	 */
+	static String representationKey(OperationContext context, Variant variant, ContentPreferences preferences) {
+		Locale language=variant.getLanguage();
+		return
+			new StringBuilder().
+				append(representationLocation(context)).
+				append(representationVersion(context)).
+				append(variant.getMediaType()).append('|').
+				append(language==null?"":language).append('|').
+				append(variant.getEncoding()==null?"":variant.getEncoding()).append('|').
+				append(ContentPreferencesUtils.asPreferenceHeader(preferences)).
+				toString();
+	}
+
+	/**
+	 * Get the prefix shared by the keys of all the representations of the
+	 * resource targeted by the operation, which ends with the first
+	 * {@code '|'} of the keys.
+	 */
+	static String representationLocation(OperationContext context) {
+		return context.base().resolve(context.path())+"|";
+	}
+
+	/**
+	 * Get the version of the resource targeted by the operation, that is, its
+	 * entity tag and last modification date.
+	 */
+	static String representationVersion(OperationContext context) {
+		PublicResource resource=context.resource();
+		Date lastModified=resource.lastModified();
+		return
+			new StringBuilder().
+				append(resource.entityTag()).append('|').
+				append(lastModified==null?"":lastModified.getTime()).append('|').
+				toString();
+	}
+
+	/**
+	 * Populate the headers that describe the body of a response whose body
+	 * is not to be included, using the known length of the representation.
+	 */
+	static void populateResponseHead(ResponseBuilder builder, Variant variant, long length) {
+		populateResponseType(builder,variant);
+		populateResponseCoding(builder,variant.getEncoding());
+		builder.header(MoreHttp.CONTENT_LENGTH_HEADER,length);
+	}
+
+	/**
+	 * Populate the body of the response with a representation. Small
+	 * representations, and those that are not to be included in the response,
+	 * are buffered so that the Content-Length of the response can be
+	 * specified. Larger representations are written directly to the response
+	 * output stream, which is then sent using chunked transfer encoding.
+	 */
+	static void populateResponseBody(ResponseBuilder builder, final ContentWriter entity, Variant variant, boolean includeEntity, final RepresentationLengthCache.Recorder recorder) throws IOException {
+		if(!includeEntity || entity.size()<=MAX_BUFFERED_TRIPLES) {
+			StringWriter writer=new StringWriter();
+			entity.writeTo(writer);
+			populateResponseBody(builder,writer.toString(),variant,includeEntity,recorder);
+			return;
+		}
+		final Charset charset=populateResponseType(builder,variant);
+		// Streamed representations are always above the compression threshold
+		final String coding=variant.getEncoding();
+		populateResponseCoding(builder,coding);
+		LOGGER.trace("Streaming representation {}",entity);
+		builder.
+			entity(
+				new StreamingOutput() {
+					@Override
+					public void write(OutputStream output) throws IOException {
+						CountingOutputStream counter=new CountingOutputStream(output);
+						OutputStream sink=counter;
+						DeflaterOutputStream compressor=null;
+						if(coding!=null) {
+							compressor=ResponseCompression.compressor(counter,coding);
+							sink=compressor;
+						}
+						Writer writer=new BufferedWriter(new OutputStreamWriter(sink,charset),STREAMING_BUFFER_SIZE);
+						entity.writeTo(writer);
+						writer.flush();
+						if(compressor!=null) {
+							compressor.finish();
+						}
+						if(recorder!=null) {
+							recorder.record(counter.getCount());
+						}
+					}
+				}
+			);
+	}
+
 	static String createQueryOfLink(Object uriRef, Query query) {
 		String strQuery = toString(query);
 		try {
@@ -267,6 +465,14 @@ public final class EndpointControllerUtils {
 		addAllowedMethodHeader(builder,"PATCH",capabilities.isPatchable());
 		addAllowedMethodHeader(builder,"DELETE",capabilities.isDeletable());
 		addAllowedMethodHeader(builder,"POST",capabilities.isFactory());
+		if(capabilities.isPatchable()) {
+			/**
+			 * RFC 5789 - 3.1: "Accept-Patch SHOULD appear in the OPTIONS
+			 * response for any resource that supports the use of the PATCH
+			 * method."
+			 */
+			builder.header(MoreHttp.ACCEPT_PATCH_HEADER,RDFPatch.MEDIA_TYPE);
+		}
 		if(capabilities.isFactory()) {
 			/**
 			 * LDP 1.0 - 5.2.3.13: "LDP servers that support POST must include
@@ -286,7 +492,12 @@ public final class EndpointControllerUtils {
 	public static Response prepareErrorResponse(DiagnosedException throwable, ResponseEnricher... enrichers) {
 		Diagnosis diagnosis = throwable.getDiagnosis();
 		ResponseBuilder builder=Response.status(diagnosis.statusCode());
-		populateResponseBody(builder,diagnosis.diagnostic(), errorResponseVariant(), diagnosis.mandatory());
+		/**
+		 * RFC 7232 - 4.1: "A 304 response cannot contain a message-body".
+		 */
+		if(diagnosis.statusCode()!=Status.NOT_MODIFIED.getStatusCode()) {
+			populateResponseBody(builder,diagnosis.diagnostic(), errorResponseVariant(), diagnosis.mandatory());
+		}
 		addProtocolEndorsedHeaders(builder,throwable.resourceLastModified(),throwable.resourceEntityTag());
 		addProtocolSpecificHeaders(builder,throwable.resourceClass());
 		for(Function<ResponseBuilder, ResponseBuilder> enricher:enrichers) {
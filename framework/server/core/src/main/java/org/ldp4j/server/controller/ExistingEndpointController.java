@@ -26,6 +26,7 @@
  */
 package org.ldp4j.server.controller;
 
+import java.io.IOException;
 import java.net.URI;
 
 import javax.ws.rs.WebApplicationException;
@@ -36,8 +37,11 @@ import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.Variant;
 
 import org.ldp4j.application.data.DataSet;
+import org.ldp4j.application.data.ExternalIndividual;
+import org.ldp4j.application.data.ManagedIndividual;
 import org.ldp4j.application.engine.context.ApplicationContextException;
 import org.ldp4j.application.engine.context.ApplicationExecutionException;
+import org.ldp4j.application.engine.context.ContainerPage;
 import org.ldp4j.application.engine.context.ContentPreferences;
 import org.ldp4j.application.engine.context.OperationPrecondititionException;
 import org.ldp4j.application.engine.context.PublicContainer;
@@ -49,6 +53,10 @@ import org.ldp4j.application.ext.InvalidQueryException;
 import org.ldp4j.application.ext.Parameter;
 import org.ldp4j.application.ext.Query;
 import org.ldp4j.application.ext.UnknownResourceException;
+import org.ldp4j.application.vocabulary.LDP;
+import org.ldp4j.application.vocabulary.RDF;
+import org.ldp4j.server.data.ContentWriter;
+import org.ldp4j.server.data.RDFPatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,13 +74,25 @@ final class ExistingEndpointController implements EndpointController {
 
 	private static final String NO_CONSTRAINT_REPORT_ID_DEFINED_ERROR = "No constraint report identifier defined. Full stacktrace follows";
 
+	/**
+	 * Query parameter used for requesting the creation of many members of a
+	 * container using a single request.
+	 */
+	static final String BULK_CREATION_QUERY_PARAMETER = "ldp4j:bulk";
+
+	private static final int BULK_CREATION_BATCH_SIZE = 256;
+
 	private static final Logger LOGGER=LoggerFactory.getLogger(ExistingEndpointController.class);
 
 	ExistingEndpointController() {
 	}
 
 	private void addOptionsMandatoryHeaders(OperationContext context, ResponseBuilder builder) {
-		EndpointControllerUtils.populateRequiredHeaders(builder, context);
+		addRetrievalMandatoryHeaders(context, null, builder);
+	}
+
+	private void addRetrievalMandatoryHeaders(OperationContext context, Variant variant, ResponseBuilder builder) {
+		EndpointControllerUtils.populateRequiredHeaders(builder, context, variant);
 		EndpointControllerUtils.populateAllowedHeaders(builder, context.resource().capabilities());
 	}
 
@@ -80,31 +100,129 @@ final class ExistingEndpointController implements EndpointController {
 			OperationContext context,
 			Variant variant,
 			DataSet entity,
-			boolean includeEntity) {
-		String body=
-			context.serialize(
+			boolean includeEntity,
+			RepresentationLengthCache.Recorder recorder) {
+		return prepareRetrievalResponse(context, variant, serializer(context, variant, entity), includeEntity, recorder);
+	}
+
+	private ResponseBuilder prepareRetrievalResponse(
+			OperationContext context,
+			Variant variant,
+			ContentWriter body,
+			boolean includeEntity,
+			RepresentationLengthCache.Recorder recorder) {
+		ResponseBuilder builder=Response.ok();
+		try {
+			EndpointControllerUtils.
+				populateResponseBody(
+					builder,
+					body,
+					variant,
+					includeEntity,
+					recorder);
+		} catch (IOException e) {
+			throw new InternalServerException(context,"Resource representation cannot be serialized as '"+variant.getMediaType()+"'",e);
+		}
+		return builder;
+	}
+
+	private ContentWriter serializer(OperationContext context, Variant variant, DataSet entity) {
+		return
+			context.serializer(
 				entity,
 				NamespacesHelper.
 					constraintReportNamespaces(
 						context.applicationNamespaces()),
 				variant.getMediaType());
+	}
+
+	/**
+	 * Serve the representation of the resource from the representation
+	 * cache, populating it if the representation is not available yet. Large
+	 * representations are not cached but streamed as usual. Compressed
+	 * representations are cached next to the uncompressed ones, so that they
+	 * are not compressed again on each request.
+	 */
+	private Response prepareCachedResourceRetrievalResponse(
+			OperationContext context,
+			Variant variant,
+			ContentPreferences preferences,
+			boolean includeEntity) throws ApplicationExecutionException {
+		RepresentationCache cache=RepresentationCache.getInstance();
+		RepresentationCache.Slot compressedSlot=null;
+		if(variant.getEncoding()!=null) {
+			compressedSlot=cache.slot(context,variant,preferences);
+			byte[] compressed=compressedSlot.get();
+			if(compressed!=null) {
+				LOGGER.debug("Serving cached compressed representation of {}",context.path());
+				return prepareCachedResourceRetrievalResponse(context,variant,compressed,variant.getEncoding(),includeEntity);
+			}
+		}
+		RepresentationCache.Slot slot=cache.slot(context,ResponseCompression.identity(variant),preferences);
+		byte[] representation=slot.get();
+		if(representation==null) {
+			DataSet entity=context.resource().entity(preferences);
+			if(LOGGER.isTraceEnabled()) {
+				LOGGER.trace(EndpointControllerUtils.retrievalResultLog(entity));
+			}
+			ContentWriter body=serializer(context, variant, entity);
+			if(body.size()>EndpointControllerUtils.MAX_BUFFERED_TRIPLES) {
+				return completeResourceRetrievalResponse(context,variant,prepareRetrievalResponse(context,variant,body,includeEntity,null));
+			}
+			try {
+				representation=EndpointControllerUtils.encode(body,variant);
+			} catch (IOException e) {
+				throw new InternalServerException(context,"Resource representation cannot be serialized as '"+variant.getMediaType()+"'",e);
+			}
+			slot.store(representation);
+		} else {
+			LOGGER.debug("Serving cached representation of {}",context.path());
+		}
+		String coding=ResponseCompression.coding(variant,representation.length);
+		if(coding!=null) {
+			representation=ResponseCompression.compress(representation,coding);
+			compressedSlot.store(representation);
+		}
+		return prepareCachedResourceRetrievalResponse(context,variant,representation,coding,includeEntity);
+	}
+
+	private Response prepareCachedResourceRetrievalResponse(
+			OperationContext context,
+			Variant variant,
+			byte[] representation,
+			String coding,
+			boolean includeEntity) {
 		ResponseBuilder builder=Response.ok();
-		EndpointControllerUtils.
-			populateResponseBody(
-				builder,
-				body,
-				variant,
-				includeEntity);
-		return builder;
+		EndpointControllerUtils.populateResponseBody(builder,representation,coding,variant,includeEntity);
+		return completeResourceRetrievalResponse(context,variant,builder);
 	}
 
 	private Response prepareResourceRetrievalResponse(
 			OperationContext context,
 			Variant variant,
 			DataSet entity,
-			boolean includeEntity) {
-		ResponseBuilder builder=prepareRetrievalResponse(context, variant, entity, includeEntity);
-		addOptionsMandatoryHeaders(context, builder);
+			boolean includeEntity,
+			RepresentationLengthCache.Recorder recorder) {
+		ResponseBuilder builder=prepareRetrievalResponse(context, variant, entity, includeEntity, recorder);
+		return completeResourceRetrievalResponse(context, variant, builder);
+	}
+
+	/**
+	 * Answer a HEAD request using the metadata of the endpoint and the known
+	 * length of the representation, without retrieving the entity of the
+	 * resource.
+	 */
+	private Response prepareResourceMetadataResponse(
+			OperationContext context,
+			Variant variant,
+			long length) {
+		ResponseBuilder builder=Response.ok();
+		EndpointControllerUtils.populateResponseHead(builder, variant, length);
+		return completeResourceRetrievalResponse(context, variant, builder);
+	}
+
+	private Response completeResourceRetrievalResponse(OperationContext context, Variant variant, ResponseBuilder builder) {
+		addRetrievalMandatoryHeaders(context, variant, builder);
 
 		ContentPreferences preferences = context.contentPreferences();
 		if(preferences!=null) {
@@ -133,7 +251,7 @@ final class ExistingEndpointController implements EndpointController {
 			DataSet report,
 			boolean includeEntity) {
 		return
-			prepareRetrievalResponse(context,variant,report,includeEntity).
+			prepareRetrievalResponse(context,variant,report,includeEntity,null).
 				build();
 	}
 
@@ -149,6 +267,8 @@ final class ExistingEndpointController implements EndpointController {
 				throw new QueryingNotSupportedException(context,includeEntity);
 			case CONSTRAINT_REPORT_RETRIEVAL:
 				return handleConstraintReportRetrieval(context,includeEntity,variant);
+			case PAGE_RETRIEVAL:
+				return handlePageRetrieval(context,includeEntity,variant);
 			default:
 				return handleResourceRetrieval(context,includeEntity,variant);
 		}
@@ -165,6 +285,25 @@ final class ExistingEndpointController implements EndpointController {
 				Optional.
 					fromNullable(context.contentPreferences()).
 					or(new DefaultContentPreferencesSupplier());
+			if(query.isEmpty() && resource instanceof PublicContainer) {
+				Optional<Integer> pageSize=pageSize((PublicContainer)resource,preferences);
+				if(pageSize.isPresent()) {
+					return prepareFirstPageRedirectionResponse(context,pageSize.get());
+				}
+			}
+			if(query.isEmpty() && RepresentationCache.getInstance().isEnabled()) {
+				return prepareCachedResourceRetrievalResponse(context,variant,preferences,includeEntity);
+			}
+			RepresentationLengthCache.Recorder recorder=null;
+			if(query.isEmpty()) {
+				RepresentationLengthCache cache=RepresentationLengthCache.getInstance();
+				Long length=cache.length(context,variant,preferences);
+				if(!includeEntity && length!=null) {
+					LOGGER.debug("Answering HEAD of {} using cached representation length",context.path());
+					return prepareResourceMetadataResponse(context,variant,length);
+				}
+				recorder=cache.recorder(context,variant,preferences);
+			}
 			DataSet entity=
 				query.isEmpty()?
 					resource.entity(preferences):
@@ -172,7 +311,7 @@ final class ExistingEndpointController implements EndpointController {
 			if(LOGGER.isTraceEnabled()) {
 				LOGGER.trace(EndpointControllerUtils.retrievalResultLog(entity));
 			}
-			return prepareResourceRetrievalResponse(context,variant,entity,includeEntity);
+			return prepareResourceRetrievalResponse(context,variant,entity,includeEntity,recorder);
 		} catch (ApplicationExecutionException e) {
 			throw diagnoseApplicationExecutionException(context, e);
 		} catch (ApplicationContextException e) {
@@ -180,6 +319,116 @@ final class ExistingEndpointController implements EndpointController {
 		}
 	}
 
+	/**
+	 * LDP Paging 1.0 - 6.2.5: The server might decide to page a container
+	 * either because of its own configuration or because the client requested
+	 * it using the {@code max-member-count} preference. When both apply, the
+	 * smallest size is used.
+	 */
+	private static Optional<Integer> pageSize(PublicContainer container, ContentPreferences preferences) {
+		Optional<Integer> serverSize=container.pageSize();
+		Optional<Integer> clientSize=preferences.maxMemberCount();
+		Optional<Integer> result=serverSize.or(clientSize);
+		if(serverSize.isPresent() && clientSize.isPresent()) {
+			result=Optional.of(Math.min(serverSize.get(),clientSize.get()));
+		}
+		return result;
+	}
+
+	private Response prepareFirstPageRedirectionResponse(OperationContext context, int pageSize) {
+		URI firstPage=URI.create(RetrievalScenario.pageLink(context,ContainerPage.FIRST_PAGE,pageSize));
+		LOGGER.debug("Redirecting to first page: {}",firstPage);
+		return Response.seeOther(firstPage).build();
+	}
+
+	private Response handlePageRetrieval(OperationContext context, boolean includeEntity, Variant variant) {
+		PublicContainer container=context.container();
+		ContentPreferences preferences =
+			Optional.
+				fromNullable(context.contentPreferences()).
+				or(new DefaultContentPreferencesSupplier());
+		long cursor=pageParameter(context,RetrievalScenario.pageCursor(context),includeEntity);
+		Parameter rawSize=RetrievalScenario.pageSize(context);
+		int size=pageSize(container,preferences).or(Integer.MAX_VALUE);
+		if(rawSize!=null) {
+			long requestedSize=pageParameter(context,rawSize,includeEntity);
+			if(requestedSize==0 || requestedSize>Integer.MAX_VALUE) {
+				throw new InvalidPageRetrievalException(context,rawSize.name(),rawSize.rawValues(),includeEntity);
+			}
+			// The client cannot request pages bigger than those the server is
+			// configured to serve
+			size=(int)Math.min(container.pageSize().or(Integer.MAX_VALUE),requestedSize);
+		}
+		try {
+			LOGGER.debug("Retrieving page {} (size {}) of {}",cursor,size,context.path());
+			ContainerPage page=container.page(cursor,size);
+			DataSet entity=page.entity(preferences);
+			describePage(context,page,entity);
+			if(LOGGER.isTraceEnabled()) {
+				LOGGER.trace(EndpointControllerUtils.retrievalResultLog(entity));
+			}
+			ResponseBuilder builder=prepareRetrievalResponse(context,variant,entity,includeEntity,null);
+			addRetrievalMandatoryHeaders(context,variant,builder);
+			addPageLinks(context,page,builder);
+			return builder.build();
+		} catch (ApplicationExecutionException e) {
+			throw diagnoseApplicationExecutionException(context, e);
+		} catch (ApplicationContextException e) {
+			throw new InternalServerException(context,e);
+		}
+	}
+
+	private static long pageParameter(OperationContext context, Parameter parameter, boolean includeEntity) {
+		long value=-1;
+		if(parameter.cardinality()==1) {
+			try {
+				value=Long.parseLong(parameter.rawValue());
+			} catch (NumberFormatException e) {
+				LOGGER.trace("Invalid value for parameter {}",parameter.name(),e);
+			}
+		}
+		if(value<0) {
+			throw new InvalidPageRetrievalException(context,parameter.name(),parameter.rawValues(),includeEntity);
+		}
+		return value;
+	}
+
+	/**
+	 * LDP Paging 1.0 - 6.2.2, 6.2.7: Include the page type and the links to
+	 * the neighbour pages of the page sequence.
+	 */
+	private static void addPageLinks(OperationContext context, ContainerPage page, ResponseBuilder builder) {
+		builder.header(HttpHeaders.LINK,MoreHttp.createLink(LDP.PAGE,"type"));
+		builder.header(HttpHeaders.LINK,MoreHttp.createLink(context.base().resolve(context.path()),"canonical"));
+		builder.header(HttpHeaders.LINK,MoreHttp.createLink(RetrievalScenario.pageLink(context,ContainerPage.FIRST_PAGE,page.size()),"first"));
+		if(page.previous().isPresent()) {
+			builder.header(HttpHeaders.LINK,MoreHttp.createLink(RetrievalScenario.pageLink(context,page.previous().get(),page.size()),"prev"));
+		}
+		if(page.next().isPresent()) {
+			builder.header(HttpHeaders.LINK,MoreHttp.createLink(RetrievalScenario.pageLink(context,page.next().get(),page.size()),"next"));
+		}
+		builder.header(HttpHeaders.LINK,MoreHttp.createLink(RetrievalScenario.pageLink(context,page.last(),page.size()),"last"));
+	}
+
+	/**
+	 * Link the paged container to its page sequence, and type the page being
+	 * retrieved.
+	 */
+	private static void describePage(OperationContext context, ContainerPage page, DataSet entity) {
+		URI firstPage=URI.create(RetrievalScenario.pageLink(context,ContainerPage.FIRST_PAGE,page.size()));
+		URI currentPage=URI.create(RetrievalScenario.pageLink(context,page.cursor(),page.size()));
+		ManagedIndividual container=entity.individual(page.container().individualId(),ManagedIndividual.class);
+		container.
+			addValue(
+				LDP.PAGE_SEQUENCE.as(URI.class),
+				entity.individual(firstPage,ExternalIndividual.class));
+		entity.
+			individual(currentPage,ExternalIndividual.class).
+				addValue(
+					RDF.TYPE.as(URI.class),
+					entity.individual(LDP.PAGE.as(URI.class),ExternalIndividual.class));
+	}
+
 	private Response handleConstraintReportRetrieval(OperationContext context, boolean includeEntity, Variant variant) {
 		Parameter parameter=RetrievalScenario.constraintReportId(context);
 		if(parameter.cardinality()!=1) {
@@ -287,13 +536,21 @@ final class ExistingEndpointController implements EndpointController {
 
 	@Override
 	public Response patchResource(OperationContext context) {
-		// Verify that we can carry out the operation
 		context.
 			checkOperationSupport().
 			checkContents().
 			checkPreconditions();
-		// Fail as we do not support PATCH
-		throw new NotImplementedException(context);
+		try {
+			RDFPatch patch=context.patch();
+			context.resource().patch(patch.deletions(),patch.insertions());
+			ResponseBuilder builder=Response.noContent();
+			EndpointControllerUtils.populateRequiredHeaders(builder, context);
+			return builder.build();
+		} catch (ApplicationExecutionException e) {
+			throw diagnoseApplicationExecutionException(context, e);
+		} catch (ApplicationContextException e) {
+			throw new InternalServerException(context,e);
+		}
 	}
 
 	@Override
@@ -302,6 +559,9 @@ final class ExistingEndpointController implements EndpointController {
 			checkOperationSupport().
 			checkContents().
 			checkPreconditions();
+		if(context.getQuery().hasParameter(BULK_CREATION_QUERY_PARAMETER)) {
+			return createResources(context);
+		}
 		try {
 			PublicContainer container=context.container();
 			PublicResource newResource =
@@ -326,4 +586,34 @@ final class ExistingEndpointController implements EndpointController {
 			throw new InternalServerException(context,e);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Create all the members described in the entity, which are processed in
+	 * batches as the entity is being split. The number of members created is
+	 * returned in the body of the response.
+	 */
+	private Response createResources(OperationContext context) {
+		try {
+			PublicContainer container=context.container();
+			int created=
+				container.
+					createResources(
+						context.memberDataSets(),
+						BULK_CREATION_BATCH_SIZE);
+			LOGGER.debug("Created {} members of {}",created,context.path());
+			ResponseBuilder builder=Response.ok();
+			EndpointControllerUtils.populateRequiredHeaders(builder, context);
+			EndpointControllerUtils.
+				populateResponseBody(
+					builder,
+					Integer.toString(created),
+					EndpointControllerUtils.textResponseVariant(),
+					true);
+			return builder.build();
+		} catch (ApplicationExecutionException e) {
+			throw diagnoseApplicationExecutionException(context, e);
+		} catch (ApplicationContextException e) {
+			throw new InternalServerException(context,e);
+		}
+	}
+}
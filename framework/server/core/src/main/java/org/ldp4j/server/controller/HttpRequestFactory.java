@@ -39,21 +39,105 @@ import org.ldp4j.application.sdk.HttpRequestBuilder;
 
 final class HttpRequestFactory {
 
+	/**
+	 * Request whose body is taken from the request entity, which is only
+	 * available once the entity has been consumed. The request is replaced
+	 * by an immutable snapshot when serialized.
+	 */
+	private static final class EntityAwareHttpRequest implements HttpRequest {
+
+		private static final long serialVersionUID = 2411735306449231829L;
+
+		private final HttpRequest delegate;
+		private final transient RequestEntity entity;
+
+		private EntityAwareHttpRequest(HttpRequest delegate, RequestEntity entity) {
+			this.delegate=delegate;
+			this.entity=entity;
+		}
+
+		@Override
+		public HttpMethod method() {
+			return this.delegate.method();
+		}
+
+		@Override
+		public String absolutePath() {
+			return this.delegate.absolutePath();
+		}
+
+		@Override
+		public String host() {
+			return this.delegate.host();
+		}
+
+		@Override
+		public ProtocolVersion protocolVersion() {
+			return this.delegate.protocolVersion();
+		}
+
+		@Override
+		public List<Header> headers() {
+			return this.delegate.headers();
+		}
+
+		@Override
+		public String body() {
+			return this.entity==null?this.delegate.body():this.entity.body();
+		}
+
+		@Override
+		public Date serverDate() {
+			return this.delegate.serverDate();
+		}
+
+		@Override
+		public Date clientDate() {
+			return this.delegate.clientDate();
+		}
+
+		@Override
+		public String toString() {
+			return this.delegate.toString();
+		}
+
+		private Object writeReplace() {
+			HttpRequestBuilder builder=
+				HttpRequestBuilder.
+					newInstance().
+						withMethod(method()).
+						withProtocolVersion(protocolVersion()).
+						withServerDate(serverDate()).
+						withClientDate(clientDate()).
+						withBody(body()).
+						withAbsolutePath(absolutePath()).
+						withHost(host());
+			for(Header header:headers()) {
+				builder.withHeader(header.name(),header.rawValue());
+			}
+			return builder.build();
+		}
+
+	}
+
 	private HttpRequestFactory() {
 	}
 
-	static HttpRequest create(HttpMethod method, UriInfo uriInfo, HttpHeaders headers, String entity) {
+	static HttpRequest create(HttpMethod method, UriInfo uriInfo, HttpHeaders headers, RequestEntity entity) {
 		HttpRequestBuilder builder=
 			HttpRequestBuilder.
 				newInstance().
 					withMethod(method).
 					withServerDate(new Date()).
 					withClientDate(headers.getDate()).
-					withBody(entity).
 					withAbsolutePath(uriInfo.getAbsolutePath().getPath()).
 					withHost(uriInfo.getAbsolutePath().getAuthority());
 		createHeaders(builder,headers);
-		return builder.build();
+		HttpRequest request=builder.build();
+		if(entity==null) {
+			return request;
+		}
+		return new EntityAwareHttpRequest(request,entity);
 	}
 
 	private static void createHeaders(HttpRequestBuilder builder, HttpHeaders headers) {
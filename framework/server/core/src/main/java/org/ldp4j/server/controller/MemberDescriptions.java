@@ -0,0 +1,271 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.ws.rs.core.MediaType;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+import org.eclipse.rdf4j.rio.ntriples.NTriplesUtil;
+import org.ldp4j.application.data.DataSet;
+import org.ldp4j.server.data.DataTransformator;
+import org.ldp4j.server.data.UnsupportedMediaTypeException;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+
+/**
+ * Splits the entity of a bulk creation request into the descriptions of the
+ * members to be created. The entity must be serialized as Turtle or
+ * N-Triples, and it is parsed with a regular RDF parser. The statements are
+ * grouped by subject, and each subject that is not a blank node referenced by
+ * another subject defines a member. The statements about the blank nodes
+ * referenced by a member are kept in the description of that member. <br>
+ * Each description is unmarshalled as if it were the entity of a regular
+ * creation request, after replacing the subject of the member with the null
+ * relative IRI wherever it is used. The entity is parsed when the first
+ * description is requested, but the descriptions are only unmarshalled as
+ * they are consumed.
+ */
+final class MemberDescriptions implements Iterator<DataSet> {
+
+	private static final String NULL_RELATIVE_IRI = "<>";
+
+	private static final MediaType TURTLE = new MediaType("text","turtle");
+
+	private static final MediaType N_TRIPLES = new MediaType("application","n-triples");
+
+	private static final class StatementCollector extends AbstractRDFHandler {
+
+		private final Map<Resource,List<Statement>> statements=new LinkedHashMap<Resource,List<Statement>>();
+		private final Set<BNode> referenced=new HashSet<BNode>();
+
+		@Override
+		public void handleStatement(Statement statement) {
+			Resource subject=statement.getSubject();
+			List<Statement> group=this.statements.get(subject);
+			if(group==null) {
+				group=Lists.newArrayList();
+				this.statements.put(subject,group);
+			}
+			group.add(statement);
+			Value object=statement.getObject();
+			if(object instanceof BNode && !object.equals(subject)) {
+				this.referenced.add((BNode)object);
+			}
+		}
+
+	}
+
+	private final Reader reader;
+	private final RDFFormat format;
+	private final URI base;
+	private final DataTransformator transformator;
+	private final OperationContext context;
+
+	private StatementCollector collector;
+	private Iterator<Resource> members;
+
+	private MemberDescriptions(Reader reader, RDFFormat format, URI base, DataTransformator transformator, OperationContext context) {
+		this.reader=reader;
+		this.format=format;
+		this.base=base;
+		this.transformator=transformator.mediaType(TURTLE);
+		this.context=context;
+	}
+
+	private static boolean matches(MediaType expected, MediaType mediaType) {
+		return
+			expected.getType().equalsIgnoreCase(mediaType.getType()) &&
+			expected.getSubtype().equalsIgnoreCase(mediaType.getSubtype());
+	}
+
+	private void parse() {
+		RDFParser parser=Rio.createParser(this.format);
+		StatementCollector result=new StatementCollector();
+		parser.setRDFHandler(result);
+		try {
+			parser.parse(this.reader,this.base.toString());
+		} catch (IOException e) {
+			throw RequestEntity.failure(this.context,"Entity could not be read ("+e.getMessage()+")",e);
+		} catch (RDFParseException | RDFHandlerException e) {
+			throw new InvalidRequestContentException("Member descriptions cannot be parsed ("+Throwables.getRootCause(e).getMessage()+")",e,this.context);
+		}
+		List<Resource> roots=Lists.newArrayList();
+		for(Resource subject:result.statements.keySet()) {
+			if(!result.referenced.contains(subject)) {
+				roots.add(subject);
+			}
+		}
+		this.collector=result;
+		Set<Resource> described=new HashSet<Resource>();
+		for(Resource root:roots) {
+			for(Statement statement:statementsOf(root)) {
+				described.add(statement.getSubject());
+			}
+		}
+		for(Resource subject:result.statements.keySet()) {
+			if(!described.contains(subject)) {
+				throw new InvalidRequestContentException("Blank node "+NTriplesUtil.toNTriplesString(subject)+" is not referenced by any member description",this.context);
+			}
+		}
+		this.members=roots.iterator();
+	}
+
+	/**
+	 * Collect the statements about a member and about the blank nodes
+	 * transitively referenced by it.
+	 */
+	private List<Statement> statementsOf(Resource member) {
+		List<Statement> result=Lists.newArrayList();
+		Set<Resource> visited=new LinkedHashSet<Resource>();
+		Deque<Resource> pending=Lists.newLinkedList();
+		pending.add(member);
+		while(!pending.isEmpty()) {
+			Resource subject=pending.removeFirst();
+			List<Statement> statements=this.collector.statements.get(subject);
+			if(!visited.add(subject) || statements==null) {
+				continue;
+			}
+			for(Statement statement:statements) {
+				result.add(statement);
+				if(statement.getObject() instanceof BNode) {
+					pending.add((BNode)statement.getObject());
+				}
+			}
+		}
+		return result;
+	}
+
+	private String toTurtle(Value value, Resource member) {
+		if(value.equals(member)) {
+			return NULL_RELATIVE_IRI;
+		}
+		return NTriplesUtil.toNTriplesString(value);
+	}
+
+	private String describe(Resource member) {
+		StringBuilder builder=new StringBuilder();
+		for(Statement statement:statementsOf(member)) {
+			builder.
+				append(toTurtle(statement.getSubject(),member)).append(' ').
+				append(toTurtle(statement.getPredicate(),member)).append(' ').
+				append(toTurtle(statement.getObject(),member)).append(" .\n");
+		}
+		return builder.toString();
+	}
+
+	private DataSet unmarshall(String description) {
+		try {
+			return this.transformator.unmarshall(description);
+		} catch (IOException e) {
+			throw new InvalidRequestContentException("Member description cannot be parsed ("+Throwables.getRootCause(e).getMessage()+")",e,this.context);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext() {
+		if(this.members==null) {
+			parse();
+		}
+		return this.members.hasNext();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public DataSet next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return unmarshall(describe(this.members.next()));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Member descriptions cannot be removed");
+	}
+
+	/**
+	 * Create the member descriptions of a bulk creation request entity.
+	 *
+	 * @param reader
+	 *            the entity
+	 * @param mediaType
+	 *            the media type of the entity
+	 * @param base
+	 *            the absolute URI used for resolving the relative IRIs of the
+	 *            entity
+	 * @param transformator
+	 *            the transformator used for unmarshalling each description
+	 * @param context
+	 *            the context of the operation
+	 * @return the member descriptions
+	 * @throws UnsupportedMediaTypeException
+	 *             if the entity is neither Turtle nor N-Triples
+	 */
+	static MemberDescriptions create(Reader reader, MediaType mediaType, URI base, DataTransformator transformator, OperationContext context) {
+		RDFFormat format;
+		if(matches(TURTLE,mediaType)) {
+			format=RDFFormat.TURTLE;
+		} else if(matches(N_TRIPLES,mediaType)) {
+			format=RDFFormat.NTRIPLES;
+		} else {
+			throw new UnsupportedMediaTypeException("Bulk creation requires '"+TURTLE+"' or '"+N_TRIPLES+"' content",mediaType);
+		}
+		return new MemberDescriptions(reader,format,base,transformator,context);
+	}
+
+}
@@ -38,6 +38,7 @@ public final class MoreHttp {
 	 */
 	public static final int UNPROCESSABLE_ENTITY_STATUS_CODE = 422;
 	public static final String ACCEPT_POST_HEADER = "Accept-Post";
+	public static final String ACCEPT_PATCH_HEADER = "Accept-Patch";
 	public static final String ENTITY_TAG_HEADER     = "ETag";
 	public static final String LAST_MODIFIED_HEADER  = "Last-Modified";
 	public static final String LINK_HEADER           = "Link";
@@ -28,6 +28,7 @@ package org.ldp4j.server.controller;
 
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.ws.rs.core.MediaType;
@@ -40,6 +41,8 @@ import org.ldp4j.application.engine.context.PublicContainer;
 import org.ldp4j.application.engine.context.PublicResource;
 import org.ldp4j.application.ext.Query;
 import org.ldp4j.rdf.Namespaces;
+import org.ldp4j.server.data.ContentWriter;
+import org.ldp4j.server.data.RDFPatch;
 
 public interface OperationContext {
 
@@ -49,6 +52,24 @@ public interface OperationContext {
 
 	DataSet dataSet();
 
+	/**
+	 * Get the descriptions of the members to be created by a bulk creation
+	 * request. The entity is parsed as a whole, but each description is
+	 * unmarshalled lazily, while the descriptions are consumed.
+	 *
+	 * @return an iterator over the descriptions of the members to be created
+	 * @throws UnsupportedContentException
+	 *             if the entity is neither Turtle nor N-Triples
+	 */
+	Iterator<DataSet> memberDataSets();
+
+	/**
+	 * Get the changes defined by a patch request entity.
+	 *
+	 * @return the changes to apply to the resource
+	 */
+	RDFPatch patch();
+
 	Variant expectedVariant();
 
 	ContentPreferences contentPreferences();
@@ -69,6 +90,21 @@ public interface OperationContext {
 
 	String serialize(DataSet entity, Namespaces namespaces, MediaType mediaType);
 
+	/**
+	 * Prepare the serialization of a data set. The resources of the data set
+	 * are resolved straight away, so that the returned writer can be used
+	 * once the operation has been completed.
+	 *
+	 * @param entity
+	 *            the data set to serialize
+	 * @param namespaces
+	 *            the namespaces to use in the serialization
+	 * @param mediaType
+	 *            the media type of the serialization
+	 * @return a writer for the serialization of the data set
+	 */
+	ContentWriter serializer(DataSet entity, Namespaces namespaces, MediaType mediaType);
+
 	boolean isResourceQueryable();
 
 	Query getQuery();
@@ -28,6 +28,8 @@ package org.ldp4j.server.controller;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.InputStream;
+
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.UriInfo;
@@ -46,7 +48,7 @@ public final class OperationContextBuilder {
 	private HttpHeaders headers;
 
 	// Optional
-	private String entity;
+	private InputStream entity;
 
 	public OperationContextBuilder() {
 	}
@@ -81,7 +83,7 @@ public final class OperationContextBuilder {
 		return this;
 	}
 
-	public OperationContextBuilder withEntity(String entity) {
+	public OperationContextBuilder withEntity(InputStream entity) {
 		this.entity = entity;
 		return this;
 	}
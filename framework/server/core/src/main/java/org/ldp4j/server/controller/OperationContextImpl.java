@@ -29,12 +29,15 @@ package org.ldp4j.server.controller;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import javax.ws.rs.core.HttpHeaders;
@@ -61,7 +64,11 @@ import org.ldp4j.application.engine.context.PublicResource;
 import org.ldp4j.application.ext.Query;
 import org.ldp4j.application.sdk.QueryBuilder;
 import org.ldp4j.rdf.Namespaces;
+import org.ldp4j.server.config.Configuration;
+import org.ldp4j.server.data.BatchResourceResolver;
+import org.ldp4j.server.data.ContentWriter;
 import org.ldp4j.server.data.DataTransformator;
+import org.ldp4j.server.data.RDFPatch;
 import org.ldp4j.server.data.ResourceResolver;
 import org.ldp4j.server.data.UnsupportedMediaTypeException;
 import org.ldp4j.server.utils.CharsetSelector;
@@ -72,17 +79,36 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.io.CharStreams;
 
 final class OperationContextImpl implements OperationContext {
 
-	private final class OperationContextResourceResolver implements ResourceResolver {
+	/**
+	 * Resolver shared by all the transformations of the request. The
+	 * resolutions found are remembered for the rest of the request, in both
+	 * directions.
+	 */
+	private final class OperationContextResourceResolver implements BatchResourceResolver {
+
+		private final Map<ManagedIndividualId,URI> locations=Maps.newHashMap();
+		private final Map<URI,ManagedIndividualId> individuals=Maps.newHashMap();
+
+		private void remember(URI location, ManagedIndividualId id) {
+			this.locations.put(id,location);
+			this.individuals.put(location,id);
+		}
 
 		@Override
 		public URI resolveResource(ManagedIndividualId id) {
-			URI result=null;
+			URI result=this.locations.get(id);
+			if(result!=null) {
+				return result;
+			}
 			PublicResource resolvedResource=applicationContextOperation.resolveResource(id);
 			if(resolvedResource!=null) {
 				result=base().resolve(resolvedResource.path());
+				remember(result,id);
 				LOGGER.trace("Resolved resource {} URI to '{}'",id,result);
 			}
 			return result;
@@ -90,18 +116,49 @@ final class OperationContextImpl implements OperationContext {
 
 		@Override
 		public ManagedIndividualId resolveLocation(URI path) {
+			ManagedIndividualId result=this.individuals.get(path);
+			if(result!=null) {
+				return result;
+			}
 			PublicResource resolvedResource =
 				applicationContextOperation.
 					resolveResource(base().relativize(path).toString());
 
-			ManagedIndividualId result = null;
 			if(resolvedResource!=null) {
 				result=resolvedResource.individualId();
+				remember(path,result);
 				LOGGER.trace("Resolved location '{}' to resource {}",path,result);
 			}
 			return result;
 		}
 
+		@Override
+		public Map<URI,ManagedIndividualId> resolveLocations(Collection<URI> paths) {
+			Map<URI,ManagedIndividualId> result=Maps.newLinkedHashMap();
+			Map<String,URI> pending=Maps.newLinkedHashMap();
+			for(URI path:paths) {
+				ManagedIndividualId id=this.individuals.get(path);
+				if(id!=null) {
+					result.put(path,id);
+				} else {
+					pending.put(base().relativize(path).toString(),path);
+				}
+			}
+			if(!pending.isEmpty()) {
+				Map<String,PublicResource> resolvedResources=
+					applicationContextOperation.
+						resolveResources(pending.keySet());
+				for(Entry<String,PublicResource> entry:resolvedResources.entrySet()) {
+					URI path=pending.get(entry.getKey());
+					ManagedIndividualId id=entry.getValue().individualId();
+					remember(path,id);
+					result.put(path,id);
+				}
+				LOGGER.trace("Resolved {} of {} locations",resolvedResources.size(),pending.size());
+			}
+			return result;
+		}
+
 	}
 
 	private static final Logger LOGGER=LoggerFactory.getLogger(OperationContextImpl.class);
@@ -112,7 +169,7 @@ final class OperationContextImpl implements OperationContext {
 	private final UriInfo            uriInfo;
 	private final HttpHeaders        headers;
 	private final Request            request;
-	private final String             entity;
+	private final RequestEntity      entity;
 
 	private ApplicationContextOperation applicationContextOperation;
 	private PublicResource              resource;
@@ -120,13 +177,18 @@ final class OperationContextImpl implements OperationContext {
 
 	private CharsetSelector charsetSelector;
 
+	private Variant selectedVariant;
+	private boolean variantSelected;
+
+	private OperationContextResourceResolver resourceResolver;
+
 	OperationContextImpl(
 		ApplicationContext applicationContext,
 		String endpointPath,
 		UriInfo uriInfo,
 		HttpHeaders headers,
 		Request request,
-		String entity,
+		InputStream entity,
 		HttpMethod method) {
 		this.applicationContext = applicationContext;
 		this.endpointPath = endpointPath;
@@ -134,13 +196,34 @@ final class OperationContextImpl implements OperationContext {
 		this.uriInfo=uriInfo;
 		this.headers=headers;
 		this.request=request;
-		this.entity = entity;
+		this.entity = entity==null?null:RequestEntity.create(entity,entityCharset(headers),Configuration.maxEntitySize());
 		LOGGER.trace("Host.........: {}",headers.getHeaderString(HttpHeaders.HOST));
 		LOGGER.trace("Request uri..: {}",this.uriInfo.getRequestUri());
 		LOGGER.trace("Base.........: {}",base());
 		LOGGER.trace("Endpoint.....: {}",endpoint());
 	}
 
+	/**
+	 * Get the charset used for encoding the request entity, as specified in
+	 * the Content-Type header. If no charset is specified, or if the specified
+	 * charset is not supported, UTF-8 is used.
+	 */
+	private static Charset entityCharset(HttpHeaders headers) {
+		Charset result=StandardCharsets.UTF_8;
+		MediaType mediaType=headers.getMediaType();
+		if(mediaType!=null) {
+			String charset=mediaType.getParameters().get(MediaType.CHARSET_PARAMETER);
+			if(charset!=null) {
+				try {
+					result=Charset.forName(charset);
+				} catch (IllegalArgumentException e) {
+					LOGGER.debug("Unsupported request entity charset '{}'. Using {} instead",charset,result,e);
+				}
+			}
+		}
+		return result;
+	}
+
 	private Variant contentVariant() {
 		List<String> requestHeader=
 			headers().
@@ -178,7 +261,10 @@ final class OperationContextImpl implements OperationContext {
 	}
 
 	private ResourceResolver resourceResolver() {
-		return new OperationContextResourceResolver();
+		if(this.resourceResolver==null) {
+			this.resourceResolver=new OperationContextResourceResolver();
+		}
+		return this.resourceResolver;
 	}
 
 	private URI endpoint() {
@@ -221,10 +307,21 @@ final class OperationContextImpl implements OperationContext {
 		return allowed;
 	}
 
+	/**
+	 * Select the variant that better matches the {@code Accept} headers of
+	 * the request. The selection is carried out once per request.
+	 */
+	private Variant selectedVariant() {
+		if(!this.variantSelected) {
+			this.selectedVariant=VariantNegotiation.select(this.request,this.headers.getRequestHeader(HttpHeaders.ACCEPT));
+			this.variantSelected=true;
+		}
+		return this.selectedVariant;
+	}
+
 	private CharsetSelector charsetSelector() {
 		if(this.charsetSelector==null) {
-			final List<Variant> variants=VariantUtils.defaultVariants();
-			final Variant variant = this.request.selectVariant(variants);
+			final Variant variant = selectedVariant();
 			this.charsetSelector=
 				CharsetSelector.
 					newInstance().
@@ -247,7 +344,7 @@ final class OperationContextImpl implements OperationContext {
 		return this.request;
 	}
 
-	String entity() {
+	RequestEntity entity() {
 		return this.entity;
 	}
 
@@ -282,7 +379,10 @@ final class OperationContextImpl implements OperationContext {
 	@Override
 	public OperationContext checkContents() {
 		List<Variant> supportedVariants=VariantUtils.defaultVariants();
-		if(entity()==null || entity().isEmpty()) {
+		if(HttpMethod.PATCH.equals(this.method)) {
+			supportedVariants=VariantUtils.createVariants(RDFPatch.MEDIA_TYPE);
+		}
+		if(entity()==null || isEmptyEntity()) {
 			throw new MissingContentException(this);
 		}
 		if(headers().getMediaType()==null) {
@@ -296,6 +396,14 @@ final class OperationContextImpl implements OperationContext {
 		return this;
 	}
 
+	private boolean isEmptyEntity() {
+		try {
+			return entity().isEmpty();
+		} catch (IOException e) {
+			throw RequestEntity.failure(this,"Entity cannot be read ("+Throwables.getRootCause(e).getMessage()+")",e);
+		}
+	}
+
 	@Override
 	public OperationContext checkPreconditions() {
 		EntityTag entityTag=this.resource.entityTag();
@@ -306,11 +414,16 @@ final class OperationContextImpl implements OperationContext {
 				throw new PreconditionRequiredException(this);
 			}
 		}
-		ResponseBuilder builder =
-			request().
-				evaluatePreconditions(
-					lastModified,
-					new javax.ws.rs.core.EntityTag(entityTag.getValue()));
+		ResponseBuilder builder=null;
+		if(matchesCompressedVariantEntityTag(entityTag)) {
+			builder=request().evaluatePreconditions(lastModified);
+		} else {
+			builder=
+				request().
+					evaluatePreconditions(
+						lastModified,
+						new javax.ws.rs.core.EntityTag(entityTag.getValue()));
+		}
 		if(builder!=null) {
 			Response response = builder.build();
 			throw new PreconditionFailedException(this,response.getStatus());
@@ -318,6 +431,32 @@ final class OperationContextImpl implements OperationContext {
 		return this;
 	}
 
+	/**
+	 * Compressed variants are served with a weak version of the entity tag of
+	 * the resource (see {@link ResponseCompression}). As the weak entity tag
+	 * still identifies the state of the resource, clients that only retrieved
+	 * compressed variants are allowed to use it in the {@code If-Match}
+	 * header of conditional requests.
+	 */
+	private boolean matchesCompressedVariantEntityTag(EntityTag entityTag) {
+		if(entityTag.isWeak() || !ResponseCompression.isEnabled()) {
+			return false;
+		}
+		List<String> requestHeader=this.headers.getRequestHeader(HttpHeaders.IF_MATCH);
+		if(requestHeader==null) {
+			return false;
+		}
+		String weakEntityTag=EntityTag.createWeak(entityTag.getValue()).toString();
+		for(String value:requestHeader) {
+			for(String candidate:value.split(",")) {
+				if(weakEntityTag.equals(candidate.trim())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public OperationContext checkOperationSupport() {
 		if(!isMethodAllowed()) {
@@ -341,20 +480,54 @@ final class OperationContextImpl implements OperationContext {
 				} else {
 					transformator=transformator.permanentEndpoint(endpoint());
 				}
-				this.dataSet=transformator.unmarshall(this.entity);
+				this.dataSet=transformator.unmarshall(this.entity.content(),this.entity.charset());
 			} catch(UnsupportedMediaTypeException e) {
 				throw new UnsupportedContentException(this,contentVariant(),e);
 			} catch(IOException e) {
-				throw new InvalidRequestContentException("Entity cannot be parsed as '"+mediaType+"' ("+Throwables.getRootCause(e).getMessage()+")",e,this);
+				throw RequestEntity.failure(this,"Entity cannot be parsed as '"+mediaType+"' ("+Throwables.getRootCause(e).getMessage()+")",e);
 			}
 		}
 		return this.dataSet;
 	}
 
+	@Override
+	public RDFPatch patch() {
+		try {
+			return
+				DataTransformator.
+					create(base()).
+					enableResolution(resourceResolver()).
+					permanentEndpoint(endpoint()).
+					unmarshallPatch(CharStreams.toString(this.entity.reader()));
+		} catch(IOException e) {
+			throw RequestEntity.failure(this,"Entity cannot be parsed as '"+RDFPatch.MEDIA_TYPE+"' ("+Throwables.getRootCause(e).getMessage()+")",e);
+		}
+	}
+
+	@Override
+	public Iterator<DataSet> memberDataSets() {
+		try {
+			DataTransformator transformator =
+				DataTransformator.
+					create(base()).
+					enableResolution(resourceResolver()).
+					surrogateEndpoint(endpoint());
+			return
+				MemberDescriptions.
+					create(
+						this.entity.reader(),
+						contentVariant().getMediaType(),
+						base().resolve(endpoint()),
+						transformator,
+						this);
+		} catch(UnsupportedMediaTypeException e) {
+			throw new UnsupportedContentException(this,contentVariant(),e);
+		}
+	}
+
 	@Override
 	public Variant expectedVariant() {
-		List<Variant> variants=VariantUtils.defaultVariants();
-		Variant variant=this.request.selectVariant(variants);
+		Variant variant=selectedVariant();
 		if(variant==null) {
 			throw new NotAcceptableException(this);
 		}
@@ -364,7 +537,7 @@ final class OperationContextImpl implements OperationContext {
 		}
 		return
 			Variant.
-				encodings(variant.getEncoding()).
+				encodings(ResponseCompression.negotiate(this.headers.getRequestHeader(HttpHeaders.ACCEPT_ENCODING))).
 				languages(variant.getLanguage()).
 				mediaTypes(variant.getMediaType().withCharset(acceptableCharset)).
 				add().
@@ -415,17 +588,20 @@ final class OperationContextImpl implements OperationContext {
 		return base().resolve(resource.path());
 	}
 
+	private DataTransformator responseTransformator(Namespaces namespaces, MediaType mediaType) {
+		return
+			DataTransformator.
+				create(base()).
+				enableResolution(resourceResolver()).
+				mediaType(mediaType).
+				namespaces(namespaces).
+				permanentEndpoint(endpoint());
+	}
+
 	@Override
 	public String serialize(DataSet representation, Namespaces namespaces, MediaType mediaType) {
 		try {
-			DataTransformator transformator =
-				DataTransformator.
-					create(base()).
-					enableResolution(resourceResolver()).
-					mediaType(mediaType).
-					namespaces(namespaces).
-					permanentEndpoint(endpoint());
-			return transformator.marshall(representation);
+			return responseTransformator(namespaces,mediaType).marshall(representation);
 		} catch(UnsupportedMediaTypeException e) {
 			throw new UnsupportedContentException(this,contentVariant(),e);
 		} catch(IOException e) {
@@ -433,6 +609,15 @@ final class OperationContextImpl implements OperationContext {
 		}
 	}
 
+	@Override
+	public ContentWriter serializer(DataSet representation, Namespaces namespaces, MediaType mediaType) {
+		try {
+			return responseTransformator(namespaces,mediaType).prepare(representation);
+		} catch(UnsupportedMediaTypeException e) {
+			throw new UnsupportedContentException(this,contentVariant(),e);
+		}
+	}
+
 	@Override
 	public PublicResource resource() {
 		if(this.resource==null) {
@@ -0,0 +1,252 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.core.Variant;
+
+import org.ldp4j.application.engine.context.ContentPreferences;
+import org.ldp4j.server.config.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+
+/**
+ * Opt-in cache of the encoded representations served for each variant of a
+ * resource. The entries are bound to the entity tag and last modification
+ * date of the resource, that is, to the version of the resource. The
+ * entries of each resource are indexed by its location, so that as soon as
+ * a newer version of the resource is requested the entries of the previous
+ * version are evicted, regardless of how the resource was modified. The
+ * cache is bounded by the total size of the representations it holds,
+ * evicting the least recently used ones first.
+ *
+ * @see Configuration#representationCacheSize()
+ */
+final class RepresentationCache {
+
+	/**
+	 * The place where the representation of a given resource variant is
+	 * cached.
+	 */
+	final class Slot {
+
+		private final String location;
+		private final String version;
+		private final String key;
+
+		private Slot(String location, String version, String key) {
+			this.location=location;
+			this.version=version;
+			this.key=key;
+		}
+
+		/**
+		 * Get the cached representation.
+		 *
+		 * @return the cached representation, or {@code null} if it is not
+		 *         available
+		 */
+		byte[] get() {
+			byte[] representation=RepresentationCache.this.representations.getIfPresent(this.key);
+			logStatistics();
+			return representation;
+		}
+
+		void store(byte[] representation) {
+			if(representation.length>RepresentationCache.this.maxEntrySize) {
+				LOGGER.trace("Representation of {} is too large to be cached ({} bytes)",this.key,representation.length);
+				return;
+			}
+			generation(this.location,this.version).keys.add(this.key);
+			RepresentationCache.this.representations.put(this.key,representation);
+		}
+
+	}
+
+	/**
+	 * The keys of the representations cached for a given version of a
+	 * resource.
+	 */
+	private static final class Generation {
+
+		private final String version;
+		private final Set<String> keys;
+
+		private Generation(String version) {
+			this.version=version;
+			this.keys=Collections.newSetFromMap(new ConcurrentHashMap<String,Boolean>());
+		}
+
+	}
+
+	/**
+	 * Keeps the generations up to date when representations are evicted
+	 * because of the size of the cache.
+	 */
+	private final class GenerationUpdater implements RemovalListener<String,byte[]> {
+
+		@Override
+		public void onRemoval(RemovalNotification<String,byte[]> notification) {
+			if(notification.getCause()!=RemovalCause.SIZE) {
+				return;
+			}
+			String key=notification.getKey();
+			String location=key.substring(0,key.indexOf('|')+1);
+			Generation generation=RepresentationCache.this.generations.get(location);
+			if(generation!=null && generation.keys.remove(key) && generation.keys.isEmpty()) {
+				RepresentationCache.this.generations.remove(location,generation);
+			}
+		}
+
+	}
+
+	private static final class RepresentationWeigher implements Weigher<String,byte[]> {
+
+		@Override
+		public int weigh(String key, byte[] value) {
+			return key.length()+value.length;
+		}
+
+	}
+
+	private static final Logger LOGGER=LoggerFactory.getLogger(RepresentationCache.class);
+
+	/**
+	 * A single representation cannot take more than this fraction of the
+	 * cache.
+	 */
+	private static final int MAX_ENTRY_FRACTION=8;
+
+	private static final long STATISTICS_LOG_PERIOD=1000;
+
+	private static final RepresentationCache INSTANCE=new RepresentationCache(Configuration.representationCacheSize());
+
+	private final Cache<String,byte[]> representations;
+	private final ConcurrentMap<String,Generation> generations;
+	private final long maxEntrySize;
+	private final AtomicLong lookups;
+
+	RepresentationCache(long maxSize) {
+		if(maxSize>0) {
+			this.representations=
+				CacheBuilder.
+					newBuilder().
+						maximumWeight(maxSize).
+						weigher(new RepresentationWeigher()).
+						removalListener(new GenerationUpdater()).
+						recordStats().
+						build();
+		} else {
+			this.representations=null;
+		}
+		this.generations=new ConcurrentHashMap<String,Generation>();
+		this.maxEntrySize=maxSize/MAX_ENTRY_FRACTION;
+		this.lookups=new AtomicLong();
+	}
+
+	private void logStatistics() {
+		if(this.lookups.incrementAndGet()%STATISTICS_LOG_PERIOD==0) {
+			CacheStats stats=statistics();
+			LOGGER.info("Representation cache statistics: {} hits, {} misses, {} evictions ({} hit rate)",stats.hitCount(),stats.missCount(),stats.evictionCount(),stats.hitRate());
+		}
+	}
+
+	boolean isEnabled() {
+		return this.representations!=null;
+	}
+
+	/**
+	 * Get the slot of a representation of the resource targeted by the
+	 * operation. If the cache holds representations of a different version
+	 * of the resource, they are evicted.
+	 */
+	Slot slot(OperationContext context, Variant variant, ContentPreferences preferences) {
+		String location=EndpointControllerUtils.representationLocation(context);
+		String version=EndpointControllerUtils.representationVersion(context);
+		if(isEnabled()) {
+			Generation current=this.generations.get(location);
+			if(current!=null && !current.version.equals(version) && this.generations.remove(location,current)) {
+				evict(location,current);
+			}
+		}
+		return new Slot(location,version,EndpointControllerUtils.representationKey(context,variant,preferences));
+	}
+
+	private void evict(String location, Generation generation) {
+		LOGGER.trace("Evicting the representations of version {} of {}",generation.version,location);
+		this.representations.invalidateAll(generation.keys);
+	}
+
+	/**
+	 * Get the generation of the given version of a resource, replacing the
+	 * generation of any other version.
+	 */
+	private Generation generation(String location, String version) {
+		while(true) {
+			Generation current=this.generations.get(location);
+			if(current!=null && current.version.equals(version)) {
+				return current;
+			}
+			Generation generation=new Generation(version);
+			boolean replaced=
+				current==null?
+					this.generations.putIfAbsent(location,generation)==null:
+					this.generations.replace(location,current,generation);
+			if(replaced) {
+				if(current!=null) {
+					evict(location,current);
+				}
+				return generation;
+			}
+		}
+	}
+
+	/**
+	 * Get the hit, miss and eviction statistics of the cache.
+	 */
+	CacheStats statistics() {
+		return isEnabled()?this.representations.stats():new CacheStats(0,0,0,0,0,0);
+	}
+
+	static RepresentationCache getInstance() {
+		return INSTANCE;
+	}
+
+}
@@ -0,0 +1,98 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import javax.ws.rs.core.Variant;
+
+import org.ldp4j.application.engine.context.ContentPreferences;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of the length of the representations served for each variant of a
+ * resource. The entries are bound to the entity tag and last modification
+ * date of the resource, so that they become unreachable as soon as the
+ * resource changes.
+ */
+final class RepresentationLengthCache {
+
+	/**
+	 * Records the length of the representation of a given resource variant.
+	 */
+	final class Recorder {
+
+		private final String key;
+
+		private Recorder(String key) {
+			this.key=key;
+		}
+
+		void record(long length) {
+			RepresentationLengthCache.this.lengths.put(this.key,length);
+			LOGGER.trace("Recorded representation length {} for {}",length,this.key);
+		}
+
+	}
+
+	private static final Logger LOGGER=LoggerFactory.getLogger(RepresentationLengthCache.class);
+
+	private static final int MAXIMUM_SIZE=10000;
+
+	private static final RepresentationLengthCache INSTANCE=new RepresentationLengthCache(MAXIMUM_SIZE);
+
+	private final Cache<String,Long> lengths;
+
+	private RepresentationLengthCache(int maximumSize) {
+		this.lengths=CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+	}
+
+	/**
+	 * Get the length of the representation of a resource variant.
+	 *
+	 * @return the length of the representation, or {@code null} if it is not
+	 *         known
+	 */
+	Long length(OperationContext context, Variant variant, ContentPreferences preferences) {
+		return this.lengths.getIfPresent(EndpointControllerUtils.representationKey(context,variant,preferences));
+	}
+
+	Recorder recorder(OperationContext context, Variant variant, ContentPreferences preferences) {
+		return new Recorder(EndpointControllerUtils.representationKey(context,variant,preferences));
+	}
+
+	void clear() {
+		this.lengths.invalidateAll();
+	}
+
+	static RepresentationLengthCache getInstance() {
+		return INSTANCE;
+	}
+
+}
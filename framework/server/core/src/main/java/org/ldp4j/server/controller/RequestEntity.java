@@ -0,0 +1,256 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+import org.ldp4j.server.config.Configuration;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Throwables;
+
+/**
+ * The entity of a request, which is read once and as it is consumed. The
+ * entity enforces the maximum size configured for request entities while it is
+ * read, and keeps a copy of the consumed content as long as it is small enough
+ * to be included in the constraint reports.
+ */
+final class RequestEntity {
+
+	/**
+	 * Signals that the request entity exceeds the maximum allowed size.
+	 */
+	static final class EntitySizeLimitExceededException extends IOException {
+
+		private static final long serialVersionUID = -2384739181230931520L;
+
+		private final long limit;
+
+		private EntitySizeLimitExceededException(long limit) {
+			super("Request entity exceeds "+limit+" bytes");
+			this.limit=limit;
+		}
+
+		long limit() {
+			return this.limit;
+		}
+
+	}
+
+	private final class MonitoringInputStream extends FilterInputStream {
+
+		private MonitoringInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b=super.read();
+			if(b<0) {
+				markExhausted();
+			} else {
+				consumed(new byte[]{(byte)b},0,1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int count=super.read(b,off,len);
+			if(count<0) {
+				markExhausted();
+			} else {
+				consumed(b,off,count);
+			}
+			return count;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			throw new IOException("Request entities cannot be skipped");
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		@Override
+		public void close() throws IOException {
+			// The lifecycle of the entity stream is managed by the container
+		}
+
+	}
+
+	/**
+	 * Maximum number of bytes of the entity that are kept for the constraint
+	 * reports.
+	 */
+	static final int MAX_RECORDED_SIZE=64*1024;
+
+	private final PushbackInputStream source;
+	private final Charset charset;
+	private final long maxSize;
+
+	private final ByteArrayOutputStream recording;
+	private long size;
+	private boolean recorded;
+	private boolean exhausted;
+	private boolean opened;
+
+	private RequestEntity(InputStream source, Charset charset, long maxSize) {
+		this.source=source==null?null:new PushbackInputStream(source,1);
+		this.charset=charset;
+		this.maxSize=maxSize;
+		this.recording=new ByteArrayOutputStream();
+		this.recorded=true;
+	}
+
+	private void consumed(byte[] b, int off, int len) throws EntitySizeLimitExceededException {
+		this.size+=len;
+		if(this.maxSize!=Configuration.UNLIMITED_ENTITY_SIZE && this.size>this.maxSize) {
+			throw new EntitySizeLimitExceededException(this.maxSize);
+		}
+		if(this.recorded) {
+			if(this.size<=MAX_RECORDED_SIZE) {
+				this.recording.write(b,off,len);
+			} else {
+				this.recorded=false;
+				this.recording.reset();
+			}
+		}
+	}
+
+	private void markExhausted() {
+		this.exhausted=true;
+	}
+
+	/**
+	 * Check whether or not the request has an entity. The check does not
+	 * consume the entity.
+	 *
+	 * @return {@code true} if the request has no entity or if it is empty,
+	 *         {@code false} otherwise.
+	 * @throws IOException
+	 *             if the entity cannot be read
+	 */
+	boolean isEmpty() throws IOException {
+		if(this.source==null) {
+			return true;
+		}
+		checkState(!this.opened,"Entity has already been consumed");
+		int b=this.source.read();
+		if(b<0) {
+			return true;
+		}
+		this.source.unread(b);
+		return false;
+	}
+
+	Charset charset() {
+		return this.charset;
+	}
+
+	long maxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Get the byte stream for reading the entity. The entity can only be
+	 * consumed once.
+	 */
+	InputStream content() {
+		checkState(this.source!=null,"No entity available");
+		checkState(!this.opened,"Entity has already been consumed");
+		this.opened=true;
+		return new MonitoringInputStream(this.source);
+	}
+
+	/**
+	 * Get the character stream for reading the entity, decoded using the
+	 * charset of the entity. The entity can only be consumed once.
+	 */
+	Reader reader() {
+		return new InputStreamReader(content(),this.charset);
+	}
+
+	/**
+	 * Get the textual representation of the entity consumed so far. The body
+	 * is only available once the entity has been completely consumed, and as
+	 * long as it is not larger than {@value #MAX_RECORDED_SIZE} bytes.
+	 *
+	 * @return the body of the request, or {@code null} if it is not available.
+	 */
+	String body() {
+		String result=null;
+		if(this.exhausted && this.recorded) {
+			result=new String(this.recording.toByteArray(),this.charset);
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return
+			MoreObjects.
+				toStringHelper(getClass()).
+					omitNullValues().
+					add("charset",this.charset).
+					add("maxSize",this.maxSize).
+					add("size",this.size).
+					add("opened",this.opened).
+					add("exhausted",this.exhausted).
+					toString();
+	}
+
+	/**
+	 * Translate a failure found while reading a request entity into the
+	 * appropriate diagnosed exception.
+	 */
+	static DiagnosedException failure(OperationContext context, String message, Throwable failure) {
+		for(Throwable cause:Throwables.getCausalChain(failure)) {
+			if(cause instanceof EntitySizeLimitExceededException) {
+				return new EntityTooLargeException(context,((EntitySizeLimitExceededException)cause).limit(),failure);
+			}
+		}
+		return new InvalidRequestContentException(message,failure,context);
+	}
+
+	static RequestEntity create(InputStream source, Charset charset, long maxSize) {
+		return new RequestEntity(source,charset,maxSize);
+	}
+
+}
@@ -0,0 +1,142 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.core.Variant;
+
+import org.ldp4j.application.engine.context.EntityTag;
+import org.ldp4j.http.ContentCodings;
+import org.ldp4j.server.config.Configuration;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Utility methods for compressing the representations served by the server.
+ * The content coding to use is negotiated when selecting the variant to be
+ * served, which carries it as its encoding. Representations smaller than the
+ * configured threshold are not compressed, and are served as is.
+ */
+final class ResponseCompression {
+
+	/**
+	 * Content codings supported by the server, in order of preference.
+	 */
+	private static final List<String> SUPPORTED_CODINGS=
+		ImmutableList.of(ContentCodings.GZIP,ContentCodings.DEFLATE);
+
+	private ResponseCompression() {
+	}
+
+	static boolean isEnabled() {
+		return Configuration.compressionThreshold()!=Configuration.DISABLED_COMPRESSION;
+	}
+
+	/**
+	 * Negotiate the content coding to use for a response given the
+	 * {@code Accept-Encoding} headers of the request. If no supported coding
+	 * is acceptable the representation is served without coding, even if the
+	 * client explicitly excluded the {@code identity} coding.
+	 *
+	 * @return the content coding, or {@code null} if the representation must
+	 *         not be compressed
+	 */
+	static String negotiate(List<String> acceptEncoding) {
+		if(!isEnabled()) {
+			return null;
+		}
+		String coding=ContentCodings.negotiate(acceptEncoding,SUPPORTED_CODINGS);
+		if(coding==null || ContentCodings.IDENTITY.equals(coding)) {
+			return null;
+		}
+		return coding;
+	}
+
+	/**
+	 * Get the content coding to apply to a representation of a given size.
+	 *
+	 * @return the content coding of the variant, or {@code null} if the
+	 *         representation is not to be compressed
+	 */
+	static String coding(Variant variant, long length) {
+		String coding=variant.getEncoding();
+		if(coding==null || length<Configuration.compressionThreshold()) {
+			return null;
+		}
+		return coding;
+	}
+
+	/**
+	 * Get the variant that has to be used for the uncompressed representations
+	 * of a variant.
+	 */
+	static Variant identity(Variant variant) {
+		if(variant.getEncoding()==null) {
+			return variant;
+		}
+		return new Variant(variant.getMediaType(),variant.getLanguage(),null);
+	}
+
+	/**
+	 * RFC 7232 - 2.3.3: Content codings produce distinct representations for
+	 * which a strong validator must be distinct too. Variants with a
+	 * content coding are thus served with a weak version of the entity tag of
+	 * the resource, whether the representation ends up compressed or not.
+	 */
+	static EntityTag entityTag(EntityTag entityTag, Variant variant) {
+		if(variant==null || variant.getEncoding()==null || entityTag.isWeak()) {
+			return entityTag;
+		}
+		return EntityTag.createWeak(entityTag.getValue());
+	}
+
+	static DeflaterOutputStream compressor(OutputStream output, String coding) throws IOException {
+		if(ContentCodings.GZIP.equals(coding)) {
+			return new GZIPOutputStream(output);
+		}
+		return new DeflaterOutputStream(output);
+	}
+
+	static byte[] compress(byte[] representation, String coding) {
+		ByteArrayOutputStream output=new ByteArrayOutputStream(representation.length/4+64);
+		try {
+			DeflaterOutputStream compressor=compressor(output,coding);
+			compressor.write(representation);
+			compressor.close();
+		} catch (IOException e) {
+			throw new AssertionError("In-memory compression should not fail",e);
+		}
+		return output.toByteArray();
+	}
+
+}
@@ -26,17 +26,21 @@
  */
 package org.ldp4j.server.controller;
 
+import org.ldp4j.application.engine.context.PublicContainer;
 import org.ldp4j.application.ext.Parameter;
 import org.ldp4j.application.ext.Query;
 
 enum RetrievalScenario {
 	RESOURCE_RETRIEVAL,
 	CONSTRAINT_REPORT_RETRIEVAL,
+	PAGE_RETRIEVAL,
 	MIXED_QUERY,
 	QUERY_NOT_SUPPORTED,
 	;
 
 	static final String CONSTRAINT_QUERY_PARAMETER = "ldp:constrainedBy";
+	static final String PAGE_QUERY_PARAMETER       = "ldp:page";
+	static final String PAGE_SIZE_QUERY_PARAMETER  = "ldp:pageSize";
 
 	static RetrievalScenario forContext(OperationContext context) {
 		Query query=context.getQuery();
@@ -48,6 +52,12 @@ enum RetrievalScenario {
 				} else {
 					result=MIXED_QUERY;
 				}
+			} else if(query.hasParameter(PAGE_QUERY_PARAMETER) && context.resource() instanceof PublicContainer) {
+				if(query.size()==1 || query.size()==2 && query.hasParameter(PAGE_SIZE_QUERY_PARAMETER)) {
+					result=PAGE_RETRIEVAL;
+				} else {
+					result=MIXED_QUERY;
+				}
 			} else if(!context.isResourceQueryable()) {
 				result=QUERY_NOT_SUPPORTED;
 			}
@@ -59,6 +69,18 @@ enum RetrievalScenario {
 		return context.getQuery().getParameter(CONSTRAINT_QUERY_PARAMETER);
 	}
 
+	static Parameter pageCursor(OperationContext context) {
+		return context.getQuery().getParameter(PAGE_QUERY_PARAMETER);
+	}
+
+	static Parameter pageSize(OperationContext context) {
+		return context.getQuery().getParameter(PAGE_SIZE_QUERY_PARAMETER);
+	}
+
+	static String pageLink(OperationContext context, long cursor, int size) {
+		return context.base()+context.path()+"?"+PAGE_QUERY_PARAMETER+"="+cursor+"&"+PAGE_SIZE_QUERY_PARAMETER+"="+size;
+	}
+
 	static String constraintReportLink(OperationContext context, String constraintReportId) {
 		return context.base()+context.path()+"?"+CONSTRAINT_QUERY_PARAMETER+"="+constraintReportId;
 	}
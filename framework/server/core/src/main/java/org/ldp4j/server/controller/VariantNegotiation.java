@@ -0,0 +1,128 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Variant;
+
+import org.ldp4j.server.data.DataTransformator;
+import org.ldp4j.server.utils.VariantUtils;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Selects the media type of the representations to be served using the
+ * variant selection of the JAX-RS runtime, memoizing the results for the
+ * media types supported by the server, so that the negotiation for a
+ * repeated {@code Accept} header costs a single lookup.
+ * <br>
+ * The variants only differ in their media type, so the selection of the
+ * JAX-RS runtime only depends on the {@code Accept} headers of the request.
+ */
+final class VariantNegotiation {
+
+	/**
+	 * The memoized selections for a given set of supported media types.
+	 */
+	private static final class Table {
+
+		private final Set<MediaType> mediaTypes;
+		private final List<Variant> variants;
+		private final Cache<List<String>,Optional<Variant>> selections;
+
+		private Table(Set<MediaType> mediaTypes) {
+			this.mediaTypes=ImmutableSet.copyOf(mediaTypes);
+			this.variants=ImmutableList.copyOf(VariantUtils.createVariants(this.mediaTypes));
+			this.selections=
+				CacheBuilder.
+					newBuilder().
+						maximumSize(CAPACITY).
+						build();
+		}
+
+		private boolean supports(Set<MediaType> mediaTypes) {
+			return this.mediaTypes.equals(mediaTypes);
+		}
+
+		private Variant select(Request request, List<String> accepts) {
+			List<String> key=
+				accepts==null?
+					Collections.<String>emptyList():
+					ImmutableList.copyOf(accepts);
+			Optional<Variant> result=this.selections.getIfPresent(key);
+			if(result==null) {
+				result=Optional.fromNullable(request.selectVariant(this.variants));
+				this.selections.put(key,result);
+			}
+			return result.orNull();
+		}
+
+	}
+
+	/**
+	 * The maximum number of distinct {@code Accept} headers whose selection
+	 * is memoized.
+	 */
+	private static final int CAPACITY=256;
+
+	private static volatile Table current;
+
+	private VariantNegotiation() {
+	}
+
+	private static Table table(Set<MediaType> mediaTypes) {
+		Table table=current;
+		if(table==null || !table.supports(mediaTypes)) {
+			table=new Table(mediaTypes);
+			current=table;
+		}
+		return table;
+	}
+
+	/**
+	 * Select the variant to be served given the {@code Accept} headers of a
+	 * request.
+	 *
+	 * @return the selected variant, or {@code null} if none of the supported
+	 *         media types is acceptable
+	 * @throws IllegalArgumentException
+	 *             if the JAX-RS runtime cannot select a variant
+	 */
+	static Variant select(Request request, List<String> accepts) {
+		return table(DataTransformator.supportedMediaTypes()).select(request,accepts);
+	}
+
+}
@@ -0,0 +1,106 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import javax.ws.rs.core.MediaType;
+
+import org.ldp4j.rdf.util.TripleSet;
+import org.ldp4j.server.data.MediaTypeSupport.Marshaller;
+import org.ldp4j.server.data.spi.ContentTransformationException;
+import org.ldp4j.server.data.spi.Context;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A representation that is ready to be marshalled. The resources of the
+ * representation are resolved when the writer is created, so that the
+ * representation can be written once the resolution facilities are no longer
+ * available (i.e., once the application operation has been completed).
+ */
+public final class ContentWriter {
+
+	private final Context context;
+	private final Marshaller marshaller;
+	private final MediaType mediaType;
+	private final TripleSet triples;
+
+	ContentWriter(Context context, Marshaller marshaller, MediaType mediaType, TripleSet triples) {
+		this.context=context;
+		this.marshaller=marshaller;
+		this.mediaType=mediaType;
+		this.triples=triples;
+	}
+
+	/**
+	 * Get the number of triples of the representation, which can be used for
+	 * estimating the size of the marshalled representation.
+	 *
+	 * @return the number of triples of the representation
+	 */
+	public int size() {
+		return this.triples.size();
+	}
+
+	public MediaType mediaType() {
+		return this.mediaType;
+	}
+
+	/**
+	 * Marshall the representation writing it to a character stream. The
+	 * stream is not flushed nor closed.
+	 *
+	 * @param target
+	 *            the character stream where the representation will be written
+	 * @throws IOException
+	 *             if the representation cannot be marshalled or written
+	 */
+	public void writeTo(Writer target) throws IOException {
+		checkNotNull(target,"Target cannot be null");
+		try {
+			this.marshaller.marshall(this.context,this.triples,target);
+		} catch (ContentTransformationException e) {
+			throw new IOException("Resource representation cannot be serialized as '"+this.mediaType+"' ",e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return
+			MoreObjects.
+				toStringHelper(getClass()).
+					add("base",this.context.getBase()).
+					add("mediaType",this.mediaType).
+					add("triples",this.triples.size()).
+					toString();
+	}
+
+}
@@ -31,9 +31,14 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import javax.ws.rs.core.MediaType;
@@ -56,9 +61,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.io.CharStreams;
 
 // TODO: Add support for encodings
-// TODO: Add support for charsets
 // TODO: Add support for language
 public final class DataTransformator {
 
@@ -70,6 +76,8 @@ public final class DataTransformator {
 
 	private static final URI DEFAULT_ENDPOINT=URI.create("");
 
+	private static final MediaType TURTLE=new MediaType("text","turtle");
+
 	private URI endpoint;
 	private URI applicationBase;
 
@@ -161,6 +169,11 @@ public final class DataTransformator {
 
 		DataSet dataSet=DataSets.createDataSet(NamingScheme.getDefault().name(endpoint));
 		ValueAdapter adapter=new ValueAdapter(resourceResolver,dataSet);
+		List<Triple> triples=Lists.newArrayList();
+		for(TripleResolution tripleResolution:tripleResolver.tripleResolutions()) {
+			triples.add(tripleResolution.triple());
+		}
+		adapter.prefetch(triples);
 		for(TripleResolution tripleResolution:tripleResolver.tripleResolutions()) {
 			Triple triple=tripleResolution.triple();
 			Individual<?,?> individual=adapter.getIndividual(triple.getSubject(),tripleResolution.subjectResolution());
@@ -172,14 +185,21 @@ public final class DataTransformator {
 		return dataSet;
 	}
 
-	private DataSet permanentUnmarshall(String entity, URI endpoint) throws ContentTransformationException {
-		Context context =
+	private Context permanentContext(URI endpoint) {
+		return
 			ImmutableContext.
 				newInstance(endpoint).
 					setNamespaces(this.namespaces);
+	}
 
+	private DataSet permanentUnmarshall(String entity, URI endpoint) throws ContentTransformationException {
+		Unmarshaller unmarshaller=MediaTypeSupport.newUnmarshaller(mediaType);
+		return unmarshaller.unmarshall(permanentContext(endpoint),this.resourceResolver,entity);
+	}
+
+	private DataSet permanentUnmarshall(Reader entity, URI endpoint) throws ContentTransformationException {
 		Unmarshaller unmarshaller=MediaTypeSupport.newUnmarshaller(mediaType);
-		return unmarshaller.unmarshall(context,this.resourceResolver,entity);
+		return unmarshaller.unmarshall(permanentContext(endpoint),this.resourceResolver,entity);
 	}
 
 	public DataTransformator permanentEndpoint(URI endpoint) {
@@ -254,6 +274,64 @@ public final class DataTransformator {
 		}
 	}
 
+	/**
+	 * Unmarshall an RDF Patch entity. The statements of the patch are
+	 * resolved against the endpoint as if they were a Turtle entity.
+	 *
+	 * @param entity
+	 *            the patch to unmarshall
+	 * @return the changes defined by the patch
+	 * @throws IOException
+	 *             if the patch cannot be parsed
+	 */
+	public RDFPatch unmarshallPatch(String entity) throws IOException {
+		checkNotNull(entity,"Entity cannot be null");
+		try {
+			RDFPatch.Statements statements=RDFPatch.split(entity);
+			DataTransformator turtle=mediaType(TURTLE);
+			return
+				new RDFPatch(
+					turtle.unmarshall(statements.deletions()),
+					turtle.unmarshall(statements.insertions()));
+		} catch (ContentTransformationException e) {
+			throw new IOException("Entity cannot be parsed as '"+RDFPatch.MEDIA_TYPE+"'",e);
+		}
+	}
+
+	/**
+	 * Unmarshall an entity as it is read from a byte stream. Entities of
+	 * permanent endpoints are parsed while they are read whenever the media
+	 * type provider supports streaming. Entities of surrogate endpoints are
+	 * read completely before parsing them, as the resolution of the
+	 * surrogate resources requires parsing the entity twice. The stream is
+	 * consumed but not closed.
+	 *
+	 * @param entity
+	 *            the stream with the entity to unmarshall
+	 * @param charset
+	 *            the charset used for encoding the entity
+	 * @return the data set defined by the entity
+	 * @throws IOException
+	 *             if the entity cannot be read or parsed
+	 */
+	public DataSet unmarshall(InputStream entity, Charset charset) throws IOException {
+		checkNotNull(entity,"Entity cannot be null");
+		checkNotNull(charset,"Charset cannot be null");
+		checkNotNull(mediaType,MEDIA_TYPE_CANNOT_BE_NULL);
+		Reader reader=new InputStreamReader(entity,charset);
+		if(!this.permanent) {
+			return unmarshall(CharStreams.toString(reader));
+		}
+		LOGGER.trace("Unmarshalling entity stream using base '{}'...",baseEndpoint());
+		try {
+			DataSet result=permanentUnmarshall(reader,baseEndpoint());
+			LOGGER.trace("Unmarshalled data set: \n{}",result);
+			return result;
+		} catch (ContentTransformationException e) {
+			throw new IOException("Entity cannot be parsed as '"+mediaType+"'",e);
+		}
+	}
+
 	public String marshall(DataSet representation) throws IOException {
 		checkNotNull(representation,"Representation cannot be null");
 
@@ -273,6 +351,33 @@ public final class DataTransformator {
 		}
 	}
 
+	/**
+	 * Prepare a representation for being marshalled later on. The resources
+	 * of the representation are resolved straight away, whereas the
+	 * representation is only marshalled when the returned writer is used.
+	 *
+	 * @param representation
+	 *            the representation to marshall
+	 * @return a writer for the representation
+	 */
+	public ContentWriter prepare(DataSet representation) {
+		checkNotNull(representation,"Representation cannot be null");
+
+		Context context =
+			ImmutableContext.
+				newInstance(baseEndpoint()).
+					setNamespaces(this.namespaces);
+
+		Marshaller marshaller=MediaTypeSupport.newMarshaller(mediaType);
+		LOGGER.trace("Preparing marshalling using base '{}'",context.getBase());
+		return
+			new ContentWriter(
+				context,
+				marshaller,
+				this.mediaType,
+				marshaller.triples(this.resourceResolver,context,representation));
+	}
+
 	public static Set<MediaType> supportedMediaTypes() {
 		return RuntimeDelegate.getInstance().getSupportedMediaTypes();
 	}
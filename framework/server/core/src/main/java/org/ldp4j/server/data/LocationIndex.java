@@ -0,0 +1,133 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.ldp4j.application.data.ManagedIndividualId;
+import org.ldp4j.server.utils.URIHelper;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Index of the locations of the managed individuals referred to in a request
+ * entity. For each location the index keeps the longest parent (including
+ * the location itself) that identifies a managed individual, so that each
+ * candidate location is looked up at most once per entity, and the parents of
+ * a location are probed in memory once they are known. If the resolver is a
+ * {@link BatchResourceResolver} the candidates of a batch of locations can be
+ * looked up all together.
+ */
+final class LocationIndex {
+
+	private final ResourceResolver resolver;
+
+	private final Map<URI,ManagedIndividualId> resolved;
+	private final Set<URI> unresolved;
+	private final Map<URI,Entry<URI,ManagedIndividualId>> matches;
+
+	LocationIndex(ResourceResolver resolver) {
+		this.resolver=resolver;
+		this.resolved=Maps.newHashMap();
+		this.unresolved=Sets.newHashSet();
+		this.matches=Maps.newHashMap();
+	}
+
+	private boolean isKnown(URI location) {
+		return this.resolved.containsKey(location) || this.unresolved.contains(location);
+	}
+
+	private void record(URI location, ManagedIndividualId id) {
+		if(id!=null) {
+			this.resolved.put(location,id);
+		} else {
+			this.unresolved.add(location);
+		}
+	}
+
+	/**
+	 * Look up at once the locations, and their parents, that have not been
+	 * looked up yet. Does nothing if the resolver does not support batch
+	 * resolution.
+	 */
+	void prefetch(Collection<URI> locations) {
+		if(!(this.resolver instanceof BatchResourceResolver)) {
+			return;
+		}
+		Set<URI> candidates=Sets.newLinkedHashSet();
+		for(URI location:locations) {
+			if(this.matches.containsKey(location)) {
+				continue;
+			}
+			for(URI parent:URIHelper.getParents(location)) {
+				if(!isKnown(parent)) {
+					candidates.add(parent);
+				}
+			}
+		}
+		if(candidates.isEmpty()) {
+			return;
+		}
+		Map<URI,ManagedIndividualId> ids=((BatchResourceResolver)this.resolver).resolveLocations(candidates);
+		for(URI candidate:candidates) {
+			record(candidate,ids.get(candidate));
+		}
+	}
+
+	/**
+	 * Find the longest parent of a location that identifies a managed
+	 * individual.
+	 *
+	 * @return the parent location and the identifier of the managed
+	 *         individual published at it, or {@code null} if none of the
+	 *         parents identifies a managed individual.
+	 */
+	Entry<URI,ManagedIndividualId> find(URI location) {
+		if(this.matches.containsKey(location)) {
+			return this.matches.get(location);
+		}
+		Entry<URI,ManagedIndividualId> match=null;
+		for(URI parent:URIHelper.getParents(location)) {
+			if(!isKnown(parent)) {
+				record(parent,this.resolver.resolveLocation(parent));
+			}
+			ManagedIndividualId id=this.resolved.get(parent);
+			if(id!=null) {
+				match=Maps.immutableEntry(parent,id);
+				break;
+			}
+		}
+		this.matches.put(location,match);
+		return match;
+	}
+
+}
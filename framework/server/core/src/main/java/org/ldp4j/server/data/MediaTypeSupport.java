@@ -29,6 +29,11 @@ package org.ldp4j.server.data;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collection;
+
 import javax.ws.rs.core.MediaType;
 
 import org.ldp4j.application.data.DataSet;
@@ -41,6 +46,9 @@ import org.ldp4j.server.data.spi.ContentTransformationException;
 import org.ldp4j.server.data.spi.Context;
 import org.ldp4j.server.data.spi.MediaTypeProvider;
 import org.ldp4j.server.data.spi.RuntimeDelegate;
+import org.ldp4j.server.data.spi.StreamingMediaTypeProvider;
+
+import com.google.common.io.CharStreams;
 
 final class MediaTypeSupport {
 
@@ -55,14 +63,36 @@ final class MediaTypeSupport {
 		}
 
 		String marshall(Context context, ResourceResolver resourceResolver, DataSet content) throws ContentTransformationException {
+			return this.provider.marshallContent(context,triples(resourceResolver,context,content),this.targetMediaType);
+		}
+
+		TripleSet triples(ResourceResolver resourceResolver, Context context, DataSet content) {
 			checkNotNull(content,"Content cannot be null");
 			TripleSetBuilder tripleSetBuilder =
 				new TripleSetBuilder(resourceResolver,context.getBase());
 			for(Individual<?,?> individual:content) {
 				tripleSetBuilder.generateTriples(individual);
 			}
-			TripleSet triples=tripleSetBuilder.build();
-			return this.provider.marshallContent(context,triples,this.targetMediaType);
+			return tripleSetBuilder.build();
+		}
+
+		/**
+		 * Marshall the triples writing them to a character stream. If the
+		 * provider does not support streaming the content is marshalled
+		 * completely before writing it.
+		 */
+		void marshall(Context context, Iterable<Triple> triples, Writer target) throws ContentTransformationException {
+			if(this.provider instanceof StreamingMediaTypeProvider) {
+				((StreamingMediaTypeProvider)this.provider).
+					marshallContent(context,triples,this.targetMediaType,target);
+			} else {
+				String content=this.provider.marshallContent(context,triples,this.targetMediaType);
+				try {
+					target.write(content);
+				} catch (IOException e) {
+					throw new ContentTransformationException("Could not write contents",e);
+				}
+			}
 		}
 	}
 
@@ -82,11 +112,47 @@ final class MediaTypeSupport {
 			Iterable<Triple> triples=
 				this.provider.
 					unmarshallContent(context,content,this.targetMediaType);
+			return toDataSet(context,resourceResolver,triples);
+		}
+
+		/**
+		 * Unmarshall the content available in a character stream. If the
+		 * provider does not support streaming the content is read completely
+		 * before unmarshalling it.
+		 */
+		DataSet unmarshall(Context context, ResourceResolver resourceResolver, Reader content) throws ContentTransformationException {
+			checkNotNull(content,"Content cannot be null");
+			Iterable<Triple> triples=null;
+			if(this.provider instanceof StreamingMediaTypeProvider) {
+				triples=
+					((StreamingMediaTypeProvider)this.provider).
+						unmarshallContent(context,content,this.targetMediaType);
+			} else {
+				triples=
+					this.provider.
+						unmarshallContent(context,read(content),this.targetMediaType);
+			}
+			return toDataSet(context,resourceResolver,triples);
+		}
+
+		private String read(Reader content) throws ContentTransformationException {
+			try {
+				return CharStreams.toString(content);
+			} catch (IOException e) {
+				throw new ContentTransformationException("Could not read contents",e);
+			}
+		}
+
+		private DataSet toDataSet(Context context, ResourceResolver resourceResolver, Iterable<Triple> triples) {
 			DataSet dataSet=
 				DataSets.
 					createDataSet(
 						NamingScheme.getDefault().name(context.getBase()));
 			ValueAdapter adapter=new ValueAdapter(resourceResolver,dataSet);
+			if(triples instanceof Collection<?>) {
+				// Streamed triples cannot be traversed twice
+				adapter.prefetch(triples);
+			}
 			ResourceResolution nullResolution=
 				ResourceResolutionFactory.nullResolution();
 			for(Triple triple:triples) {
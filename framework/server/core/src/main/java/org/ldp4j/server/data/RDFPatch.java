@@ -0,0 +1,157 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.ws.rs.core.MediaType;
+
+import org.ldp4j.application.data.DataSet;
+import org.ldp4j.server.data.spi.ContentTransformationException;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * The changes defined by an <a href="https://afs.github.io/rdf-patch/">RDF
+ * Patch</a> entity. Only the rows of a single graph are supported: data rows
+ * ({@code A} and {@code D}) are parsed as Turtle statements relative to the
+ * endpoint, prefix rows ({@code PA}) are applied to all the data rows, and
+ * header ({@code H}) and transaction ({@code TX}, {@code TC}) rows are
+ * ignored. As the deletions are applied before the insertions, all the
+ * {@code D} rows must precede the {@code A} rows.
+ */
+public final class RDFPatch {
+
+	/**
+	 * The media type of RDF Patch entities.
+	 */
+	public static final MediaType MEDIA_TYPE=new MediaType("application","rdf-patch");
+
+	/**
+	 * The Turtle documents with the statements to delete and insert.
+	 */
+	static final class Statements {
+
+		private final StringBuilder prefixes=new StringBuilder();
+		private final StringBuilder deletions=new StringBuilder();
+		private final StringBuilder insertions=new StringBuilder();
+
+		String deletions() {
+			return this.prefixes.toString()+this.deletions;
+		}
+
+		String insertions() {
+			return this.prefixes.toString()+this.insertions;
+		}
+
+	}
+
+	private final DataSet deletions;
+	private final DataSet insertions;
+
+	RDFPatch(DataSet deletions, DataSet insertions) {
+		this.deletions=checkNotNull(deletions,"Deletions cannot be null");
+		this.insertions=checkNotNull(insertions,"Insertions cannot be null");
+	}
+
+	public DataSet deletions() {
+		return this.deletions;
+	}
+
+	public DataSet insertions() {
+		return this.insertions;
+	}
+
+	@Override
+	public String toString() {
+		return
+			MoreObjects.
+				toStringHelper(getClass()).
+					omitNullValues().
+					add("deletions",this.deletions).
+					add("insertions",this.insertions).
+					toString();
+	}
+
+	static Statements split(String entity) throws ContentTransformationException {
+		Statements statements=new Statements();
+		int lineNumber=0;
+		for(String rawLine:entity.split("\r?\n|\r")) {
+			lineNumber++;
+			String line=rawLine.trim();
+			if(line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			int separator=firstWhitespace(line);
+			String code=line.substring(0,separator);
+			String row=line.substring(separator).trim();
+			if("A".equals(code)) {
+				statements.insertions.append(row).append('\n');
+			} else if("D".equals(code)) {
+				if(statements.insertions.length()>0) {
+					throw new ContentTransformationException("Deletion found after insertions at line "+lineNumber);
+				}
+				statements.deletions.append(row).append('\n');
+			} else if("PA".equals(code)) {
+				statements.prefixes.append("@prefix ").append(prefix(row)).append('\n');
+			} else if(!isIgnored(code)) {
+				throw new ContentTransformationException("Unsupported row '"+code+"' at line "+lineNumber);
+			}
+		}
+		return statements;
+	}
+
+	/**
+	 * RDF Patch prefix rows do not include the colon after the prefix name
+	 */
+	private static String prefix(String row) {
+		int separator=firstWhitespace(row);
+		String name=row.substring(0,separator);
+		if(!name.endsWith(":")) {
+			name=name+":";
+		}
+		return name+row.substring(separator);
+	}
+
+	private static boolean isIgnored(String code) {
+		return
+			"H".equals(code)  ||
+			"TX".equals(code) ||
+			"TC".equals(code) ||
+			"PD".equals(code);
+	}
+
+	private static int firstWhitespace(String line) {
+		for(int i=0;i<line.length();i++) {
+			if(Character.isWhitespace(line.charAt(i))) {
+				return i;
+			}
+		}
+		return line.length();
+	}
+
+}
@@ -28,13 +28,16 @@ package org.ldp4j.server.data;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 import javax.ws.rs.core.MediaType;
 
 import org.ldp4j.rdf.Node;
 import org.ldp4j.rdf.NodeVisitor;
+import org.ldp4j.rdf.Resource;
 import org.ldp4j.rdf.Triple;
 import org.ldp4j.rdf.URIRef;
+import org.ldp4j.rdf.util.RDFModelDSL;
 import org.ldp4j.server.data.spi.ContentTransformationException;
 import org.ldp4j.server.data.spi.MediaTypeProvider;
 import org.ldp4j.server.data.spi.RuntimeDelegate;
@@ -42,6 +45,7 @@ import org.ldp4j.server.data.spi.RuntimeDelegate;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.Maps;
 
 final class TripleResolver {
 
@@ -109,6 +113,28 @@ final class TripleResolver {
 
 		}
 
+		/**
+		 * Translates the nodes parsed using the alternative URI as base into
+		 * the nodes that would have been parsed using the endpoint URI as
+		 * base. Both URIs only differ in their authority, so the URIs that
+		 * were relative in the entity are exactly those that use the
+		 * authority of the alternative URI.
+		 */
+		private final class EndpointTranslator extends NodeVisitor<Node> {
+
+			@Override
+			public Node visitURIRef(URIRef node, Node defaultResult) {
+				return endpointURIRef(node);
+			}
+
+		}
+
+		private final Map<URIRef,URIRef> endpointURIRefs=Maps.newHashMap();
+		private final Map<URIRef,ResourceResolution> resolutions=Maps.newHashMap();
+		private final EndpointTranslator translator=new EndpointTranslator();
+		private String endpointPrefix;
+		private String alternativePrefix;
+
 		private MediaTypeProvider unmarshaller;
 		private URIResolver resolver;
 		private URIDescriber describer;
@@ -145,7 +171,82 @@ final class TripleResolver {
 			return new TripleResolver(this.result);
 		}
 
+		private static String authorityPrefix(URI uri) {
+			return uri.getScheme()+"://"+uri.getRawAuthority();
+		}
+
+		/**
+		 * The entity can only be parsed once if the endpoint and the
+		 * alternative URIs only differ in their authority, which is always the
+		 * case for the alternatives created by the {@link DataTransformator},
+		 * and if the entity does not refer explicitly to the authority of the
+		 * alternative URI, as otherwise relative and absolute URIs could not
+		 * be told apart.
+		 */
+		private boolean isSinglePassResolutionSupported() {
+			URI endpoint=this.result.endpoint();
+			URI alternative=this.result.alternative();
+			return
+				!this.result.entity().contains(authorityPrefix(alternative)) &&
+				endpoint.getRawAuthority()!=null &&
+				alternative.getRawAuthority()!=null &&
+				endpoint.getScheme().equals(alternative.getScheme()) &&
+				endpoint.getRawPath().equals(alternative.getRawPath()) &&
+				endpoint.getRawQuery()==null && alternative.getRawQuery()==null &&
+				endpoint.getRawFragment()==null && alternative.getRawFragment()==null;
+		}
+
 		private List<TripleResolution> createResolutions() throws ContentTransformationException {
+			if(!isSinglePassResolutionSupported()) {
+				return createPairedResolutions();
+			}
+			this.endpointPrefix=authorityPrefix(this.result.endpoint());
+			this.alternativePrefix=authorityPrefix(this.result.alternative());
+			Builder<TripleResolution> builder = ImmutableList.builder();
+			for(Triple alternativeTriple:triples(this.result.alternative())) {
+				Triple endpointTriple=
+					new Triple(
+						(Resource<?>)alternativeTriple.getSubject().accept(this.translator,alternativeTriple.getSubject()),
+						endpointURIRef(alternativeTriple.getPredicate()),
+						alternativeTriple.getObject().accept(this.translator,alternativeTriple.getObject()));
+				builder.add(
+					new ImmutableTripleResolution(
+						endpointTriple,
+						resolveAlternativeResource(alternativeTriple.getSubject()),
+						resolveAlternativeResource(alternativeTriple.getObject())));
+			}
+			return builder.build();
+		}
+
+		private URIRef endpointURIRef(URIRef alternativeURIRef) {
+			URIRef endpointURIRef=this.endpointURIRefs.get(alternativeURIRef);
+			if(endpointURIRef==null) {
+				endpointURIRef=alternativeURIRef;
+				String rawURI=alternativeURIRef.getIdentity().toString();
+				int length=this.alternativePrefix.length();
+				if(rawURI.startsWith(this.alternativePrefix) && (rawURI.length()==length || "/?#".indexOf(rawURI.charAt(length))>=0)) {
+					endpointURIRef=RDFModelDSL.uriRef(URI.create(this.endpointPrefix+rawURI.substring(length)));
+				}
+				this.endpointURIRefs.put(alternativeURIRef,endpointURIRef);
+			}
+			return endpointURIRef;
+		}
+
+		private ResourceResolution resolveAlternativeResource(Node alternativeNode) {
+			if(!(alternativeNode instanceof URIRef)) {
+				return ResourceResolutionFactory.nullResolution();
+			}
+			URIRef alternativeURIRef=(URIRef)alternativeNode;
+			ResourceResolution resolution=this.resolutions.get(alternativeURIRef);
+			if(resolution==null) {
+				URI uri=resolver.resolve(endpointURIRef(alternativeURIRef).getIdentity(),alternativeURIRef.getIdentity());
+				resolution=ResourceResolutionFactory.customResolution(uri,describer.describe(uri));
+				this.resolutions.put(alternativeURIRef,resolution);
+			}
+			return resolution;
+		}
+
+		private List<TripleResolution> createPairedResolutions() throws ContentTransformationException {
 			List<Triple> endpointTriples=triples(this.result.endpoint());
 			List<Triple> alternativeTriples=triples(this.result.alternative());
 			Builder<TripleResolution> builder = ImmutableList.builder();
@@ -27,6 +27,8 @@
 package org.ldp4j.server.data;
 
 import java.net.URI;
+import java.util.List;
+import java.util.Map.Entry;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 
@@ -49,9 +51,11 @@ import org.ldp4j.rdf.Literal;
 import org.ldp4j.rdf.Node;
 import org.ldp4j.rdf.NodeVisitor;
 import org.ldp4j.rdf.Resource;
+import org.ldp4j.rdf.Triple;
 import org.ldp4j.rdf.TypedLiteral;
 import org.ldp4j.rdf.URIRef;
-import org.ldp4j.server.utils.URIHelper;
+
+import com.google.common.collect.Lists;
 
 final class ValueAdapter {
 
@@ -98,7 +102,7 @@ final class ValueAdapter {
 
 	}
 
-	private final ResourceResolver resourceResolver;
+	private final LocationIndex locationIndex;
 
 	private final ObjectGenerator objectGenerator;
 	private final IndividualGenerator individualGenerator;
@@ -108,7 +112,7 @@ final class ValueAdapter {
 	private ResourceResolution resolution;
 
 	ValueAdapter(ResourceResolver resourceResolver, DataSet dataSet) {
-		this.resourceResolver = resourceResolver;
+		this.locationIndex = new LocationIndex(resourceResolver);
 		this.dataSet = dataSet;
 		this.individualGenerator = new IndividualGenerator();
 		this.objectGenerator = new ObjectGenerator();
@@ -128,19 +132,18 @@ final class ValueAdapter {
 			return this.dataSet.individual(this.resolution.realURI(),NewIndividual.class);
 		}
 		URI location = node.getIdentity();
-		for(URI identity:URIHelper.getParents(location)) {
-			ManagedIndividualId resourceId = this.resourceResolver.resolveLocation(identity);
-			if(resourceId!=null) {
-				if(identity.equals(location)) {
-					return this.dataSet.individual(resourceId, ManagedIndividual.class);
-				} else {
-					URI relativePath = identity.relativize(location);
-					RelativeIndividualId relativeId = RelativeIndividualId.createId(resourceId, relativePath);
-					return this.dataSet.individual(relativeId,RelativeIndividual.class);
-				}
-			}
+		Entry<URI,ManagedIndividualId> match = this.locationIndex.find(location);
+		if(match==null) {
+			return this.dataSet.individual(location,ExternalIndividual.class);
+		}
+		URI identity = match.getKey();
+		ManagedIndividualId resourceId = match.getValue();
+		if(identity.equals(location)) {
+			return this.dataSet.individual(resourceId, ManagedIndividual.class);
 		}
-		return this.dataSet.individual(location,ExternalIndividual.class);
+		URI relativePath = identity.relativize(location);
+		RelativeIndividualId relativeId = RelativeIndividualId.createId(resourceId, relativePath);
+		return this.dataSet.individual(relativeId,RelativeIndividual.class);
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -151,6 +154,25 @@ final class ValueAdapter {
 				LocalIndividual.class);
 	}
 
+	/**
+	 * Resolve at once the locations of the URI references used as subject or
+	 * object of the given triples.
+	 */
+	void prefetch(Iterable<Triple> triples) {
+		List<URI> locations=Lists.newArrayList();
+		for(Triple triple:triples) {
+			addLocation(triple.getSubject(),locations);
+			addLocation(triple.getObject(),locations);
+		}
+		this.locationIndex.prefetch(locations);
+	}
+
+	private static void addLocation(Node node, List<URI> locations) {
+		if(node instanceof URIRef) {
+			locations.add(((URIRef)node).getIdentity());
+		}
+	}
+
 	Individual<?,?> getIndividual(Resource<?> resource, ResourceResolution resolution) {
 		this.resolution = resolution;
 		return resource.accept(this.individualGenerator);
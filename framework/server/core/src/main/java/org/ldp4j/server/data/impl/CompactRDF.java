@@ -0,0 +1,137 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Definitions of the compact RDF format. The format is line oriented: the
+ * first line is a header, and each of the following lines is a record whose
+ * first character identifies its kind:
+ * <ul>
+ * <li>{@code U<uri>}: defines a URI.</li>
+ * <li>{@code B<label>}: defines a blank node.</li>
+ * <li>{@code L<value>}: defines a plain literal.</li>
+ * <li>{@code G<language>\t<value>}: defines a language literal.</li>
+ * <li>{@code D<datatype>\t<value>}: defines a typed literal, whose datatype
+ * is the identifier of a previously defined URI.</li>
+ * <li>{@code T<subject>\t<predicate>\t<object>}: defines a triple using the
+ * identifiers of previously defined terms.</li>
+ * </ul>
+ * Terms are identified by their order of definition, starting at zero, and
+ * identifiers are written in base 36. Backslashes, tabs and line breaks
+ * within values are escaped.
+ */
+final class CompactRDF {
+
+	static final String HEADER         = "ldp4j-rdf/1";
+
+	static final char URI              = 'U';
+	static final char BLANK_NODE       = 'B';
+	static final char LITERAL          = 'L';
+	static final char LANGUAGE_LITERAL = 'G';
+	static final char TYPED_LITERAL    = 'D';
+	static final char TRIPLE           = 'T';
+
+	static final char SEPARATOR        = '\t';
+	static final char END_OF_RECORD    = '\n';
+	static final char ESCAPE           = '\\';
+
+	static final int RADIX             = Character.MAX_RADIX;
+
+	private CompactRDF() {
+	}
+
+	static void escape(String value, Writer writer) throws IOException {
+		int length=value.length();
+		int start=0;
+		for(int i=0;i<length;i++) {
+			char c=value.charAt(i);
+			char escaped=0;
+			switch(c) {
+				case ESCAPE:
+					escaped=ESCAPE;
+					break;
+				case SEPARATOR:
+					escaped='t';
+					break;
+				case END_OF_RECORD:
+					escaped='n';
+					break;
+				case '\r':
+					escaped='r';
+					break;
+				default:
+					break;
+			}
+			if(escaped!=0) {
+				writer.write(value,start,i-start);
+				writer.write(ESCAPE);
+				writer.write(escaped);
+				start=i+1;
+			}
+		}
+		writer.write(value,start,length-start);
+	}
+
+	static String unescape(String value, int start, int end) {
+		int escape=value.indexOf(ESCAPE,start);
+		if(escape<0 || escape>=end) {
+			return value.substring(start,end);
+		}
+		StringBuilder builder=new StringBuilder(end-start);
+		for(int i=start;i<end;i++) {
+			char c=value.charAt(i);
+			if(c==ESCAPE && i+1<end) {
+				i++;
+				c=unescape(value.charAt(i));
+			}
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+
+	private static char unescape(char c) {
+		char result=c;
+		switch(c) {
+			case 't':
+				result=SEPARATOR;
+				break;
+			case 'n':
+				result=END_OF_RECORD;
+				break;
+			case 'r':
+				result='\r';
+				break;
+			default:
+				break;
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,194 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ldp4j.rdf.Node;
+import org.ldp4j.rdf.Resource;
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.rdf.URIRef;
+import org.ldp4j.rdf.rdf4j.RDF4JModelParser;
+import org.ldp4j.rdf.util.RDFModelDSL;
+import org.ldp4j.rdf.util.TermDictionary;
+
+/**
+ * Reads triples written using the compact RDF format. Relative URIs are
+ * resolved against the base. Each term is decoded only once, and the triples
+ * reuse the decoded terms.
+ */
+final class CompactRDFDecoder {
+
+	/**
+	 * The maximum number of digits of a term identifier, so that it can be
+	 * accumulated without overflowing.
+	 */
+	private static final int MAX_ID_DIGITS=Integer.toString(Integer.MAX_VALUE,CompactRDF.RADIX).length();
+
+	private final URI base;
+	private final TermDictionary dictionary;
+	private final RDF4JModelParser literalParser;
+	private final List<Node> terms;
+	private final List<String> uris;
+
+	CompactRDFDecoder(URI base) {
+		this.base=base;
+		this.dictionary=new TermDictionary();
+		this.literalParser=new RDF4JModelParser(null,this.dictionary);
+		this.terms=new ArrayList<Node>();
+		this.uris=new ArrayList<String>();
+	}
+
+	private static IOException failure(int lineNumber, String message) {
+		return new IOException("Invalid compact RDF record at line "+lineNumber+": "+message);
+	}
+
+	private static int separator(String line, int from, int lineNumber) throws IOException {
+		int result=line.indexOf(CompactRDF.SEPARATOR,from);
+		if(result<0) {
+			throw failure(lineNumber,"missing separator");
+		}
+		return result;
+	}
+
+	private int id(String line, int start, int end, int lineNumber) throws IOException {
+		int result=0;
+		if(start==end) {
+			throw failure(lineNumber,"missing term identifier");
+		}
+		if(end-start>MAX_ID_DIGITS) {
+			throw failure(lineNumber,"term identifier too long");
+		}
+		for(int i=start;i<end;i++) {
+			int digit=Character.digit(line.charAt(i),CompactRDF.RADIX);
+			if(digit<0) {
+				throw failure(lineNumber,"invalid term identifier");
+			}
+			result=result*CompactRDF.RADIX+digit;
+		}
+		if(result<0 || result>=this.terms.size()) {
+			throw failure(lineNumber,"undefined term "+Integer.toString(result,CompactRDF.RADIX));
+		}
+		return result;
+	}
+
+	private void defineURI(String value) {
+		URI uri=URI.create(value);
+		if(!uri.isAbsolute()) {
+			uri=this.dictionary.resolve(this.base,uri);
+		}
+		this.terms.add(RDFModelDSL.uriRef(uri));
+		this.uris.add(uri.toString());
+	}
+
+	private void defineTerm(Node term) {
+		this.terms.add(term);
+		this.uris.add(null);
+	}
+
+	private Triple triple(String line, int lineNumber) throws IOException {
+		int first=separator(line,1,lineNumber);
+		int second=separator(line,first+1,lineNumber);
+		Node subject=this.terms.get(id(line,1,first,lineNumber));
+		Node predicate=this.terms.get(id(line,first+1,second,lineNumber));
+		Node object=this.terms.get(id(line,second+1,line.length(),lineNumber));
+		if(!(subject instanceof Resource<?>)) {
+			throw failure(lineNumber,"subject is not a resource");
+		}
+		if(!(predicate instanceof URIRef)) {
+			throw failure(lineNumber,"predicate is not a URI");
+		}
+		return new Triple((Resource<?>)subject,(URIRef)predicate,object);
+	}
+
+	private void process(String line, int lineNumber, List<Triple> triples) throws IOException {
+		if(line.isEmpty()) {
+			throw failure(lineNumber,"empty record");
+		}
+		char kind=line.charAt(0);
+		switch(kind) {
+			case CompactRDF.TRIPLE:
+				triples.add(triple(line,lineNumber));
+				break;
+			case CompactRDF.URI:
+				defineURI(CompactRDF.unescape(line,1,line.length()));
+				break;
+			case CompactRDF.BLANK_NODE:
+				defineTerm(this.dictionary.blankNode(CompactRDF.unescape(line,1,line.length())));
+				break;
+			case CompactRDF.LITERAL:
+				defineTerm(this.literalParser.parseLiteral(CompactRDF.unescape(line,1,line.length()),null,null));
+				break;
+			case CompactRDF.LANGUAGE_LITERAL:
+				int languageEnd=separator(line,1,lineNumber);
+				defineTerm(
+					this.literalParser.
+						parseLiteral(
+							CompactRDF.unescape(line,languageEnd+1,line.length()),
+							null,
+							CompactRDF.unescape(line,1,languageEnd)));
+				break;
+			case CompactRDF.TYPED_LITERAL:
+				int typeEnd=separator(line,1,lineNumber);
+				String datatype=this.uris.get(id(line,1,typeEnd,lineNumber));
+				if(datatype==null) {
+					throw failure(lineNumber,"datatype is not a URI");
+				}
+				defineTerm(
+					this.literalParser.
+						parseLiteral(
+							CompactRDF.unescape(line,typeEnd+1,line.length()),
+							datatype,
+							null));
+				break;
+			default:
+				throw failure(lineNumber,"unknown record kind '"+kind+"'");
+		}
+	}
+
+	List<Triple> decode(Reader content) throws IOException {
+		BufferedReader reader=new BufferedReader(content);
+		String header=reader.readLine();
+		if(!CompactRDF.HEADER.equals(header)) {
+			throw new IOException("Content is not in compact RDF format");
+		}
+		List<Triple> triples=new ArrayList<Triple>();
+		int lineNumber=1;
+		String line=null;
+		while((line=reader.readLine())!=null) {
+			lineNumber++;
+			process(line,lineNumber,triples);
+		}
+		return triples;
+	}
+
+}
@@ -0,0 +1,231 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.XMLSchema;
+import org.ldp4j.rdf.BlankNode;
+import org.ldp4j.rdf.Datatype;
+import org.ldp4j.rdf.LanguageLiteral;
+import org.ldp4j.rdf.Literal;
+import org.ldp4j.rdf.Node;
+import org.ldp4j.rdf.NodeVisitor;
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.rdf.TypedLiteral;
+import org.ldp4j.rdf.URIRef;
+import org.ldp4j.rdf.util.TermDictionary;
+
+/**
+ * Writes triples using the compact RDF format. Each distinct term is defined
+ * once, the first time it is used, and triples are then written as
+ * references to the identifiers of their terms. URIs are resolved against
+ * the base before being written, so the output only includes absolute URIs.
+ */
+final class CompactRDFEncoder {
+
+	/**
+	 * Defines the terms that have not been used before, returning their
+	 * identifiers.
+	 */
+	private final class TermDefiner extends NodeVisitor<Integer> {
+
+		@Override
+		public Integer visitURIRef(URIRef node, Integer defaultResult) {
+			return uriId(dictionary.resolve(base,node.getIdentity()).toString());
+		}
+
+		@Override
+		public Integer visitBlankNode(BlankNode node, Integer defaultResult) {
+			return define(CompactRDF.BLANK_NODE,null,node.getIdentity());
+		}
+
+		/**
+		 * Plain literals whose values are not strings are written as typed
+		 * literals, using the same datatypes and lexical forms used by the
+		 * other RDF media type providers.
+		 */
+		@Override
+		public Integer visitLiteral(Literal<?> node, Integer defaultResult) {
+			org.eclipse.rdf4j.model.Literal literal=toRDF4J(node.getValue());
+			IRI datatype=literal.getDatatype();
+			if(datatype==null || XMLSchema.STRING.equals(datatype)) {
+				return define(CompactRDF.LITERAL,null,literal.getLabel());
+			}
+			return defineTypedLiteral(datatype.stringValue(),literal.getLabel());
+		}
+
+		@Override
+		public Integer visitLanguageLiteral(LanguageLiteral node, Integer defaultResult) {
+			return define(CompactRDF.LANGUAGE_LITERAL,node.getLanguage(),node.getValue());
+		}
+
+		/**
+		 * String literals are written as plain literals, as they are
+		 * equivalent and do not require defining the datatype.
+		 */
+		@Override
+		public Integer visitTypedLiteral(TypedLiteral<?> node, Integer defaultResult) {
+			if(Datatype.STRING.equals(node.getType())) {
+				return define(CompactRDF.LITERAL,null,node.getValue().toString());
+			}
+			return defineTypedLiteral(node.getType().toURI().toString(),node.getValue().toString());
+		}
+
+	}
+
+	/**
+	 * Wraps the failures of the writer while visiting the terms.
+	 */
+	private static final class EncodingException extends RuntimeException {
+
+		private static final long serialVersionUID = 2895823622101367451L;
+
+		private EncodingException(IOException cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized IOException getCause() {
+			return (IOException)super.getCause();
+		}
+
+	}
+
+	private static final ValueFactory VALUE_FACTORY=SimpleValueFactory.getInstance();
+
+	private final Writer writer;
+	private final URI base;
+	private final TermDictionary dictionary;
+	private final Map<Node,Integer> terms;
+	private final Map<String,Integer> uris;
+	private final TermDefiner termDefiner;
+	private int nextId;
+
+	CompactRDFEncoder(Writer writer, URI base) {
+		this.writer=writer;
+		this.base=base;
+		this.dictionary=new TermDictionary();
+		this.terms=new HashMap<Node,Integer>();
+		this.uris=new HashMap<String,Integer>();
+		this.termDefiner=new TermDefiner();
+	}
+
+	private static org.eclipse.rdf4j.model.Literal toRDF4J(Object value) {
+		org.eclipse.rdf4j.model.Literal result=null;
+		if(value instanceof Boolean) {
+			result=VALUE_FACTORY.createLiteral((Boolean)value);
+		} else if(value instanceof Integer) {
+			result=VALUE_FACTORY.createLiteral((Integer)value);
+		} else if(value instanceof Double) {
+			result=VALUE_FACTORY.createLiteral((Double)value);
+		} else if(value instanceof Float) {
+			result=VALUE_FACTORY.createLiteral((Float)value);
+		} else if(value instanceof Long) {
+			result=VALUE_FACTORY.createLiteral((Long)value);
+		} else if(value instanceof Short) {
+			result=VALUE_FACTORY.createLiteral((Short)value);
+		} else if(value instanceof Date) {
+			result=VALUE_FACTORY.createLiteral((Date)value);
+		} else {
+			result=VALUE_FACTORY.createLiteral(value.toString());
+		}
+		return result;
+	}
+
+	private int define(char kind, String qualifier, String value) {
+		try {
+			this.writer.write(kind);
+			if(qualifier!=null) {
+				CompactRDF.escape(qualifier,this.writer);
+				this.writer.write(CompactRDF.SEPARATOR);
+			}
+			CompactRDF.escape(value,this.writer);
+			this.writer.write(CompactRDF.END_OF_RECORD);
+		} catch (IOException e) {
+			throw new EncodingException(e);
+		}
+		return this.nextId++;
+	}
+
+	private int defineTypedLiteral(String datatype, String lexicalForm) {
+		return define(CompactRDF.TYPED_LITERAL,Integer.toString(uriId(datatype),CompactRDF.RADIX),lexicalForm);
+	}
+
+	/**
+	 * URIs are shared between resources and datatypes, so that each one is
+	 * only defined once regardless of the role it plays.
+	 */
+	private int uriId(String uri) {
+		Integer id=this.uris.get(uri);
+		if(id==null) {
+			id=define(CompactRDF.URI,null,uri);
+			this.uris.put(uri,id);
+		}
+		return id;
+	}
+
+	private int termId(Node node) {
+		Integer id=this.terms.get(node);
+		if(id==null) {
+			id=node.accept(this.termDefiner);
+			this.terms.put(node,id);
+		}
+		return id;
+	}
+
+	void start() throws IOException {
+		this.writer.write(CompactRDF.HEADER);
+		this.writer.write(CompactRDF.END_OF_RECORD);
+	}
+
+	void encode(Triple triple) throws IOException {
+		try {
+			int subject=termId(triple.getSubject());
+			int predicate=termId(triple.getPredicate());
+			int object=termId(triple.getObject());
+			this.writer.write(CompactRDF.TRIPLE);
+			this.writer.write(Integer.toString(subject,CompactRDF.RADIX));
+			this.writer.write(CompactRDF.SEPARATOR);
+			this.writer.write(Integer.toString(predicate,CompactRDF.RADIX));
+			this.writer.write(CompactRDF.SEPARATOR);
+			this.writer.write(Integer.toString(object,CompactRDF.RADIX));
+			this.writer.write(CompactRDF.END_OF_RECORD);
+		} catch (EncodingException e) {
+			throw e.getCause();
+		}
+	}
+
+}
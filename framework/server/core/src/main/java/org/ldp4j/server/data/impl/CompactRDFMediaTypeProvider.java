@@ -0,0 +1,92 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import javax.ws.rs.core.MediaType;
+
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.server.data.spi.ContentTransformationException;
+import org.ldp4j.server.data.spi.Context;
+import org.ldp4j.server.data.spi.StreamingMediaTypeProvider;
+
+/**
+ * Media type provider for the compact RDF format, meant for machine clients
+ * that do not need a human readable representation. Neither prefixes nor
+ * layout are computed when marshalling, and each distinct term is only
+ * written and parsed once.
+ *
+ * @see CompactRDF
+ */
+public class CompactRDFMediaTypeProvider extends AbstractMediaTypeProvider implements StreamingMediaTypeProvider {
+
+	private static final MediaType MEDIA_TYPE = new MediaType("application","vnd.ldp4j.rdf");
+
+	public CompactRDFMediaTypeProvider() {
+		super(MEDIA_TYPE);
+	}
+
+	@Override
+	public Iterable<Triple> unmarshallContent(Context context, String content, MediaType type) throws ContentTransformationException {
+		return unmarshallContent(context,new StringReader(content),type);
+	}
+
+	@Override
+	public Iterable<Triple> unmarshallContent(Context context, Reader content, MediaType type) throws ContentTransformationException {
+		try {
+			return new CompactRDFDecoder(context.getBase()).decode(content);
+		} catch (IOException | IllegalArgumentException e) {
+			throw new ContentTransformationException("Could not unmarshall contents",e);
+		}
+	}
+
+	@Override
+	public String marshallContent(Context context, Iterable<Triple> content, MediaType type) throws ContentTransformationException {
+		StringWriter writer = new StringWriter();
+		marshallContent(context,content,type,writer);
+		return writer.toString();
+	}
+
+	@Override
+	public void marshallContent(Context context, Iterable<Triple> content, MediaType type, Writer target) throws ContentTransformationException {
+		try {
+			CompactRDFEncoder encoder=new CompactRDFEncoder(target,context.getBase());
+			encoder.start();
+			for(Triple triple:content) {
+				encoder.encode(triple);
+			}
+		} catch (IOException e) {
+			throw new ContentTransformationException("Could not marshall contents",e);
+		}
+	}
+
+}
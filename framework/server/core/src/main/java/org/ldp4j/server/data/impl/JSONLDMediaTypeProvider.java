@@ -27,7 +27,10 @@
 package org.ldp4j.server.data.impl;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
 
 import javax.ws.rs.core.MediaType;
 
@@ -37,8 +40,9 @@ import org.ldp4j.rdf.Triple;
 import org.ldp4j.rdf.impl.UnmarshallOptions;
 import org.ldp4j.server.data.spi.ContentTransformationException;
 import org.ldp4j.server.data.spi.Context;
+import org.ldp4j.server.data.spi.StreamingMediaTypeProvider;
 
-public class JSONLDMediaTypeProvider extends AbstractMediaTypeProvider {
+public class JSONLDMediaTypeProvider extends AbstractMediaTypeProvider implements StreamingMediaTypeProvider {
 
 	private static final MediaType MEDIA_TYPE = new MediaType("application","ld+json");
 
@@ -48,6 +52,11 @@ public class JSONLDMediaTypeProvider extends AbstractMediaTypeProvider {
 
 	@Override
 	public Iterable<Triple> unmarshallContent(Context context, String content, MediaType type) throws ContentTransformationException {
+		return unmarshallContent(context,new StringReader(content),type);
+	}
+
+	@Override
+	public Iterable<Triple> unmarshallContent(Context context, Reader content, MediaType type) throws ContentTransformationException {
 		try {
 			RDFContext rdfContext = RDFContext.createContext(context.getBase());
 			rdfContext.setOption(UnmarshallOptions.TRIPLE_ORDERING, UnmarshallOptions.Ordering.KEEP_TRIPLE_ORDER);
@@ -59,12 +68,17 @@ public class JSONLDMediaTypeProvider extends AbstractMediaTypeProvider {
 
 	@Override
 	public String marshallContent(Context context, Iterable<Triple> content, MediaType type) throws ContentTransformationException {
+		StringWriter writer = new StringWriter();
+		marshallContent(context,content,type,writer);
+		return writer.toString();
+	}
+
+	@Override
+	public void marshallContent(Context context, Iterable<Triple> content, MediaType type, Writer target) throws ContentTransformationException {
 		try {
 			RDFContext rdfContext = RDFContext.createContext(context.getBase());
 			rdfContext.setNamespaces(context.getNamespaces());
-			StringWriter writer = new StringWriter();
-			rdfContext.serialize(content, Format.JSON_LD, writer);
-			return writer.toString();
+			rdfContext.serialize(content, Format.JSON_LD, target);
 		} catch (IOException e) {
 			throw new ContentTransformationException("Could not marshall contents",e);
 		}
@@ -0,0 +1,236 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import javax.ws.rs.core.MediaType;
+
+import org.ldp4j.rdf.Format;
+import org.ldp4j.rdf.RDFContext;
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.rdf.impl.UnmarshallOptions;
+import org.ldp4j.server.data.spi.ContentTransformationException;
+import org.ldp4j.server.data.spi.Context;
+import org.ldp4j.server.data.spi.StreamingMediaTypeProvider;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.CharStreams;
+
+/**
+ * Media type provider for N-Triples. As each statement is serialized in its
+ * own line, large bodies are split on line boundaries and the resulting
+ * chunks are parsed in parallel. The triples of the chunks are then merged
+ * preserving the order in which they are defined in the body.
+ */
+public class NTriplesMediaTypeProvider extends AbstractMediaTypeProvider implements StreamingMediaTypeProvider {
+
+	private static final MediaType MEDIA_TYPE = new MediaType("application","n-triples");
+
+	/**
+	 * Minimum number of characters that each chunk must have before parsing
+	 * it in parallel pays off.
+	 */
+	static final int DEFAULT_CHUNK_SIZE = 256*1024;
+
+	private static final ForkJoinPool POOL=new ForkJoinPool();
+
+	private static final class ChunkParsingException extends RuntimeException {
+
+		private static final long serialVersionUID = -3640404567284357093L;
+
+		private ChunkParsingException(IOException cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized IOException getCause() {
+			return (IOException)super.getCause();
+		}
+
+	}
+
+	private static final class ChunkParser extends RecursiveTask<Iterable<Triple>> {
+
+		private static final long serialVersionUID = 2155232373911596612L;
+
+		private final Context context;
+		private final String chunk;
+
+		private ChunkParser(Context context, String chunk) {
+			this.context=context;
+			this.chunk=chunk;
+		}
+
+		@Override
+		protected Iterable<Triple> compute() {
+			try {
+				return parse(this.context,this.chunk);
+			} catch (IOException e) {
+				throw new ChunkParsingException(e);
+			}
+		}
+
+	}
+
+	private static final class ContentParser extends RecursiveTask<List<Triple>> {
+
+		private static final long serialVersionUID = -1766357838519432014L;
+
+		private final Context context;
+		private final List<String> chunks;
+
+		private ContentParser(Context context, List<String> chunks) {
+			this.context=context;
+			this.chunks=chunks;
+		}
+
+		@Override
+		protected List<Triple> compute() {
+			List<ChunkParser> parsers=Lists.newArrayListWithCapacity(this.chunks.size());
+			for(String chunk:this.chunks) {
+				parsers.add(new ChunkParser(this.context,chunk));
+			}
+			invokeAll(parsers);
+			List<Triple> result=new ArrayList<Triple>();
+			for(ChunkParser parser:parsers) {
+				for(Triple triple:parser.join()) {
+					result.add(triple);
+				}
+			}
+			return result;
+		}
+
+	}
+
+	private final int chunkSize;
+	private final int maxChunks;
+
+	NTriplesMediaTypeProvider(int chunkSize, int maxChunks) {
+		super(MEDIA_TYPE);
+		this.chunkSize=chunkSize;
+		this.maxChunks=maxChunks;
+	}
+
+	public NTriplesMediaTypeProvider() {
+		this(DEFAULT_CHUNK_SIZE,POOL.getParallelism());
+	}
+
+	private static Iterable<Triple> parse(Context context, String content) throws IOException {
+		RDFContext rdfContext = RDFContext.createContext(context.getBase());
+		rdfContext.setOption(UnmarshallOptions.TRIPLE_ORDERING, UnmarshallOptions.Ordering.KEEP_TRIPLE_ORDER);
+		rdfContext.setOption(UnmarshallOptions.UNMARSHALL_STYLE, UnmarshallOptions.UnmarshallStyle.PARSER_BASED);
+		return rdfContext.deserialize(content, Format.N_TRIPLES);
+	}
+
+	/**
+	 * Split the content in as many chunks as workers are available, as long
+	 * as each chunk is not smaller than the configured chunk size. Chunks
+	 * always end at a line boundary, so that no statement is split.
+	 */
+	List<String> split(String content) {
+		int length=content.length();
+		int chunks=Math.min(this.maxChunks,length/this.chunkSize);
+		List<String> result=Lists.newArrayList();
+		if(chunks<2) {
+			result.add(content);
+			return result;
+		}
+		int target=length/chunks;
+		int start=0;
+		while(start<length) {
+			int end=start+target;
+			if(end>=length) {
+				end=length;
+			} else {
+				int lineEnd=content.indexOf('\n',end);
+				end=lineEnd<0?length:lineEnd+1;
+			}
+			result.add(content.substring(start,end));
+			start=end;
+		}
+		return result;
+	}
+
+	@Override
+	public Iterable<Triple> unmarshallContent(Context context, String content, MediaType type) throws ContentTransformationException {
+		try {
+			List<String> chunks=split(content);
+			if(chunks.size()==1) {
+				return parse(context,content);
+			}
+			return POOL.invoke(new ContentParser(context,chunks));
+		} catch (IOException e) {
+			throw new ContentTransformationException("Could not unmarshall contents",e);
+		} catch (ChunkParsingException e) {
+			throw new ContentTransformationException("Could not unmarshall contents",e.getCause());
+		}
+	}
+
+	/**
+	 * The content has to be fully read before it can be split, so the
+	 * stream is consumed before parsing any statement.
+	 */
+	@Override
+	public Iterable<Triple> unmarshallContent(Context context, Reader content, MediaType type) throws ContentTransformationException {
+		try {
+			return unmarshallContent(context,CharStreams.toString(content),type);
+		} catch (IOException e) {
+			throw new ContentTransformationException("Could not read contents",e);
+		}
+	}
+
+	@Override
+	public String marshallContent(Context context, Iterable<Triple> content, MediaType type) throws ContentTransformationException {
+		StringWriter writer = new StringWriter();
+		marshallContent(context,content,type,writer);
+		return writer.toString();
+	}
+
+	/**
+	 * N-Triples has neither prefixes nor layout, so the statements are
+	 * written as they are produced, without registering the namespaces of
+	 * the context.
+	 */
+	@Override
+	public void marshallContent(Context context, Iterable<Triple> content, MediaType type, Writer target) throws ContentTransformationException {
+		try {
+			RDFContext rdfContext = RDFContext.createContext(context.getBase());
+			rdfContext.serialize(content, Format.N_TRIPLES, target);
+		} catch (IOException e) {
+			throw new ContentTransformationException("Could not marshall contents",e);
+		}
+	}
+
+}
@@ -33,6 +33,10 @@ public class ContentTransformationException extends Exception {
 	 */
 	private static final long serialVersionUID = 6991285594220399831L;
 
+	public ContentTransformationException(String message) {
+		super(message);
+	}
+
 	public ContentTransformationException(String message, Throwable t) {
 		super(message,t);
 	}
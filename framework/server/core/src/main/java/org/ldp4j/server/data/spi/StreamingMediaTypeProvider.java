@@ -0,0 +1,78 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data.spi;
+
+import java.io.Reader;
+import java.io.Writer;
+
+import javax.ws.rs.core.MediaType;
+
+import org.ldp4j.rdf.Triple;
+
+/**
+ * A {@code MediaTypeProvider} that is capable of unmarshalling content
+ * directly from a character stream and of marshalling content directly to a
+ * character stream. Providers implementing this interface allow the server to
+ * parse request entities as they are received, and to write response entities
+ * as they are produced, without having to buffer them first.
+ */
+public interface StreamingMediaTypeProvider extends MediaTypeProvider {
+
+	/**
+	 * Unmarshall the content available in a character stream. The stream is
+	 * consumed but not closed.
+	 *
+	 * @param context
+	 *            the context for the unmarshalling
+	 * @param content
+	 *            the character stream with the content to unmarshall
+	 * @param type
+	 *            the media type of the content
+	 * @return the triples defined in the content
+	 * @throws ContentTransformationException
+	 *             if the content cannot be read or parsed
+	 */
+	Iterable<Triple> unmarshallContent(Context context, Reader content, MediaType type) throws ContentTransformationException;
+
+	/**
+	 * Marshall the content writing it to a character stream. The stream is
+	 * not flushed nor closed.
+	 *
+	 * @param context
+	 *            the context for the marshalling
+	 * @param content
+	 *            the triples to marshall
+	 * @param type
+	 *            the media type to marshall the content to
+	 * @param target
+	 *            the character stream where the content will be written
+	 * @throws ContentTransformationException
+	 *             if the content cannot be marshalled or written
+	 */
+	void marshallContent(Context context, Iterable<Triple> content, MediaType type, Writer target) throws ContentTransformationException;
+
+}
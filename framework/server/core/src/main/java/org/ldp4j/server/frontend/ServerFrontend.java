@@ -26,6 +26,7 @@
  */
 package org.ldp4j.server.frontend;
 
+import java.io.InputStream;
 import java.util.Locale;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -226,7 +227,7 @@ public final class ServerFrontend {
 		@PathParam(ENDPOINT_PATH_PARAM) String path,
 		@Context HttpHeaders headers,
 		@Context Request request,
-		String entity) {
+		InputStream entity) {
 		OperationContext context =
 			newOperationBuilder(HttpMethod.PUT).
 				withEndpointPath(path).
@@ -248,7 +249,7 @@ public final class ServerFrontend {
 		@PathParam(ENDPOINT_PATH_PARAM) String path,
 		@Context HttpHeaders headers,
 		@Context Request request,
-		String entity) {
+		InputStream entity) {
 		OperationContext context =
 			newOperationBuilder(HttpMethod.POST).
 				withEndpointPath(path).
@@ -290,7 +291,7 @@ public final class ServerFrontend {
 		@PathParam(ENDPOINT_PATH_PARAM) String path,
 		@Context HttpHeaders headers,
 		@Context Request request,
-		String entity) {
+		InputStream entity) {
 		OperationContext context =
 			newOperationBuilder(HttpMethod.PATCH).
 				withEndpointPath(path).
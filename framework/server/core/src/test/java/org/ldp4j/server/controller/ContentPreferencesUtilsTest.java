@@ -48,6 +48,15 @@ public class ContentPreferencesUtilsTest {
 	private static final String SINGLE_INCLUDE_PREFERENCE = "return=representation; include=\"http://www.w3.org/ns/ldp#PreferMinimalContainer\"";
 	private static final String MULTIPLE_INCLUDE_PREFERENCE = "return=representation; include=\"http://www.w3.org/ns/ldp#PreferContainment http://www.w3.org/ns/ldp#PreferMembership\"";
 
+	private static final String MAX_MEMBER_COUNT_PREFERENCE = "return=representation; include=\"http://www.w3.org/ns/ldp#PreferContainment\"; max-member-count=\"10\"";
+
+	private static final ContentPreferences MAX_MEMBER_COUNT =
+			ContentPreferences.
+				builder().
+					withInclude(Preference.CONTAINMENT_TRIPLES).
+					withMaxMemberCount(10).
+					build();
+
 	private static final ContentPreferences COMPOSITE_PREFERENCES = 
 			ContentPreferences.
 				builder().
@@ -102,6 +111,22 @@ public class ContentPreferencesUtilsTest {
 		assertThat(ContentPreferencesUtils.fromPreferenceHeader(SINGLE_INCLUDE_PREFERENCE),equalTo(SINGLE_INCLUDE));
 		assertThat(ContentPreferencesUtils.fromPreferenceHeader(MULTIPLE_INCLUDE_PREFERENCE),equalTo(MULTIPLE_INCLUDES));
 		assertThat(ContentPreferencesUtils.fromPreferenceHeader(MULTIPLE_OMIT_PREFERENCES),equalTo(MULTIPLE_OMITS));
+		assertThat(ContentPreferencesUtils.fromPreferenceHeader(MAX_MEMBER_COUNT_PREFERENCE),equalTo(MAX_MEMBER_COUNT));
+	}
+
+	@Test(expected=InvalidPreferenceHeaderException.class)
+	public void testFromPreferenceHeader$invalidValues$non_numeric_max_member_count() throws Exception {
+		ContentPreferencesUtils.fromPreferenceHeader("return=representation; max-member-count=\"ten\"");
+	}
+
+	@Test(expected=InvalidPreferenceHeaderException.class)
+	public void testFromPreferenceHeader$invalidValues$non_positive_max_member_count() throws Exception {
+		ContentPreferencesUtils.fromPreferenceHeader("return=representation; max-member-count=\"0\"");
+	}
+
+	@Test(expected=InvalidPreferenceHeaderException.class)
+	public void testFromPreferenceHeader$invalidValues$repeated_max_member_count_hints() throws Exception {
+		ContentPreferencesUtils.fromPreferenceHeader("return=representation; max-member-count=\"10\"; max-member-count=\"20\"");
 	}
 
 	@Test(expected=InvalidPreferenceHeaderException.class)
@@ -144,6 +169,7 @@ public class ContentPreferencesUtilsTest {
 		assertThat(ContentPreferencesUtils.fromPreferenceHeader(ContentPreferencesUtils.asPreferenceHeader(COMPOSITE_PREFERENCES)),equalTo(COMPOSITE_PREFERENCES));
 		assertThat(ContentPreferencesUtils.fromPreferenceHeader(ContentPreferencesUtils.asPreferenceHeader(MULTIPLE_INCLUDES)),equalTo(MULTIPLE_INCLUDES));
 		assertThat(ContentPreferencesUtils.fromPreferenceHeader(ContentPreferencesUtils.asPreferenceHeader(MULTIPLE_OMITS)),equalTo(MULTIPLE_OMITS));
+		assertThat(ContentPreferencesUtils.fromPreferenceHeader(ContentPreferencesUtils.asPreferenceHeader(MAX_MEMBER_COUNT)),equalTo(MAX_MEMBER_COUNT));
 	}
 
 }
@@ -0,0 +1,248 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import mockit.Mocked;
+import mockit.integration.junit4.JMockit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ldp4j.application.data.DataSet;
+import org.ldp4j.application.data.Individual;
+import org.ldp4j.application.data.Literal;
+import org.ldp4j.server.data.DataTransformator;
+import org.ldp4j.server.data.UnsupportedMediaTypeException;
+
+@RunWith(JMockit.class)
+public class MemberDescriptionsTest {
+
+	@Mocked private OperationContext context;
+
+	private static final URI TITLE = URI.create("http://www.example.org/vocab#title");
+	private static final URI AUTHOR = URI.create("http://www.example.org/vocab#author");
+	private static final URI NAME = URI.create("http://www.example.org/vocab#name");
+
+	private static final URI SELF = URI.create("http://www.example.org/vocab#self");
+
+	private static final MediaType TURTLE = new MediaType("text","turtle");
+
+	private MemberDescriptions sut(String entity) {
+		return sut(entity,TURTLE);
+	}
+
+	private MemberDescriptions sut(String entity, MediaType mediaType) {
+		DataTransformator transformator=
+			DataTransformator.
+				create(URI.create("http://localhost:8080/ldp4j/")).
+				surrogateEndpoint(URI.create("api/container/"));
+		return
+			MemberDescriptions.
+				create(
+					new StringReader(entity),
+					mediaType,
+					URI.create("http://localhost:8080/ldp4j/api/container/"),
+					transformator,
+					this.context);
+	}
+
+	private List<DataSet> consume(MemberDescriptions descriptions) {
+		List<DataSet> result=new ArrayList<DataSet>();
+		while(descriptions.hasNext()) {
+			result.add(descriptions.next());
+		}
+		return result;
+	}
+
+	private Object title(DataSet dataSet) {
+		Individual<?,?> individual=dataSet.individualOfId(URI.create(""));
+		assertThat(individual,notNullValue());
+		return value(individual,TITLE);
+	}
+
+	private Object value(Individual<?,?> individual, URI propertyId) {
+		return ((Literal<?>)individual.property(propertyId).values().iterator().next()).get();
+	}
+
+	@Test
+	public void testGroupsStatementsBySubject() throws Exception {
+		String entity=
+			"@prefix ex: <http://www.example.org/vocab#> .\n"+
+			"<m1> ex:title \"One\" .\n"+
+			"<m1> ex:pages 10 .\n"+
+			"\n"+
+			"# Second member\n"+
+			"<m2> ex:title \"Two\" ;\n"+
+			"     ex:pages 20 .\n"+
+			"_:m3 <http://www.example.org/vocab#title> \"Three\" .\n";
+		List<DataSet> dataSets=consume(sut(entity));
+		assertThat(dataSets.size(),equalTo(3));
+		assertThat(title(dataSets.get(0)),equalTo((Object)"One"));
+		assertThat(title(dataSets.get(1)),equalTo((Object)"Two"));
+		assertThat(title(dataSets.get(2)),equalTo((Object)"Three"));
+	}
+
+	@Test
+	public void testSparqlStyleDirectives() throws Exception {
+		String entity=
+			"PREFIX ex: <http://www.example.org/vocab#>\n"+
+			"<m1> ex:title \"One\" .\n"+
+			"prefix dc: <http://purl.org/dc/terms/>\n"+
+			"<m2> ex:title \"Two\" .\n";
+		List<DataSet> dataSets=consume(sut(entity));
+		assertThat(dataSets.size(),equalTo(2));
+		assertThat(title(dataSets.get(0)),equalTo((Object)"One"));
+		assertThat(title(dataSets.get(1)),equalTo((Object)"Two"));
+	}
+
+	@Test
+	public void testBlankNodesStayWithTheReferencingMember() throws Exception {
+		String entity=
+			"@prefix ex: <http://www.example.org/vocab#> .\n"+
+			"<m1> ex:title \"One\" ;\n"+
+			"     ex:author _:a1 .\n"+
+			"_:a1 ex:name \"Alice\" .\n"+
+			"<m2> ex:title \"Two\" .\n";
+		List<DataSet> dataSets=consume(sut(entity));
+		assertThat(dataSets.size(),equalTo(2));
+		assertThat(title(dataSets.get(0)),equalTo((Object)"One"));
+		Individual<?,?> member=dataSets.get(0).individualOfId(URI.create(""));
+		Individual<?,?> author=(Individual<?,?>)member.property(AUTHOR).values().iterator().next();
+		assertThat(value(author,NAME),equalTo((Object)"Alice"));
+		assertThat(title(dataSets.get(1)),equalTo((Object)"Two"));
+	}
+
+	@Test
+	public void testTrailingComments() throws Exception {
+		String entity=
+			"@prefix ex: <http://www.example.org/vocab#> . # vocabulary\n"+
+			"<m1> ex:title \"One\" . # first member\n"+
+			"<m2> ex:title \"Two\" . # second member\n";
+		List<DataSet> dataSets=consume(sut(entity));
+		assertThat(dataSets.size(),equalTo(2));
+		assertThat(title(dataSets.get(0)),equalTo((Object)"One"));
+		assertThat(title(dataSets.get(1)),equalTo((Object)"Two"));
+	}
+
+	@Test
+	public void testMultiLineLiterals() throws Exception {
+		String entity=
+			"@prefix ex: <http://www.example.org/vocab#> .\n"+
+			"<m1> ex:title \"\"\"One\n"+
+			"<m2> ex:title \"Not a member\" .\"\"\" .\n"+
+			"<m2> ex:title \"Two\" .\n";
+		List<DataSet> dataSets=consume(sut(entity));
+		assertThat(dataSets.size(),equalTo(2));
+		assertThat(title(dataSets.get(0)),equalTo((Object)"One\n<m2> ex:title \"Not a member\" ."));
+		assertThat(title(dataSets.get(1)),equalTo((Object)"Two"));
+	}
+
+	@Test
+	public void testStatementsAboutTheSameSubjectAreGrouped() throws Exception {
+		String entity=
+			"<http://localhost:8080/ldp4j/api/container/m1> <http://www.example.org/vocab#title> \"One\" .\n"+
+			"<http://localhost:8080/ldp4j/api/container/m2> <http://www.example.org/vocab#title> \"Two\" .\n"+
+			"<http://localhost:8080/ldp4j/api/container/m1> <http://www.example.org/vocab#name> \"First\" .\n";
+		List<DataSet> dataSets=consume(sut(entity,new MediaType("application","n-triples")));
+		assertThat(dataSets.size(),equalTo(2));
+		Individual<?,?> member=dataSets.get(0).individualOfId(URI.create(""));
+		assertThat(value(member,TITLE),equalTo((Object)"One"));
+		assertThat(value(member,NAME),equalTo((Object)"First"));
+		assertThat(title(dataSets.get(1)),equalTo((Object)"Two"));
+	}
+
+	@Test
+	public void testMemberIsReplacedInEveryPosition() throws Exception {
+		String entity=
+			"@prefix ex: <http://www.example.org/vocab#> .\n"+
+			"<m1> ex:title \"One\" ;\n"+
+			"     ex:self <m1> .\n";
+		List<DataSet> dataSets=consume(sut(entity));
+		assertThat(dataSets.size(),equalTo(1));
+		Individual<?,?> member=dataSets.get(0).individualOfId(URI.create(""));
+		Individual<?,?> self=(Individual<?,?>)member.property(SELF).values().iterator().next();
+		assertThat(self.id(),equalTo((Object)member.id()));
+	}
+
+	@Test
+	public void testUnreferencedBlankNodeCycle() throws Exception {
+		String entity=
+			"@prefix ex: <http://www.example.org/vocab#> .\n"+
+			"<m1> ex:title \"One\" .\n"+
+			"_:a ex:self _:b .\n"+
+			"_:b ex:self _:a .\n";
+		try {
+			consume(sut(entity));
+			fail("Should not drop blank node descriptions that are not referenced by any member");
+		} catch (InvalidRequestContentException e) {
+			assertThat(e.getMessage(),notNullValue());
+		}
+	}
+
+	@Test
+	public void testRejectsOtherMediaTypes() throws Exception {
+		MediaType[] mediaTypes={
+			new MediaType("application","ld+json"),
+			new MediaType("application","rdf+xml")
+		};
+		for(MediaType mediaType:mediaTypes) {
+			try {
+				sut("{}",mediaType);
+				fail("Should not accept bulk creation entities serialized as '"+mediaType+"'");
+			} catch (UnsupportedMediaTypeException e) {
+				assertThat(e.getType(),equalTo(mediaType));
+			}
+		}
+	}
+
+	@Test
+	public void testEmptyEntity() throws Exception {
+		assertThat(consume(sut("# Nothing to create\n\n")).isEmpty(),equalTo(true));
+	}
+
+	@Test
+	public void testInvalidStatement() throws Exception {
+		try {
+			consume(sut("<m1>\n"));
+			fail("Should not accept statements without predicate");
+		} catch (InvalidRequestContentException e) {
+			assertThat(e.getMessage(),notNullValue());
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.net.URI;
+import java.util.Date;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Variant;
+
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.integration.junit4.JMockit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ldp4j.application.engine.context.ContentPreferences;
+import org.ldp4j.application.engine.context.EntityTag;
+import org.ldp4j.application.engine.context.PublicResource;
+
+@RunWith(JMockit.class)
+public class RepresentationCacheTest {
+
+	private static final Variant TURTLE=new Variant(new MediaType("text","turtle"),(String)null,null);
+
+	private static final byte[] REPRESENTATION={1,2,3,4};
+
+	@Mocked private OperationContext context;
+	@Mocked private PublicResource resource;
+
+	private void resourceState(final String path, final String entityTag) {
+		new Expectations() {{
+			context.base();result=URI.create("http://localhost:8080/ldp4j/");
+			context.path();result=path;
+			context.resource();result=resource;
+			resource.entityTag();result=EntityTag.createStrong(entityTag);
+			resource.lastModified();result=new Date(1000);
+		}};
+	}
+
+	private RepresentationCache.Slot slot(RepresentationCache sut) {
+		return sut.slot(this.context,TURTLE,ContentPreferences.defaultPreferences());
+	}
+
+	@Test
+	public void testCacheIsDisabledByDefault() throws Exception {
+		assertThat(new RepresentationCache(0).isEnabled(),equalTo(false));
+		assertThat(new RepresentationCache(0).statistics().requestCount(),equalTo(0L));
+	}
+
+	@Test
+	public void testRepresentationsAreCachedPerEntityTag() throws Exception {
+		RepresentationCache sut=new RepresentationCache(1024*1024);
+		resourceState("resource/","1");
+		assertThat(slot(sut).get(),nullValue());
+		slot(sut).store(REPRESENTATION);
+		assertThat(slot(sut).get(),equalTo(REPRESENTATION));
+		resourceState("resource/","2");
+		assertThat(slot(sut).get(),nullValue());
+		assertThat(sut.statistics().hitCount(),equalTo(1L));
+		assertThat(sut.statistics().missCount(),equalTo(2L));
+	}
+
+	@Test
+	public void testNewVersionsEvictOnlyTheRepresentationsOfTheSameResource() throws Exception {
+		RepresentationCache sut=new RepresentationCache(1024*1024);
+		resourceState("resource/","1");
+		slot(sut).store(REPRESENTATION);
+		resourceState("resource/child/","1");
+		slot(sut).store(REPRESENTATION);
+		resourceState("resource/","2");
+		assertThat(slot(sut).get(),nullValue());
+		resourceState("resource/","1");
+		assertThat(slot(sut).get(),nullValue());
+		resourceState("resource/child/","1");
+		assertThat(slot(sut).get(),equalTo(REPRESENTATION));
+	}
+
+	@Test
+	public void testLargeRepresentationsAreNotCached() throws Exception {
+		RepresentationCache sut=new RepresentationCache(64);
+		resourceState("resource/","1");
+		slot(sut).store(new byte[32]);
+		assertThat(slot(sut).get(),nullValue());
+	}
+
+}
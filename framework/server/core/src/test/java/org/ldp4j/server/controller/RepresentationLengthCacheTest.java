@@ -0,0 +1,95 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.net.URI;
+import java.util.Date;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Variant;
+
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.integration.junit4.JMockit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ldp4j.application.engine.context.ContentPreferences;
+import org.ldp4j.application.engine.context.EntityTag;
+import org.ldp4j.application.engine.context.PublicResource;
+
+@RunWith(JMockit.class)
+public class RepresentationLengthCacheTest {
+
+	private static final Variant TURTLE=new Variant(new MediaType("text","turtle"),(String)null,null);
+	private static final Variant JSON_LD=new Variant(new MediaType("application","ld+json"),(String)null,null);
+
+	@Mocked private OperationContext context;
+	@Mocked private PublicResource resource;
+
+	private final RepresentationLengthCache sut=RepresentationLengthCache.getInstance();
+
+	@After
+	public void tearDown() {
+		this.sut.clear();
+	}
+
+	private void resourceState(final String entityTag, final long lastModified) {
+		new Expectations() {{
+			context.base();result=URI.create("http://localhost:8080/ldp4j/");
+			context.path();result="resource/";
+			context.resource();result=resource;
+			resource.entityTag();result=EntityTag.createStrong(entityTag);
+			resource.lastModified();result=new Date(lastModified);
+		}};
+	}
+
+	@Test
+	public void testLengthIsRecordedPerVariant() throws Exception {
+		resourceState("1",1000);
+		ContentPreferences preferences=ContentPreferences.defaultPreferences();
+		assertThat(this.sut.length(this.context,TURTLE,preferences),nullValue());
+		this.sut.recorder(this.context,TURTLE,preferences).record(123);
+		assertThat(this.sut.length(this.context,TURTLE,preferences),equalTo(123L));
+		assertThat(this.sut.length(this.context,JSON_LD,preferences),nullValue());
+	}
+
+	@Test
+	public void testLengthIsNotReusedOnceTheResourceChanges() throws Exception {
+		ContentPreferences preferences=ContentPreferences.defaultPreferences();
+		resourceState("1",1000);
+		this.sut.recorder(this.context,TURTLE,preferences).record(123);
+		resourceState("2",2000);
+		assertThat(this.sut.length(this.context,TURTLE,preferences),nullValue());
+	}
+
+}
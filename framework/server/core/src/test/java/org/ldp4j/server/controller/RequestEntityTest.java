@@ -0,0 +1,122 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import mockit.Mocked;
+import mockit.integration.junit4.JMockit;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ldp4j.server.config.Configuration;
+import org.ldp4j.server.controller.RequestEntity.EntitySizeLimitExceededException;
+
+@RunWith(JMockit.class)
+public class RequestEntityTest {
+
+	@Mocked private OperationContext context;
+
+	private static InputStream stream(byte[] content) {
+		return new ByteArrayInputStream(content);
+	}
+
+	private static RequestEntity entity(String content, long maxSize) {
+		return RequestEntity.create(stream(content.getBytes(StandardCharsets.UTF_8)),StandardCharsets.UTF_8,maxSize);
+	}
+
+	@Test
+	public void testIsEmptyDoesNotConsumeEntity() throws Exception {
+		RequestEntity sut=entity("<> a <#Thing> .",Configuration.UNLIMITED_ENTITY_SIZE);
+		assertThat(sut.isEmpty(),equalTo(false));
+		assertThat(IOUtils.toString(sut.reader()),equalTo("<> a <#Thing> ."));
+	}
+
+	@Test
+	public void testIsEmpty$empty() throws Exception {
+		assertThat(entity("",Configuration.UNLIMITED_ENTITY_SIZE).isEmpty(),equalTo(true));
+		assertThat(RequestEntity.create(null,StandardCharsets.UTF_8,Configuration.UNLIMITED_ENTITY_SIZE).isEmpty(),equalTo(true));
+	}
+
+	@Test
+	public void testBodyIsAvailableOnceConsumed() throws Exception {
+		RequestEntity sut=entity("<> a <#Thing> .",Configuration.UNLIMITED_ENTITY_SIZE);
+		assertThat(sut.body(),nullValue());
+		IOUtils.toString(sut.content(),StandardCharsets.UTF_8);
+		assertThat(sut.body(),equalTo("<> a <#Thing> ."));
+	}
+
+	@Test
+	public void testBodyIsNotRecordedForLargeEntities() throws Exception {
+		byte[] content=new byte[RequestEntity.MAX_RECORDED_SIZE+1];
+		Arrays.fill(content,(byte)'a');
+		RequestEntity sut=RequestEntity.create(stream(content),StandardCharsets.UTF_8,Configuration.UNLIMITED_ENTITY_SIZE);
+		assertThat(IOUtils.toByteArray(sut.content()).length,equalTo(content.length));
+		assertThat(sut.body(),nullValue());
+	}
+
+	@Test
+	public void testEntitySizeLimitIsEnforcedWhileReading() throws Exception {
+		RequestEntity sut=entity("0123456789",8);
+		try {
+			IOUtils.toByteArray(sut.content());
+			fail("Should not read entities larger than the limit");
+		} catch (EntitySizeLimitExceededException e) {
+			assertThat(e.limit(),equalTo(8L));
+			assertThat(RequestEntity.failure(this.context,"Failure",e),instanceOf(EntityTooLargeException.class));
+		}
+	}
+
+	@Test
+	public void testEntitySizeLimitAllowsSmallerEntities() throws Exception {
+		RequestEntity sut=entity("0123456789",10);
+		assertThat(IOUtils.toString(sut.content(),StandardCharsets.UTF_8),equalTo("0123456789"));
+	}
+
+	@Test
+	public void testEntityCannotBeConsumedTwice() throws Exception {
+		RequestEntity sut=entity("content",Configuration.UNLIMITED_ENTITY_SIZE);
+		sut.content();
+		try {
+			sut.content();
+			fail("Should not allow consuming the entity twice");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(),equalTo("Entity has already been consumed"));
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Variant;
+
+import org.junit.After;
+import org.junit.Test;
+import org.ldp4j.application.engine.context.EntityTag;
+import org.ldp4j.server.config.Configuration;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+
+public class ResponseCompressionTest {
+
+	private static final Variant TURTLE=new Variant(new MediaType("text","turtle"),(String)null,null);
+
+	private static final Variant GZIPPED_TURTLE=new Variant(new MediaType("text","turtle"),(String)null,"gzip");
+
+	private static final byte[] REPRESENTATION=Strings.repeat("<> a <http://www.w3.org/ns/ldp#Resource> .\n",100).getBytes(StandardCharsets.UTF_8);
+
+	@After
+	public void tearDown() {
+		System.clearProperty(Configuration.COMPRESSION_THRESHOLD);
+	}
+
+	@Test
+	public void testCompressionIsDisabledByDefault() throws Exception {
+		assertThat(ResponseCompression.isEnabled(),equalTo(false));
+		assertThat(ResponseCompression.negotiate(Arrays.asList("gzip")),nullValue());
+	}
+
+	@Test
+	public void testNegotiation() throws Exception {
+		System.setProperty(Configuration.COMPRESSION_THRESHOLD,"1024");
+		assertThat(ResponseCompression.negotiate(Arrays.asList("gzip, deflate")),equalTo("gzip"));
+		assertThat(ResponseCompression.negotiate(Arrays.asList("deflate")),equalTo("deflate"));
+		assertThat(ResponseCompression.negotiate(Arrays.asList("br")),nullValue());
+		assertThat(ResponseCompression.negotiate(Arrays.asList("*;q=0.0")),nullValue());
+		assertThat(ResponseCompression.negotiate(Collections.<String>emptyList()),nullValue());
+	}
+
+	@Test
+	public void testSmallRepresentationsAreNotCompressed() throws Exception {
+		System.setProperty(Configuration.COMPRESSION_THRESHOLD,"1024");
+		assertThat(ResponseCompression.coding(GZIPPED_TURTLE,1023),nullValue());
+		assertThat(ResponseCompression.coding(GZIPPED_TURTLE,1024),equalTo("gzip"));
+		assertThat(ResponseCompression.coding(TURTLE,1024),nullValue());
+	}
+
+	@Test
+	public void testGzipCompression() throws Exception {
+		byte[] compressed=ResponseCompression.compress(REPRESENTATION,"gzip");
+		assertThat(compressed.length,lessThan(REPRESENTATION.length));
+		assertThat(decompress(new GZIPInputStream(new ByteArrayInputStream(compressed))),equalTo(REPRESENTATION));
+	}
+
+	@Test
+	public void testDeflateCompression() throws Exception {
+		byte[] compressed=ResponseCompression.compress(REPRESENTATION,"deflate");
+		assertThat(compressed.length,lessThan(REPRESENTATION.length));
+		assertThat(decompress(new InflaterInputStream(new ByteArrayInputStream(compressed))),equalTo(REPRESENTATION));
+	}
+
+	@Test
+	public void testCompressedVariantsUseWeakEntityTags() throws Exception {
+		EntityTag entityTag=EntityTag.createStrong("1");
+		assertThat(ResponseCompression.entityTag(entityTag,TURTLE),sameInstance(entityTag));
+		assertThat(ResponseCompression.entityTag(entityTag,null),sameInstance(entityTag));
+		assertThat(ResponseCompression.entityTag(entityTag,GZIPPED_TURTLE),equalTo(EntityTag.createWeak("1")));
+	}
+
+	@Test
+	public void testIdentityVariant() throws Exception {
+		assertThat(ResponseCompression.identity(TURTLE),sameInstance(TURTLE));
+		assertThat(ResponseCompression.identity(GZIPPED_TURTLE),equalTo(TURTLE));
+	}
+
+	private static byte[] decompress(InputStream input) throws Exception {
+		try {
+			return ByteStreams.toByteArray(input);
+		} finally {
+			input.close();
+		}
+	}
+
+}
@@ -0,0 +1,135 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Variant;
+
+import org.apache.cxf.jaxrs.impl.RequestImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.junit.Test;
+import org.ldp4j.server.data.DataTransformator;
+import org.ldp4j.server.utils.VariantUtils;
+
+import com.google.common.collect.Iterables;
+
+public class VariantNegotiationTest {
+
+	private static final MediaType TEXT_TURTLE=new MediaType("text","turtle");
+
+	private static final MediaType APPLICATION_LD_JSON=new MediaType("application","ld+json");
+
+	private static Request request(String... accepts) {
+		Map<String,List<String>> headers=new TreeMap<String,List<String>>(String.CASE_INSENSITIVE_ORDER);
+		if(accepts.length>0) {
+			headers.put(HttpHeaders.ACCEPT,Arrays.asList(accepts));
+		}
+		Message message=new MessageImpl();
+		message.put(Message.PROTOCOL_HEADERS,headers);
+		return new RequestImpl(message);
+	}
+
+	private static Variant select(String... accepts) {
+		return VariantNegotiation.select(request(accepts),Arrays.asList(accepts));
+	}
+
+	private static MediaType mediaType(Variant variant) {
+		return variant==null?null:variant.getMediaType();
+	}
+
+	/**
+	 * The selection must not differ from the one of the JAX-RS runtime.
+	 */
+	private static void assertParity(String... accepts) {
+		Variant expected=request(accepts).selectVariant(VariantUtils.createVariants(DataTransformator.supportedMediaTypes()));
+		assertThat(Arrays.toString(accepts),mediaType(select(accepts)),equalTo(mediaType(expected)));
+	}
+
+	@Test
+	public void testSelectsPreferredMediaTypeByDefault() throws Exception {
+		MediaType preferred=Iterables.getFirst(DataTransformator.supportedMediaTypes(),null);
+		assertThat(VariantNegotiation.select(request(),Collections.<String>emptyList()).getMediaType(),equalTo(preferred));
+		assertThat(select("*/*").getMediaType(),equalTo(preferred));
+	}
+
+	@Test
+	public void testHonoursClientPreferences() throws Exception {
+		assertThat(select("application/ld+json").getMediaType(),equalTo(APPLICATION_LD_JSON));
+		assertThat(select("text/turtle").getMediaType(),equalTo(TEXT_TURTLE));
+		assertParity("application/ld+json;q=0.5, text/turtle");
+		assertParity("text/turtle;q=0.5","application/ld+json");
+	}
+
+	@Test
+	public void testUnsupportedMediaTypesAreNotAcceptable() throws Exception {
+		assertThat(select("image/png"),nullValue());
+	}
+
+	@Test
+	public void testWildcardSelectionMatchesJaxRs() throws Exception {
+		assertParity("*/*;q=0.9, text/turtle;q=0.1");
+		assertParity("text/*;q=0.2, */*;q=0.8");
+		assertParity("text/*, application/ld+json;q=0.5");
+	}
+
+	@Test
+	public void testSuffixedMediaTypesMatchSubtypeWildcards() throws Exception {
+		assertParity("application/*");
+		assertParity("application/*;q=0.5, text/turtle;q=0.4");
+		assertParity("image/png, application/*;q=0.1");
+	}
+
+	@Test
+	public void testZeroQualityMatchesJaxRs() throws Exception {
+		assertParity("text/turtle;q=0, */*");
+		assertParity("application/ld+json;q=0, application/*");
+		assertParity("*/*;q=0");
+	}
+
+	@Test
+	public void testSelectionIsMemoized() throws Exception {
+		String accept="application/ld+json;q=0.8, text/turtle;q=0.7";
+		Variant first=select(accept);
+		Variant second=VariantNegotiation.select(request("image/png"),Arrays.asList(accept));
+		assertThat(second,sameInstance(first));
+	}
+
+}
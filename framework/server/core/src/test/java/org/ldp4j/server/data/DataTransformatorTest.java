@@ -27,10 +27,13 @@
 package org.ldp4j.server.data;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URI;
 import java.nio.charset.Charset;
 
@@ -46,6 +49,7 @@ import org.ldp4j.application.data.DataSets;
 import org.ldp4j.application.data.ManagedIndividualId;
 import org.ldp4j.application.data.Name;
 import org.ldp4j.application.data.NamingScheme;
+import org.ldp4j.application.data.Property;
 import org.ldp4j.application.data.RelativeIndividualId;
 import org.ldp4j.application.vocabulary.RDFS;
 
@@ -109,6 +113,51 @@ public class DataTransformatorTest {
 		assertThat(data,notNullValue());
 	}
 
+	@Test
+	public void testUnmarshallStream() throws Exception {
+		DataSet dataSet =
+			sut.unmarshall(
+				getClass().getResourceAsStream("/data/relative-managed-individuals.ttl"),
+				Charset.forName("UTF-8"));
+		assertThat(dataSet.numberOfIndividuals(),greaterThan(2));
+		assertThat(dataSet.individualOfId(NANDANA_ID),notNullValue());
+		assertThat(dataSet.individualOfId(NANDANA_ME_ID),notNullValue());
+	}
+
+	@Test
+	public void testUnmarshallPatch() throws Exception {
+		String patch=
+			"H id <urn:uuid:0b4b3cb8-2c73-4b3e-8c3a-1a5f4ef7f1a2> .\n"+
+			"TX .\n"+
+			"PA foaf <http://xmlns.com/foaf/0.1/> .\n"+
+			"D <#me> foaf:age 33 .\n"+
+			"A <#me> foaf:age 34 .\n"+
+			"A <> foaf:primaryTopic <#me> .\n"+
+			"TC .\n";
+		RDFPatch result=sut.unmarshallPatch(patch);
+		Property deletedAge=result.deletions().individualOfId(NANDANA_ME_ID).property(uri("http://xmlns.com/foaf/0.1/age"));
+		assertThat(deletedAge.numberOfValues(),equalTo(1));
+		Property insertedAge=result.insertions().individualOfId(NANDANA_ME_ID).property(uri("http://xmlns.com/foaf/0.1/age"));
+		assertThat(insertedAge.numberOfValues(),equalTo(1));
+		assertThat(result.insertions().individualOfId(NANDANA_ID),notNullValue());
+		assertThat(result.deletions().individualOfId(NANDANA_ID),nullValue());
+	}
+
+	@Test(expected=IOException.class)
+	public void testUnmarshallPatch$deletionAfterInsertion() throws Exception {
+		sut.unmarshallPatch("A <#me> <http://xmlns.com/foaf/0.1/age> 34 .\nD <#me> <http://xmlns.com/foaf/0.1/age> 33 .\n");
+	}
+
+	@Test
+	public void testPreparedRepresentationMatchesMarshalledOne() throws Exception {
+		DataSet dataSet = sut.unmarshall(loadResource("/data/relative-managed-individuals.ttl"));
+		ContentWriter writer=sut.prepare(dataSet);
+		assertThat(writer.size(),greaterThan(2));
+		StringWriter target=new StringWriter();
+		writer.writeTo(target);
+		assertThat(target.toString(),equalTo(sut.marshall(dataSet)));
+	}
+
 	@Test
 	public void testCornerCase() throws Exception {
 		DataTransformator sut =
@@ -0,0 +1,127 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Test;
+import org.ldp4j.application.data.ManagedIndividualId;
+import org.ldp4j.application.data.NamingScheme;
+
+import com.google.common.collect.Maps;
+
+public class LocationIndexTest {
+
+	private static final URI CONTAINER = URI.create("http://localhost:8080/ldp4j/api/container/");
+	private static final URI MEMBER = CONTAINER.resolve("member/");
+	private static final URI MEMBER_HASH = URI.create(MEMBER+"#me");
+	private static final URI MEMBER_CHILD = MEMBER.resolve("child/grandchild");
+	private static final URI EXTERNAL = URI.create("http://www.example.org/vocab#term");
+
+	private static final ManagedIndividualId CONTAINER_ID = ManagedIndividualId.createId(NamingScheme.getDefault().name("container"), "handler");
+	private static final ManagedIndividualId MEMBER_ID = ManagedIndividualId.createId(NamingScheme.getDefault().name("member"), "handler");
+
+	private static final class CountingResolver implements BatchResourceResolver {
+
+		private final Map<URI,ManagedIndividualId> ids=Maps.newHashMap();
+
+		private int singleLookups;
+		private int batchLookups;
+
+		CountingResolver() {
+			this.ids.put(CONTAINER,CONTAINER_ID);
+			this.ids.put(MEMBER,MEMBER_ID);
+		}
+
+		@Override
+		public URI resolveResource(ManagedIndividualId id) {
+			return null;
+		}
+
+		@Override
+		public ManagedIndividualId resolveLocation(URI path) {
+			this.singleLookups++;
+			return this.ids.get(path);
+		}
+
+		@Override
+		public Map<URI,ManagedIndividualId> resolveLocations(Collection<URI> locations) {
+			this.batchLookups++;
+			Map<URI,ManagedIndividualId> result=Maps.newHashMap();
+			for(URI location:locations) {
+				if(this.ids.containsKey(location)) {
+					result.put(location,this.ids.get(location));
+				}
+			}
+			return result;
+		}
+
+	}
+
+	@Test
+	public void testFindsLongestManagedParent() {
+		LocationIndex sut=new LocationIndex(new CountingResolver());
+		assertThat(sut.find(MEMBER).getValue(),equalTo(MEMBER_ID));
+		Entry<URI,ManagedIndividualId> match=sut.find(MEMBER_CHILD);
+		assertThat(match.getKey(),equalTo(MEMBER));
+		assertThat(match.getValue(),equalTo(MEMBER_ID));
+		assertThat(sut.find(EXTERNAL),nullValue());
+	}
+
+	@Test
+	public void testPrefetchedLocationsAreNotLookedUpAgain() {
+		CountingResolver resolver=new CountingResolver();
+		LocationIndex sut=new LocationIndex(resolver);
+		sut.prefetch(Arrays.asList(MEMBER,MEMBER_HASH,MEMBER_CHILD,CONTAINER,EXTERNAL));
+		assertThat(sut.find(MEMBER_CHILD).getKey(),equalTo(MEMBER));
+		assertThat(sut.find(MEMBER_HASH).getKey(),equalTo(MEMBER));
+		assertThat(sut.find(CONTAINER).getValue(),equalTo(CONTAINER_ID));
+		assertThat(sut.find(EXTERNAL),nullValue());
+		assertThat(resolver.batchLookups,equalTo(1));
+		assertThat(resolver.singleLookups,equalTo(0));
+	}
+
+	@Test
+	public void testLocationsAreLookedUpOnce() {
+		CountingResolver resolver=new CountingResolver();
+		LocationIndex sut=new LocationIndex(resolver);
+		sut.find(MEMBER_CHILD);
+		int lookups=resolver.singleLookups;
+		sut.find(MEMBER_CHILD);
+		sut.find(MEMBER);
+		assertThat(resolver.singleLookups,equalTo(lookups));
+	}
+
+}
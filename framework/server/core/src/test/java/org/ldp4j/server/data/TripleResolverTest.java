@@ -29,14 +29,20 @@ package org.ldp4j.server.data;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.util.List;
 
 import javax.ws.rs.core.MediaType;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.ldp4j.server.data.spi.ContentTransformationException;
 
+import com.google.common.collect.Lists;
+
 public class TripleResolverTest {
 
 	private MediaType mediaType;
@@ -98,6 +104,44 @@ public class TripleResolverTest {
 		}
 	}
 
+	@Test
+	public void testSinglePassResolutionMatchesPairedResolution() throws ContentTransformationException {
+		URI application = URI.create("http://www.example.org/target/");
+		URI endpoint = application.resolve("resource/");
+		URI alternative = URI.create("http://ldp4jwww.example.org/target/resource/");
+
+		String rawEntity = loadResource("/data/example_without_base.ttl");
+		// The comment forces the resolver to parse the entity twice
+		String clashingEntity = rawEntity+"\n# http://ldp4jwww.example.org/\n";
+
+		assertThat(
+			describe(endpoint,alternative,rawEntity,application),
+			equalTo(describe(endpoint,alternative,clashingEntity,application)));
+	}
+
+	private List<String> describe(URI endpoint, URI alternative, String entity, URI application) throws ContentTransformationException {
+		TripleResolver resolver=
+			TripleResolver.
+				builder().
+					withApplication(application).
+					withEndpoint(endpoint).
+					withAlternative(alternative).
+					withEntity(entity,this.mediaType).
+					build();
+		List<String> result=Lists.newArrayList();
+		for(TripleResolution resolution:resolver.tripleResolutions()) {
+			// Blank node identifiers are generated anew on each parse
+			result.add(
+				String.format(
+					"%s %s %s",
+					resolution.triple(),
+					resolution.subjectResolution(),
+					resolution.objectResolution()).
+				replaceAll("_:\\S+","_:b"));
+		}
+		return result;
+	}
+
 	private String loadResource(String resourceName) {
 		try {
 			return IOUtils.toString(getClass().getResourceAsStream(resourceName), Charset.forName("UTF-8"));
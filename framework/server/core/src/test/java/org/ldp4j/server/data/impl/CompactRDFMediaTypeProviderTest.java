@@ -0,0 +1,153 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.startsWith;
+import static org.ldp4j.rdf.util.RDFModelDSL.blankNode;
+import static org.ldp4j.rdf.util.RDFModelDSL.literal;
+import static org.ldp4j.rdf.util.RDFModelDSL.triple;
+import static org.ldp4j.rdf.util.RDFModelDSL.typedLiteral;
+import static org.ldp4j.rdf.util.RDFModelDSL.uriRef;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+import org.ldp4j.rdf.BlankNode;
+import org.ldp4j.rdf.Datatype;
+import org.ldp4j.rdf.Namespaces;
+import org.ldp4j.rdf.Node;
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.rdf.TypedLiteral;
+import org.ldp4j.rdf.URIRef;
+import org.ldp4j.server.data.spi.ContentTransformationException;
+import org.ldp4j.server.data.spi.Context;
+
+import com.google.common.collect.Lists;
+
+public class CompactRDFMediaTypeProviderTest {
+
+	private static final MediaType MEDIA_TYPE = new MediaType("application","vnd.ldp4j.rdf");
+
+	private static final Context CONTEXT=
+		new Context() {
+			@Override
+			public URI getBase() {
+				return URI.create("http://www.example.org/base/");
+			}
+			@Override
+			public Namespaces getNamespaces() {
+				return new Namespaces();
+			}
+		};
+
+	private final CompactRDFMediaTypeProvider sut=new CompactRDFMediaTypeProvider();
+
+	@Test
+	public void testRoundTripPreservesTermsAndOrder() throws Exception {
+		BlankNode node=blankNode("node");
+		List<Triple> triples=
+			Arrays.asList(
+				triple(uriRef("http://www.example.org/base/resource"),uriRef("http://www.example.org/vocab#name"),literal("line\tone\nline two\\")),
+				triple(uriRef("http://www.example.org/base/resource"),uriRef("http://www.example.org/vocab#label"),literal("etiqueta","es")),
+				triple(uriRef("http://www.example.org/base/resource"),uriRef("http://www.example.org/vocab#age"),typedLiteral(42,Datatype.INT.toURI())),
+				triple(uriRef("http://www.example.org/base/resource"),uriRef("http://www.example.org/vocab#link"),node),
+				triple(node,uriRef("http://www.example.org/vocab#type"),uriRef(Datatype.INT.toURI())));
+		String content=sut.marshallContent(CONTEXT,triples,MEDIA_TYPE);
+		assertThat(content,startsWith(CompactRDF.HEADER+"\n"));
+		List<Triple> result=Lists.newArrayList(sut.unmarshallContent(CONTEXT,content,MEDIA_TYPE));
+		assertThat(result.size(),equalTo(triples.size()));
+		for(int i=0;i<triples.size();i++) {
+			assertThat(result.get(i).toString(),equalTo(triples.get(i).toString()));
+		}
+	}
+
+	@Test
+	public void testRelativeURIsAreResolvedAgainstTheBase() throws Exception {
+		String content=sut.marshallContent(CONTEXT,Arrays.asList(triple(uriRef("r"),uriRef("p"),literal("value"))),MEDIA_TYPE);
+		List<Triple> result=Lists.newArrayList(sut.unmarshallContent(CONTEXT,content,MEDIA_TYPE));
+		assertThat(result.size(),equalTo(1));
+		assertThat(result.get(0).getSubject(),equalTo((Node)uriRef("http://www.example.org/base/r")));
+		assertThat(result.get(0).getPredicate(),equalTo(uriRef("http://www.example.org/base/p")));
+		assertThat(result.get(0).getObject(),equalTo((Node)literal("value")));
+	}
+
+	@Test
+	public void testNonStringLiteralsRoundTripLikeTurtle() throws Exception {
+		TurtleMediaTypeProvider turtle=new TurtleMediaTypeProvider();
+		MediaType turtleType=new MediaType("text","turtle");
+		List<Triple> triples=Lists.newArrayList();
+		Object[] values={3,true,2.5D,Double.NaN,1.5F,7L,(short)2,new Date(1234567890000L)};
+		for(int i=0;i<values.length;i++) {
+			triples.add(triple(uriRef("http://www.example.org/base/resource"),uriRef("http://www.example.org/vocab#p"+i),literal(values[i])));
+		}
+		String content=sut.marshallContent(CONTEXT,triples,MEDIA_TYPE);
+		assertThat(content,containsString("\nU"+Datatype.DOUBLE.toURI()+"\n"));
+		assertThat(content,containsString("\nU"+Datatype.BOOLEAN.toURI()+"\n"));
+		List<Triple> result=Lists.newArrayList(sut.unmarshallContent(CONTEXT,content,MEDIA_TYPE));
+		List<Triple> expected=Lists.newArrayList(turtle.unmarshallContent(CONTEXT,turtle.marshallContent(CONTEXT,triples,turtleType),turtleType));
+		assertThat(result.size(),equalTo(values.length));
+		for(Triple triple:result) {
+			Node object=triple.getObject();
+			assertThat(object,instanceOf(TypedLiteral.class));
+			assertThat(object.toString(),equalTo(objectOf(expected,triple.getPredicate()).toString()));
+		}
+	}
+
+	private static Node objectOf(List<Triple> triples, URIRef predicate) {
+		for(Triple triple:triples) {
+			if(triple.getPredicate().equals(predicate)) {
+				return triple.getObject();
+			}
+		}
+		throw new AssertionError("No triple found for "+predicate);
+	}
+
+	@Test(expected=ContentTransformationException.class)
+	public void testUndefinedTermsAreRejected() throws Exception {
+		sut.unmarshallContent(CONTEXT,CompactRDF.HEADER+"\nUhttp://www.example.org/\nT0\t0\t1\n",MEDIA_TYPE);
+	}
+
+	@Test(expected=ContentTransformationException.class)
+	public void testOverflowingIdentifiersAreRejected() throws Exception {
+		sut.unmarshallContent(CONTEXT,CompactRDF.HEADER+"\nUhttp://www.example.org/\nT0\t0\tzzzzzz\n",MEDIA_TYPE);
+	}
+
+	@Test(expected=ContentTransformationException.class)
+	public void testTooLongIdentifiersAreRejected() throws Exception {
+		sut.unmarshallContent(CONTEXT,CompactRDF.HEADER+"\nUhttp://www.example.org/\nT0\t0\t0000000\n",MEDIA_TYPE);
+	}
+
+}
@@ -0,0 +1,141 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data.impl;
+
+import static org.ldp4j.rdf.util.RDFModelDSL.literal;
+import static org.ldp4j.rdf.util.RDFModelDSL.triple;
+import static org.ldp4j.rdf.util.RDFModelDSL.uriRef;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MediaType;
+
+import org.ldp4j.rdf.Namespaces;
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.server.data.spi.ContentTransformationException;
+import org.ldp4j.server.data.spi.Context;
+import org.ldp4j.server.data.spi.MediaTypeProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Compares the marshalling and unmarshalling throughput of the compact RDF
+ * format with that of the textual formats. Each operation processes a whole
+ * representation, so the scores are representations per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MediaTypeProviderBenchmark {
+
+	private static final String VOCABULARY="http://www.example.org/vocab#";
+
+	private static final Context CONTEXT=
+		new Context() {
+			@Override
+			public URI getBase() {
+				return URI.create("http://www.example.org/ldp4j/api/");
+			}
+			@Override
+			public Namespaces getNamespaces() {
+				return new Namespaces().addPrefix("ex",VOCABULARY);
+			}
+		};
+
+	@Param({"1000","100000"})
+	private int triples;
+
+	@Param({"compact","turtle","n-triples"})
+	private String format;
+
+	private MediaTypeProvider provider;
+	private MediaType mediaType;
+	private List<Triple> content;
+	private String marshalled;
+
+	private static MediaTypeProvider provider(String format) {
+		MediaTypeProvider result=null;
+		if("compact".equals(format)) {
+			result=new CompactRDFMediaTypeProvider();
+		} else if("turtle".equals(format)) {
+			result=new TurtleMediaTypeProvider();
+		} else {
+			result=new NTriplesMediaTypeProvider();
+		}
+		return result;
+	}
+
+	@Setup
+	public void setUp() throws ContentTransformationException {
+		this.provider=provider(this.format);
+		this.mediaType=this.provider.supportedMediaTypes().iterator().next();
+		this.content=Lists.newArrayListWithCapacity(this.triples);
+		for(int i=0;i<this.triples;i++) {
+			Object value=i%2==0?"value "+i:Integer.valueOf(i);
+			this.content.add(
+				triple(
+					uriRef("resource/"+(i/10)),
+					uriRef(VOCABULARY+"property"+(i%10)),
+					literal(value)));
+		}
+		this.marshalled=this.provider.marshallContent(CONTEXT,this.content,this.mediaType);
+	}
+
+	@Benchmark
+	public String marshall() throws ContentTransformationException {
+		return this.provider.marshallContent(CONTEXT,this.content,this.mediaType);
+	}
+
+	@Benchmark
+	public Iterable<Triple> unmarshall() throws ContentTransformationException {
+		return this.provider.unmarshallContent(CONTEXT,this.marshalled,this.mediaType);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt=
+			new OptionsBuilder().
+				include(MediaTypeProviderBenchmark.class.getSimpleName()).
+				forks(1).
+				build();
+		new Runner(opt).run();
+	}
+
+}
@@ -0,0 +1,107 @@
+/**
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   This file is part of the LDP4j Project:
+ *     http://www.ldp4j.org/
+ *
+ *   Center for Open Middleware
+ *     http://www.centeropenmiddleware.com/
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Copyright (C) 2014-2016 Center for Open Middleware.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *             http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ *   Artifact    : org.ldp4j.framework:ldp4j-server-core:0.2.2
+ *   Bundle      : ldp4j-server-core-0.2.2.jar
+ * #-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=#
+ */
+package org.ldp4j.server.data.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.net.URI;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+import org.ldp4j.rdf.Literal;
+import org.ldp4j.rdf.Namespaces;
+import org.ldp4j.rdf.Node;
+import org.ldp4j.rdf.Triple;
+import org.ldp4j.server.data.spi.Context;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+
+public class NTriplesMediaTypeProviderTest {
+
+	private static final MediaType MEDIA_TYPE = new MediaType("application","n-triples");
+
+	private static final Context CONTEXT=
+		new Context() {
+			@Override
+			public URI getBase() {
+				return URI.create("http://www.example.org/");
+			}
+			@Override
+			public Namespaces getNamespaces() {
+				return new Namespaces();
+			}
+		};
+
+	private String content(int statements) {
+		StringBuilder builder=new StringBuilder();
+		for(int i=0;i<statements;i++) {
+			builder.append("_:b").append(i%3).append(" <http://www.example.org/value> \"").append(i).append("\" .\n");
+		}
+		return builder.toString();
+	}
+
+	@Test
+	public void testChunksEndAtLineBoundaries() throws Exception {
+		NTriplesMediaTypeProvider sut=new NTriplesMediaTypeProvider(100,4);
+		String content=content(100);
+		List<String> chunks=sut.split(content);
+		assertThat(chunks,hasSize(4));
+		for(String chunk:chunks) {
+			assertThat(chunk,endsWith("\n"));
+		}
+		assertThat(Joiner.on("").join(chunks),equalTo(content));
+	}
+
+	@Test
+	public void testChunkedParsingPreservesOrderAndBlankNodes() throws Exception {
+		List<Triple> triples=Lists.newArrayList(new NTriplesMediaTypeProvider(100,4).unmarshallContent(CONTEXT,content(100),MEDIA_TYPE));
+		assertThat(triples,hasSize(100));
+		Node first=triples.get(0).getSubject();
+		for(int i=0;i<triples.size();i++) {
+			Triple triple=triples.get(i);
+			assertThat(((Literal<?>)triple.getObject()).getValue().toString(),equalTo(Integer.toString(i)));
+			if(i%3==0) {
+				assertThat(triple.getSubject(),equalTo(first));
+			}
+		}
+	}
+
+	@Test
+	public void testMarshalledContentCanBeParsedBack() throws Exception {
+		NTriplesMediaTypeProvider sut=new NTriplesMediaTypeProvider();
+		Iterable<Triple> triples=sut.unmarshallContent(CONTEXT,content(10),MEDIA_TYPE);
+		String marshalled=sut.marshallContent(CONTEXT,triples,MEDIA_TYPE);
+		assertThat(Lists.newArrayList(sut.unmarshallContent(CONTEXT,marshalled,MEDIA_TYPE)),hasSize(10));
+	}
+
+}